@@ -24,11 +24,13 @@ import org.apache.log4j.Logger;
 import org.apache.pdfbox.cos.*;
 import org.apache.pdfbox.pdmodel.*;
 import org.apache.pdfbox.pdmodel.common.PDDestinationOrAction;
+import org.apache.pdfbox.pdmodel.common.PDMetadata;
 import org.apache.pdfbox.pdmodel.common.PDNameTreeNode;
 import org.apache.pdfbox.pdmodel.common.PDPageLabels;
 import org.apache.pdfbox.pdmodel.common.PDStream;
 import org.apache.pdfbox.pdmodel.common.filespecification.PDComplexFileSpecification;
 import org.apache.pdfbox.pdmodel.documentinterchange.markedcontent.PDPropertyList;
+import org.apache.pdfbox.pdmodel.encryption.PDEncryption;
 import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.apache.pdfbox.pdmodel.font.PDFontLike;
 import org.apache.pdfbox.pdmodel.font.PDType0Font;
@@ -51,21 +53,33 @@ import org.apache.pdfbox.pdmodel.interactive.annotation.PDAppearanceEntry;
 import org.apache.pdfbox.pdmodel.interactive.annotation.PDAppearanceStream;
 import org.apache.pdfbox.pdmodel.interactive.digitalsignature.PDSignature;
 import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDDocumentOutline;
-import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDOutlineItem;
 import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
 import org.apache.pdfbox.pdmodel.interactive.form.PDField;
 import org.apache.pdfbox.pdmodel.interactive.form.PDNonTerminalField;
 import org.apache.pdfbox.pdmodel.interactive.form.PDSignatureField;
 import org.verapdf.features.*;
 import org.verapdf.features.objects.ActionFeaturesObjectAdapter;
+import org.verapdf.features.pb.tools.PBIdSet;
+import org.verapdf.features.pb.tools.PBOutlineIndex;
 import org.verapdf.features.tools.ErrorsHelper;
 import org.verapdf.features.tools.FeatureTreeNode;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
- * Parses PDFBox PDDocument to generate features collection
+ * Parses PDFBox PDDocument to generate features collection.
+ * <p>
+ * Parsing is done in two phases. The first one walks the document and its
+ * resources, assigns ids and collects deferred creators of features objects
+ * in document order. The second one creates features objects and reports
+ * them in the same order.
+ * <p>
+ * In streaming mode pending features objects are created after every page
+ * and each of them is reported separately, so features trees are released
+ * as soon as they are consumed and memory does not grow with the number of
+ * pages.
  *
  * @author Maksim Bezrukov
  */
@@ -77,15 +91,33 @@ public final class PBFeatureParser {
 	private static final String DEVICEGRAY_ID = "devgray";
 	private static final String DEVICERGB_ID = "devrgb";
 	private static final String DEVICECMYK_ID = "devcmyk";
+	private static final FeatureObjectType[] TYPES = FeatureObjectType.values();
+	private static final long NO_KEY = -1L;
+	private static final long OBJECT_NUMBER_MASK = 0xFFFFFFFFL;
+	private static final int TYPE_SHIFT = 48;
+	private static final long TYPE_MASK = 0xFFL;
+	private static final long DIRECT_FLAG = 1L << 56;
+	private static final long DEVICEGRAY_KEY = 1L << 57;
+	private static final long DEVICERGB_KEY = DEVICEGRAY_KEY + 1;
+	private static final long DEVICECMYK_KEY = DEVICEGRAY_KEY + 2;
 
 	private FeaturesReporter reporter;
 	private FeatureExtractorConfig config;
-	private Set<String> processedIDs;
-
-	private PBFeatureParser(FeaturesReporter reporter, FeatureExtractorConfig config) {
+	private Set<Long> processedKeys;
+	private Map<Long, String> indirectIDs;
+	private List<PendingReport> pendingReports;
+	private final List<AbstractFeaturesExtractor> extractors;
+	private final Consumer<FeatureExtractionResult> consumer;
+
+	private PBFeatureParser(FeaturesReporter reporter, FeatureExtractorConfig config,
+							List<AbstractFeaturesExtractor> extractors, Consumer<FeatureExtractionResult> consumer) {
 		this.reporter = reporter;
 		this.config = config;
-		this.processedIDs = new HashSet<>();
+		this.extractors = extractors;
+		this.consumer = consumer;
+		this.processedKeys = new HashSet<>();
+		this.indirectIDs = new HashMap<>();
+		this.pendingReports = new ArrayList<>();
 	}
 
 	/**
@@ -117,44 +149,143 @@ public final class PBFeatureParser {
 		return getFeatures(document, reporter, config);
 	}
 
+	/**
+	 * Parses the document in streaming mode.
+	 *
+	 * @see #streamFeatures(PDDocument, List, FeatureExtractorConfig, Consumer)
+	 */
+	public static FeatureExtractionResult streamFeatures(final PDDocument document,
+			final FeatureExtractorConfig config, final Consumer<FeatureExtractionResult> consumer) {
+		return streamFeatures(document, Collections.<AbstractFeaturesExtractor>emptyList(), config, consumer);
+	}
+
+	/**
+	 * Parses the document in streaming mode. Every features object is
+	 * reported separately, in document order as soon as it is created,
+	 * with the same filtering by enabled features and the same extractor
+	 * plugins as in {@link #getFeaturesCollection(PDDocument, List, FeatureExtractorConfig)},
+	 * and the result containing only this object is passed to the consumer.
+	 * Reported objects are not collected in the returned result, consumer
+	 * is expected to serialize and release them.
+	 *
+	 * @param document
+	 *            the document for parsing
+	 * @param extractors
+	 *            extractor plugins applied to every reported object
+	 * @param consumer
+	 *            consumer of results with one reported features object
+	 * @return FeaturesCollection class with errors found during parsing
+	 */
+	public static FeatureExtractionResult streamFeatures(final PDDocument document,
+			final List<AbstractFeaturesExtractor> extractors, final FeatureExtractorConfig config,
+			final Consumer<FeatureExtractionResult> consumer) {
+		if (consumer == null) {
+			throw new IllegalArgumentException("Features consumer can not be null");
+		}
+		return getFeatures(document, new FeaturesReporter(config, extractors), config, extractors, consumer);
+	}
+
 	private static FeatureExtractionResult getFeatures(PDDocument document, FeaturesReporter reporter,
 			FeatureExtractorConfig config) {
+		return getFeatures(document, reporter, config, null, null);
+	}
+
+	private static FeatureExtractionResult getFeatures(PDDocument document, FeaturesReporter reporter,
+			FeatureExtractorConfig config, List<AbstractFeaturesExtractor> extractors,
+			Consumer<FeatureExtractionResult> consumer) {
 		if (config == null) {
 			throw new IllegalArgumentException("Features config can not be null");
 		}
 		if (document != null) {
-			PBFeatureParser parser = new PBFeatureParser(reporter, config);
+			PBFeatureParser parser = new PBFeatureParser(reporter, config, extractors, consumer);
 			parser.parseDocumentFeatures(document);
+			parser.reportPending();
 		}
 
 		return reporter.getCollection();
 	}
 
+	private void report(FeaturesObjectFactory factory) {
+		this.pendingReports.add(new PendingReport(factory, null));
+	}
+
+	private void reportDirectly(Consumer<FeatureExtractionResult> action) {
+		this.pendingReports.add(new PendingReport(null, action));
+	}
+
+	private void reportPendingIfStreaming() {
+		if (this.consumer != null) {
+			reportPending();
+		}
+	}
+
+	private void reportPending() {
+		try {
+			for (int i = 0; i < this.pendingReports.size(); ++i) {
+				PendingReport pending = this.pendingReports.get(i);
+				if (pending.action != null) {
+					deliver(pending.action);
+				} else {
+					deliver(pending.factory.create());
+				}
+				this.pendingReports.set(i, null);
+			}
+		} finally {
+			this.pendingReports.clear();
+		}
+	}
+
+	private void deliver(Consumer<FeatureExtractionResult> action) {
+		if (this.consumer == null) {
+			action.accept(this.reporter.getCollection());
+		} else {
+			// nodes added directly are passed to the consumer in a result
+			// of their own, as reported objects are
+			FeatureExtractionResult result = new FeaturesReporter(this.config, this.extractors).getCollection();
+			action.accept(result);
+			this.consumer.accept(result);
+		}
+	}
+
+	private void deliver(FeaturesObject object) {
+		if (this.consumer == null) {
+			this.reporter.report(object);
+		} else if (object != null && this.config.isFeatureEnabled(object.getType())) {
+			// reporter of one object applies the same plugins as the main
+			// reporter, its result is released once consumed
+			FeaturesReporter objectReporter = new FeaturesReporter(this.config, this.extractors);
+			objectReporter.report(object);
+			this.consumer.accept(objectReporter.getCollection());
+		}
+	}
+
 	private void parseDocumentFeatures(PDDocument document) {
-		reporter.report(PBFeaturesObjectCreator.createInfoDictFeaturesObject(document.getDocumentInformation()));
-		reporter.report(PBFeaturesObjectCreator.createDocSecurityFeaturesObject(document.getEncryption()));
+		PDDocumentInformation info = document.getDocumentInformation();
+		report(() -> PBFeaturesObjectCreator.createInfoDictFeaturesObject(info));
+		PDEncryption encryption = document.getEncryption();
+		report(() -> PBFeaturesObjectCreator.createDocSecurityFeaturesObject(encryption));
 
 		PDDocumentCatalog catalog = document.getDocumentCatalog();
 		if (catalog != null) {
-			getCatalogFeatures(catalog);
+			getCatalogFeatures(catalog, PBOutlineIndex.of(document));
 		}
 
-		reporter.report(PBFeaturesObjectCreator.createLowLvlInfoFeaturesObject(document.getDocument()));
+		COSDocument cosDocument = document.getDocument();
+		report(() -> PBFeaturesObjectCreator.createLowLvlInfoFeaturesObject(cosDocument));
 
 	}
 
-	private void getCatalogFeatures(PDDocumentCatalog catalog) {
-		reporter.report(PBFeaturesObjectCreator.createMetadataFeaturesObject(catalog.getMetadata()));
+	private void getCatalogFeatures(PDDocumentCatalog catalog, PBOutlineIndex outlineIndex) {
+		PDMetadata metadata = catalog.getMetadata();
+		report(() -> PBFeaturesObjectCreator.createMetadataFeaturesObject(metadata));
 		PDDocumentOutline documentOutline = catalog.getDocumentOutline();
-		reporter.report(PBFeaturesObjectCreator.createOutlinesFeaturesObject(documentOutline));
+		report(() -> PBFeaturesObjectCreator.createOutlinesFeaturesObject(documentOutline, outlineIndex));
 
 		PDDocumentNameDictionary names = catalog.getNames();
 
 		if (config.isFeatureEnabled(FeatureObjectType.ACTION)) {
-			if (documentOutline != null) {
-				for (PDOutlineItem item : documentOutline.children()) {
-					reportOutlinesActions(item);
-				}
+			for (PBOutlineIndex.Entry entry : outlineIndex.getEntries()) {
+				reportAction(entry.getItem().getAction(), ActionFeaturesObjectAdapter.Location.OUTLINES);
 			}
 			try {
 				PDDestinationOrAction openAction = catalog.getOpenAction();
@@ -194,11 +325,9 @@ public final class PBFeatureParser {
 
 		if (catalog.getOutputIntents() != null) {
 			for (PDOutputIntent outInt : catalog.getOutputIntents()) {
-				String iccProfileID = addICCProfileFromOutputIntent(outInt);
-				if (!config.isFeatureEnabled(FeatureObjectType.ICCPROFILE)) {
-					iccProfileID = null;
-				}
-				reporter.report(PBFeaturesObjectCreator.createOutputIntentFeaturesObject(outInt, iccProfileID));
+				String profileID = addICCProfileFromOutputIntent(outInt);
+				String iccProfileID = config.isFeatureEnabled(FeatureObjectType.ICCPROFILE) ? profileID : null;
+				report(() -> PBFeaturesObjectCreator.createOutputIntentFeaturesObject(outInt, iccProfileID));
 			}
 		}
 
@@ -207,7 +336,7 @@ public final class PBFeatureParser {
 			labels = catalog.getPageLabels();
 		} catch (IOException e) {
 			LOGGER.debug("Can't get page labels", e);
-			reporter.getCollection().addNewError(FeatureObjectType.PAGE, "Can't get page labels");
+			reportDirectly(collection -> collection.addNewError(FeatureObjectType.PAGE, "Can't get page labels"));
 		}
 
 		PDPageTree pageTree = catalog.getPages();
@@ -216,18 +345,9 @@ public final class PBFeatureParser {
 		}
 	}
 
-	private void reportOutlinesActions(PDOutlineItem outline) {
-		if (outline != null) {
-			reportAction(outline.getAction(), ActionFeaturesObjectAdapter.Location.OUTLINES);
-			for (PDOutlineItem item : outline.children()) {
-				reportOutlinesActions(item);
-			}
-		}
-	}
-
 	private void reportAction(PDAction action, ActionFeaturesObjectAdapter.Location location) {
 		if (action != null) {
-			reporter.report(PBFeaturesObjectCreator.createActionFeaturesObject(action, location));
+			report(() -> PBFeaturesObjectCreator.createActionFeaturesObject(action, location));
 			List<PDAction> actionNext = action.getNext();
 			if (actionNext != null) {
 				for (PDAction next : actionNext) {
@@ -252,7 +372,7 @@ public final class PBFeatureParser {
 			return;
 		}
 		if (config.isFeatureEnabled(FeatureObjectType.INTERACTIVE_FORM_FIELDS)) {
-			reporter.report(PBFeaturesObjectCreator.createInteractiveFormFieldFeaturesObject(field));
+			report(() -> PBFeaturesObjectCreator.createInteractiveFormFieldFeaturesObject(field));
 		}
 		if (config.isFeatureEnabled(FeatureObjectType.ACTION)) {
 			getFormFieldActions(field);
@@ -283,7 +403,7 @@ public final class PBFeatureParser {
 		if (config.isFeatureEnabled(FeatureObjectType.SIGNATURE) && field instanceof PDSignatureField) {
 			PDSignature signature = ((PDSignatureField) field).getSignature();
 			if (signature != null) {
-				reporter.report(PBFeaturesObjectCreator.createSignatureFeaturesObject(signature));
+				report(() -> PBFeaturesObjectCreator.createSignatureFeaturesObject(signature));
 			}
 		}
 	}
@@ -292,24 +412,25 @@ public final class PBFeatureParser {
 		String[] labels = pageLabels == null ? null : pageLabels.getLabelsByPageIndices();
 		for (PDPage page : pageTree) {
 			reportPageActions(page);
-			Set<String> annotsId = addAnnotsDependencies(page);
-			annotsId = config.isFeatureEnabled(FeatureObjectType.ANNOTATION) ? annotsId : null;
+			Set<String> annotsDependencies = addAnnotsDependencies(page);
+			Set<String> annotsId = config.isFeatureEnabled(FeatureObjectType.ANNOTATION) ? annotsDependencies : null;
 
-			String thumbID = null;
+			String thumbDependency = null;
 			if (page.getCOSObject().getDictionaryObject(COSName.getPDFName("Thumb")) != null) {
 				COSBase baseThumb = page.getCOSObject().getItem(COSName.getPDFName("Thumb"));
-				thumbID = getId(baseThumb, FeatureObjectType.IMAGE_XOBJECT);
-				if (checkIDBeforeProcess(thumbID)) {
+				long thumbKey = getKey(baseThumb, FeatureObjectType.IMAGE_XOBJECT);
+				thumbDependency = getId(thumbKey);
+				if (checkKeyBeforeProcess(thumbKey)) {
 					COSBase base = getBase(baseThumb);
 					if (base instanceof COSStream) {
 						PDImageXObjectProxy img = new PDImageXObjectProxy(new PDStream((COSStream) base), null);
-						parseImageXObject(img, thumbID);
+						parseImageXObject(img, thumbDependency);
 					} else {
-						xobjectCreationProblem(thumbID, "Thumb is not a stream");
+						xobjectCreationProblem(thumbDependency, "Thumb is not a stream");
 					}
 				}
 			}
-			thumbID = config.isAnyFeatureEnabled(XOBJECTS) ? thumbID : null;
+			String thumbID = config.isAnyFeatureEnabled(XOBJECTS) ? thumbDependency : null;
 
 			PDResources resources = page.getResources();
 			Set<String> extGStateChild = config.isFeatureEnabled(FeatureObjectType.EXT_G_STATE)
@@ -329,9 +450,17 @@ public final class PBFeatureParser {
 
 			int pageIndex = pageTree.indexOf(page);
 			String label = labels != null && pageIndex < labels.length ? labels[pageIndex] : null;
-			reporter.report(PBFeaturesObjectCreator.createPageFeaturesObject(page, label, thumbID, annotsId, extGStateChild,
-					colorSpaceChild, patternChild, shadingChild, xobjectChild, fontChild, propertiesChild,
-					pageIndex));
+			Set<String> annotsIds = PBIdSet.of(annotsId);
+			Set<String> extGStateIds = PBIdSet.of(extGStateChild);
+			Set<String> colorSpaceIds = PBIdSet.of(colorSpaceChild);
+			Set<String> patternIds = PBIdSet.of(patternChild);
+			Set<String> shadingIds = PBIdSet.of(shadingChild);
+			Set<String> xobjectIds = PBIdSet.of(xobjectChild);
+			Set<String> fontIds = PBIdSet.of(fontChild);
+			Set<String> propertiesIds = PBIdSet.of(propertiesChild);
+			report(() -> PBFeaturesObjectCreator.createPageFeaturesObject(page, label, thumbID, annotsIds, extGStateIds,
+					colorSpaceIds, patternIds, shadingIds, xobjectIds, fontIds, propertiesIds, pageIndex));
+			reportPendingIfStreaming();
 		}
 	}
 
@@ -373,25 +502,25 @@ public final class PBFeatureParser {
 		for (int i = 0; i < annotsArray.size(); ++i) {
 			COSBase item = annotsArray.get(i);
 			if (item != null) {
-				String id = getId(item, FeatureObjectType.ANNOTATION);
+				long key = getKey(item, FeatureObjectType.ANNOTATION);
+				String id = getId(key);
 				annotsId.add(id);
-				if (checkIDBeforeProcess(id)) {
+				if (checkKeyBeforeProcess(key)) {
 					COSBase base = getBase(item);
 					try {
 						PDAnnotation annotation = PDAnnotation.createAnnotation(base);
 						reportAnnotationActions(annotation);
 						COSBase pop = annotation.getCOSObject().getItem(COSName.getPDFName("Popup"));
 
-						String popupID = null;
+						String popupDependency = null;
 						if (pop != null) {
-							popupID = addPopup(pop);
+							popupDependency = addPopup(pop);
 						}
 
-						Set<String> formsIDs = getAnnotationResourcesDependencies(annotation);
-						popupID = config.isFeatureEnabled(FeatureObjectType.ANNOTATION) ? popupID : null;
-						formsIDs = config.isAnyFeatureEnabled(XOBJECTS) ? formsIDs : null;
-						reporter.report(
-								PBFeaturesObjectCreator.createAnnotFeaturesObject(annotation, id, popupID, formsIDs));
+						Set<String> formsDependencies = getAnnotationResourcesDependencies(annotation);
+						String popupID = config.isFeatureEnabled(FeatureObjectType.ANNOTATION) ? popupDependency : null;
+						Set<String> formsIDs = config.isAnyFeatureEnabled(XOBJECTS) ? formsDependencies : null;
+						report(() -> PBFeaturesObjectCreator.createAnnotFeaturesObject(annotation, id, popupID, formsIDs));
 					} catch (IOException e) {
 						LOGGER.debug("Unknown annotation type detected.", e);
 						generateUnknownAnnotation(id);
@@ -423,14 +552,15 @@ public final class PBFeatureParser {
 	}
 
 	private String addPopup(COSBase item) {
-		String id = getId(item, FeatureObjectType.ANNOTATION);
+		long key = getKey(item, FeatureObjectType.ANNOTATION);
+		String id = getId(key);
 
-		if (checkIDBeforeProcess(id)) {
+		if (checkKeyBeforeProcess(key)) {
 			COSBase base = getBase(item);
 			try {
 				PDAnnotation annotation = PDAnnotation.createAnnotation(base);
 				reportAnnotationActions(annotation);
-				reporter.report(PBFeaturesObjectCreator.createAnnotFeaturesObject(annotation, id, null, null));
+				report(() -> PBFeaturesObjectCreator.createAnnotFeaturesObject(annotation, id, null, null));
 			} catch (IOException e) {
 				LOGGER.debug("Unknown annotation type detected.", e);
 				generateUnknownAnnotation(id);
@@ -476,8 +606,9 @@ public final class PBFeatureParser {
 	}
 
 	private String getAppearanceStreamDependencies(PDAppearanceStream stream, COSBase entryLink) {
-		String id = getId(entryLink, FeatureObjectType.FORM_XOBJECT);
-		if (checkIDBeforeProcess(id)) {
+		long key = getKey(entryLink, FeatureObjectType.FORM_XOBJECT);
+		String id = getId(key);
+		if (checkKeyBeforeProcess(key)) {
 			parseFormXObject(stream, id);
 		}
 		return id;
@@ -487,8 +618,10 @@ public final class PBFeatureParser {
 		if (config.isFeatureEnabled(FeatureObjectType.ANNOTATION)) {
 			FeatureTreeNode annot = FeatureTreeNode.createRootNode(FeatureObjectType.ANNOTATION.getNodeName());
 			annot.setAttribute(ID, id);
-			ErrorsHelper.addErrorIntoCollection(reporter.getCollection(), annot, "Unknown annotation type");
-			reporter.getCollection().addNewFeatureTree(FeatureObjectType.ANNOTATION, annot);
+			reportDirectly(collection -> {
+				ErrorsHelper.addErrorIntoCollection(collection, annot, "Unknown annotation type");
+				collection.addNewFeatureTree(FeatureObjectType.ANNOTATION, annot);
+			});
 		}
 	}
 
@@ -497,7 +630,8 @@ public final class PBFeatureParser {
 		try {
 			if (efTree.getNames() != null) {
 				for (PDComplexFileSpecification file : efTree.getNames().values()) {
-					reporter.report(PBFeaturesObjectCreator.createEmbeddedFileFeaturesObject(file, ++index));
+					int fileIndex = ++index;
+					report(() -> PBFeaturesObjectCreator.createEmbeddedFileFeaturesObject(file, fileIndex));
 				}
 			}
 		} catch (IOException e) {
@@ -542,7 +676,8 @@ public final class PBFeatureParser {
 			if (config.isFeatureEnabled(FeatureObjectType.EMBEDDED_FILE) && node.getNames() != null) {
 				for (PDComplexFileSpecification file : node.getNames().values()) {
 					if (file != null) {
-						reporter.report(PBFeaturesObjectCreator.createEmbeddedFileFeaturesObject(file, ++res));
+						int fileIndex = ++res;
+						report(() -> PBFeaturesObjectCreator.createEmbeddedFileFeaturesObject(file, fileIndex));
 					}
 				}
 			}
@@ -565,10 +700,11 @@ public final class PBFeatureParser {
 
 		if (outIntBase instanceof COSDictionary) {
 			COSDictionary outIntDict = (COSDictionary) outIntBase;
-			String iccProfileID = getId(outIntDict.getItem(COSName.DEST_OUTPUT_PROFILE), FeatureObjectType.ICCPROFILE);
-			if (checkIDBeforeProcess(iccProfileID)) {
-				reporter.report(PBFeaturesObjectCreator.createICCProfileFeaturesObject(outInt.getDestOutputIntent(),
-						iccProfileID));
+			long iccProfileKey = getKey(outIntDict.getItem(COSName.DEST_OUTPUT_PROFILE), FeatureObjectType.ICCPROFILE);
+			String iccProfileID = getId(iccProfileKey);
+			if (checkKeyBeforeProcess(iccProfileKey)) {
+				COSStream destOutputIntent = outInt.getDestOutputIntent();
+				report(() -> PBFeaturesObjectCreator.createICCProfileFeaturesObject(destOutputIntent, iccProfileID));
 			}
 			return iccProfileID;
 		}
@@ -606,12 +742,15 @@ public final class PBFeatureParser {
 				if (nodeID != null) {
 					node.setAttribute(ID, nodeID);
 				}
-				reporter.getCollection().addNewFeatureTree(type, node);
-				ErrorsHelper.addErrorIntoCollection(reporter.getCollection(), node, errorMessage);
+				reportDirectly(collection -> {
+					collection.addNewFeatureTree(type, node);
+					ErrorsHelper.addErrorIntoCollection(collection, node, errorMessage);
+				});
 			} else {
-				String id = ErrorsHelper.addErrorIntoCollection(reporter.getCollection(), null, errorMessage);
-				reporter.getCollection().addNewError(type, id);
-
+				reportDirectly(collection -> {
+					String id = ErrorsHelper.addErrorIntoCollection(collection, null, errorMessage);
+					collection.addNewError(type, id);
+				});
 			}
 		}
 	}
@@ -635,13 +774,15 @@ public final class PBFeatureParser {
 		for (COSName name : resources.getColorSpaceNames()) {
 			COSDictionary dict = (COSDictionary) resources.getCOSObject().getDictionaryObject(COSName.COLORSPACE);
 			COSBase base = dict.getItem(name);
-			String id = getId(base, FeatureObjectType.COLORSPACE);
+			long key = getKey(base, FeatureObjectType.COLORSPACE);
+			String id = getId(key);
 			try {
 				PDColorSpace colorSpace = resources.getColorSpace(name);
-				id = checkColorSpaceID(id, colorSpace);
+				key = checkColorSpaceKey(key, colorSpace);
+				id = getId(key);
 				colorSpaceIDs.add(id);
 
-				if (checkIDBeforeProcess(id)) {
+				if (checkKeyBeforeProcess(key)) {
 					parseColorSpace(colorSpace, id);
 				}
 			} catch (IOException e) {
@@ -662,9 +803,10 @@ public final class PBFeatureParser {
 			COSDictionary dict = (COSDictionary) resources.getCOSObject().getDictionaryObject(COSName.XOBJECT);
 			COSBase base = dict.getItem(name);
 
-			String id = getId(base, FeatureObjectType.IMAGE_XOBJECT);
+			long key = getKey(base, FeatureObjectType.IMAGE_XOBJECT);
+			String id = getId(key);
 			xobjectsIDs.add(id);
-			if (checkIDBeforeProcess(id)) {
+			if (checkKeyBeforeProcess(key)) {
 				try {
 					PDXObject xobj = resources.getXObject(name);
 
@@ -673,7 +815,7 @@ public final class PBFeatureParser {
 					} else if (xobj instanceof PDFormXObject) {
 						parseFormXObject((PDFormXObject) xobj, id);
 					} else if (xobj instanceof PDPostScriptXObject) {
-						reporter.report(PBFeaturesObjectCreator.createPostScriptXObjectFeaturesObject(id));
+						report(() -> PBFeaturesObjectCreator.createPostScriptXObjectFeaturesObject(id));
 					}
 				} catch (IOException e) {
 					LOGGER.info(e);
@@ -693,13 +835,14 @@ public final class PBFeatureParser {
 		for (COSName name : resources.getPropertiesNames()) {
 			COSDictionary dict = (COSDictionary) resources.getCOSObject().getDictionaryObject(COSName.PROPERTIES);
 			COSBase base = dict.getItem(name);
-			String id = getId(base, FeatureObjectType.PROPERTIES);
+			long key = getKey(base, FeatureObjectType.PROPERTIES);
+			String id = getId(key);
 			propertiesIDs.add(id);
 
-			if (checkIDBeforeProcess(id)) {
+			if (checkKeyBeforeProcess(key)) {
 				PDPropertyList property = resources.getProperties(name);
-				reporter.report(
-						PBFeaturesObjectCreator.createPropertiesDictFeaturesObject(property.getCOSObject(), id));
+				COSDictionary propertyDictionary = property.getCOSObject();
+				report(() -> PBFeaturesObjectCreator.createPropertiesDictFeaturesObject(propertyDictionary, id));
 			}
 		}
 		return propertiesIDs;
@@ -714,10 +857,11 @@ public final class PBFeatureParser {
 		for (COSName name : resources.getFontNames()) {
 			COSDictionary dict = (COSDictionary) resources.getCOSObject().getDictionaryObject(COSName.FONT);
 			COSBase base = dict.getItem(name);
-			String id = getId(base, FeatureObjectType.FONT);
+			long key = getKey(base, FeatureObjectType.FONT);
+			String id = getId(key);
 			fontIDs.add(id);
 
-			if (checkIDBeforeProcess(id)) {
+			if (checkKeyBeforeProcess(key)) {
 				try {
 					PDFont font = resources.getFont(name);
 					parseFont(font, id);
@@ -740,10 +884,11 @@ public final class PBFeatureParser {
 		for (COSName name : resources.getExtGStateNames()) {
 			COSDictionary dict = (COSDictionary) resources.getCOSObject().getDictionaryObject(COSName.EXT_G_STATE);
 			COSBase base = dict.getItem(name);
-			String id = getId(base, FeatureObjectType.EXT_G_STATE);
+			long key = getKey(base, FeatureObjectType.EXT_G_STATE);
+			String id = getId(key);
 			gStatesIDs.add(id);
 
-			if (checkIDBeforeProcess(id)) {
+			if (checkKeyBeforeProcess(key)) {
 				PDExtendedGraphicsState exGState = resources.getExtGState(name);
 				parseExGState(exGState, id);
 			}
@@ -761,10 +906,11 @@ public final class PBFeatureParser {
 			COSDictionary dict = (COSDictionary) resources.getCOSObject().getDictionaryObject(COSName.PATTERN);
 			COSBase base = dict.getItem(name);
 
-			String id = getId(base, FeatureObjectType.PATTERN);
+			long key = getKey(base, FeatureObjectType.PATTERN);
+			String id = getId(key);
 			patternIDs.add(id);
 
-			if (checkIDBeforeProcess(id)) {
+			if (checkKeyBeforeProcess(key)) {
 				try {
 					PDAbstractPattern pattern = resources.getPattern(name);
 					parsePattern(pattern, id);
@@ -786,10 +932,11 @@ public final class PBFeatureParser {
 		for (COSName name : resources.getShadingNames()) {
 			COSDictionary dict = (COSDictionary) resources.getCOSObject().getDictionaryObject(COSName.SHADING);
 			COSBase base = dict.getItem(name);
-			String id = getId(base, FeatureObjectType.SHADING);
+			long key = getKey(base, FeatureObjectType.SHADING);
+			String id = getId(key);
 			shadingIDs.add(id);
 
-			if (checkIDBeforeProcess(id)) {
+			if (checkKeyBeforeProcess(key)) {
 				try {
 					PDShading shading = resources.getShading(name);
 					parseShading(shading, id);
@@ -807,11 +954,13 @@ public final class PBFeatureParser {
 		if (baseColorSpace == null) {
 			baseColorSpace = ((COSStream) xobj.getCOSObject()).getItem(COSName.COLORSPACE);
 		}
-		String idColorSpace = getId(baseColorSpace, FeatureObjectType.COLORSPACE);
+		long colorSpaceKey = getKey(baseColorSpace, FeatureObjectType.COLORSPACE);
+		String idColorSpace = getId(colorSpaceKey);
 		try {
 			PDColorSpace colorSpace = xobj.getColorSpace();
-			idColorSpace = checkColorSpaceID(idColorSpace, colorSpace);
-			if (checkIDBeforeProcess(idColorSpace)) {
+			colorSpaceKey = checkColorSpaceKey(colorSpaceKey, colorSpace);
+			idColorSpace = getId(colorSpaceKey);
+			if (checkKeyBeforeProcess(colorSpaceKey)) {
 				parseColorSpace(colorSpace, idColorSpace);
 			}
 		} catch (IOException e) {
@@ -823,8 +972,9 @@ public final class PBFeatureParser {
 		COSBase mask = xobj.getCOSStream().getDictionaryObject(COSName.MASK);
 		if (mask instanceof COSStream) {
 			COSBase maskBase = ((COSStream) xobj.getCOSObject()).getItem(COSName.MASK);
-			idMask = getId(maskBase, FeatureObjectType.IMAGE_XOBJECT);
-			if (checkIDBeforeProcess(idMask)) {
+			long maskKey = getKey(maskBase, FeatureObjectType.IMAGE_XOBJECT);
+			idMask = getId(maskKey);
+			if (checkKeyBeforeProcess(maskKey)) {
 				try {
 					PDImageXObjectProxy imxobj = xobj.getMask();
 					parseImageXObject(imxobj, idMask);
@@ -839,8 +989,9 @@ public final class PBFeatureParser {
 		COSBase sMask = xobj.getCOSStream().getDictionaryObject(COSName.SMASK);
 		if (sMask instanceof COSStream) {
 			COSBase sMaskBase = ((COSStream) xobj.getCOSObject()).getItem(COSName.SMASK);
-			idSMask = getId(sMaskBase, FeatureObjectType.IMAGE_XOBJECT);
-			if (checkIDBeforeProcess(idSMask)) {
+			long sMaskKey = getKey(sMaskBase, FeatureObjectType.IMAGE_XOBJECT);
+			idSMask = getId(sMaskKey);
+			if (checkKeyBeforeProcess(sMaskKey)) {
 				try {
 					PDImageXObjectProxy imxobj = xobj.getSoftMask();
 					parseImageXObject(imxobj, idSMask);
@@ -861,11 +1012,12 @@ public final class PBFeatureParser {
 				if (base instanceof COSDictionary) {
 					COSDictionary altDict = (COSDictionary) base;
 					COSBase baseImage = altDict.getItem(COSName.IMAGE);
-					String idImage = getId(baseImage, FeatureObjectType.IMAGE_XOBJECT);
+					long imageKey = getKey(baseImage, FeatureObjectType.IMAGE_XOBJECT);
+					String idImage = getId(imageKey);
 					baseImage = getBase(baseImage);
 					if (baseImage instanceof COSStream) {
 						alternatesIDs.add(idImage);
-						if (checkIDBeforeProcess(idImage)) {
+						if (checkKeyBeforeProcess(imageKey)) {
 							PDImageXObjectProxy im = new PDImageXObjectProxy(new PDStream((COSStream) baseImage), null);
 							parseImageXObject(im, idImage);
 						}
@@ -874,15 +1026,14 @@ public final class PBFeatureParser {
 			}
 		}
 
-		idColorSpace = config.isFeatureEnabled(FeatureObjectType.COLORSPACE) ? idColorSpace : null;
-		if (!config.isAnyFeatureEnabled(XOBJECTS)) {
-			idMask = null;
-			idSMask = null;
-			alternatesIDs = null;
-		}
+		String colorSpaceChild = config.isFeatureEnabled(FeatureObjectType.COLORSPACE) ? idColorSpace : null;
+		boolean isXObjectEnabled = config.isAnyFeatureEnabled(XOBJECTS);
+		String maskChild = isXObjectEnabled ? idMask : null;
+		String sMaskChild = isXObjectEnabled ? idSMask : null;
+		Set<String> alternatesChild = isXObjectEnabled ? alternatesIDs : null;
 
-		reporter.report(PBFeaturesObjectCreator.createImageXObjectFeaturesObject(xobj, id, idColorSpace, idMask,
-				idSMask, alternatesIDs));
+		report(() -> PBFeaturesObjectCreator.createImageXObjectFeaturesObject(xobj, id, colorSpaceChild, maskChild,
+				sMaskChild, alternatesChild));
 	}
 
 	private void parseFormXObject(PDFormXObject xobj, String id) {
@@ -891,11 +1042,13 @@ public final class PBFeatureParser {
 		String idColorSpace = null;
 		if (group != null && COSName.TRANSPARENCY.equals(group.getSubType())) {
 			COSBase baseColorSpace = group.getCOSObject().getItem(COSName.CS);
-			idColorSpace = getId(baseColorSpace, FeatureObjectType.COLORSPACE);
+			long colorSpaceKey = getKey(baseColorSpace, FeatureObjectType.COLORSPACE);
+			idColorSpace = getId(colorSpaceKey);
 			try {
 				PDColorSpace colorSpace = group.getColorSpace();
-				idColorSpace = checkColorSpaceID(idColorSpace, colorSpace);
-				if (checkIDBeforeProcess(idColorSpace)) {
+				colorSpaceKey = checkColorSpaceKey(colorSpaceKey, colorSpace);
+				idColorSpace = getId(colorSpaceKey);
+				if (checkKeyBeforeProcess(colorSpaceKey)) {
 					parseColorSpace(colorSpace, idColorSpace);
 				}
 			} catch (IOException e) {
@@ -905,13 +1058,13 @@ public final class PBFeatureParser {
 		}
 
 		PDResources resources = xobj.getResources();
-		Set<String> extGStateChild = parseExGStateFromResource(resources);
-		extGStateChild = config.isFeatureEnabled(FeatureObjectType.EXT_G_STATE) ? extGStateChild : null;
-		Set<String> colorSpaceChild = parseColorSpaceFromResources(resources);
-		if (!config.isFeatureEnabled(FeatureObjectType.COLORSPACE)) {
-			idColorSpace = null;
-			colorSpaceChild = null;
-		}
+		Set<String> extGStateDependencies = parseExGStateFromResource(resources);
+		Set<String> extGStateChild = config.isFeatureEnabled(FeatureObjectType.EXT_G_STATE)
+				? extGStateDependencies : null;
+		Set<String> colorSpaceDependencies = parseColorSpaceFromResources(resources);
+		boolean isColorSpaceEnabled = config.isFeatureEnabled(FeatureObjectType.COLORSPACE);
+		String groupColorSpaceChild = isColorSpaceEnabled ? idColorSpace : null;
+		Set<String> colorSpaceChild = isColorSpaceEnabled ? colorSpaceDependencies : null;
 		Set<String> patternChild = config.isFeatureEnabled(FeatureObjectType.PATTERN)
 				? parsePatternFromResource(resources) : null;
 		Set<String> shadingChild = config.isFeatureEnabled(FeatureObjectType.SHADING)
@@ -922,28 +1075,29 @@ public final class PBFeatureParser {
 		Set<String> propertiesChild = config.isFeatureEnabled(FeatureObjectType.PROPERTIES)
 				? parsePropertiesFromResources(resources) : null;
 
-		reporter.report(PBFeaturesObjectCreator.createFormXObjectFeaturesObject(xobj, id, idColorSpace, extGStateChild,
+		report(() -> PBFeaturesObjectCreator.createFormXObjectFeaturesObject(xobj, id, groupColorSpaceChild, extGStateChild,
 				colorSpaceChild, patternChild, shadingChild, xobjectChild, fontChild, propertiesChild));
 
 	}
 
 	private void parseExGState(PDExtendedGraphicsState exGState, String id) {
-		String childFontID = null;
+		String fontID = null;
 		if (exGState.getFontSetting() != null && exGState.getFontSetting().getCOSObject() instanceof COSArray) {
-			childFontID = getId(((COSArray) exGState.getFontSetting().getCOSObject()).get(0), FeatureObjectType.FONT);
-			if (checkIDBeforeProcess(childFontID)) {
+			long fontKey = getKey(((COSArray) exGState.getFontSetting().getCOSObject()).get(0), FeatureObjectType.FONT);
+			fontID = getId(fontKey);
+			if (checkKeyBeforeProcess(fontKey)) {
 				try {
 					PDFont font = exGState.getFontSetting().getFont();
-					parseFont(font, childFontID);
+					parseFont(font, fontID);
 				} catch (IOException e) {
 					LOGGER.info(e);
-					fontCreationProblem(childFontID, e.getMessage());
+					fontCreationProblem(fontID, e.getMessage());
 				}
 			}
 		}
 
-		childFontID = config.isFeatureEnabled(FeatureObjectType.FONT) ? childFontID : null;
-		reporter.report(PBFeaturesObjectCreator.createExtGStateFeaturesObject(exGState, id, childFontID));
+		String childFontID = config.isFeatureEnabled(FeatureObjectType.FONT) ? fontID : null;
+		report(() -> PBFeaturesObjectCreator.createExtGStateFeaturesObject(exGState, id, childFontID));
 	}
 
 	private void parsePattern(PDAbstractPattern pattern, String id) throws IOException {
@@ -965,27 +1119,29 @@ public final class PBFeatureParser {
 			Set<String> propertiesChild = config.isFeatureEnabled(FeatureObjectType.PROPERTIES)
 					? parsePropertiesFromResources(resources) : null;
 
-			reporter.report(PBFeaturesObjectCreator.createTilingPatternFeaturesObject(tilingPattern, id, extGStateChild,
+			report(() -> PBFeaturesObjectCreator.createTilingPatternFeaturesObject(tilingPattern, id, extGStateChild,
 					colorSpaceChild, patternChild, shadingChild, xobjectChild, fontChild, propertiesChild));
 		} else {
 			PDShadingPattern shadingPattern = (PDShadingPattern) pattern;
 			COSBase baseShading = shadingPattern.getCOSObject().getItem(COSName.SHADING);
-			String shadingID = getId(baseShading, FeatureObjectType.SHADING);
+			long shadingKey = getKey(baseShading, FeatureObjectType.SHADING);
+			String shadingDependency = getId(shadingKey);
 
-			if (checkIDBeforeProcess(shadingID) && shadingPattern.getShading() != null) {
-				parseShading(shadingPattern.getShading(), shadingID);
+			if (checkKeyBeforeProcess(shadingKey) && shadingPattern.getShading() != null) {
+				parseShading(shadingPattern.getShading(), shadingDependency);
 			}
 
 			COSBase baseExGState = shadingPattern.getCOSObject().getItem(COSName.EXT_G_STATE);
-			String exGStateID = getId(baseExGState, FeatureObjectType.EXT_G_STATE);
+			long exGStateKey = getKey(baseExGState, FeatureObjectType.EXT_G_STATE);
+			String exGStateDependency = getId(exGStateKey);
 
-			if (checkIDBeforeProcess(exGStateID) && shadingPattern.getExtendedGraphicsState() != null) {
-				parseExGState(shadingPattern.getExtendedGraphicsState(), exGStateID);
+			if (checkKeyBeforeProcess(exGStateKey) && shadingPattern.getExtendedGraphicsState() != null) {
+				parseExGState(shadingPattern.getExtendedGraphicsState(), exGStateDependency);
 			}
 
-			shadingID = config.isFeatureEnabled(FeatureObjectType.SHADING) ? shadingID : null;
-			exGStateID = config.isFeatureEnabled(FeatureObjectType.EXT_G_STATE) ? exGStateID : null;
-			reporter.report(PBFeaturesObjectCreator.createShadingPatternFeaturesObject(shadingPattern, id, shadingID,
+			String shadingID = config.isFeatureEnabled(FeatureObjectType.SHADING) ? shadingDependency : null;
+			String exGStateID = config.isFeatureEnabled(FeatureObjectType.EXT_G_STATE) ? exGStateDependency : null;
+			report(() -> PBFeaturesObjectCreator.createShadingPatternFeaturesObject(shadingPattern, id, shadingID,
 					exGStateID));
 		}
 	}
@@ -995,20 +1151,22 @@ public final class PBFeatureParser {
 		if (base == null) {
 			base = shading.getCOSObject().getItem(COSName.COLORSPACE);
 		}
-		String colorspaceID = getId(base, FeatureObjectType.COLORSPACE);
+		long colorSpaceKey = getKey(base, FeatureObjectType.COLORSPACE);
+		String colorspaceID = getId(colorSpaceKey);
 		try {
 			PDColorSpace colorSpace = shading.getColorSpace();
 
-			colorspaceID = checkColorSpaceID(colorspaceID, colorSpace);
-			if (checkIDBeforeProcess(colorspaceID)) {
+			colorSpaceKey = checkColorSpaceKey(colorSpaceKey, colorSpace);
+			colorspaceID = getId(colorSpaceKey);
+			if (checkKeyBeforeProcess(colorSpaceKey)) {
 				parseColorSpace(colorSpace, colorspaceID);
 			}
 		} catch (IOException e) {
 			LOGGER.info(e);
 			colorSpaceCreationProblem(colorspaceID, e.getMessage());
 		}
-		colorspaceID = config.isFeatureEnabled(FeatureObjectType.COLORSPACE) ? colorspaceID : null;
-		reporter.report(PBFeaturesObjectCreator.createShadingFeaturesObject(shading, id, colorspaceID));
+		String colorSpaceChild = config.isFeatureEnabled(FeatureObjectType.COLORSPACE) ? colorspaceID : null;
+		report(() -> PBFeaturesObjectCreator.createShadingFeaturesObject(shading, id, colorSpaceChild));
 	}
 
 	private void parseFont(PDFontLike font, String id) {
@@ -1029,7 +1187,7 @@ public final class PBFeatureParser {
 			Set<String> propertiesChild = config.isFeatureEnabled(FeatureObjectType.PROPERTIES)
 					? parsePropertiesFromResources(resources) : null;
 
-			reporter.report(PBFeaturesObjectCreator.createFontFeaturesObject(font, id, extGStateChild, colorSpaceChild,
+			report(() -> PBFeaturesObjectCreator.createFontFeaturesObject(font, id, extGStateChild, colorSpaceChild,
 					patternChild, shadingChild, xobjectChild, fontChild, propertiesChild));
 		} else if (font instanceof PDType0Font) {
 			PDType0Font type0 = (PDType0Font) font;
@@ -1037,20 +1195,18 @@ public final class PBFeatureParser {
 			COSBase descendantFontsBase = type0.getCOSObject().getDictionaryObject(COSName.DESCENDANT_FONTS);
 			if (descendantFontsBase instanceof COSArray) {
 				COSBase descendantFontDictionaryBase = ((COSArray) descendantFontsBase).getObject(0);
-				String descendantID = getId(descendantFontDictionaryBase, FeatureObjectType.FONT);
-				if (checkIDBeforeProcess(descendantID)) {
+				long descendantKey = getKey(descendantFontDictionaryBase, FeatureObjectType.FONT);
+				String descendantID = getId(descendantKey);
+				if (checkKeyBeforeProcess(descendantKey)) {
 					parseFont(type0.getDescendantFont(), descendantID);
 				}
-				Set<String> descendant = null;
-				if (config.isFeatureEnabled(FeatureObjectType.FONT)) {
-					descendant = new HashSet<>();
-					descendant.add(descendantID);
-				}
-				reporter.report(PBFeaturesObjectCreator.createFontFeaturesObject(font, id, null, null, null, null, null,
+				Set<String> descendant = config.isFeatureEnabled(FeatureObjectType.FONT)
+						? new HashSet<>(Collections.singleton(descendantID)) : null;
+				report(() -> PBFeaturesObjectCreator.createFontFeaturesObject(font, id, null, null, null, null, null,
 						descendant, null));
 			}
 		} else {
-			reporter.report(PBFeaturesObjectCreator.createFontFeaturesObject(font, id, null, null, null, null, null,
+			report(() -> PBFeaturesObjectCreator.createFontFeaturesObject(font, id, null, null, null, null, null,
 					null, null));
 		}
 	}
@@ -1062,20 +1218,24 @@ public final class PBFeatureParser {
 			PDICCBased iccBased = (PDICCBased) colorSpace;
 			COSArray array = (COSArray) iccBased.getCOSObject();
 			COSBase base = array.get(1);
-			iccProfileID = getId(base, FeatureObjectType.ICCPROFILE);
+			long iccProfileKey = getKey(base, FeatureObjectType.ICCPROFILE);
+			iccProfileID = getId(iccProfileKey);
 
-			if (checkIDBeforeProcess(iccProfileID)) {
-				reporter.report(PBFeaturesObjectCreator
-						.createICCProfileFeaturesObject(iccBased.getPDStream().getStream(), iccProfileID));
+			if (checkKeyBeforeProcess(iccProfileKey)) {
+				COSStream profile = iccBased.getPDStream().getStream();
+				String profileID = iccProfileID;
+				report(() -> PBFeaturesObjectCreator.createICCProfileFeaturesObject(profile, profileID));
 			}
 
 			COSBase baseAlt = iccBased.getPDStream().getStream().getItem(COSName.ALTERNATE);
-			idAlt = getId(baseAlt, FeatureObjectType.COLORSPACE);
+			long altKey = getKey(baseAlt, FeatureObjectType.COLORSPACE);
+			idAlt = getId(altKey);
 
 			try {
 				PDColorSpace altclr = iccBased.getAlternateColorSpace();
-				idAlt = checkColorSpaceID(idAlt, altclr);
-				if (checkIDBeforeProcess(idAlt)) {
+				altKey = checkColorSpaceKey(altKey, altclr);
+				idAlt = getId(altKey);
+				if (checkKeyBeforeProcess(altKey)) {
 					parseColorSpace(iccBased.getAlternateColorSpace(), idAlt);
 
 				}
@@ -1090,7 +1250,8 @@ public final class PBFeatureParser {
 
 			COSArray array = (COSArray) colorSpace.getCOSObject();
 			COSBase base = array.get(number);
-			idAlt = getId(base, FeatureObjectType.COLORSPACE);
+			long altKey = getKey(base, FeatureObjectType.COLORSPACE);
+			idAlt = getId(altKey);
 
 			try {
 				PDColorSpace alt;
@@ -1102,9 +1263,10 @@ public final class PBFeatureParser {
 					alt = ((PDDeviceN) colorSpace).getAlternateColorSpace();
 				}
 
-				idAlt = checkColorSpaceID(idAlt, alt);
+				altKey = checkColorSpaceKey(altKey, alt);
+				idAlt = getId(altKey);
 
-				if (checkIDBeforeProcess(idAlt)) {
+				if (checkKeyBeforeProcess(altKey)) {
 					parseColorSpace(alt, idAlt);
 				}
 			} catch (IOException e) {
@@ -1112,21 +1274,22 @@ public final class PBFeatureParser {
 				colorSpaceCreationProblem(idAlt, e.getMessage());
 			}
 		}
-		iccProfileID = config.isFeatureEnabled(FeatureObjectType.ICCPROFILE) ? iccProfileID : null;
-		idAlt = config.isFeatureEnabled(FeatureObjectType.COLORSPACE) ? idAlt : null;
-		reporter.report(PBFeaturesObjectCreator.createColorSpaceFeaturesObject(colorSpace, id, iccProfileID, idAlt));
+		String iccProfileChild = config.isFeatureEnabled(FeatureObjectType.ICCPROFILE) ? iccProfileID : null;
+		String alternateChild = config.isFeatureEnabled(FeatureObjectType.COLORSPACE) ? idAlt : null;
+		report(() -> PBFeaturesObjectCreator.createColorSpaceFeaturesObject(colorSpace, id, iccProfileChild,
+				alternateChild));
 	}
 
-	private static String checkColorSpaceID(String prevID, PDColorSpace colorSpace) {
-		String id = prevID;
+	private static long checkColorSpaceKey(long prevKey, PDColorSpace colorSpace) {
+		long key = prevKey;
 		if (colorSpace instanceof PDDeviceGray) {
-			id = DEVICEGRAY_ID;
+			key = DEVICEGRAY_KEY;
 		} else if (colorSpace instanceof PDDeviceRGB) {
-			id = DEVICERGB_ID;
+			key = DEVICERGB_KEY;
 		} else if (colorSpace instanceof PDDeviceCMYK) {
-			id = DEVICECMYK_ID;
+			key = DEVICECMYK_KEY;
 		}
-		return id;
+		return key;
 	}
 
 	private static COSBase getBase(final COSBase base) {
@@ -1139,28 +1302,69 @@ public final class PBFeatureParser {
 		return item;
 	}
 
-	private String getId(final COSBase base, final FeatureObjectType objType) {
+	/**
+	 * Packs the identity of the object into a long key. Indirect objects are
+	 * keyed by type and object number, as their ids are, direct objects by
+	 * type and the number of objects processed so far.
+	 */
+	private long getKey(final COSBase base, final FeatureObjectType objType) {
 		if (base == null) {
-			return null;
+			return NO_KEY;
 		}
-		long numb = this.processedIDs.size();
 		COSBase item = base;
-		String type = "Dir";
+		COSObject indirect = null;
 
 		while (item instanceof COSObject) {
-			numb = ((COSObject) item).getObjectNumber();
-			type = "Indir";
-			item = ((COSObject) item).getObject();
+			indirect = (COSObject) item;
+			item = indirect.getObject();
+		}
+
+		long type = (long) objType.ordinal() << TYPE_SHIFT;
+		if (indirect == null) {
+			return DIRECT_FLAG | type | this.processedKeys.size();
+		}
+		return type | (indirect.getObjectNumber() & OBJECT_NUMBER_MASK);
+	}
+
+	private String getId(final long key) {
+		if (key == NO_KEY) {
+			return null;
+		} else if (key == DEVICEGRAY_KEY) {
+			return DEVICEGRAY_ID;
+		} else if (key == DEVICERGB_KEY) {
+			return DEVICERGB_ID;
+		} else if (key == DEVICECMYK_KEY) {
+			return DEVICECMYK_ID;
+		}
+		String prefix = TYPES[(int) ((key >>> TYPE_SHIFT) & TYPE_MASK)].getIdPrefix();
+		long number = key & OBJECT_NUMBER_MASK;
+		if ((key & DIRECT_FLAG) != 0) {
+			return prefix + "Dir" + number;
+		}
+		Long boxedKey = Long.valueOf(key);
+		String id = this.indirectIDs.get(boxedKey);
+		if (id == null) {
+			id = prefix + "Indir" + number;
+			this.indirectIDs.put(boxedKey, id);
 		}
+		return id;
+	}
+
+	private boolean checkKeyBeforeProcess(long key) {
+		return key != NO_KEY && this.processedKeys.add(Long.valueOf(key));
+	}
 
-		return objType.getIdPrefix() + type + numb;
+	private interface FeaturesObjectFactory {
+		FeaturesObject create();
 	}
 
-	private boolean checkIDBeforeProcess(String id) {
-		if (id == null || this.processedIDs.contains(id)) {
-			return false;
+	private static final class PendingReport {
+		private final FeaturesObjectFactory factory;
+		private final Consumer<FeatureExtractionResult> action;
+
+		private PendingReport(FeaturesObjectFactory factory, Consumer<FeatureExtractionResult> action) {
+			this.factory = factory;
+			this.action = action;
 		}
-		this.processedIDs.add(id);
-		return true;
 	}
 }
@@ -44,6 +44,7 @@ import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDDocume
 import org.apache.pdfbox.pdmodel.interactive.form.PDField;
 import org.verapdf.features.objects.*;
 import org.verapdf.features.pb.objects.*;
+import org.verapdf.features.pb.tools.PBOutlineIndex;
 
 import java.util.Set;
 
@@ -138,6 +139,19 @@ public final class PBFeaturesObjectCreator {
 		return new OutlinesFeaturesObject(adapter);
 	}
 
+	/**
+	 * Creates new PBOutlinesFeaturesObjectAdapter
+	 *
+	 * @param outlines PDDocumentOutline class from pdfbox, which represents outlines for feature report
+	 * @param index    index of items of the given outlines
+	 * @return created PBOutlinesFeaturesObjectAdapter
+	 */
+	public static OutlinesFeaturesObject createOutlinesFeaturesObject(PDDocumentOutline outlines,
+																	  PBOutlineIndex index) {
+		PBOutlinesFeaturesObjectAdapter adapter = new PBOutlinesFeaturesObjectAdapter(outlines, index);
+		return new OutlinesFeaturesObject(adapter);
+	}
+
 	/**
 	 * Creates new PBAnnotationFeaturesObjectAdapter
 	 *
@@ -22,13 +22,12 @@ package org.verapdf.features.pb.objects;
 
 import org.apache.log4j.Logger;
 import org.apache.pdfbox.cos.*;
-import org.apache.pdfbox.pdmodel.common.PDStream;
 import org.apache.pdfbox.pdmodel.graphics.color.*;
 import org.verapdf.features.objects.ColorSpaceFeaturesObjectAdapter;
 import org.verapdf.features.pb.tools.PBAdapterHelper;
 
-import javax.xml.bind.DatatypeConverter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -43,12 +42,21 @@ public class PBColorSpaceFeaturesObjectAdapter implements ColorSpaceFeaturesObje
 	private static final Logger LOGGER = Logger
 			.getLogger(PBColorSpaceFeaturesObjectAdapter.class);
 
+	/**
+	 * Maximum number of lookup table bytes in the report. Valid lookup table
+	 * is never longer than 256 colors of 32 components
+	 */
+	public static final int MAX_LOOKUP_SIZE = 64 * 1024;
+
+	private static final int LOOKUP_CHUNK_SIZE = 4096;
+	private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
 	private PDColorSpace colorSpace;
 	private String id;
 	private String iccProfileChild;
 	private String colorSpaceChild;
 	private Long hival;
-	private String hexEncodedLookup;
+	private COSBase lookup;
 	private List<String> errors;
 
 	/**
@@ -84,24 +92,12 @@ public class PBColorSpaceFeaturesObjectAdapter implements ColorSpaceFeaturesObje
 			}
 
 			if (((COSArray) index.getCOSObject()).size() >= 4) {
-				byte[] lookupData = null;
 				COSBase lookupTable = ((COSArray) index.getCOSObject()).getObject(3);
-				if (lookupTable instanceof COSString) {
-					lookupData = ((COSString) lookupTable).getBytes();
-				} else if (lookupTable instanceof COSStream) {
-					try {
-						lookupData = (new PDStream((COSStream) lookupTable)).getByteArray();
-					} catch (IOException e) {
-						LOGGER.info(e);
-						this.errors.add(e.getMessage());
-					}
+				if (lookupTable instanceof COSString || lookupTable instanceof COSStream) {
+					this.lookup = lookupTable;
 				} else {
 					this.errors.add("Indexed color space has element lookup but it is not a String or a Stream");
 				}
-
-				if (lookupData != null) {
-					this.hexEncodedLookup = DatatypeConverter.printHexBinary(lookupData);
-				}
 			} else {
 				this.errors.add("Indexed color space has no element lookup");
 			}
@@ -222,9 +218,56 @@ public class PBColorSpaceFeaturesObjectAdapter implements ColorSpaceFeaturesObje
 		return this.hival;
 	}
 
+	/**
+	 * Encodes lookup table on every call, so the encoded table is not kept by
+	 * the adapter. Stream data is read and encoded in chunks, and no more than
+	 * the maximum lookup size is read.
+	 */
 	@Override
 	public String getHexEncodedLookup() {
-		return this.hexEncodedLookup;
+		if (this.lookup instanceof COSString) {
+			byte[] bytes = ((COSString) this.lookup).getBytes();
+			int length = Math.min(bytes.length, MAX_LOOKUP_SIZE);
+			if (length < bytes.length) {
+				addLookupTruncatedError();
+			}
+			StringBuilder builder = new StringBuilder(length * 2);
+			appendHex(builder, bytes, length);
+			return builder.toString();
+		} else if (this.lookup instanceof COSStream) {
+			try (InputStream stream = ((COSStream) this.lookup).getUnfilteredStream()) {
+				StringBuilder builder = new StringBuilder();
+				byte[] chunk = new byte[LOOKUP_CHUNK_SIZE];
+				int remaining = MAX_LOOKUP_SIZE;
+				int read;
+				while (remaining > 0 && (read = stream.read(chunk, 0, Math.min(chunk.length, remaining))) != -1) {
+					appendHex(builder, chunk, read);
+					remaining -= read;
+				}
+				if (remaining == 0 && stream.read() != -1) {
+					addLookupTruncatedError();
+				}
+				return builder.toString();
+			} catch (IOException e) {
+				LOGGER.info(e);
+				this.errors.add(e.getMessage());
+			}
+		}
+		return null;
+	}
+
+	private void addLookupTruncatedError() {
+		String error = "Indexed color space lookup is longer than " + MAX_LOOKUP_SIZE
+				+ " bytes, only first bytes are reported";
+		if (!this.errors.contains(error)) {
+			this.errors.add(error);
+		}
+	}
+
+	private static void appendHex(StringBuilder builder, byte[] bytes, int length) {
+		for (int i = 0; i < length; ++i) {
+			builder.append(HEX_DIGITS[(bytes[i] >> 4) & 0xF]).append(HEX_DIGITS[bytes[i] & 0xF]);
+		}
 	}
 
 	@Override
@@ -25,6 +25,7 @@ import org.apache.pdfbox.cos.*;
 import org.apache.pdfbox.pdmodel.common.filespecification.PDComplexFileSpecification;
 import org.apache.pdfbox.pdmodel.common.filespecification.PDEmbeddedFile;
 import org.verapdf.features.objects.EmbeddedFileFeaturesObjectAdapter;
+import org.verapdf.features.pb.tools.PBStreamAccess;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -189,7 +190,7 @@ public class PBEmbeddedFileFeaturesObjectAdapter implements EmbeddedFileFeatures
             }
             COSStream stream = this.ef.getStream();
             if (stream != null) {
-                return stream.getUnfilteredStream();
+                return PBStreamAccess.of(stream).getData(PBStreamAccess.Kind.DECODED);
             }
         } catch (IOException e) {
             LOGGER.debug("Can not get embedded file stream", e);
@@ -26,6 +26,7 @@ import org.apache.pdfbox.pdmodel.common.PDStream;
 import org.apache.pdfbox.pdmodel.font.*;
 import org.verapdf.features.objects.FontFeaturesObjectAdapter;
 import org.verapdf.features.pb.tools.PBAdapterHelper;
+import org.verapdf.features.pb.tools.PBStreamAccess;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -461,7 +462,7 @@ public class PBFontFeaturesObjectAdapter implements FontFeaturesObjectAdapter {
 				COSStream stream = file.getStream();
 				if (stream != null) {
 					try {
-						return stream.getUnfilteredStream();
+						return PBStreamAccess.of(stream).getData(PBStreamAccess.Kind.DECODED);
 					} catch (IOException e) {
 						LOGGER.debug("Error while obtaining unfiltered font stream", e);
 					}
@@ -0,0 +1,392 @@
+/**
+ * This file is part of veraPDF Library PDF Box Features Reporting, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Library PDF Box Features Reporting is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Library PDF Box Features Reporting as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Library PDF Box Features Reporting as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.features.pb.objects;
+
+import org.apache.log4j.Logger;
+import org.apache.pdfbox.cos.COSStream;
+import org.verapdf.features.pb.tools.PBAdapterHelper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Values of icc profile header and text tags used in the feature report.
+ * Only the header, the tag table and the data of cprt and desc tags are
+ * read from the profile stream, the rest of the profile is skipped.
+ * <p>
+ * Values are computed once per profile stream and shared by all feature
+ * objects created for it.
+ */
+final class PBICCProfileInfo {
+
+	private static final Logger LOGGER = Logger.getLogger(PBICCProfileInfo.class);
+
+	private static final Map<COSStream, PBICCProfileInfo> INFOS =
+			Collections.synchronizedMap(new WeakHashMap<COSStream, PBICCProfileInfo>());
+
+	private static final int HEADER_SIZE = 128;
+	private static final int FF_FLAG = 0xFF;
+	private static final int REQUIRED_LENGTH = 4;
+	private static final int TAGINFO_LENGTH = 12;
+	private static final int MAX_TAG_LENGTH = 64 * 1024;
+	private static final int BITSINBYTE = 8;
+	private static final int VERSION_BYTE = 8;
+	private static final int SUBVERSION_BYTE = 9;
+	private static final int CMMTYPE_BEGIN = 4;
+	private static final int CMMTYPE_END = 8;
+	private static final int DATACOLORSPACE_BEGIN = 16;
+	private static final int DATACOLORSPACE_END = 20;
+	private static final int RENDERINGINTENT_BEGIN = 64;
+	private static final int RENDERINGINTENT_END = 68;
+	private static final int PROFILEID_BEGIN = 84;
+	private static final int PROFILEID_END = 100;
+	private static final int DEVICEMODEL_BEGIN = 52;
+	private static final int DEVICEMODEL_END = 56;
+	private static final int DEVICEMANUFACTURER_BEGIN = 48;
+	private static final int DEVICEMANUFACTURER_END = 52;
+	private static final int CREATOR_BEGIN = 80;
+	private static final int CREATOR_END = 84;
+	private static final int CREATION_YEAR = 24;
+	private static final int CREATION_MONTH = 26;
+	private static final int CREATION_DAY = 28;
+	private static final int CREATION_HOUR = 30;
+	private static final int CREATION_MIN = 32;
+	private static final int CREATION_SEC = 34;
+	private static final int FIRST_RECORD_STRING_LENGTH_IN_TEXTDESCRIPTIONTYPE_BEGIN = 8;
+	private static final int FIRST_RECORD_STRING_LENGTH_IN_TEXTDESCRIPTIONTYPE_END = 12;
+	private static final int NUMBER_OF_RECORDS_IN_MULTILOCALIZEDUNICODETYPE_BEGIN = 8;
+	private static final int NUMBER_OF_RECORDS_IN_MULTILOCALIZEDUNICODETYPE_END = 12;
+	private static final int LENGTH_OF_RECORD_IN_MULTILOCALIZEDUNICODETYPE_END = 12;
+
+	private static final String COPYRIGHT_TAG = "cprt";
+	private static final String DESCRIPTION_TAG = "desc";
+
+	private String version;
+	private String cmmType;
+	private String dataColorSpace;
+	private String creator;
+	private Calendar creationDate;
+	private String defaultRenderingIntent;
+	private String copyright;
+	private String description;
+	private String profileID;
+	private String deviceModel;
+	private String deviceManufacturer;
+	private final List<String> errors = new ArrayList<>();
+
+	private PBICCProfileInfo() {
+	}
+
+	/**
+	 * @param profile icc profile stream
+	 * @return values of the given profile, computed on the first call
+	 */
+	static PBICCProfileInfo of(COSStream profile) {
+		PBICCProfileInfo info = INFOS.get(profile);
+		if (info != null) {
+			return info;
+		}
+		// profile is read without holding the shared map lock, if the same
+		// profile has been read concurrently the first stored value is used
+		PBICCProfileInfo computed = new PBICCProfileInfo();
+		computed.read(profile);
+		info = INFOS.putIfAbsent(profile, computed);
+		return info == null ? computed : info;
+	}
+
+	String getVersion() {
+		return this.version;
+	}
+
+	String getCMMType() {
+		return this.cmmType;
+	}
+
+	String getDataColorSpace() {
+		return this.dataColorSpace;
+	}
+
+	String getCreator() {
+		return this.creator;
+	}
+
+	Calendar getCreationDate() {
+		return this.creationDate == null ? null : (Calendar) this.creationDate.clone();
+	}
+
+	String getDefaultRenderingIntent() {
+		return this.defaultRenderingIntent;
+	}
+
+	String getCopyright() {
+		return this.copyright;
+	}
+
+	String getDescription() {
+		return this.description;
+	}
+
+	String getProfileID() {
+		return this.profileID;
+	}
+
+	String getDeviceModel() {
+		return this.deviceModel;
+	}
+
+	String getDeviceManufacturer() {
+		return this.deviceManufacturer;
+	}
+
+	List<String> getErrors() {
+		return this.errors;
+	}
+
+	private void read(COSStream profile) {
+		TagReader reader = new TagReader(profile);
+		try {
+			byte[] header = new byte[HEADER_SIZE];
+			if (reader.read(0, header) < HEADER_SIZE) {
+				this.errors.add("ICCProfile contains less than " + HEADER_SIZE + " bytes");
+				return;
+			}
+			this.version = getVersion(header);
+			this.cmmType = getString(header, CMMTYPE_BEGIN, CMMTYPE_END);
+			this.dataColorSpace = getString(header, DATACOLORSPACE_BEGIN, DATACOLORSPACE_END);
+			this.creator = getString(header, CREATOR_BEGIN, CREATOR_END);
+			this.creationDate = getCreationDate(header);
+			this.defaultRenderingIntent = getIntent(getString(header, RENDERINGINTENT_BEGIN, RENDERINGINTENT_END));
+			this.profileID = getString(header, PROFILEID_BEGIN, PROFILEID_END);
+			this.deviceModel = getString(header, DEVICEMODEL_BEGIN, DEVICEMODEL_END);
+			this.deviceManufacturer = getString(header, DEVICEMANUFACTURER_BEGIN, DEVICEMANUFACTURER_END);
+
+			long[] copyrightTag = null;
+			long[] descriptionTag = null;
+			byte[] buffer = new byte[TAGINFO_LENGTH];
+			byte[] tagsNumber = new byte[REQUIRED_LENGTH];
+			if (reader.read(HEADER_SIZE, tagsNumber) == REQUIRED_LENGTH) {
+				long tagsNumberRemained = toUnsignedInt(tagsNumber, 0);
+				long curOffset = HEADER_SIZE + REQUIRED_LENGTH;
+				while (tagsNumberRemained-- > 0 && (copyrightTag == null || descriptionTag == null)
+						&& reader.read(curOffset, buffer) == TAGINFO_LENGTH) {
+					String tag = new String(buffer, 0, REQUIRED_LENGTH, StandardCharsets.US_ASCII);
+					long[] tagInfo = {toUnsignedInt(buffer, REQUIRED_LENGTH),
+							toUnsignedInt(buffer, REQUIRED_LENGTH * 2)};
+					if (copyrightTag == null && COPYRIGHT_TAG.equals(tag)) {
+						copyrightTag = tagInfo;
+					} else if (descriptionTag == null && DESCRIPTION_TAG.equals(tag)) {
+						descriptionTag = tagInfo;
+					}
+					curOffset += TAGINFO_LENGTH;
+				}
+			}
+			if (copyrightTag != null && descriptionTag != null && descriptionTag[0] < copyrightTag[0]) {
+				this.description = getStringTag(reader.readTag(descriptionTag), false);
+				this.copyright = getStringTag(reader.readTag(copyrightTag), true);
+			} else {
+				this.copyright = getStringTag(reader.readTag(copyrightTag), true);
+				this.description = getStringTag(reader.readTag(descriptionTag), false);
+			}
+		} catch (IOException e) {
+			LOGGER.debug("Reading byte array from InputStream error", e);
+			this.errors.add(e.getMessage());
+		} finally {
+			reader.close();
+		}
+	}
+
+	private static String getIntent(String str) {
+		if (str == null) {
+			return "Perceptual";
+		}
+		switch (str) {
+			case "\u0000\u0000\u0000\u0001":
+				return "Media-Relative Colorimetric";
+			case "\u0000\u0000\u0000\u0002":
+				return "Saturation";
+			case "\u0000\u0000\u0000\u0003":
+				return "ICC-Absolute Colorimetric";
+			default:
+				return str;
+		}
+	}
+
+	private static String getVersion(byte[] header) {
+
+		if (header[VERSION_BYTE] == 0 && header[SUBVERSION_BYTE] == 0) {
+			return null;
+		}
+		StringBuilder builder = new StringBuilder();
+		builder.append(header[VERSION_BYTE] & FF_FLAG).append(".");
+		builder.append((header[SUBVERSION_BYTE] & FF_FLAG) >>> REQUIRED_LENGTH);
+		return builder.toString();
+	}
+
+	private static String getString(byte[] header, int begin, int end) {
+		StringBuilder builder = new StringBuilder();
+		boolean isEmpty = true;
+		for (int i = begin; i < end; ++i) {
+			if (header[i] != 0) {
+				isEmpty = false;
+			}
+			builder.append((char) header[i]);
+		}
+
+		return isEmpty ? null : builder.toString();
+	}
+
+	private static Calendar getCreationDate(byte[] header) {
+
+		int year = getCreationPart(header, CREATION_YEAR);
+		int month = getCreationPart(header, CREATION_MONTH);
+		int day = getCreationPart(header, CREATION_DAY);
+		int hour = getCreationPart(header, CREATION_HOUR);
+		int min = getCreationPart(header, CREATION_MIN);
+		int sec = getCreationPart(header, CREATION_SEC);
+
+		if (year != 0 || month != 0 || day != 0 || hour != 0 || min != 0 || sec != 0) {
+			GregorianCalendar cal = new GregorianCalendar(TimeZone.getTimeZone("UTC"), Locale.US);
+			cal.set(year, month - 1, day, hour, min, sec);
+			cal.set(Calendar.MILLISECOND, 0);
+			return cal;
+		}
+
+		return null;
+	}
+
+	private static int getCreationPart(byte[] header, int off) {
+		int part = header[off] & FF_FLAG;
+		part <<= BITSINBYTE;
+		part += header[off + 1] & FF_FLAG;
+		return part;
+	}
+
+	/**
+	 * @param tag   data of the tag, offsets are relative to the tag start
+	 * @param isCprt true for copyright tag which can be of text type
+	 * @return text value of the tag
+	 */
+	private static String getStringTag(byte[] tag, boolean isCprt) {
+		if (tag == null || tag.length < REQUIRED_LENGTH) {
+			return null;
+		}
+		String type = new String(tag, 0, REQUIRED_LENGTH, StandardCharsets.US_ASCII);
+		if ("mluc".equals(type)) {
+			if (tag.length < NUMBER_OF_RECORDS_IN_MULTILOCALIZEDUNICODETYPE_END) {
+				return null;
+			}
+			long number = toUnsignedInt(tag, NUMBER_OF_RECORDS_IN_MULTILOCALIZEDUNICODETYPE_BEGIN);
+			int recOffset = NUMBER_OF_RECORDS_IN_MULTILOCALIZEDUNICODETYPE_END + REQUIRED_LENGTH;
+			for (long i = 0; i < number && recOffset + LENGTH_OF_RECORD_IN_MULTILOCALIZEDUNICODETYPE_END <= tag.length;
+				 ++i) {
+				String local = getString(tag, recOffset, recOffset + REQUIRED_LENGTH);
+				if ("enUS".equals(local)) {
+					long length = toUnsignedInt(tag, recOffset + REQUIRED_LENGTH);
+					long offset = toUnsignedInt(tag, recOffset + REQUIRED_LENGTH * 2);
+					return getString(tag, offset, length, StandardCharsets.UTF_16BE);
+				}
+				recOffset += LENGTH_OF_RECORD_IN_MULTILOCALIZEDUNICODETYPE_END;
+			}
+			return null;
+		} else if ("desc".equals(type)) {
+			if (tag.length < FIRST_RECORD_STRING_LENGTH_IN_TEXTDESCRIPTIONTYPE_END) {
+				return null;
+			}
+			long length = toUnsignedInt(tag, FIRST_RECORD_STRING_LENGTH_IN_TEXTDESCRIPTIONTYPE_BEGIN);
+			return getString(tag, FIRST_RECORD_STRING_LENGTH_IN_TEXTDESCRIPTIONTYPE_END, length,
+					StandardCharsets.US_ASCII);
+		} else if (isCprt) {
+			return getString(tag, REQUIRED_LENGTH, tag.length - REQUIRED_LENGTH, StandardCharsets.US_ASCII);
+		}
+		return null;
+	}
+
+	private static String getString(byte[] tag, long offset, long length, Charset charset) {
+		if (offset + length > tag.length) {
+			return null;
+		}
+		return new String(tag, (int) offset, (int) length, charset).trim();
+	}
+
+	private static long toUnsignedInt(byte[] b, int offset) {
+		long value = 0;
+		for (int i = 0; i < REQUIRED_LENGTH; i++) {
+			value = (value << BITSINBYTE) | (b[offset + i] & FF_FLAG);
+		}
+		return value;
+	}
+
+	/**
+	 * Sequential reader of the profile stream. Reading backwards reopens
+	 * the stream, which happens only for profiles with unusual tag order.
+	 */
+	private static final class TagReader {
+
+		private final COSStream profile;
+		private InputStream stream;
+		private long position;
+
+		TagReader(COSStream profile) {
+			this.profile = profile;
+		}
+
+		int read(long offset, byte[] buffer) throws IOException {
+			if (this.stream == null || offset < this.position) {
+				close();
+				this.stream = this.profile.getUnfilteredStream();
+				this.position = 0;
+			}
+			this.position += PBAdapterHelper.skipFully(this.stream, offset - this.position);
+			if (this.position < offset) {
+				return 0;
+			}
+			int read = PBAdapterHelper.readFully(this.stream, buffer);
+			this.position += read;
+			return read;
+		}
+
+		/**
+		 * @param tagInfo offset and length of the tag data
+		 * @return tag data, or null if the tag is out of the stream bounds
+		 */
+		byte[] readTag(long[] tagInfo) throws IOException {
+			if (tagInfo == null) {
+				return null;
+			}
+			byte[] tag = new byte[(int) Math.min(tagInfo[1], MAX_TAG_LENGTH)];
+			return read(tagInfo[0], tag) == tag.length ? tag : null;
+		}
+
+		void close() {
+			if (this.stream != null) {
+				try {
+					this.stream.close();
+				} catch (IOException e) {
+					LOGGER.debug("Can not close icc profile stream", e);
+				}
+				this.stream = null;
+			}
+		}
+	}
+}
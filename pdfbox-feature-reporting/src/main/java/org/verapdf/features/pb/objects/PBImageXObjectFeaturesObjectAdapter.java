@@ -24,6 +24,7 @@ import org.apache.pdfbox.cos.*;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObjectProxy;
 import org.verapdf.features.objects.ImageXObjectFeaturesObjectAdapter;
 import org.verapdf.features.pb.tools.PBAdapterHelper;
+import org.verapdf.features.pb.tools.PBStreamAccess;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -165,7 +166,7 @@ public class PBImageXObjectFeaturesObjectAdapter implements ImageXObjectFeatures
         if (imageXObject != null) {
             try {
                 if (imageXObject.getStream() != null && imageXObject.getStream().getStream() != null) {
-                    return imageXObject.getStream().getStream().getFilteredStream();
+                    return PBStreamAccess.of(imageXObject.getStream().getStream()).getData(PBStreamAccess.Kind.RAW);
                 }
             } catch (IOException e) {
                 LOGGER.info(e);
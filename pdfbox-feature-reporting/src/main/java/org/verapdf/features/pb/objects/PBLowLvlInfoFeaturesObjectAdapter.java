@@ -24,6 +24,7 @@ import org.apache.log4j.Logger;
 import org.apache.pdfbox.cos.*;
 import org.verapdf.features.objects.LowLvlInfoFeaturesObjectAdapter;
 import org.verapdf.features.pb.tools.PBAdapterHelper;
+import org.verapdf.features.pb.tools.PBDocumentCensus;
 
 import java.io.IOException;
 import java.util.*;
@@ -47,19 +48,6 @@ public class PBLowLvlInfoFeaturesObjectAdapter implements LowLvlInfoFeaturesObje
 	private Set<String> filters;
 	private boolean isTagged = false;
 	private List<String> errors;
-	private static final Map<String, String> filtersAbbreviations;
-
-	static {
-		Map<String, String> filtersAbbreviationsTemp = new HashMap<>();
-		filtersAbbreviationsTemp.put("AHx", "ASCIIHexDecode");
-		filtersAbbreviationsTemp.put("A85", "ASCII85Decode");
-		filtersAbbreviationsTemp.put("LZW", "LZWDecode");
-		filtersAbbreviationsTemp.put("Fl", "FlateDecode");
-		filtersAbbreviationsTemp.put("RL", "RunLengthDecode");
-		filtersAbbreviationsTemp.put("CCF", "CCITTFaxDecode");
-		filtersAbbreviationsTemp.put("DCT", "DCTDecode");
-		filtersAbbreviations = Collections.unmodifiableMap(filtersAbbreviationsTemp);
-	}
 
 	/**
 	 * Constructs new low level info feature object adapter.
@@ -71,11 +59,9 @@ public class PBLowLvlInfoFeaturesObjectAdapter implements LowLvlInfoFeaturesObje
 		this.isPresent = document != null;
 		if (document != null) {
 			this.headerVersion = document.getVersion();
-			List<COSObject> objects = document.getObjects();
+			PBDocumentCensus census = PBDocumentCensus.of(document);
 			this.errors = new ArrayList<>();
-			if (objects != null) {
-				this.objectsNumber = objects.size();
-			}
+			this.objectsNumber = census.getIndirectObjectsNumber();
 			addDocumentId(document.getDocumentID());
 			try {
 				COSBase catalog = document.getCatalog().getObject();
@@ -89,29 +75,8 @@ public class PBLowLvlInfoFeaturesObjectAdapter implements LowLvlInfoFeaturesObje
 				LOGGER.debug("Can not obtain document catalog", e);
 				this.errors.add("Can not obtain document catalog");
 			}
-			this.filters = getAllFilters(document);
-		}
-	}
-
-	private Set<String> getAllFilters(COSDocument document) {
-		Set<String> res = new HashSet<>();
-		for (COSBase base : document.getObjects()) {
-			while (base instanceof COSObject) {
-				base = ((COSObject) base).getObject();
-			}
-			if (base instanceof COSStream) {
-				try (COSStream stream = (COSStream) base) {
-					COSBase baseFilter = stream.getFilters();
-					if (baseFilter != null) {
-						addFiltersFromBase(res, baseFilter);
-					}
-				} catch (IOException excep) {
-					LOGGER.debug(excep);
-					this.errors.add(excep.getMessage());
-				}
-			}
+			this.filters = census.getFilters();
 		}
-		return res;
 	}
 
 	private void addDocumentId(COSArray ids) {
@@ -124,26 +89,6 @@ public class PBLowLvlInfoFeaturesObjectAdapter implements LowLvlInfoFeaturesObje
 		}
 	}
 
-	private static void addFiltersFromBase(Set<String> res, COSBase base) {
-		if (base instanceof COSName) {
-			String name = ((COSName) base).getName();
-			if (filtersAbbreviations.keySet().contains(name)) {
-				name = filtersAbbreviations.get(name);
-			}
-			res.add(name);
-		} else if (base instanceof COSArray) {
-			for (COSBase baseElement : (COSArray) base) {
-				if (baseElement instanceof COSName) {
-					String name = ((COSName) baseElement).getName();
-					if (filtersAbbreviations.keySet().contains(name)) {
-						name = filtersAbbreviations.get(name);
-					}
-					res.add(name);
-				}
-			}
-		}
-	}
-
 	@Override
 	public double getHeaderVersion() {
 		return this.headerVersion;
@@ -27,6 +27,7 @@ import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDDocume
 import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDOutlineItem;
 import org.verapdf.features.objects.OutlinesFeaturesObjectAdapter;
 import org.verapdf.features.pb.tools.PBAdapterHelper;
+import org.verapdf.features.pb.tools.PBOutlineIndex;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -40,6 +41,7 @@ import java.util.List;
 public class PBOutlinesFeaturesObjectAdapter implements OutlinesFeaturesObjectAdapter {
 
 	private PDDocumentOutline outline;
+	private PBOutlineIndex index;
 
 	/**
 	 * Constructs new OutputIntent Feature Object adapter
@@ -47,21 +49,39 @@ public class PBOutlinesFeaturesObjectAdapter implements OutlinesFeaturesObjectAd
 	 * @param outline pdfbox class represents outlines object
 	 */
 	public PBOutlinesFeaturesObjectAdapter(PDDocumentOutline outline) {
+		this(outline, PBOutlineIndex.build(outline, PBOutlineIndex.DEFAULT_ITEMS_LIMIT));
+	}
+
+	/**
+	 * Constructs new OutputIntent Feature Object adapter
+	 *
+	 * @param outline pdfbox class represents outlines object
+	 * @param index   index of items of the given outline
+	 */
+	public PBOutlinesFeaturesObjectAdapter(PDDocumentOutline outline, PBOutlineIndex index) {
 		this.outline = outline;
+		this.index = index;
 	}
 
 	@Override
 	public List<OutlineFeaturesObjectAdapter> getChildren() {
 		if (outline != null) {
-			List<OutlineFeaturesObjectAdapter> res = new ArrayList<>();
-			for (PDOutlineItem item : outline.children()) {
-				res.add(new PBOutlineFeaturesObjectAdapter(item));
-			}
-			return Collections.unmodifiableList(res);
+			return getAdapters(this.index.getRoots());
 		}
 		return Collections.emptyList();
 	}
 
+	private static List<OutlineFeaturesObjectAdapter> getAdapters(List<PBOutlineIndex.Entry> entries) {
+		if (entries.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<OutlineFeaturesObjectAdapter> res = new ArrayList<>(entries.size());
+		for (PBOutlineIndex.Entry entry : entries) {
+			res.add(new PBOutlineFeaturesObjectAdapter(entry));
+		}
+		return Collections.unmodifiableList(res);
+	}
+
 	@Override
 	public boolean isPDFObjectPresent() {
 		return this.outline != null;
@@ -69,15 +89,21 @@ public class PBOutlinesFeaturesObjectAdapter implements OutlinesFeaturesObjectAd
 
 	@Override
 	public List<String> getErrors() {
+		if (this.outline != null && this.index.isTruncated()) {
+			return Collections.singletonList("Number of outline items exceeds " + this.index.getItemsLimit()
+					+ ", rest of outline is skipped");
+		}
 		return Collections.emptyList();
 	}
 
 	private static class PBOutlineFeaturesObjectAdapter implements OutlineFeaturesObjectAdapter {
 
+		private PBOutlineIndex.Entry entry;
 		private PDOutlineItem outline;
 
-		PBOutlineFeaturesObjectAdapter(PDOutlineItem outline) {
-			this.outline = outline;
+		PBOutlineFeaturesObjectAdapter(PBOutlineIndex.Entry entry) {
+			this.entry = entry;
+			this.outline = entry.getItem();
 		}
 
 		@Override
@@ -123,14 +149,7 @@ public class PBOutlinesFeaturesObjectAdapter implements OutlinesFeaturesObjectAd
 
 		@Override
 		public List<OutlineFeaturesObjectAdapter> getChildren() {
-			if (outline != null) {
-				List<OutlineFeaturesObjectAdapter> res = new ArrayList<>();
-				for (PDOutlineItem item : outline.children()) {
-					res.add(new PBOutlineFeaturesObjectAdapter(item));
-				}
-				return Collections.unmodifiableList(res);
-			}
-			return Collections.emptyList();
+			return getAdapters(this.entry.getChildren());
 		}
 	}
 }
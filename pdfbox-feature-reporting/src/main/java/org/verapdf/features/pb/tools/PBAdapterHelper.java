@@ -88,6 +88,51 @@ public final class PBAdapterHelper {
 		return baos.toByteArray();
 	}
 
+	/**
+	 * Reads bytes from the stream until the buffer is full or end of stream
+	 * is reached
+	 *
+	 * @param is     input stream to read
+	 * @param buffer buffer for read bytes
+	 * @return number of read bytes
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static int readFully(InputStream is, byte[] buffer) throws IOException {
+		int read = 0;
+		while (read < buffer.length) {
+			int length = is.read(buffer, read, buffer.length - read);
+			if (length == -1) {
+				break;
+			}
+			read += length;
+		}
+		return read;
+	}
+
+	/**
+	 * Skips the given number of bytes of the stream or all remaining bytes
+	 * if the stream is shorter
+	 *
+	 * @param is    input stream to skip
+	 * @param count number of bytes to skip
+	 * @return number of skipped bytes
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static long skipFully(InputStream is, long count) throws IOException {
+		long skipped = 0;
+		while (skipped < count) {
+			long length = is.skip(count - skipped);
+			if (length <= 0) {
+				if (is.read() == -1) {
+					break;
+				}
+				length = 1;
+			}
+			skipped += length;
+		}
+		return skipped;
+	}
+
 	public static InputStream getMetadataStream(PDMetadata metadata) {
 		if (metadata != null) {
 			COSStream stream = metadata.getStream();
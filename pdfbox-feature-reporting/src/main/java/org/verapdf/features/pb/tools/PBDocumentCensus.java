@@ -0,0 +1,135 @@
+/**
+ * This file is part of veraPDF Library PDF Box Features Reporting, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Library PDF Box Features Reporting is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Library PDF Box Features Reporting as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Library PDF Box Features Reporting as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.features.pb.tools;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDocument;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSStream;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+
+/**
+ * Low level statistics of the document. The number of indirect objects is
+ * taken from the objects pool without dereferencing any object. Filter
+ * names are collected on the first request from the stream objects already
+ * loaded by the parser, references to other objects are not followed and
+ * stream data is never opened.
+ * <p>
+ * Census is computed once per document and shared between all callers.
+ */
+public final class PBDocumentCensus {
+
+	private static final Map<COSDocument, PBDocumentCensus> CENSUSES =
+			Collections.synchronizedMap(new WeakHashMap<COSDocument, PBDocumentCensus>());
+
+	private static final Map<String, String> FILTERS_ABBREVIATIONS;
+
+	static {
+		Map<String, String> filtersAbbreviationsTemp = new HashMap<>();
+		filtersAbbreviationsTemp.put("AHx", "ASCIIHexDecode");
+		filtersAbbreviationsTemp.put("A85", "ASCII85Decode");
+		filtersAbbreviationsTemp.put("LZW", "LZWDecode");
+		filtersAbbreviationsTemp.put("Fl", "FlateDecode");
+		filtersAbbreviationsTemp.put("RL", "RunLengthDecode");
+		filtersAbbreviationsTemp.put("CCF", "CCITTFaxDecode");
+		filtersAbbreviationsTemp.put("DCT", "DCTDecode");
+		FILTERS_ABBREVIATIONS = Collections.unmodifiableMap(filtersAbbreviationsTemp);
+	}
+
+	private final int indirectObjectsNumber;
+	private List<COSObject> objects;
+	private Set<String> filters;
+
+	private PBDocumentCensus(COSDocument document) {
+		this.objects = document.getObjects();
+		this.indirectObjectsNumber = this.objects.size();
+	}
+
+	/**
+	 * @param document pdfbox document
+	 * @return census of the given document, computed on the first call
+	 */
+	public static PBDocumentCensus of(COSDocument document) {
+		if (document == null) {
+			return null;
+		}
+		synchronized (CENSUSES) {
+			PBDocumentCensus census = CENSUSES.get(document);
+			if (census == null) {
+				census = new PBDocumentCensus(document);
+				CENSUSES.put(document, census);
+			}
+			return census;
+		}
+	}
+
+	/**
+	 * @return number of indirect objects in the document
+	 */
+	public int getIndirectObjectsNumber() {
+		return this.indirectObjectsNumber;
+	}
+
+	/**
+	 * @return full names of all filters used by streams of the document
+	 */
+	public synchronized Set<String> getFilters() {
+		if (this.filters == null) {
+			Set<String> filterNames = new TreeSet<>();
+			for (COSObject object : this.objects) {
+				COSBase base = object.getObject();
+				if (base instanceof COSStream) {
+					addFilters(filterNames, ((COSStream) base).getDictionaryObject(COSName.FILTER));
+				}
+			}
+			this.filters = Collections.unmodifiableSet(filterNames);
+			this.objects = null;
+		}
+		return this.filters;
+	}
+
+	private static void addFilters(Set<String> res, COSBase base) {
+		if (base instanceof COSName) {
+			res.add(getFullFilterName((COSName) base));
+		} else if (base instanceof COSArray) {
+			for (COSBase baseElement : (COSArray) base) {
+				if (baseElement instanceof COSName) {
+					res.add(getFullFilterName((COSName) baseElement));
+				}
+			}
+		}
+	}
+
+	private static String getFullFilterName(COSName filter) {
+		String name = filter.getName();
+		String fullName = FILTERS_ABBREVIATIONS.get(name);
+		return fullName != null ? fullName : name;
+	}
+}
@@ -0,0 +1,92 @@
+/**
+ * This file is part of veraPDF Library PDF Box Features Reporting, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Library PDF Box Features Reporting is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Library PDF Box Features Reporting as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Library PDF Box Features Reporting as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.features.pb.tools;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable set of feature object ids backed by a sorted array. Used for
+ * references between features objects that stay pending until the report
+ * is produced, where hash based sets cost several times more memory.
+ */
+public final class PBIdSet extends AbstractSet<String> {
+
+	private final String[] ids;
+
+	private PBIdSet(String[] ids) {
+		this.ids = ids;
+	}
+
+	/**
+	 * @param ids ids to copy, may be null
+	 * @return compact copy of the given ids, or null for null argument
+	 */
+	public static Set<String> of(Set<String> ids) {
+		if (ids == null || ids instanceof PBIdSet) {
+			return ids;
+		}
+		switch (ids.size()) {
+			case 0:
+				return Collections.emptySet();
+			case 1:
+				return Collections.singleton(ids.iterator().next());
+			default:
+				String[] array = ids.toArray(new String[ids.size()]);
+				Arrays.sort(array);
+				return new PBIdSet(array);
+		}
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return o instanceof String && Arrays.binarySearch(this.ids, o) >= 0;
+	}
+
+	@Override
+	public Iterator<String> iterator() {
+		return new Iterator<String>() {
+			private int index = 0;
+
+			@Override
+			public boolean hasNext() {
+				return this.index < PBIdSet.this.ids.length;
+			}
+
+			@Override
+			public String next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return PBIdSet.this.ids[this.index++];
+			}
+		};
+	}
+
+	@Override
+	public int size() {
+		return this.ids.length;
+	}
+}
@@ -0,0 +1,269 @@
+/**
+ * This file is part of veraPDF Library PDF Box Features Reporting, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Library PDF Box Features Reporting is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Library PDF Box Features Reporting as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Library PDF Box Features Reporting as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.features.pb.tools;
+
+import org.apache.log4j.Logger;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDDocumentOutline;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDOutlineItem;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Flat index of document outline items in document order. Outline tree is
+ * traversed iteratively and every item dictionary is visited only once, so
+ * neither deep nesting nor cycles in First, Next and Last references can
+ * exhaust the stack or loop forever. Number of indexed items is limited,
+ * the rest of the outline is skipped.
+ * <p>
+ * Index is built once per document and shared by the feature reporter and
+ * the validation model. Index with a smaller limit is the prefix of the
+ * cached one, so it is derived without traversing the outline again.
+ */
+public final class PBOutlineIndex {
+
+	private static final Logger LOGGER = Logger.getLogger(PBOutlineIndex.class);
+
+	/**
+	 * Default maximum number of indexed outline items
+	 */
+	public static final int DEFAULT_ITEMS_LIMIT = 1_000_000;
+
+	private static final PBOutlineIndex EMPTY = new PBOutlineIndex(Collections.<Entry>emptyList(), 0, false);
+
+	private static final Map<PDDocument, PBOutlineIndex> INDEXES =
+			Collections.synchronizedMap(new WeakHashMap<PDDocument, PBOutlineIndex>());
+
+	private final List<Entry> entries;
+	private final List<Entry> roots;
+	private final int itemsLimit;
+	private final boolean truncated;
+	private final Map<Integer, PBOutlineIndex> views = new ConcurrentHashMap<>();
+
+	private PBOutlineIndex(List<Entry> entries, int itemsLimit, boolean truncated) {
+		this.entries = Collections.unmodifiableList(entries);
+		List<Entry> rootEntries = new ArrayList<>();
+		for (Entry entry : entries) {
+			if (entry.depth == 0) {
+				rootEntries.add(entry);
+			}
+		}
+		this.roots = Collections.unmodifiableList(rootEntries);
+		this.itemsLimit = itemsLimit;
+		this.truncated = truncated;
+	}
+
+	/**
+	 * @param document pdfbox document
+	 * @return index of the document outline with the default items limit
+	 */
+	public static PBOutlineIndex of(PDDocument document) {
+		return of(document, DEFAULT_ITEMS_LIMIT);
+	}
+
+	/**
+	 * @param document   pdfbox document
+	 * @param itemsLimit maximum number of indexed items
+	 * @return index of the document outline, computed on the first call
+	 * and rebuilt only when the cached index is truncated below the given
+	 * limit
+	 */
+	public static PBOutlineIndex of(PDDocument document, int itemsLimit) {
+		if (document == null) {
+			return EMPTY;
+		}
+		PBOutlineIndex index = INDEXES.get(document);
+		if (index != null && index.covers(itemsLimit)) {
+			return index.limitTo(itemsLimit);
+		}
+		// index is built under the lock of its document only, so building
+		// outlines of other documents is not blocked
+		synchronized (document.getDocument()) {
+			index = INDEXES.get(document);
+			if (index == null || !index.covers(itemsLimit)) {
+				PDDocumentOutline outline = document.getDocumentCatalog().getDocumentOutline();
+				index = build(outline, itemsLimit);
+				INDEXES.put(document, index);
+			}
+			return index.limitTo(itemsLimit);
+		}
+	}
+
+	/**
+	 * Builds new index without caching it. Intended for outlines that are
+	 * not bound to a known document.
+	 *
+	 * @param outline    document outline, may be null
+	 * @param itemsLimit maximum number of indexed items
+	 * @return index of the given outline
+	 */
+	public static PBOutlineIndex build(PDDocumentOutline outline, int itemsLimit) {
+		if (outline == null) {
+			return EMPTY;
+		}
+		List<Entry> entries = new ArrayList<>();
+		Set<COSDictionary> visited = Collections.newSetFromMap(new IdentityHashMap<COSDictionary, Boolean>());
+		visited.add(outline.getCOSObject());
+		Deque<Entry> stack = new ArrayDeque<>();
+		PDOutlineItem first = outline.getFirstChild();
+		if (first != null) {
+			stack.push(new Entry(first, 0, null));
+		}
+		boolean truncated = false;
+		while (!stack.isEmpty()) {
+			Entry entry = stack.pop();
+			if (!visited.add(entry.item.getCOSObject())) {
+				LOGGER.debug("Outline item is referenced more than once, skipping it");
+				continue;
+			}
+			if (entries.size() == itemsLimit) {
+				LOGGER.debug("Number of outline items exceeds " + itemsLimit + ", rest of outline is skipped");
+				truncated = true;
+				break;
+			}
+			entries.add(entry);
+			if (entry.parent != null) {
+				entry.parent.children.add(entry);
+			}
+			PDOutlineItem next = entry.item.getNextSibling();
+			if (next != null) {
+				stack.push(new Entry(next, entry.depth, entry.parent));
+			}
+			PDOutlineItem child = entry.item.getFirstChild();
+			if (child != null) {
+				stack.push(new Entry(child, entry.depth + 1, entry));
+			}
+		}
+		return new PBOutlineIndex(entries, itemsLimit, truncated);
+	}
+
+	private boolean covers(int limit) {
+		return !this.truncated || this.itemsLimit >= limit;
+	}
+
+	private PBOutlineIndex limitTo(int limit) {
+		if (this.entries.size() <= limit) {
+			return this;
+		}
+		PBOutlineIndex view = this.views.get(Integer.valueOf(limit));
+		if (view == null) {
+			// entries are kept in document order, so every item of the
+			// prefix has its parent in the prefix as well
+			Map<Entry, Entry> copies = new IdentityHashMap<>();
+			List<Entry> prefix = new ArrayList<>(limit);
+			for (Entry entry : this.entries.subList(0, limit)) {
+				Entry parent = entry.parent == null ? null : copies.get(entry.parent);
+				Entry copy = new Entry(entry.item, entry.depth, parent);
+				if (parent != null) {
+					parent.children.add(copy);
+				}
+				copies.put(entry, copy);
+				prefix.add(copy);
+			}
+			view = new PBOutlineIndex(prefix, limit, true);
+			this.views.put(Integer.valueOf(limit), view);
+		}
+		return view;
+	}
+
+	/**
+	 * @return all indexed outline items in document order
+	 */
+	public List<Entry> getEntries() {
+		return this.entries;
+	}
+
+	/**
+	 * @return indexed top level outline items in document order
+	 */
+	public List<Entry> getRoots() {
+		return this.roots;
+	}
+
+	/**
+	 * @return true if outline contains more items than the limit
+	 */
+	public boolean isTruncated() {
+		return this.truncated;
+	}
+
+	/**
+	 * @return maximum number of indexed items
+	 */
+	public int getItemsLimit() {
+		return this.itemsLimit;
+	}
+
+	/**
+	 * Indexed outline item
+	 */
+	public static final class Entry {
+
+		private final PDOutlineItem item;
+		private final int depth;
+		private final Entry parent;
+		private final List<Entry> children = new ArrayList<>();
+
+		private Entry(PDOutlineItem item, int depth, Entry parent) {
+			this.item = item;
+			this.depth = depth;
+			this.parent = parent;
+		}
+
+		/**
+		 * @return pdfbox outline item
+		 */
+		public PDOutlineItem getItem() {
+			return this.item;
+		}
+
+		/**
+		 * @return nesting level of the item, 0 for top level items
+		 */
+		public int getDepth() {
+			return this.depth;
+		}
+
+		/**
+		 * @return parent item or null for top level items
+		 */
+		public Entry getParent() {
+			return this.parent;
+		}
+
+		/**
+		 * @return indexed children of the item in document order
+		 */
+		public List<Entry> getChildren() {
+			return Collections.unmodifiableList(this.children);
+		}
+	}
+}
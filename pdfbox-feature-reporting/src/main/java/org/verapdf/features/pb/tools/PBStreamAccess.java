@@ -0,0 +1,157 @@
+/**
+ * This file is part of veraPDF Library PDF Box Features Reporting, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Library PDF Box Features Reporting is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Library PDF Box Features Reporting as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Library PDF Box Features Reporting as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.features.pb.tools;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.lang.ref.SoftReference;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Shared access to the data of stream objects for features adapters and
+ * extractor plugins. Data that fits into the maximum cached size is kept in
+ * memory, so several consumers of the same stream do not read and decode it
+ * again. Kept data is softly referenced and is read again from the document
+ * only after it was reclaimed.
+ * <p>
+ * State is held per stream object for the lifetime of its document.
+ */
+public final class PBStreamAccess {
+
+	/**
+	 * Maximum size of stream data of one kind kept in memory
+	 */
+	public static final int MAX_CACHED_SIZE = 4 * 1024 * 1024;
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private static final Map<COSStream, Map<Kind, Data>> STATES =
+			Collections.synchronizedMap(new WeakHashMap<COSStream, Map<Kind, Data>>());
+
+	/**
+	 * Kind of stream data
+	 */
+	public enum Kind {
+		/**
+		 * Data as it is stored in the document, with all filters applied
+		 */
+		RAW,
+		/**
+		 * Data with all filters decoded
+		 */
+		DECODED
+	}
+
+	private final COSStream stream;
+	private final Map<Kind, Data> state;
+
+	private PBStreamAccess(COSStream stream, Map<Kind, Data> state) {
+		this.stream = stream;
+		this.state = state;
+	}
+
+	/**
+	 * @param stream stream object
+	 * @return access to the data of the given stream, or null for null argument
+	 */
+	public static PBStreamAccess of(COSStream stream) {
+		if (stream == null) {
+			return null;
+		}
+		synchronized (STATES) {
+			Map<Kind, Data> state = STATES.get(stream);
+			if (state == null) {
+				state = new EnumMap<>(Kind.class);
+				for (Kind kind : Kind.values()) {
+					state.put(kind, new Data());
+				}
+				STATES.put(stream, state);
+			}
+			return new PBStreamAccess(stream, state);
+		}
+	}
+
+	/**
+	 * Data that fits into the maximum cached size is read once and served
+	 * from memory to all consumers. Size of decoded data is not known in
+	 * advance, so data is buffered while it fits and the rest of larger data
+	 * is read from the same stream, which is decoded only once.
+	 *
+	 * @param kind kind of data
+	 * @return new stream with data of the given kind
+	 * @throws IOException if the stream can not be read or decoded
+	 */
+	public InputStream getData(Kind kind) throws IOException {
+		Data data = this.state.get(kind);
+		synchronized (data) {
+			byte[] cached = data.getBytes();
+			if (cached != null) {
+				return new ByteArrayInputStream(cached);
+			}
+			if (data.exceedsCache || kind == Kind.RAW
+					&& this.stream.getLong(COSName.LENGTH, Long.MAX_VALUE) > MAX_CACHED_SIZE) {
+				return open(kind);
+			}
+			InputStream is = open(kind);
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			try {
+				byte[] chunk = new byte[BUFFER_SIZE];
+				int read;
+				while (buffer.size() <= MAX_CACHED_SIZE && (read = is.read(chunk)) != -1) {
+					buffer.write(chunk, 0, read);
+				}
+			} catch (IOException | RuntimeException e) {
+				is.close();
+				throw e;
+			}
+			if (buffer.size() > MAX_CACHED_SIZE) {
+				data.exceedsCache = true;
+				return new SequenceInputStream(new ByteArrayInputStream(buffer.toByteArray()), is);
+			}
+			is.close();
+			byte[] bytes = buffer.toByteArray();
+			data.bytes = new SoftReference<>(bytes);
+			return new ByteArrayInputStream(bytes);
+		}
+	}
+
+	private InputStream open(Kind kind) throws IOException {
+		return kind == Kind.RAW ? this.stream.getFilteredStream() : this.stream.getUnfilteredStream();
+	}
+
+	private static final class Data {
+		private boolean exceedsCache;
+		private SoftReference<byte[]> bytes;
+
+		byte[] getBytes() {
+			return this.bytes == null ? null : this.bytes.get();
+		}
+	}
+}
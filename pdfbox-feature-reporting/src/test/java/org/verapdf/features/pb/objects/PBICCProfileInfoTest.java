@@ -0,0 +1,193 @@
+/**
+ * This file is part of veraPDF Library PDF Box Features Reporting, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Library PDF Box Features Reporting is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Library PDF Box Features Reporting as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Library PDF Box Features Reporting as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.features.pb.objects;
+
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class PBICCProfileInfoTest {
+
+	private static final String DESCRIPTION = "Test profile";
+	private static final String COPYRIGHT = "No copyright";
+
+	@Test
+	public void testHeaderAndTextTags() throws IOException {
+		PBICCProfileInfo info = PBICCProfileInfo.of(createStream(createProfile()));
+		Assert.assertEquals("2.1", info.getVersion());
+		Assert.assertEquals("lcms", info.getCMMType());
+		Assert.assertEquals("RGB ", info.getDataColorSpace());
+		Assert.assertEquals("Perceptual", info.getDefaultRenderingIntent());
+		Assert.assertEquals(DESCRIPTION, info.getDescription());
+		Assert.assertEquals(COPYRIGHT, info.getCopyright());
+		Assert.assertTrue(info.getErrors().isEmpty());
+	}
+
+	@Test
+	public void testInfoIsSharedPerStream() throws IOException {
+		COSStream stream = createStream(createProfile());
+		Assert.assertSame(PBICCProfileInfo.of(stream), PBICCProfileInfo.of(stream));
+	}
+
+	@Test
+	public void testShortProfile() throws IOException {
+		PBICCProfileInfo info = PBICCProfileInfo.of(createStream(new byte[16]));
+		Assert.assertNull(info.getVersion());
+		Assert.assertEquals(1, info.getErrors().size());
+	}
+
+	@Test
+	public void testSlowProfileDoesNotBlockOtherProfiles() throws Exception {
+		final CountDownLatch reading = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final COSStream slow = new BlockingStream(createProfile(), reading, release);
+		final COSStream fast = createStream(createProfile());
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<PBICCProfileInfo> slowInfo = executor.submit(new Callable<PBICCProfileInfo>() {
+				@Override
+				public PBICCProfileInfo call() {
+					return PBICCProfileInfo.of(slow);
+				}
+			});
+			Assert.assertTrue(reading.await(5, TimeUnit.SECONDS));
+			Future<PBICCProfileInfo> fastInfo = executor.submit(new Callable<PBICCProfileInfo>() {
+				@Override
+				public PBICCProfileInfo call() {
+					return PBICCProfileInfo.of(fast);
+				}
+			});
+			Assert.assertEquals(DESCRIPTION, fastInfo.get(5, TimeUnit.SECONDS).getDescription());
+			Assert.assertFalse(slowInfo.isDone());
+			release.countDown();
+			Assert.assertEquals(DESCRIPTION, slowInfo.get(5, TimeUnit.SECONDS).getDescription());
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	private static byte[] createProfile() throws IOException {
+		byte[] header = new byte[128];
+		putString(header, 4, "lcms");
+		header[8] = 2;
+		header[9] = 0x10;
+		putString(header, 16, "RGB ");
+
+		ByteArrayOutputStream description = new ByteArrayOutputStream();
+		description.write("desc".getBytes(StandardCharsets.US_ASCII));
+		description.write(new byte[4]);
+		writeInt(description, DESCRIPTION.length() + 1);
+		description.write(DESCRIPTION.getBytes(StandardCharsets.US_ASCII));
+		description.write(0);
+
+		ByteArrayOutputStream copyright = new ByteArrayOutputStream();
+		copyright.write("text".getBytes(StandardCharsets.US_ASCII));
+		copyright.write(new byte[4]);
+		copyright.write(COPYRIGHT.getBytes(StandardCharsets.US_ASCII));
+
+		int descriptionOffset = header.length + 4 + 2 * 12;
+		int copyrightOffset = descriptionOffset + description.size();
+		ByteArrayOutputStream profile = new ByteArrayOutputStream();
+		profile.write(header);
+		writeInt(profile, 2);
+		profile.write("desc".getBytes(StandardCharsets.US_ASCII));
+		writeInt(profile, descriptionOffset);
+		writeInt(profile, description.size());
+		profile.write("cprt".getBytes(StandardCharsets.US_ASCII));
+		writeInt(profile, copyrightOffset);
+		writeInt(profile, copyright.size());
+		description.writeTo(profile);
+		copyright.writeTo(profile);
+		return profile.toByteArray();
+	}
+
+	private static void putString(byte[] buffer, int offset, String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+		System.arraycopy(bytes, 0, buffer, offset, bytes.length);
+	}
+
+	private static void writeInt(ByteArrayOutputStream out, int value) {
+		out.write(value >>> 24);
+		out.write(value >>> 16);
+		out.write(value >>> 8);
+		out.write(value);
+	}
+
+	private static COSStream createStream(byte[] data) throws IOException {
+		COSStream stream = new COSStream(new COSDictionary());
+		fill(stream, data);
+		return stream;
+	}
+
+	private static void fill(COSStream stream, byte[] data) throws IOException {
+		try (OutputStream out = stream.createUnfilteredStream()) {
+			out.write(data);
+		}
+	}
+
+	/**
+	 * Stream whose data can not be read until the release latch is set
+	 */
+	private static final class BlockingStream extends COSStream {
+		private final CountDownLatch reading;
+		private final CountDownLatch release;
+
+		BlockingStream(byte[] data, CountDownLatch reading, CountDownLatch release) throws IOException {
+			super(new COSDictionary());
+			fill(this, data);
+			this.reading = reading;
+			this.release = release;
+		}
+
+		@Override
+		public InputStream getUnfilteredStream() throws IOException {
+			final InputStream stream = super.getUnfilteredStream();
+			return new FilterInputStream(stream) {
+				@Override
+				public int read(byte[] b, int off, int len) throws IOException {
+					BlockingStream.this.reading.countDown();
+					try {
+						BlockingStream.this.release.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new IOException(e);
+					}
+					return super.read(b, off, len);
+				}
+			};
+		}
+	}
+}
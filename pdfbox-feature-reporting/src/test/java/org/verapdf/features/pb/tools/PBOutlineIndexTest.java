@@ -0,0 +1,164 @@
+/**
+ * This file is part of veraPDF Library PDF Box Features Reporting, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Library PDF Box Features Reporting is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Library PDF Box Features Reporting as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Library PDF Box Features Reporting as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.features.pb.tools;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDDocumentOutline;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDOutlineItem;
+import org.junit.Assert;
+import org.junit.Test;
+import org.verapdf.features.pb.objects.PBOutlinesFeaturesObjectAdapter;
+
+import java.util.List;
+
+public class PBOutlineIndexTest {
+
+	@Test
+	public void testItemsAreIndexedInDocumentOrder() {
+		PDDocumentOutline outline = new PDDocumentOutline();
+		PDOutlineItem first = addItem(outline, "1");
+		addItem(first, "1.1");
+		addItem(first, "1.2");
+		addItem(outline, "2");
+
+		PBOutlineIndex index = PBOutlineIndex.build(outline, PBOutlineIndex.DEFAULT_ITEMS_LIMIT);
+		assertTitles(index.getEntries(), "1", "1.1", "1.2", "2");
+		assertTitles(index.getRoots(), "1", "2");
+		assertTitles(index.getRoots().get(0).getChildren(), "1.1", "1.2");
+		Assert.assertEquals(1, index.getEntries().get(2).getDepth());
+		Assert.assertSame(index.getRoots().get(0), index.getEntries().get(2).getParent());
+		Assert.assertFalse(index.isTruncated());
+	}
+
+	@Test
+	public void testCyclesAreSkipped() {
+		PDDocumentOutline outline = new PDDocumentOutline();
+		PDOutlineItem first = addItem(outline, "1");
+		PDOutlineItem child = addItem(first, "1.1");
+		PDOutlineItem second = addItem(outline, "2");
+		second.getCOSObject().setItem(COSName.NEXT, first);
+		child.getCOSObject().setItem(COSName.FIRST, first);
+
+		PBOutlineIndex index = PBOutlineIndex.build(outline, PBOutlineIndex.DEFAULT_ITEMS_LIMIT);
+		assertTitles(index.getEntries(), "1", "1.1", "2");
+		Assert.assertFalse(index.isTruncated());
+	}
+
+	@Test
+	public void testDeepNestingDoesNotExhaustStack() {
+		int depth = 100_000;
+		PDDocumentOutline outline = new PDDocumentOutline();
+		PDOutlineItem item = addItem(outline, "0");
+		for (int i = 1; i < depth; i++) {
+			item = addItem(item, String.valueOf(i));
+		}
+
+		PBOutlineIndex index = PBOutlineIndex.build(outline, PBOutlineIndex.DEFAULT_ITEMS_LIMIT);
+		Assert.assertEquals(depth, index.getEntries().size());
+		Assert.assertEquals(depth - 1, index.getEntries().get(depth - 1).getDepth());
+		Assert.assertEquals(1, index.getRoots().size());
+	}
+
+	@Test
+	public void testItemsLimit() {
+		PDDocumentOutline outline = createOutline(10);
+		PBOutlineIndex index = PBOutlineIndex.build(outline, 4);
+		Assert.assertEquals(4, index.getEntries().size());
+		Assert.assertTrue(index.isTruncated());
+		Assert.assertEquals(4, index.getItemsLimit());
+
+		Assert.assertFalse(PBOutlineIndex.build(outline, 10).isTruncated());
+	}
+
+	@Test
+	public void testIndexIsSharedForDifferentLimits() throws Exception {
+		try (PDDocument document = new PDDocument()) {
+			document.getDocumentCatalog().setDocumentOutline(createOutline(10));
+
+			PBOutlineIndex full = PBOutlineIndex.of(document);
+			Assert.assertSame(full, PBOutlineIndex.of(document, 10));
+
+			PBOutlineIndex limited = PBOutlineIndex.of(document, 4);
+			Assert.assertSame(limited, PBOutlineIndex.of(document, 4));
+			Assert.assertTrue(limited.isTruncated());
+			Assert.assertEquals(4, limited.getEntries().size());
+			for (int i = 0; i < 4; i++) {
+				Assert.assertSame(full.getEntries().get(i).getItem(), limited.getEntries().get(i).getItem());
+			}
+			Assert.assertSame(full, PBOutlineIndex.of(document));
+		}
+	}
+
+	@Test
+	public void testTruncatedIndexIsRebuiltForLargerLimit() throws Exception {
+		try (PDDocument document = new PDDocument()) {
+			document.getDocumentCatalog().setDocumentOutline(createOutline(10));
+
+			PBOutlineIndex limited = PBOutlineIndex.of(document, 4);
+			Assert.assertTrue(limited.isTruncated());
+			PBOutlineIndex full = PBOutlineIndex.of(document);
+			Assert.assertFalse(full.isTruncated());
+			Assert.assertEquals(10, full.getEntries().size());
+			Assert.assertSame(full, PBOutlineIndex.of(document));
+		}
+	}
+
+	@Test
+	public void testTruncationIsReportedAsFeatureError() {
+		PDDocumentOutline outline = createOutline(10);
+		PBOutlinesFeaturesObjectAdapter truncated =
+				new PBOutlinesFeaturesObjectAdapter(outline, PBOutlineIndex.build(outline, 4));
+		Assert.assertEquals(1, truncated.getErrors().size());
+		Assert.assertEquals(4, truncated.getChildren().size());
+		PBOutlinesFeaturesObjectAdapter complete = new PBOutlinesFeaturesObjectAdapter(outline);
+		Assert.assertTrue(complete.getErrors().isEmpty());
+	}
+
+	private static PDDocumentOutline createOutline(int items) {
+		PDDocumentOutline outline = new PDDocumentOutline();
+		for (int i = 0; i < items; i++) {
+			addItem(outline, String.valueOf(i));
+		}
+		return outline;
+	}
+
+	private static PDOutlineItem addItem(PDDocumentOutline parent, String title) {
+		PDOutlineItem item = new PDOutlineItem();
+		item.setTitle(title);
+		parent.addLast(item);
+		return item;
+	}
+
+	private static PDOutlineItem addItem(PDOutlineItem parent, String title) {
+		PDOutlineItem item = new PDOutlineItem();
+		item.setTitle(title);
+		parent.addLast(item);
+		return item;
+	}
+
+	private static void assertTitles(List<PBOutlineIndex.Entry> entries, String... titles) {
+		Assert.assertEquals(titles.length, entries.size());
+		for (int i = 0; i < titles.length; i++) {
+			Assert.assertEquals(titles[i], entries.get(i).getItem().getTitle());
+		}
+	}
+}
@@ -0,0 +1,104 @@
+/**
+ * This file is part of veraPDF Library PDF Box Features Reporting, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Library PDF Box Features Reporting is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Library PDF Box Features Reporting as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Library PDF Box Features Reporting as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.features.pb.tools;
+
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public class PBStreamAccessTest {
+
+	@Test
+	public void testSmallDataIsDecodedOnce() throws Exception {
+		byte[] data = createData(1024);
+		CountingStream stream = new CountingStream(data);
+		PBStreamAccess access = PBStreamAccess.of(stream);
+		Assert.assertArrayEquals(data, readAll(access.getData(PBStreamAccess.Kind.DECODED)));
+		Assert.assertArrayEquals(data, readAll(access.getData(PBStreamAccess.Kind.DECODED)));
+		Assert.assertEquals(1, stream.decodings);
+	}
+
+	@Test
+	public void testDataIsSharedBetweenConsumers() throws Exception {
+		byte[] data = createData(1024);
+		CountingStream stream = new CountingStream(data);
+		Assert.assertArrayEquals(data, readAll(PBStreamAccess.of(stream).getData(PBStreamAccess.Kind.DECODED)));
+		Assert.assertArrayEquals(data, readAll(PBStreamAccess.of(stream).getData(PBStreamAccess.Kind.DECODED)));
+		Assert.assertEquals(1, stream.decodings);
+	}
+
+	@Test
+	public void testLargeDataIsDecodedOncePerRead() throws Exception {
+		byte[] data = createData(PBStreamAccess.MAX_CACHED_SIZE + 1000);
+		CountingStream stream = new CountingStream(data);
+		PBStreamAccess access = PBStreamAccess.of(stream);
+		Assert.assertArrayEquals(data, readAll(access.getData(PBStreamAccess.Kind.DECODED)));
+		Assert.assertEquals(1, stream.decodings);
+		Assert.assertArrayEquals(data, readAll(access.getData(PBStreamAccess.Kind.DECODED)));
+		Assert.assertEquals(2, stream.decodings);
+	}
+
+	private static byte[] createData(int length) {
+		byte[] data = new byte[length];
+		for (int i = 0; i < length; ++i) {
+			data[i] = (byte) (i * 31);
+		}
+		return data;
+	}
+
+	private static byte[] readAll(InputStream stream) throws IOException {
+		try (InputStream is = stream) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = is.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		}
+	}
+
+	/**
+	 * Stream counting how many times its decoded data has been opened
+	 */
+	private static final class CountingStream extends COSStream {
+		private int decodings;
+
+		CountingStream(byte[] data) throws IOException {
+			super(new COSDictionary());
+			try (OutputStream out = createUnfilteredStream()) {
+				out.write(data);
+			}
+		}
+
+		@Override
+		public InputStream getUnfilteredStream() throws IOException {
+			++this.decodings;
+			return super.getUnfilteredStream();
+		}
+	}
+}
@@ -20,7 +20,11 @@
  */
 package org.verapdf.features.test;
 
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSInteger;
+import org.apache.pdfbox.cos.COSName;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.verapdf.features.FeatureExtractionResult;
@@ -33,9 +37,12 @@ import org.verapdf.features.tools.FeatureTreeNode;
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
@@ -312,6 +319,49 @@ public class FeaturesConfigTest {
 				"propertiesDicts"));
 	}
 
+	@Test
+	public void streamingTest() {
+		FeatureExtractorConfig config = configMissingFeature(FeatureObjectType.FONT);
+		final Map<FeatureObjectType, Integer> streamed = new EnumMap<>(FeatureObjectType.class);
+		PBFeatureParser.streamFeatures(document, config, result -> {
+			for (FeatureObjectType type : FeatureObjectType.values()) {
+				streamed.merge(type, Integer.valueOf(result.getFeatureTreesForType(type).size()), Integer::sum);
+			}
+		});
+		FeatureExtractionResult collection = PBFeatureParser.getFeaturesCollection(document, config);
+		assertEquals(Integer.valueOf(0), streamed.get(FeatureObjectType.FONT));
+		for (FeatureObjectType type : FeatureObjectType.values()) {
+			if (type != FeatureObjectType.ERROR) {
+				assertEquals(Integer.valueOf(collection.getFeatureTreesForType(type).size()), streamed.get(type));
+			}
+		}
+	}
+
+	@Test
+	public void streamingErrorsTest() throws IOException {
+		try (PDDocument broken = new PDDocument()) {
+			PDPage page = new PDPage();
+			COSArray annots = new COSArray();
+			annots.add(COSInteger.ONE);
+			page.getCOSObject().setItem(COSName.ANNOTS, annots);
+			broken.addPage(page);
+
+			FeatureExtractorConfig config = FeatureFactory.configFromValues(EnumSet.allOf(FeatureObjectType.class));
+			final Map<FeatureObjectType, Integer> streamed = new EnumMap<>(FeatureObjectType.class);
+			PBFeatureParser.streamFeatures(broken, config, result -> {
+				for (FeatureObjectType type : FeatureObjectType.values()) {
+					streamed.merge(type, Integer.valueOf(result.getFeatureTreesForType(type).size()), Integer::sum);
+				}
+			});
+			FeatureExtractionResult collection = PBFeatureParser.getFeaturesCollection(broken, config);
+			assertEquals(1, collection.getFeatureTreesForType(FeatureObjectType.ANNOTATION).size());
+			assertEquals(Integer.valueOf(1), streamed.get(FeatureObjectType.ANNOTATION));
+			assertEquals(Integer.valueOf(collection.getFeatureTreesForType(FeatureObjectType.ERROR).size()),
+					streamed.get(FeatureObjectType.ERROR));
+			assertTrue(streamed.get(FeatureObjectType.ERROR).intValue() > 0);
+		}
+	}
+
 	private static FeatureTreeNode getFirstChildNodeWithName(FeatureTreeNode node, String name) {
 		if (node == null) {
 			return null;
@@ -0,0 +1,343 @@
+/**
+ * This file is part of veraPDF Metadata Fixer, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Metadata Fixer is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Metadata Fixer as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Metadata Fixer as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.batch;
+
+import org.apache.log4j.Logger;
+
+import java.io.Closeable;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes batch tasks with a fixed number of workers and a bounded number
+ * of pending results.
+ * <p>
+ * Each submitted task holds one slot from its submission until its worker
+ * has stopped and its result has been consumed through {@link #take()} or
+ * {@link #poll(long, TimeUnit)}, so submission blocks while the given number
+ * of tasks is queued, running or waiting to be consumed. A task cancelled
+ * before start is reported as cancelled at once. A task cancelled while
+ * running is interrupted and reported only after its worker stops. A task
+ * exceeding its timeout is reported as timed out immediately, but keeps its
+ * slot until its worker stops. Timeout of a task is counted from its start.
+ *
+ * @param <R> type of task results
+ */
+public final class BoundedBatchExecutor<R> implements Closeable {
+
+	private static final Logger LOGGER = Logger.getLogger(BoundedBatchExecutor.class);
+
+	private final ExecutorService workers;
+	private final ScheduledThreadPoolExecutor watchdog;
+	private final Semaphore permits;
+	private final BlockingQueue<Task<R>> results = new LinkedBlockingQueue<>();
+	private final AtomicInteger unreported = new AtomicInteger();
+	private final long timeoutMillis;
+
+	/**
+	 * @param threads number of concurrently executed tasks
+	 * @param maxPending maximum number of submitted tasks whose results
+	 *                   have not been consumed, including tasks in progress
+	 * @param timeoutMillis timeout of one task in milliseconds, 0 means no timeout
+	 * @param threadFactory factory of worker threads and of the daemon thread
+	 *                      watching for timeouts
+	 */
+	public BoundedBatchExecutor(int threads, int maxPending, long timeoutMillis, ThreadFactory threadFactory) {
+		if (threads <= 0 || maxPending < threads || timeoutMillis < 0) {
+			throw new IllegalArgumentException("Invalid batch execution parameters");
+		}
+		this.workers = Executors.newFixedThreadPool(threads, threadFactory);
+		this.watchdog = timeoutMillis > 0 ? createWatchdog(threadFactory) : null;
+		this.permits = new Semaphore(maxPending);
+		this.timeoutMillis = timeoutMillis;
+	}
+
+	/**
+	 * Submits task, blocks while the maximum number of tasks are pending
+	 *
+	 * @param task task to execute, can be submitted only once
+	 * @return future of the task, cancelling it cancels the task
+	 * @throws InterruptedException if interrupted while waiting for a free slot
+	 */
+	public Future<?> submit(final Task<R> task) throws InterruptedException {
+		if (task == null) {
+			throw new IllegalArgumentException("Task can not be null");
+		}
+		if (!task.submitted.compareAndSet(false, true)) {
+			throw new IllegalStateException("Task has already been submitted");
+		}
+		this.permits.acquire();
+		task.executor = this;
+		this.unreported.incrementAndGet();
+		try {
+			this.workers.execute(task.future);
+		} catch (RejectedExecutionException e) {
+			this.unreported.decrementAndGet();
+			this.permits.release();
+			throw e;
+		}
+		return task.future;
+	}
+
+	private static ScheduledThreadPoolExecutor createWatchdog(final ThreadFactory threadFactory) {
+		ScheduledThreadPoolExecutor res = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = threadFactory.newThread(r);
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		res.setRemoveOnCancelPolicy(true);
+		return res;
+	}
+
+	private ScheduledFuture<?> scheduleTimeout(final Task<R> task) {
+		if (this.watchdog == null) {
+			return null;
+		}
+		try {
+			return this.watchdog.schedule(new Runnable() {
+				@Override
+				public void run() {
+					task.timeout();
+				}
+			}, this.timeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException e) {
+			// executor is being closed, the task will be interrupted
+			LOGGER.debug("Timeout of a task has not been scheduled", e);
+			return null;
+		}
+	}
+
+	/**
+	 * @return next reported result, waits if no result is available yet
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public R take() throws InterruptedException {
+		return consume(this.results.take());
+	}
+
+	/**
+	 * @return next reported result or null if no result became available in the given time
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public R poll(long timeout, TimeUnit unit) throws InterruptedException {
+		return consume(this.results.poll(timeout, unit));
+	}
+
+	/**
+	 * @return number of submitted tasks whose results have not been reported yet
+	 */
+	public int getPendingCount() {
+		return this.unreported.get();
+	}
+
+	/**
+	 * Stops accepting tasks, cancels all tasks that have not been started,
+	 * interrupts running tasks and waits until all workers stop
+	 */
+	@Override
+	public void close() {
+		if (this.watchdog != null) {
+			this.watchdog.shutdownNow();
+		}
+		for (Runnable notStarted : this.workers.shutdownNow()) {
+			if (notStarted instanceof Future) {
+				((Future<?>) notStarted).cancel(false);
+			}
+		}
+		try {
+			while (!this.workers.awaitTermination(1, TimeUnit.MINUTES)) {
+				LOGGER.debug("Waiting for batch workers to stop");
+			}
+		} catch (InterruptedException e) {
+			LOGGER.debug("Interrupted while waiting for batch workers to stop", e);
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private R consume(Task<R> task) {
+		if (task == null) {
+			return null;
+		}
+		task.release();
+		return task.result;
+	}
+
+	/**
+	 * Task of a batch, only the first result produced for a task is reported
+	 *
+	 * @param <R> type of task results
+	 */
+	public abstract static class Task<R> {
+		private static final int NEW = 0;
+		private static final int RUNNING = 1;
+		private static final int STOPPED = 2;
+
+		private final AtomicBoolean submitted = new AtomicBoolean();
+		private final AtomicInteger state = new AtomicInteger(NEW);
+		private final AtomicBoolean reported = new AtomicBoolean();
+		// released by the consumer of the result and by the stopped worker
+		private final AtomicInteger holds = new AtomicInteger(2);
+		private final FutureTask<Void> future;
+		private volatile BoundedBatchExecutor<R> executor;
+		private volatile R result;
+		private volatile long start = -1;
+
+		protected Task() {
+			this.future = new FutureTask<Void>(new Runnable() {
+				@Override
+				public void run() {
+					execute();
+				}
+			}, null) {
+				@Override
+				protected void done() {
+					if (isCancelled() && Task.this.state.compareAndSet(NEW, STOPPED)) {
+						// task has not been started and will never run
+						report(cancelled());
+						release();
+					}
+				}
+			};
+		}
+
+		/**
+		 * Processes the task in the worker thread
+		 *
+		 * @return result of the task
+		 * @throws Exception if the task can not be processed
+		 */
+		protected abstract R process() throws Exception;
+
+		/**
+		 * @param e problem thrown by {@link #process()}
+		 * @return result of the failed task
+		 */
+		protected abstract R failed(Throwable e);
+
+		/**
+		 * Called when the task has been cancelled before start or its worker
+		 * has stopped after cancellation or interruption
+		 *
+		 * @return result of the cancelled task
+		 */
+		protected abstract R cancelled();
+
+		/**
+		 * @return result of the task exceeding its timeout, by default the
+		 * same as result of the cancelled task
+		 */
+		protected R timedOut() {
+			return cancelled();
+		}
+
+		/**
+		 * Called in the worker thread when processing has failed or has been
+		 * stopped, before the result is produced, so that partial work of the
+		 * task can be discarded
+		 */
+		protected void discard() {
+		}
+
+		/**
+		 * @return milliseconds since the task has been started, 0 if it has not been started
+		 */
+		protected final long getElapsedMillis() {
+			return this.start < 0 ? 0 : System.currentTimeMillis() - this.start;
+		}
+
+		/**
+		 * Errors thrown by {@link #process()} are propagated to the worker
+		 * and are available from the future of the task, the task is
+		 * reported as cancelled so that its slot is released.
+		 */
+		private void execute() {
+			if (!this.state.compareAndSet(NEW, RUNNING)) {
+				return;
+			}
+			this.start = System.currentTimeMillis();
+			ScheduledFuture<?> timeout = this.executor.scheduleTimeout(this);
+			R res = null;
+			boolean completed = false;
+			try {
+				try {
+					res = process();
+					if (isStopRequested()) {
+						discard();
+						res = cancelled();
+					}
+				} catch (Exception e) {
+					LOGGER.debug("Problems during execution of a batch task", e);
+					discard();
+					res = isStopRequested() || e instanceof InterruptedException ? cancelled() : failed(e);
+				}
+				completed = true;
+			} finally {
+				this.state.set(STOPPED);
+				if (timeout != null) {
+					timeout.cancel(false);
+				}
+				report(completed ? res : cancelled());
+				release();
+			}
+		}
+
+		private boolean isStopRequested() {
+			return this.future.isCancelled() || Thread.currentThread().isInterrupted();
+		}
+
+		void timeout() {
+			if (this.state.get() != STOPPED && report(timedOut())) {
+				this.future.cancel(true);
+			}
+		}
+
+		private boolean report(R res) {
+			if (this.reported.compareAndSet(false, true)) {
+				this.result = res;
+				this.executor.unreported.decrementAndGet();
+				this.executor.results.add(this);
+				return true;
+			}
+			return false;
+		}
+
+		void release() {
+			if (this.holds.decrementAndGet() == 0) {
+				this.executor.permits.release();
+			}
+		}
+	}
+}
@@ -0,0 +1,319 @@
+/**
+ * This file is part of veraPDF Metadata Fixer, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Metadata Fixer is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Metadata Fixer as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Metadata Fixer as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.metadata.fixer;
+
+import org.apache.log4j.Logger;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.verapdf.batch.BoundedBatchExecutor;
+import org.verapdf.metadata.fixer.impl.pb.model.PDFDocumentImpl;
+import org.verapdf.metadata.fixer.utils.parser.ProcessedObjects;
+import org.verapdf.metadata.fixer.utils.parser.ProcessedObjectsParser;
+import org.verapdf.metadata.fixer.utils.parser.XMLProcessedObjectsParser;
+import org.verapdf.pdfa.results.MetadataFixerResult;
+import org.verapdf.pdfa.results.MetadataFixerResultImpl;
+import org.verapdf.pdfa.results.ValidationResult;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixes metadata of many documents concurrently.
+ * <p>
+ * Setup shared by all documents, such as the description of objects
+ * processed by the fixer, is prepared once per batch. Documents are fixed
+ * by a fixed number of workers, submission blocks when the given number of
+ * jobs is waiting, in progress or finished but not taken yet, and finished
+ * jobs are available in order of completion through {@link #take()} and
+ * {@link #poll(long, TimeUnit)}. Compliant documents are not loaded at all,
+ * and output file is created only if the fixed document is saved. Output of
+ * a job that fails or is cancelled while running is deleted.
+ */
+public final class BatchMetadataFixer implements Closeable {
+
+	private static final Logger LOGGER = Logger.getLogger(BatchMetadataFixer.class);
+
+	private final BoundedBatchExecutor<Job> executor;
+	private final boolean fixIdentification;
+	private final ProcessedObjectsParser parser;
+
+	/**
+	 * @param threads number of concurrently fixed documents
+	 * @param maxPending maximum number of submitted jobs that have not been
+	 *                   taken, including jobs in progress
+	 * @param fixIdentification whether PDF/A identification schema should be fixed
+	 */
+	public BatchMetadataFixer(int threads, int maxPending, boolean fixIdentification) {
+		this(threads, maxPending, fixIdentification, Executors.defaultThreadFactory());
+	}
+
+	/**
+	 * @param threads number of concurrently fixed documents
+	 * @param maxPending maximum number of submitted jobs that have not been
+	 *                   taken, including jobs in progress
+	 * @param fixIdentification whether PDF/A identification schema should be fixed
+	 * @param threadFactory factory of worker threads
+	 */
+	public BatchMetadataFixer(int threads, int maxPending, boolean fixIdentification,
+							  ThreadFactory threadFactory) {
+		this(threads, maxPending, fixIdentification, threadFactory, XMLProcessedObjectsParser.getInstance());
+	}
+
+	BatchMetadataFixer(int threads, int maxPending, boolean fixIdentification, ThreadFactory threadFactory,
+					   ProcessedObjectsParser parser) {
+		this.executor = new BoundedBatchExecutor<>(threads, maxPending, 0, threadFactory);
+		this.fixIdentification = fixIdentification;
+		this.parser = new SharedProcessedObjectsParser(parser);
+	}
+
+	/**
+	 * Submits job, blocks while the maximum number of jobs are pending
+	 *
+	 * @param job job to process, can be submitted only once
+	 * @return future of the job, cancelling it skips the job or discards
+	 * its output
+	 * @throws InterruptedException if interrupted while waiting for a free slot
+	 */
+	public Future<?> submit(Job job) throws InterruptedException {
+		if (job == null) {
+			throw new IllegalArgumentException("Job can not be null");
+		}
+		return this.executor.submit(new Task(job));
+	}
+
+	/**
+	 * @return next finished job, waits if no job has been finished yet
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public Job take() throws InterruptedException {
+		return this.executor.take();
+	}
+
+	/**
+	 * @return next finished job or null if no job has been finished in the given time
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public Job poll(long timeout, TimeUnit unit) throws InterruptedException {
+		return this.executor.poll(timeout, unit);
+	}
+
+	/**
+	 * @return number of submitted jobs whose results have not been reported yet
+	 */
+	public int getPendingCount() {
+		return this.executor.getPendingCount();
+	}
+
+	/**
+	 * Stops accepting jobs, cancels all jobs that have not been started,
+	 * interrupts jobs in progress and waits until their workers stop. Output
+	 * of interrupted jobs is deleted.
+	 */
+	@Override
+	public void close() {
+		this.executor.close();
+	}
+
+	private static MetadataFixerResult getErrorResult(String message) {
+		return new MetadataFixerResultImpl.Builder()
+				.status(MetadataFixerResult.RepairStatus.FIX_ERROR).addFix(message).build();
+	}
+
+	private final class Task extends BoundedBatchExecutor.Task<Job> {
+		private final Job job;
+		private DeferredFileOutputStream output;
+
+		Task(Job job) {
+			this.job = job;
+		}
+
+		@Override
+		protected Job process() throws IOException {
+			MetadataFixerResult result = fix();
+			if (result.getRepairStatus() == MetadataFixerResult.RepairStatus.FIX_ERROR) {
+				discard();
+			}
+			this.job.fixerResult = result;
+			return this.job;
+		}
+
+		private MetadataFixerResult fix() throws IOException {
+			ValidationResult result = this.job.validationResult;
+			if (result != null && result.isCompliant()) {
+				return new MetadataFixerResultImpl.Builder().build();
+			}
+			this.output = new DeferredFileOutputStream(this.job.output);
+			try (PDDocument document = PDDocument.load(this.job.input, false, true);
+				 OutputStream out = this.output) {
+				return MetadataFixerImpl.fixMetadata(out, new PDFDocumentImpl(document), result,
+						BatchMetadataFixer.this.fixIdentification, BatchMetadataFixer.this.parser);
+			}
+		}
+
+		@Override
+		protected Job failed(Throwable e) {
+			LOGGER.debug("Problems during metadata fixing of " + this.job.input, e);
+			this.job.fixerResult = getErrorResult("Error while fixing metadata: " + e.getMessage());
+			return this.job;
+		}
+
+		@Override
+		protected Job cancelled() {
+			this.job.fixerResult = getErrorResult("Metadata fixing has been cancelled");
+			return this.job;
+		}
+
+		@Override
+		protected void discard() {
+			// output is already closed here, so a partially written file can be deleted
+			if (this.output != null && this.output.isCreated() && !this.job.output.delete()) {
+				LOGGER.debug("Partial output " + this.job.output + " has not been deleted");
+			}
+		}
+	}
+
+	/**
+	 * Metadata fixing of one document
+	 */
+	public static final class Job {
+		private final File input;
+		private final ValidationResult validationResult;
+		private final File output;
+		private volatile MetadataFixerResult fixerResult;
+
+		/**
+		 * @param input document to fix
+		 * @param validationResult result of validation of the document
+		 * @param output file to save fixed document to
+		 */
+		public Job(File input, ValidationResult validationResult, File output) {
+			if (input == null || output == null) {
+				throw new IllegalArgumentException("Input and output files can not be null");
+			}
+			this.input = input;
+			this.validationResult = validationResult;
+			this.output = output;
+		}
+
+		public File getInput() {
+			return this.input;
+		}
+
+		public ValidationResult getValidationResult() {
+			return this.validationResult;
+		}
+
+		public File getOutput() {
+			return this.output;
+		}
+
+		/**
+		 * @return result of metadata fixing or null if the job has not been finished yet
+		 */
+		public MetadataFixerResult getFixerResult() {
+			return this.fixerResult;
+		}
+	}
+
+	/**
+	 * Parses processed objects once and shares them between all documents
+	 */
+	private static final class SharedProcessedObjectsParser implements ProcessedObjectsParser {
+		private final ProcessedObjectsParser parser;
+		private volatile ProcessedObjects objects;
+
+		SharedProcessedObjectsParser(ProcessedObjectsParser parser) {
+			this.parser = parser;
+		}
+
+		@Override
+		public ProcessedObjects getProcessedObjects()
+				throws IOException, URISyntaxException, ParserConfigurationException, SAXException {
+			ProcessedObjects res = this.objects;
+			if (res == null) {
+				synchronized (this) {
+					res = this.objects;
+					if (res == null) {
+						res = this.parser.getProcessedObjects();
+						this.objects = res;
+					}
+				}
+			}
+			return res;
+		}
+	}
+
+	/**
+	 * Output stream that creates its file on the first write
+	 */
+	private static final class DeferredFileOutputStream extends OutputStream {
+		private final File file;
+		private OutputStream out;
+
+		DeferredFileOutputStream(File file) {
+			this.file = file;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			open().write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			open().write(b, off, len);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (this.out != null) {
+				this.out.flush();
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (this.out != null) {
+				this.out.close();
+			}
+		}
+
+		boolean isCreated() {
+			return this.out != null;
+		}
+
+		private OutputStream open() throws IOException {
+			if (this.out == null) {
+				this.out = new FileOutputStream(this.file);
+			}
+			return this.out;
+		}
+	}
+}
@@ -30,7 +30,7 @@ import org.verapdf.metadata.fixer.schemas.AdobePDF;
 import org.verapdf.metadata.fixer.schemas.BasicSchema;
 import org.verapdf.metadata.fixer.schemas.DublinCore;
 import org.verapdf.metadata.fixer.schemas.XMPBasic;
-import org.verapdf.metadata.fixer.utils.DateConverter;
+import org.verapdf.metadata.fixer.utils.PDFDateCodec;
 import org.verapdf.metadata.fixer.utils.ProcessedObjectsInspector;
 import org.verapdf.metadata.fixer.utils.ValidationStatus;
 import org.verapdf.metadata.fixer.utils.parser.ProcessedObjectsParser;
@@ -49,7 +49,9 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
 import java.util.*;
+import java.util.regex.Pattern;
 
 import static org.verapdf.metadata.fixer.utils.MetadataFixerConstants.*;
 
@@ -64,6 +66,7 @@ abstract class MetadataFixerImpl implements MetadataFixer {
 	private static final Logger LOGGER = Logger.getLogger(MetadataFixerImpl.class);
 
 	private static final Map<String, String> attributes = Collections.unmodifiableMap(mkAttsMap());
+	private static final Pattern PDF_DATE_FORMAT = Pattern.compile(PDF_DATE_FORMAT_REGEX);
 
 	protected MetadataFixerImpl() {
 		// enabled only for nested classes
@@ -232,11 +235,11 @@ abstract class MetadataFixerImpl implements MetadataFixer {
 			InfoDictionary info, String metaValue, String infoValue, String attribute) {
 		if (infoValue != null) {
 			String key = attributes.get(attribute);
-			String utcInfoValue = DateConverter.toUTCString(infoValue);
+			String utcInfoValue = PDFDateCodec.toUTCString(PDFDateCodec.toInstant(infoValue));
 			if (metaValue == null) {
 				doSaveAction(schema, attribute, infoValue);
 				resultBuilder.addFix("Added '" + key + "' to metadata from info dictionary");
-			} else if (!metaValue.equals(utcInfoValue) || !infoValue.matches(PDF_DATE_FORMAT_REGEX)) {
+			} else if (!metaValue.equals(utcInfoValue) || !PDF_DATE_FORMAT.matcher(infoValue).matches()) {
 				doSaveAction(info, attribute, metaValue);
 				resultBuilder.addFix("Added '" + attribute + "' to info dictionary from metadata");
 			}
@@ -280,13 +283,13 @@ abstract class MetadataFixerImpl implements MetadataFixer {
 		XMPBasic schema = document.getMetadata().getXMPBasicSchema(info);
 
 		if (document.isNeedToBeUpdated() && schema != null) {
-			Calendar time = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+			Instant time = Instant.now();
 			if (schema.getModificationDate() != null) {
-				doSaveAction(schema, METADATA_MODIFICATION_DATE, DateConverter.toUTCString(time));
+				doSaveAction(schema, METADATA_MODIFICATION_DATE, PDFDateCodec.toUTCString(time));
 				resultBuilder.addFix("Set new modification date to metadata");
 			}
 			if (info != null && info.getModificationDate() != null) {
-				doSaveAction(info, METADATA_MODIFICATION_DATE, DateConverter.toPDFFormat(time));
+				doSaveAction(info, METADATA_MODIFICATION_DATE, PDFDateCodec.toPDFString(time));
 				resultBuilder.addFix("Set new modification date to info dictionary");
 			}
 		}
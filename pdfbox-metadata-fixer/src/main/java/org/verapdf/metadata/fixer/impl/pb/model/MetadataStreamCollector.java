@@ -0,0 +1,117 @@
+/**
+ * This file is part of veraPDF Metadata Fixer, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Metadata Fixer is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Metadata Fixer as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Metadata Fixer as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.metadata.fixer.impl.pb.model;
+
+import org.apache.pdfbox.cos.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds metadata streams by walking only those parts of the document that
+ * can refer to metadata: catalog, page tree with page thumbnails, resources
+ * with their XObjects, fonts, ICC based color spaces, patterns, shadings and
+ * soft masks of graphics states and images, annotation appearances, default
+ * resources of the interactive form, output intents and structure tree. Unlike {@link COSDocument#getObjectsByType(COSName)}
+ * unrelated indirect objects are never dereferenced.
+ */
+final class MetadataStreamCollector {
+
+	/**
+	 * Keys whose values are followed in any visited dictionary
+	 */
+	private static final Set<COSName> FOLLOWED_KEYS = new HashSet<>(Arrays.asList(
+			COSName.PAGES, COSName.KIDS, COSName.RESOURCES, COSName.ANNOTS, COSName.AP,
+			COSName.STRUCT_TREE_ROOT, COSName.K, COSName.OUTPUT_INTENTS, COSName.DEST_OUTPUT_PROFILE,
+			COSName.DESCENDANT_FONTS, COSName.FONT_DESC, COSName.FONT_FILE, COSName.FONT_FILE2,
+			COSName.FONT_FILE3, COSName.SMASK, COSName.G, COSName.getPDFName("Thumb"),
+			COSName.ACRO_FORM, COSName.DR));
+
+	/**
+	 * Keys of dictionaries all values of which are followed
+	 */
+	private static final Set<COSName> FOLLOWED_MAPS = new HashSet<>(Arrays.asList(
+			COSName.XOBJECT, COSName.FONT, COSName.COLORSPACE, COSName.PATTERN, COSName.SHADING,
+			COSName.EXT_G_STATE, COSName.N, COSName.D, COSName.R));
+
+	private MetadataStreamCollector() {
+	}
+
+	/**
+	 * @param document document to inspect
+	 * @return metadata streams reachable from the document catalog
+	 */
+	static List<COSStream> collect(COSDocument document) {
+		Set<COSStream> result = new LinkedHashSet<>();
+		Set<COSBase> visited = Collections.newSetFromMap(new IdentityHashMap<COSBase, Boolean>());
+		Deque<COSBase> stack = new ArrayDeque<>();
+		COSDictionary trailer = document.getTrailer();
+		if (trailer != null) {
+			push(stack, visited, trailer.getDictionaryObject(COSName.ROOT));
+		}
+		while (!stack.isEmpty()) {
+			COSBase current = stack.pop();
+			if (current instanceof COSArray) {
+				for (COSBase element : (COSArray) current) {
+					push(stack, visited, element);
+				}
+				continue;
+			}
+			COSDictionary dictionary = (COSDictionary) current;
+			COSBase metadata = dictionary.getDictionaryObject(COSName.METADATA);
+			if (metadata instanceof COSStream) {
+				result.add((COSStream) metadata);
+			}
+			for (COSName key : dictionary.keySet()) {
+				if (FOLLOWED_KEYS.contains(key)) {
+					push(stack, visited, dictionary.getDictionaryObject(key));
+				} else if (FOLLOWED_MAPS.contains(key)) {
+					COSBase map = dictionary.getDictionaryObject(key);
+					if (map instanceof COSDictionary && !(map instanceof COSStream) && visited.add(map)) {
+						for (COSBase value : ((COSDictionary) map).getValues()) {
+							push(stack, visited, value);
+						}
+					} else {
+						push(stack, visited, map);
+					}
+				}
+			}
+		}
+		return Collections.unmodifiableList(new ArrayList<>(result));
+	}
+
+	private static void push(Deque<COSBase> stack, Set<COSBase> visited, COSBase base) {
+		while (base instanceof COSObject) {
+			base = ((COSObject) base).getObject();
+		}
+		if ((base instanceof COSDictionary || base instanceof COSArray) && visited.add(base)) {
+			stack.push(base);
+		}
+	}
+}
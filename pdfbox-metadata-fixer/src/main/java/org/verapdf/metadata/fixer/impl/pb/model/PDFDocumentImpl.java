@@ -37,8 +37,6 @@ import org.verapdf.pdfa.results.MetadataFixerResultImpl;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.ArrayList;
-import java.util.List;
 
 import static org.verapdf.pdfa.results.MetadataFixerResult.RepairStatus.*;
 
@@ -175,18 +173,7 @@ public class PDFDocumentImpl implements PDFDocument {
 	public int removeFiltersForAllMetadataObjects() {
 		int res = 0;
 		try {
-			List<COSObject> objects = this.document.getDocument().getObjectsByType(COSName.METADATA);
-
-			List<COSStream> metas = new ArrayList<>();
-			for (COSObject obj : objects) {
-				COSBase base = obj.getObject();
-				if (base instanceof COSStream) {
-					metas.add((COSStream) base);
-				} else {
-					LOGGER.debug("Founded non-stream Metadata dictionary.");
-				}
-			}
-			for (COSStream stream : metas) {
+			for (COSStream stream : MetadataStreamCollector.collect(this.document.getDocument())) {
 				COSBase filters = stream.getFilters();
 				if (filters instanceof COSName || (filters instanceof COSArray && ((COSArray) filters).size() != 0)) {
 					try {
@@ -20,13 +20,11 @@
  */
 package org.verapdf.metadata.fixer.utils;
 
-import java.text.SimpleDateFormat;
+import java.time.Instant;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.TimeZone;
 
-import static org.verapdf.metadata.fixer.utils.MetadataFixerConstants.UTC_PATTERN;
-
 /**
  * Utility class for converting dates to different formats
  *
@@ -51,26 +49,17 @@ public class DateConverter {
 	 * @return string representation of passed date
 	 */
 	public static String toUTCString(Date time) {
-		if (time == null) {
-			return null;
-		}
-
-		SimpleDateFormat dateFormat = new SimpleDateFormat(UTC_PATTERN);
-		dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
-
-		return dateFormat.format(time);
+		return time == null ? null : PDFDateCodec.toUTCString(time.toInstant());
 	}
 
 	/**
 	 * Convert string date representation to string representation in UTC form.
-	 * <p/>
-	 * Note: current implementation is not effective
 	 *
 	 * @param date passed date
 	 * @return UTC string representation of passed date
 	 */
 	public static String toUTCString(String date) {
-		return toUTCString(toCalendar(date));
+		return PDFDateCodec.toUTCString(PDFDateCodec.toInstant(date));
 	}
 
 	/**
@@ -80,12 +69,13 @@ public class DateConverter {
 	 * @return {@code Calendar} date
 	 */
 	public static Calendar toCalendar(String date) {
-		if (date == null) {
+		Instant instant = PDFDateCodec.toInstant(date);
+		if (instant == null) {
 			return null;
 		}
 
-		Calendar buffer = org.apache.pdfbox.util.DateConverter.toCalendar(date);
-		buffer.setTimeZone(TimeZone.getTimeZone("UTC"));
+		Calendar buffer = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+		buffer.setTimeInMillis(instant.toEpochMilli());
 		return buffer;
 	}
 
@@ -97,9 +87,7 @@ public class DateConverter {
 	 * @return PDF string representation of passed date
 	 */
 	public static String toPDFFormat(String date) {
-		Calendar buffer = org.apache.pdfbox.util.DateConverter.toCalendar(date);
-		buffer.setTimeZone(TimeZone.getTimeZone("UTC"));
-		return org.apache.pdfbox.util.DateConverter.toString(buffer);
+		return PDFDateCodec.toPDFString(PDFDateCodec.toInstant(date));
 	}
 
 	/**
@@ -109,6 +97,6 @@ public class DateConverter {
 	 * @return PDF string representation of date
 	 */
 	public static String toPDFFormat(Calendar date) {
-		return org.apache.pdfbox.util.DateConverter.toString(date);
+		return PDFDateCodec.toPDFString(date);
 	}
 }
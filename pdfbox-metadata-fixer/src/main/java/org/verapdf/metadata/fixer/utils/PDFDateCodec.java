@@ -0,0 +1,187 @@
+/**
+ * This file is part of veraPDF Metadata Fixer, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Metadata Fixer is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Metadata Fixer as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Metadata Fixer as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.metadata.fixer.utils;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.verapdf.metadata.fixer.utils.MetadataFixerConstants.UTC_PATTERN;
+
+/**
+ * Thread safe parsing and formatting of PDF and XMP dates. All formatters
+ * and patterns are created once and shared.
+ */
+public final class PDFDateCodec {
+
+	private static final Pattern PDF_DATE = Pattern.compile(
+			"(D:)?((?:\\d\\d){2,7})(?:(Z)|([+-])(\\d\\d)'(?:(\\d\\d)')?)?");
+
+	private static final DateTimeFormatter UTC_FORMATTER =
+			DateTimeFormatter.ofPattern(UTC_PATTERN, Locale.US).withZone(ZoneOffset.UTC);
+	private static final DateTimeFormatter PDF_UTC_FORMATTER =
+			DateTimeFormatter.ofPattern("'D:'yyyyMMddHHmmss'+00''00'''", Locale.US).withZone(ZoneOffset.UTC);
+	private static final DateTimeFormatter PDF_LOCAL_FORMATTER =
+			DateTimeFormatter.ofPattern("'D:'yyyyMMddHHmmss", Locale.US);
+
+	private PDFDateCodec() {
+	}
+
+	/**
+	 * @param date string to check
+	 * @return true if the string is a date in PDF format
+	 */
+	public static boolean isPDFDate(String date) {
+		return date != null && PDF_DATE.matcher(date).matches();
+	}
+
+	/**
+	 * Parses date in PDF format with explicit time zone. Omitted month and
+	 * day are treated as first ones, omitted time fields as zeros.
+	 *
+	 * @param date date in PDF format
+	 * @return parsed date, or null if the string is not a valid PDF date or
+	 * has no time zone
+	 */
+	public static OffsetDateTime parsePDFDate(String date) {
+		if (date == null) {
+			return null;
+		}
+		Matcher matcher = PDF_DATE.matcher(date);
+		if (!matcher.matches() || (matcher.group(3) == null && matcher.group(4) == null)) {
+			return null;
+		}
+		String digits = matcher.group(2);
+		try {
+			LocalDateTime local = LocalDateTime.of(field(digits, 0, 4, 0), field(digits, 4, 6, 1),
+					field(digits, 6, 8, 1), field(digits, 8, 10, 0), field(digits, 10, 12, 0),
+					field(digits, 12, 14, 0));
+			ZoneOffset offset = ZoneOffset.UTC;
+			if (matcher.group(4) != null) {
+				int sign = "-".equals(matcher.group(4)) ? -1 : 1;
+				int minutes = matcher.group(6) == null ? 0 : Integer.parseInt(matcher.group(6));
+				offset = ZoneOffset.ofHoursMinutes(sign * Integer.parseInt(matcher.group(5)), sign * minutes);
+			}
+			return OffsetDateTime.of(local, offset);
+		} catch (DateTimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Parses date in PDF or XMP (ISO 8601) format. Dates without time zone
+	 * and other formats are parsed by PDF Box.
+	 *
+	 * @param date string date
+	 * @return parsed instant or null if the date can not be parsed
+	 */
+	public static Instant toInstant(String date) {
+		if (date == null) {
+			return null;
+		}
+		OffsetDateTime pdfDate = parsePDFDate(date);
+		if (pdfDate != null) {
+			return pdfDate.toInstant();
+		}
+		if (date.length() > 10 && date.charAt(4) == '-') {
+			try {
+				return OffsetDateTime.parse(date, DateTimeFormatter.ISO_OFFSET_DATE_TIME).toInstant();
+			} catch (DateTimeParseException e) {
+				// not an ISO date with offset, fall back to PDF Box
+			}
+		}
+		Calendar calendar = org.apache.pdfbox.util.DateConverter.toCalendar(date);
+		return calendar == null ? null : calendar.toInstant();
+	}
+
+	/**
+	 * @param instant date to format
+	 * @return string representation of the date in UTC form
+	 */
+	public static String toUTCString(Instant instant) {
+		return instant == null ? null : UTC_FORMATTER.format(instant);
+	}
+
+	/**
+	 * @param instant date to format
+	 * @return string representation of the date in PDF format in UTC
+	 */
+	public static String toPDFString(Instant instant) {
+		return instant == null ? null : PDF_UTC_FORMATTER.format(instant);
+	}
+
+	/**
+	 * @param instant date to format
+	 * @param offset time zone offset of the result
+	 * @return string representation of the date in PDF format with the
+	 * given offset
+	 */
+	public static String toPDFString(Instant instant, ZoneOffset offset) {
+		if (instant == null) {
+			return null;
+		}
+		if (ZoneOffset.UTC.equals(offset)) {
+			return PDF_UTC_FORMATTER.format(instant);
+		}
+		int seconds = offset.getTotalSeconds();
+		int absolute = Math.abs(seconds) / 60;
+		StringBuilder builder = new StringBuilder(24);
+		builder.append(PDF_LOCAL_FORMATTER.format(instant.atOffset(offset)));
+		builder.append(seconds < 0 ? '-' : '+');
+		appendTwoDigits(builder, absolute / 60);
+		builder.append('\'');
+		appendTwoDigits(builder, absolute % 60);
+		builder.append('\'');
+		return builder.toString();
+	}
+
+	/**
+	 * @param calendar date to format
+	 * @return string representation of the date in PDF format with the time
+	 * zone offset of the calendar
+	 */
+	public static String toPDFString(Calendar calendar) {
+		if (calendar == null) {
+			return null;
+		}
+		int offsetMillis = calendar.get(Calendar.ZONE_OFFSET) + calendar.get(Calendar.DST_OFFSET);
+		return toPDFString(calendar.toInstant(), ZoneOffset.ofTotalSeconds(offsetMillis / 1000));
+	}
+
+	private static int field(String digits, int start, int end, int defaultValue) {
+		return digits.length() >= end ? Integer.parseInt(digits.substring(start, end)) : defaultValue;
+	}
+
+	private static void appendTwoDigits(StringBuilder builder, int value) {
+		if (value < 10) {
+			builder.append('0');
+		}
+		builder.append(value);
+	}
+}
@@ -0,0 +1,317 @@
+/**
+ * This file is part of veraPDF Metadata Fixer, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Metadata Fixer is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Metadata Fixer as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Metadata Fixer as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.batch;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class BoundedBatchExecutorTest {
+
+	private static final String DONE = "done";
+	private static final String FAILED = "failed";
+	private static final String CANCELLED = "cancelled";
+	private static final String TIMED_OUT = "timed out";
+
+	private BoundedBatchExecutor<String> executor;
+
+	@After
+	public void tearDown() {
+		if (this.executor != null) {
+			this.executor.close();
+		}
+	}
+
+	@Test
+	public void testSlotIsHeldUntilResultIsTaken() throws Exception {
+		this.executor = create(1, 1, 0);
+		this.executor.submit(new LatchTask(null));
+		final CountDownLatch submitted = new CountDownLatch(1);
+		Thread submitter = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					BoundedBatchExecutorTest.this.executor.submit(new LatchTask(null));
+					submitted.countDown();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+		submitter.start();
+		Assert.assertFalse(submitted.await(200, TimeUnit.MILLISECONDS));
+		Assert.assertEquals(DONE, this.executor.take());
+		Assert.assertTrue(submitted.await(5, TimeUnit.SECONDS));
+		Assert.assertEquals(DONE, this.executor.take());
+		submitter.join();
+	}
+
+	@Test
+	public void testCancelledRunningTaskIsReportedWhenWorkerStops() throws Exception {
+		this.executor = create(1, 2, 0);
+		CountDownLatch finish = new CountDownLatch(1);
+		LatchTask task = new LatchTask(finish);
+		Future<?> future = this.executor.submit(task);
+		Assert.assertTrue(task.started.await(5, TimeUnit.SECONDS));
+		future.cancel(true);
+		Assert.assertNull(this.executor.poll(200, TimeUnit.MILLISECONDS));
+		Assert.assertEquals(1, this.executor.getPendingCount());
+		finish.countDown();
+		Assert.assertEquals(CANCELLED, this.executor.poll(5, TimeUnit.SECONDS));
+		Assert.assertTrue(task.discarded.get());
+	}
+
+	@Test
+	public void testTaskCancelledBeforeStart() throws Exception {
+		this.executor = create(1, 2, 0);
+		CountDownLatch finish = new CountDownLatch(1);
+		LatchTask running = new LatchTask(finish);
+		this.executor.submit(running);
+		LatchTask queued = new LatchTask(null);
+		this.executor.submit(queued).cancel(false);
+		Assert.assertEquals(CANCELLED, this.executor.poll(5, TimeUnit.SECONDS));
+		Assert.assertFalse(queued.discarded.get());
+		finish.countDown();
+		Assert.assertEquals(DONE, this.executor.poll(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testTimedOutTaskIsReportedImmediately() throws Exception {
+		this.executor = create(1, 1, 100);
+		CountDownLatch finish = new CountDownLatch(1);
+		this.executor.submit(new LatchTask(finish));
+		Assert.assertEquals(TIMED_OUT, this.executor.poll(5, TimeUnit.SECONDS));
+		Assert.assertEquals(0, this.executor.getPendingCount());
+		finish.countDown();
+	}
+
+	@Test
+	public void testTimeoutIsCountedFromStart() throws Exception {
+		this.executor = create(1, 2, 100);
+		CountDownLatch finish = new CountDownLatch(1);
+		this.executor.submit(new LatchTask(finish));
+		LatchTask queued = new LatchTask(null);
+		this.executor.submit(queued);
+		Assert.assertEquals(TIMED_OUT, this.executor.poll(5, TimeUnit.SECONDS));
+		// the queued task waits longer than the timeout before it starts
+		Assert.assertNull(this.executor.poll(300, TimeUnit.MILLISECONDS));
+		Assert.assertEquals(1, queued.started.getCount());
+		finish.countDown();
+		Assert.assertEquals(DONE, this.executor.poll(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testWatchdogThreadIsCreatedByFactory() throws Exception {
+		final List<Thread> threads = new CopyOnWriteArrayList<>();
+		final ThreadFactory factory = Executors.defaultThreadFactory();
+		this.executor = new BoundedBatchExecutor<>(1, 1, TimeUnit.MINUTES.toMillis(1), new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = factory.newThread(r);
+				threads.add(thread);
+				return thread;
+			}
+		});
+		this.executor.submit(new LatchTask(null));
+		Assert.assertEquals(DONE, this.executor.take());
+		Assert.assertEquals(2, threads.size());
+		int daemons = 0;
+		for (Thread thread : threads) {
+			if (thread.isDaemon()) {
+				daemons++;
+			}
+		}
+		Assert.assertEquals(1, daemons);
+	}
+
+	@Test
+	public void testErrorIsPropagated() throws Exception {
+		this.executor = create(1, 1, 0);
+		Future<?> future = this.executor.submit(new LatchTask(null) {
+			@Override
+			protected String process() throws Exception {
+				throw new AssertionError();
+			}
+		});
+		Assert.assertEquals(CANCELLED, this.executor.take());
+		try {
+			future.get(5, TimeUnit.SECONDS);
+			Assert.fail("Error should be propagated to the future of the task");
+		} catch (ExecutionException e) {
+			Assert.assertTrue(e.getCause() instanceof AssertionError);
+		}
+		this.executor.submit(new LatchTask(null));
+		Assert.assertEquals(DONE, this.executor.take());
+	}
+
+	@Test
+	public void testFailedTask() throws Exception {
+		this.executor = create(1, 1, 0);
+		this.executor.submit(new LatchTask(null) {
+			@Override
+			protected String process() throws Exception {
+				throw new IllegalStateException();
+			}
+		});
+		Assert.assertEquals(FAILED, this.executor.take());
+	}
+
+	@Test
+	public void testCloseWaitsForRunningTasks() throws Exception {
+		this.executor = create(2, 2, 0);
+		final CountDownLatch release = new CountDownLatch(1);
+		final SlowlyInterruptedTask first = new SlowlyInterruptedTask(release);
+		final SlowlyInterruptedTask second = new SlowlyInterruptedTask(release);
+		this.executor.submit(first);
+		this.executor.submit(second);
+		Assert.assertTrue(first.started.await(5, TimeUnit.SECONDS));
+		Assert.assertTrue(second.started.await(5, TimeUnit.SECONDS));
+		final AtomicBoolean stoppedBeforeRelease = new AtomicBoolean();
+		Thread releaser = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					first.interrupted.await();
+					second.interrupted.await();
+					stoppedBeforeRelease.set(first.stopped.get() || second.stopped.get());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					release.countDown();
+				}
+			}
+		});
+		releaser.start();
+		this.executor.close();
+		releaser.join();
+		Assert.assertFalse(stoppedBeforeRelease.get());
+		Assert.assertTrue(first.stopped.get());
+		Assert.assertTrue(second.stopped.get());
+		Assert.assertEquals(0, this.executor.getPendingCount());
+		Assert.assertEquals(CANCELLED, this.executor.take());
+		Assert.assertEquals(CANCELLED, this.executor.take());
+	}
+
+	private static BoundedBatchExecutor<String> create(int threads, int maxPending, long timeoutMillis) {
+		return new BoundedBatchExecutor<>(threads, maxPending, timeoutMillis, Executors.defaultThreadFactory());
+	}
+
+	/**
+	 * Task that waits for the given latch, if any, ignoring interruptions
+	 */
+	private static class LatchTask extends BoundedBatchExecutor.Task<String> {
+		private final CountDownLatch finish;
+		final CountDownLatch started = new CountDownLatch(1);
+		final AtomicBoolean stopped = new AtomicBoolean();
+		final AtomicBoolean discarded = new AtomicBoolean();
+
+		LatchTask(CountDownLatch finish) {
+			this.finish = finish;
+		}
+
+		@Override
+		protected String process() throws Exception {
+			this.started.countDown();
+			try {
+				if (this.finish != null) {
+					awaitUninterruptibly(this.finish);
+				}
+				return DONE;
+			} finally {
+				this.stopped.set(true);
+			}
+		}
+
+		@Override
+		protected String failed(Throwable e) {
+			return FAILED;
+		}
+
+		@Override
+		protected String cancelled() {
+			return CANCELLED;
+		}
+
+		@Override
+		protected String timedOut() {
+			return TIMED_OUT;
+		}
+
+		@Override
+		protected void discard() {
+			this.discarded.set(true);
+		}
+
+		static void awaitUninterruptibly(CountDownLatch latch) {
+			boolean interrupted = false;
+			while (true) {
+				try {
+					latch.await();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Task that runs until interrupted and then stops only after the given
+	 * latch is released
+	 */
+	private static class SlowlyInterruptedTask extends LatchTask {
+		private final CountDownLatch release;
+		final CountDownLatch interrupted = new CountDownLatch(1);
+
+		SlowlyInterruptedTask(CountDownLatch release) {
+			super(null);
+			this.release = release;
+		}
+
+		@Override
+		protected String process() throws Exception {
+			this.started.countDown();
+			try {
+				new CountDownLatch(1).await();
+				return DONE;
+			} catch (InterruptedException e) {
+				this.interrupted.countDown();
+				awaitUninterruptibly(this.release);
+				throw e;
+			} finally {
+				this.stopped.set(true);
+			}
+		}
+	}
+}
@@ -0,0 +1,184 @@
+/**
+ * This file is part of veraPDF Metadata Fixer, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Metadata Fixer is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Metadata Fixer as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Metadata Fixer as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.metadata.fixer;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.verapdf.metadata.fixer.utils.parser.ProcessedObjects;
+import org.verapdf.metadata.fixer.utils.parser.ProcessedObjectsParser;
+import org.verapdf.metadata.fixer.utils.parser.XMLProcessedObjectsParser;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+import org.verapdf.pdfa.results.MetadataFixerResult;
+import org.verapdf.pdfa.results.TestAssertion;
+import org.verapdf.pdfa.results.ValidationResult;
+import org.verapdf.pdfa.results.ValidationResults;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BatchMetadataFixerTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private BatchMetadataFixer fixer;
+
+	@After
+	public void tearDown() {
+		if (this.fixer != null) {
+			this.fixer.close();
+		}
+	}
+
+	@Test
+	public void testCompliantDocumentIsNotLoaded() throws Exception {
+		this.fixer = new BatchMetadataFixer(1, 1, false);
+		File input = new File(this.folder.getRoot(), "missing.pdf");
+		File output = new File(this.folder.getRoot(), "output.pdf");
+		this.fixer.submit(new BatchMetadataFixer.Job(input, createResult(true), output));
+		BatchMetadataFixer.Job job = this.fixer.poll(5, TimeUnit.SECONDS);
+		Assert.assertNotNull(job);
+		Assert.assertNotEquals(MetadataFixerResult.RepairStatus.FIX_ERROR, job.getFixerResult().getRepairStatus());
+		Assert.assertFalse(output.exists());
+	}
+
+	@Test
+	public void testFixedDocumentIsSaved() throws Exception {
+		CountingParser parser = new CountingParser(null);
+		this.fixer = create(1, 1, parser);
+		File output = new File(this.folder.getRoot(), "output.pdf");
+		this.fixer.submit(new BatchMetadataFixer.Job(getInput(), createResult(false), output));
+		BatchMetadataFixer.Job job = this.fixer.poll(30, TimeUnit.SECONDS);
+		Assert.assertNotNull(job);
+		Assert.assertNotEquals(MetadataFixerResult.RepairStatus.FIX_ERROR, job.getFixerResult().getRepairStatus());
+		Assert.assertTrue(output.isFile());
+	}
+
+	@Test
+	public void testProcessedObjectsAreParsedOncePerBatch() throws Exception {
+		CountingParser parser = new CountingParser(null);
+		this.fixer = create(2, 4, parser);
+		for (int i = 0; i < 4; ++i) {
+			this.fixer.submit(new BatchMetadataFixer.Job(getInput(), createResult(false),
+					new File(this.folder.getRoot(), "output" + i + ".pdf")));
+		}
+		for (int i = 0; i < 4; ++i) {
+			Assert.assertNotNull(this.fixer.poll(30, TimeUnit.SECONDS));
+		}
+		Assert.assertEquals(1, parser.invocations.get());
+	}
+
+	@Test
+	public void testOutputOfCancelledJobIsDeleted() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CountingParser parser = new CountingParser(release);
+		this.fixer = create(1, 1, parser);
+		File output = new File(this.folder.getRoot(), "output.pdf");
+		Future<?> future = this.fixer.submit(new BatchMetadataFixer.Job(getInput(), createResult(false), output));
+		Assert.assertTrue(parser.started.await(30, TimeUnit.SECONDS));
+		future.cancel(true);
+		BatchMetadataFixer.Job job = this.fixer.poll(30, TimeUnit.SECONDS);
+		Assert.assertNotNull(job);
+		Assert.assertEquals(MetadataFixerResult.RepairStatus.FIX_ERROR, job.getFixerResult().getRepairStatus());
+		Assert.assertFalse(output.exists());
+	}
+
+	@Test
+	public void testSubmitBlocksAtMaxPending() throws Exception {
+		this.fixer = new BatchMetadataFixer(1, 1, false);
+		final File input = new File(this.folder.getRoot(), "missing.pdf");
+		this.fixer.submit(new BatchMetadataFixer.Job(input, createResult(true),
+				new File(this.folder.getRoot(), "first.pdf")));
+		final CountDownLatch submitted = new CountDownLatch(1);
+		Thread submitter = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					BatchMetadataFixerTest.this.fixer.submit(new BatchMetadataFixer.Job(input, createResult(true),
+							new File(BatchMetadataFixerTest.this.folder.getRoot(), "second.pdf")));
+					submitted.countDown();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+		submitter.start();
+		Assert.assertFalse(submitted.await(200, TimeUnit.MILLISECONDS));
+		Assert.assertNotNull(this.fixer.take());
+		Assert.assertTrue(submitted.await(5, TimeUnit.SECONDS));
+		Assert.assertNotNull(this.fixer.take());
+		submitter.join();
+	}
+
+	private static BatchMetadataFixer create(int threads, int maxPending, ProcessedObjectsParser parser) {
+		return new BatchMetadataFixer(threads, maxPending, false, Executors.defaultThreadFactory(), parser);
+	}
+
+	private static ValidationResult createResult(boolean isCompliant) {
+		return ValidationResults.resultFromValues(PDFAFlavour.PDFA_1_B, Collections.<TestAssertion>emptySet(),
+				isCompliant);
+	}
+
+	private static File getInput() throws URISyntaxException {
+		return new File(BatchMetadataFixerTest.class.getResource("/test1.pdf").toURI());
+	}
+
+	/**
+	 * Parser counting its invocations, which waits for the release latch
+	 * if it is given
+	 */
+	private static final class CountingParser implements ProcessedObjectsParser {
+		private final CountDownLatch started = new CountDownLatch(1);
+		private final CountDownLatch release;
+		private final AtomicInteger invocations = new AtomicInteger();
+
+		CountingParser(CountDownLatch release) {
+			this.release = release;
+		}
+
+		@Override
+		public ProcessedObjects getProcessedObjects()
+				throws IOException, URISyntaxException, ParserConfigurationException, SAXException {
+			this.invocations.incrementAndGet();
+			this.started.countDown();
+			if (this.release != null) {
+				try {
+					this.release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return XMLProcessedObjectsParser.getInstance().getProcessedObjects();
+		}
+	}
+}
@@ -0,0 +1,144 @@
+/**
+ * This file is part of veraPDF Metadata Fixer, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Metadata Fixer is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Metadata Fixer as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Metadata Fixer as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.metadata.fixer.impl.pb.model;
+
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+public class MetadataStreamCollectorTest {
+
+	private PDDocument document;
+	private COSDictionary resources;
+
+	@Before
+	public void setUp() {
+		this.document = new PDDocument();
+		PDPage page = new PDPage();
+		this.document.addPage(page);
+		this.resources = new COSDictionary();
+		page.getCOSObject().setItem(COSName.RESOURCES, this.resources);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		this.document.close();
+	}
+
+	@Test
+	public void testSoftMaskGroupOfGraphicsState() {
+		COSStream metadata = createMetadata();
+		COSDictionary softMask = new COSDictionary();
+		softMask.setItem(COSName.S, COSName.getPDFName("Luminosity"));
+		softMask.setItem(COSName.G, createStream(metadata));
+		COSDictionary extGState = new COSDictionary();
+		extGState.setItem(COSName.SMASK, softMask);
+		this.resources.setItem(COSName.EXT_G_STATE, map("GS1", extGState));
+		assertCollected(metadata);
+	}
+
+	@Test
+	public void testSoftMaskOfImage() {
+		COSStream metadata = createMetadata();
+		COSStream image = createStream(null);
+		image.setItem(COSName.SMASK, createStream(metadata));
+		this.resources.setItem(COSName.XOBJECT, map("Im1", image));
+		assertCollected(metadata);
+	}
+
+	@Test
+	public void testPatternAndShading() {
+		COSStream patternMetadata = createMetadata();
+		COSStream shadingMetadata = createMetadata();
+		this.resources.setItem(COSName.PATTERN, map("P1", createStream(patternMetadata)));
+		this.resources.setItem(COSName.SHADING, map("Sh1", createStream(shadingMetadata)));
+		assertCollected(patternMetadata, shadingMetadata);
+	}
+
+	@Test
+	public void testPageThumbnail() {
+		COSStream metadata = createMetadata();
+		this.document.getPage(0).getCOSObject().setItem(COSName.getPDFName("Thumb"), createStream(metadata));
+		assertCollected(metadata);
+	}
+
+	@Test
+	public void testDefaultResourcesOfInteractiveForm() {
+		COSStream metadata = createMetadata();
+		COSDictionary defaultResources = new COSDictionary();
+		defaultResources.setItem(COSName.XOBJECT, map("Fm1", createStream(metadata)));
+		COSDictionary acroForm = new COSDictionary();
+		acroForm.setItem(COSName.DR, defaultResources);
+		this.document.getDocumentCatalog().getCOSObject().setItem(COSName.ACRO_FORM, acroForm);
+		assertCollected(metadata);
+	}
+
+	@Test
+	public void testUntypedMetadataStream() {
+		COSStream metadata = new COSStream(new COSDictionary());
+		this.resources.setItem(COSName.XOBJECT, map("Fm1", createStream(metadata)));
+		assertCollected(metadata);
+	}
+
+	@Test
+	public void testTypedStreamOutsideOfMetadataEntries() {
+		COSStream metadata = createMetadata();
+		this.document.getPage(0).getCOSObject().setItem(COSName.getPDFName("PieceInfo"), map("App", metadata));
+		Assert.assertFalse(MetadataStreamCollector.collect(this.document.getDocument()).contains(metadata));
+	}
+
+	private void assertCollected(COSStream... metadata) {
+		List<COSStream> collected = MetadataStreamCollector.collect(this.document.getDocument());
+		for (COSStream stream : metadata) {
+			Assert.assertTrue(collected.contains(stream));
+		}
+	}
+
+	private static COSDictionary map(String name, COSDictionary value) {
+		COSDictionary map = new COSDictionary();
+		map.setItem(COSName.getPDFName(name), value);
+		return map;
+	}
+
+	private static COSStream createMetadata() {
+		COSStream metadata = new COSStream(new COSDictionary());
+		metadata.setItem(COSName.TYPE, COSName.METADATA);
+		metadata.setItem(COSName.SUBTYPE, COSName.getPDFName("XML"));
+		return metadata;
+	}
+
+	private static COSStream createStream(COSStream metadata) {
+		COSStream stream = new COSStream(new COSDictionary());
+		if (metadata != null) {
+			stream.setItem(COSName.METADATA, metadata);
+		}
+		return stream;
+	}
+}
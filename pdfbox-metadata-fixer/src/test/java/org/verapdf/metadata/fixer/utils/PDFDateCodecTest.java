@@ -0,0 +1,131 @@
+/**
+ * This file is part of veraPDF Metadata Fixer, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Metadata Fixer is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Metadata Fixer as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Metadata Fixer as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.metadata.fixer.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import static org.verapdf.metadata.fixer.utils.MetadataFixerConstants.UTC_PATTERN;
+
+/**
+ * Compares results of the codec with the previous implementation of
+ * {@link DateConverter}, which used {@code SimpleDateFormat} and the
+ * PDF Box date converter directly.
+ */
+public class PDFDateCodecTest {
+
+	private static final String[] DATES = {
+			"D:20150101120000Z",
+			"D:20150101120000+00'00'",
+			"D:20151231235959+05'30'",
+			"D:20150615102030-08'00'",
+			"D:20150615102030+01'",
+			"D:201506151020Z",
+			"D:201501Z",
+			"20150615102030+02'00'",
+			"D:20150615102030",
+			"2015-06-15T10:20:30+02:00",
+			"2015-06-15T10:20:30Z",
+			"2015-06-15T10:20:30-05:00"
+	};
+
+	private static final String[] ZONES = {"UTC", "GMT+05:30", "GMT-08:00", "America/New_York", "Europe/Berlin"};
+
+	@Test
+	public void testUTCStringOfStringMatchesPreviousImplementation() {
+		for (String date : DATES) {
+			Assert.assertEquals(date, previousToUTCString(previousToCalendar(date)), DateConverter.toUTCString(date));
+		}
+	}
+
+	@Test
+	public void testCalendarMatchesPreviousImplementation() {
+		for (String date : DATES) {
+			Calendar expected = previousToCalendar(date);
+			Calendar actual = DateConverter.toCalendar(date);
+			Assert.assertEquals(date, expected.getTimeInMillis(), actual.getTimeInMillis());
+			Assert.assertEquals(date, expected.getTimeZone().getRawOffset(), actual.getTimeZone().getRawOffset());
+		}
+	}
+
+	@Test
+	public void testPDFFormatOfStringMatchesPreviousImplementation() {
+		for (String date : DATES) {
+			Assert.assertEquals(date, org.apache.pdfbox.util.DateConverter.toString(previousToCalendar(date)),
+					DateConverter.toPDFFormat(date));
+		}
+	}
+
+	@Test
+	public void testPDFFormatOfCalendarMatchesPreviousImplementation() {
+		for (String zone : ZONES) {
+			for (int month : new int[]{Calendar.JANUARY, Calendar.JULY}) {
+				Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone(zone));
+				calendar.clear();
+				calendar.set(2015, month, 15, 10, 20, 30);
+				String message = zone + " " + month;
+				Assert.assertEquals(message, org.apache.pdfbox.util.DateConverter.toString(calendar),
+						DateConverter.toPDFFormat(calendar));
+				Assert.assertEquals(message, previousToUTCString(calendar), DateConverter.toUTCString(calendar));
+			}
+		}
+	}
+
+	@Test
+	public void testInvalidAndNullDates() {
+		Assert.assertNull(PDFDateCodec.toInstant(null));
+		Assert.assertNull(PDFDateCodec.toInstant("not a date"));
+		Assert.assertNull(PDFDateCodec.parsePDFDate("D:20151301120000Z"));
+		Assert.assertNull(PDFDateCodec.parsePDFDate("D:20150101120000"));
+		Assert.assertNull(DateConverter.toUTCString((Calendar) null));
+		Assert.assertNull(DateConverter.toPDFFormat((Calendar) null));
+		Assert.assertNull(DateConverter.toCalendar(null));
+	}
+
+	@Test
+	public void testPDFStringWithOffset() {
+		Instant instant = OffsetDateTime.of(2015, 6, 15, 10, 20, 30, 0, ZoneOffset.UTC).toInstant();
+		Assert.assertEquals("D:20150615102030+00'00'", PDFDateCodec.toPDFString(instant));
+		Assert.assertEquals("D:20150615155030+05'30'",
+				PDFDateCodec.toPDFString(instant, ZoneOffset.ofHoursMinutes(5, 30)));
+		Assert.assertEquals("D:20150615022030-08'00'", PDFDateCodec.toPDFString(instant, ZoneOffset.ofHours(-8)));
+	}
+
+	private static Calendar previousToCalendar(String date) {
+		Calendar buffer = org.apache.pdfbox.util.DateConverter.toCalendar(date);
+		buffer.setTimeZone(TimeZone.getTimeZone("UTC"));
+		return buffer;
+	}
+
+	private static String previousToUTCString(Calendar calendar) {
+		SimpleDateFormat dateFormat = new SimpleDateFormat(UTC_PATTERN);
+		dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+		return dateFormat.format(calendar.getTime());
+	}
+}
@@ -39,6 +39,9 @@ import org.verapdf.metadata.fixer.entity.PDFDocument;
 import org.verapdf.metadata.fixer.impl.pb.model.PDFDocumentImpl;
 import org.verapdf.model.impl.pb.containers.StaticContainers;
 import org.verapdf.model.impl.pb.cos.PBCosDocument;
+import org.verapdf.model.tools.FlavourSniffer;
+import org.verapdf.model.tools.profiling.ModelProfiler;
+import org.verapdf.model.tools.profiling.ProfilingSummary;
 import org.verapdf.pdfa.Foundries;
 import org.verapdf.pdfa.PDFAParser;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
@@ -69,17 +72,38 @@ public final class ModelParser implements PDFAParser {
 
 	private final PDFAFlavour flavour;
 
+	private final ModelProfiler profiler;
+
 	private ModelParser(final InputStream docStream, PDFAFlavour flavour) throws IOException {
+		this(docStream, flavour, ModelParserConfig.defaultConfig());
+	}
+
+	private ModelParser(final InputStream docStream, PDFAFlavour flavour, ModelParserConfig config) throws IOException {
+		StaticContainers.setParserConfig(config);
+		this.profiler = createProfiler(config);
 		this.document = PDDocument.load(docStream, false, true);
 		this.flavour = (flavour == PDFAFlavour.NO_FLAVOUR) ? obtainFlavour(this.document) : flavour;
 	}
 
 	private ModelParser(final File pdfFile, PDFAFlavour flavour) throws IOException {
+		this(pdfFile, flavour, ModelParserConfig.defaultConfig());
+	}
+
+	private ModelParser(final File pdfFile, PDFAFlavour flavour, ModelParserConfig config) throws IOException {
+		StaticContainers.setParserConfig(config);
+		this.profiler = createProfiler(config);
 		this.document = PDDocument.load(pdfFile, false, true);
 		this.flavour = (flavour == PDFAFlavour.NO_FLAVOUR) ? obtainFlavour(this.document) : flavour;
 	}
 
 	private ModelParser(final File pdfFile, PDFAFlavour flavour, PDFAFlavour defaultFlavour) throws IOException {
+		this(pdfFile, flavour, defaultFlavour, ModelParserConfig.defaultConfig());
+	}
+
+	private ModelParser(final File pdfFile, PDFAFlavour flavour, PDFAFlavour defaultFlavour,
+						ModelParserConfig config) throws IOException {
+		StaticContainers.setParserConfig(config);
+		this.profiler = createProfiler(config);
 		this.document = PDDocument.load(pdfFile, false, true);
 		this.flavour = (flavour == PDFAFlavour.NO_FLAVOUR) ? ((defaultFlavour == PDFAFlavour.NO_FLAVOUR) ? obtainFlavour(this.document) : obtainFlavour(this.document, defaultFlavour)) : flavour;
 	}
@@ -108,6 +132,30 @@ public final class ModelParser implements PDFAParser {
 		}
 	}
 
+	public static ModelParser createModelWithFlavour(InputStream toLoad, PDFAFlavour flavour, ModelParserConfig config)
+			throws ModelParsingException, EncryptedPdfException {
+		try {
+			cleanUp();
+			return new ModelParser(toLoad, flavour, config);
+		} catch (InvalidPasswordException excep) {
+			throw new EncryptedPdfException("The PDF stream appears to be encrypted.", excep);
+		} catch (IOException excep) {
+			throw new ModelParsingException("Couldn't parse stream", excep);
+		}
+	}
+
+	public static ModelParser createModelWithFlavour(File pdfFile, PDFAFlavour flavour, ModelParserConfig config)
+			throws ModelParsingException, EncryptedPdfException {
+		try {
+			cleanUp();
+			return new ModelParser(pdfFile, flavour, config);
+		} catch (InvalidPasswordException excep) {
+			throw new EncryptedPdfException("The PDF stream appears to be encrypted.", excep);
+		} catch (IOException excep) {
+			throw new ModelParsingException("Couldn't parse stream", excep);
+		}
+	}
+
 	public static ModelParser createModelWithFlavour(File pdfFile, PDFAFlavour flavour, PDFAFlavour defaultFlavour)
 			throws ModelParsingException, EncryptedPdfException {
 		try {
@@ -120,6 +168,42 @@ public final class ModelParser implements PDFAParser {
 		}
 	}
 
+	public static ModelParser createModelWithFlavour(File pdfFile, PDFAFlavour flavour, PDFAFlavour defaultFlavour,
+													 ModelParserConfig config)
+			throws ModelParsingException, EncryptedPdfException {
+		try {
+			cleanUp();
+			return new ModelParser(pdfFile, flavour, defaultFlavour, config);
+		} catch (InvalidPasswordException excep) {
+			throw new EncryptedPdfException("The PDF stream appears to be encrypted.", excep);
+		} catch (IOException excep) {
+			throw new ModelParsingException("Couldn't parse stream", excep);
+		}
+	}
+
+	/**
+	 * Detects the flavour claimed by the document. The flavour is first
+	 * looked up by {@link FlavourSniffer} without loading the document, the
+	 * document is loaded only if the sniffer can not read it.
+	 *
+	 * @param pdfFile document to inspect
+	 * @return flavour claimed in the document metadata or
+	 * {@link PDFAFlavour#NO_FLAVOUR} if document claims no known flavour
+	 */
+	public static PDFAFlavour detectFlavour(File pdfFile) throws ModelParsingException, EncryptedPdfException {
+		PDFAFlavour sniffed = FlavourSniffer.sniff(pdfFile);
+		if (sniffed != null) {
+			return sniffed;
+		}
+		try (PDDocument document = PDDocument.load(pdfFile, false, true)) {
+			return obtainFlavour(document, PDFAFlavour.NO_FLAVOUR);
+		} catch (InvalidPasswordException excep) {
+			throw new EncryptedPdfException("The PDF stream appears to be encrypted.", excep);
+		} catch (IOException excep) {
+			throw new ModelParsingException("Couldn't parse stream", excep);
+		}
+	}
+
 	private static PDFAFlavour obtainFlavour(PDDocument document) {
 		return obtainFlavour(document, Foundries.defaultInstance().defaultFlavour());
 	}
@@ -158,6 +242,15 @@ public final class ModelParser implements PDFAParser {
 		}
 	}
 
+	private static ModelProfiler createProfiler(ModelParserConfig config) {
+		if (config == null || !config.isProfiling()) {
+			return null;
+		}
+		ModelProfiler res = new ModelProfiler();
+		StaticContainers.setProfiler(res);
+		return res;
+	}
+
 	private static void cleanUp() {
 		StaticContainers.clearAllContainers();
 	}
@@ -187,6 +280,14 @@ public final class ModelParser implements PDFAParser {
 		return new PBCosDocument(this.document, this.flavour);
 	}
 
+	/**
+	 * @return measurements of model operations collected so far, or null if
+	 *         profiling is not enabled in parser configuration
+	 */
+	public ProfilingSummary getProfilingSummary() {
+		return this.profiler == null ? null : this.profiler.getSummary();
+	}
+
 	@Override
 	public PDFAFlavour getFlavour() {
 		return this.flavour;
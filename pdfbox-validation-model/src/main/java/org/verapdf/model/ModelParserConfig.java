@@ -0,0 +1,186 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model;
+
+import org.verapdf.features.pb.tools.PBOutlineIndex;
+import org.verapdf.model.tools.ReachableTypes;
+
+/**
+ * Immutable set of options that control how the PDF Box model is built
+ * by {@link ModelParser}.
+ */
+public final class ModelParserConfig {
+
+	/**
+	 * Default limit of bytes read from JPEG 2000 image stream to find its header
+	 */
+	public static final long DEFAULT_JPX_HEADER_LIMIT = 16L * 1024 * 1024;
+
+	private static final ModelParserConfig DEFAULT = new ModelParserConfig(false, null, DEFAULT_JPX_HEADER_LIMIT, false,
+			false, PBOutlineIndex.DEFAULT_ITEMS_LIMIT);
+
+	private final boolean softInlineImageData;
+	private final ReachableTypes reachableTypes;
+	private final long jpxHeaderLimit;
+	private final boolean profiling;
+	private final boolean failFast;
+	private final int outlineItemsLimit;
+
+	private ModelParserConfig(boolean softInlineImageData, ReachableTypes reachableTypes, long jpxHeaderLimit,
+							  boolean profiling, boolean failFast, int outlineItemsLimit) {
+		this.softInlineImageData = softInlineImageData;
+		this.reachableTypes = reachableTypes;
+		this.jpxHeaderLimit = jpxHeaderLimit;
+		this.profiling = profiling;
+		this.failFast = failFast;
+		this.outlineItemsLimit = outlineItemsLimit;
+	}
+
+	/**
+	 * @return config with default options
+	 */
+	public static ModelParserConfig defaultConfig() {
+		return DEFAULT;
+	}
+
+	/**
+	 * @return true if inline image data is kept only through soft references
+	 * and is read again from the content stream when it is required
+	 */
+	public boolean isSoftInlineImageData() {
+		return this.softInlineImageData;
+	}
+
+	/**
+	 * @param softInlineImageData new value of inline image data retention mode
+	 * @return copy of current config with the given inline image data mode
+	 */
+	public ModelParserConfig withSoftInlineImageData(boolean softInlineImageData) {
+		return new ModelParserConfig(softInlineImageData, this.reachableTypes, this.jpxHeaderLimit, this.profiling,
+				this.failFast, this.outlineItemsLimit);
+	}
+
+	/**
+	 * @return types that can be checked by the validation profile, or null
+	 * if model objects of all types have to be created
+	 */
+	public ReachableTypes getReachableTypes() {
+		return this.reachableTypes;
+	}
+
+	/**
+	 * @param reachableTypes types checked by the validation profile, null
+	 *                       disables pruning of model objects
+	 * @return copy of current config with the given reachable types
+	 */
+	public ModelParserConfig withReachableTypes(ReachableTypes reachableTypes) {
+		return new ModelParserConfig(this.softInlineImageData, reachableTypes, this.jpxHeaderLimit, this.profiling,
+				this.failFast, this.outlineItemsLimit);
+	}
+
+	/**
+	 * @param implementationClass class of the model object implementation
+	 * @return true if objects of the given class have to be created
+	 */
+	public boolean isReachable(Class<?> implementationClass) {
+		return this.reachableTypes == null || this.reachableTypes.isReachable(implementationClass);
+	}
+
+	/**
+	 * @return maximum number of bytes read from JPEG 2000 image stream
+	 * while looking for its header boxes
+	 */
+	public long getJpxHeaderLimit() {
+		return this.jpxHeaderLimit;
+	}
+
+	/**
+	 * @param jpxHeaderLimit maximum number of bytes read from JPEG 2000 image stream
+	 * @return copy of current config with the given limit
+	 */
+	public ModelParserConfig withJpxHeaderLimit(long jpxHeaderLimit) {
+		if (jpxHeaderLimit <= 0) {
+			throw new IllegalArgumentException("JPEG 2000 header limit should be positive");
+		}
+		return new ModelParserConfig(this.softInlineImageData, this.reachableTypes, jpxHeaderLimit, this.profiling,
+				this.failFast, this.outlineItemsLimit);
+	}
+
+	/**
+	 * @return true if model operations are measured and summary is available
+	 * from {@link ModelParser#getProfilingSummary()}
+	 */
+	public boolean isProfiling() {
+		return this.profiling;
+	}
+
+	/**
+	 * @param profiling new value of profiling mode
+	 * @return copy of current config with the given profiling mode
+	 */
+	public ModelParserConfig withProfiling(boolean profiling) {
+		return new ModelParserConfig(this.softInlineImageData, this.reachableTypes, this.jpxHeaderLimit, profiling,
+				this.failFast, this.outlineItemsLimit);
+	}
+
+	/**
+	 * @return true if model objects are traversed so that cheap document
+	 * level objects are checked before the content of pages, which allows
+	 * fail-fast validator to reject the document as early as possible
+	 */
+	public boolean isFailFast() {
+		return this.failFast;
+	}
+
+	/**
+	 * Fail-fast traversal pays off with a validator that stops after the
+	 * given number of failed checks. Such parser and validator are created by
+	 * {@link org.verapdf.pdfa.PdfBoxFoundry#createFailFastParser(java.io.File, org.verapdf.pdfa.flavours.PDFAFlavour, org.verapdf.pdfa.validation.profiles.ValidationProfile)}
+	 * and
+	 * {@link org.verapdf.pdfa.PdfBoxFoundry#createFailFastValidator(org.verapdf.pdfa.flavours.PDFAFlavour, int)}.
+	 *
+	 * @param failFast new value of fail-fast traversal mode
+	 * @return copy of current config with the given traversal mode
+	 */
+	public ModelParserConfig withFailFast(boolean failFast) {
+		return new ModelParserConfig(this.softInlineImageData, this.reachableTypes, this.jpxHeaderLimit, this.profiling,
+				failFast, this.outlineItemsLimit);
+	}
+
+	/**
+	 * @return maximum number of outline items checked by the validator
+	 */
+	public int getOutlineItemsLimit() {
+		return this.outlineItemsLimit;
+	}
+
+	/**
+	 * @param outlineItemsLimit maximum number of outline items checked by the validator
+	 * @return copy of current config with the given limit
+	 */
+	public ModelParserConfig withOutlineItemsLimit(int outlineItemsLimit) {
+		if (outlineItemsLimit <= 0) {
+			throw new IllegalArgumentException("Outline items limit should be positive");
+		}
+		return new ModelParserConfig(this.softInlineImageData, this.reachableTypes, this.jpxHeaderLimit, this.profiling,
+				this.failFast, outlineItemsLimit);
+	}
+}
@@ -31,6 +31,7 @@ import org.verapdf.model.impl.pb.pd.pattern.PBoxPDShadingPattern;
 import org.verapdf.model.impl.pb.pd.pattern.PBoxPDTilingPattern;
 import org.verapdf.model.pdlayer.PDColorSpace;
 import org.verapdf.model.pdlayer.PDPattern;
+import org.verapdf.model.tools.profiling.ModelProfiler;
 import org.verapdf.model.tools.resources.PDInheritableResources;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
@@ -91,6 +92,23 @@ public class ColorSpaceFactory {
 	public static PDColorSpace getColorSpace(org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace colorSpace,
 			PDAbstractPattern pattern, PDInheritableResources resources, int opm, boolean overprintingFlag,
 			PDDocument document, PDFAFlavour flavour) {
+		ModelProfiler profiler = StaticContainers.getProfiler();
+		if (profiler == null || colorSpace == null) {
+			return createColorSpace(colorSpace, pattern, resources, opm, overprintingFlag, document, flavour);
+		}
+		PDColorSpace res = null;
+		profiler.enter();
+		try {
+			res = createColorSpace(colorSpace, pattern, resources, opm, overprintingFlag, document, flavour);
+			return res;
+		} finally {
+			profiler.exit(ModelProfiler.Category.COLOR_SPACE_CREATION, colorSpace.getName(), res == null ? 0 : 1);
+		}
+	}
+
+	private static PDColorSpace createColorSpace(org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace colorSpace,
+			PDAbstractPattern pattern, PDInheritableResources resources, int opm, boolean overprintingFlag,
+			PDDocument document, PDFAFlavour flavour) {
 		if (colorSpace == null) {
 			return null;
 		}
@@ -27,11 +27,13 @@ import org.apache.pdfbox.pdmodel.font.PDType1CFont;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.PDType3Font;
 import org.apache.pdfbox.pdmodel.graphics.state.RenderingMode;
+import org.verapdf.model.impl.pb.containers.StaticContainers;
 import org.verapdf.model.impl.pb.pd.font.PBoxPDTrueTypeFont;
 import org.verapdf.model.impl.pb.pd.font.PBoxPDType0Font;
 import org.verapdf.model.impl.pb.pd.font.PBoxPDType1Font;
 import org.verapdf.model.impl.pb.pd.font.PBoxPDType3Font;
 import org.verapdf.model.pdlayer.PDFont;
+import org.verapdf.model.tools.profiling.ModelProfiler;
 import org.verapdf.model.tools.resources.PDInheritableResources;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
@@ -71,6 +73,23 @@ public final class FontFactory {
 	public static PDFont parseFont(
 			org.apache.pdfbox.pdmodel.font.PDFont pdfboxFont, RenderingMode renderingMode,
 			PDInheritableResources resources, PDDocument document, PDFAFlavour flavour) {
+		ModelProfiler profiler = StaticContainers.getProfiler();
+		if (profiler == null || pdfboxFont == null) {
+			return createFont(pdfboxFont, renderingMode, resources, document, flavour);
+		}
+		PDFont res = null;
+		profiler.enter();
+		try {
+			res = createFont(pdfboxFont, renderingMode, resources, document, flavour);
+			return res;
+		} finally {
+			profiler.exit(ModelProfiler.Category.FONT_PARSING, pdfboxFont.getSubType(), res == null ? 0 : 1);
+		}
+	}
+
+	private static PDFont createFont(
+			org.apache.pdfbox.pdmodel.font.PDFont pdfboxFont, RenderingMode renderingMode,
+			PDInheritableResources resources, PDDocument document, PDFAFlavour flavour) {
 		if (pdfboxFont == null) {
 			return null;
 		}
@@ -22,6 +22,7 @@ package org.verapdf.model.factory.operator;
 
 import org.apache.log4j.Logger;
 import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSStream;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.graphics.state.RenderingMode;
 import org.verapdf.model.operator.Operator;
@@ -111,10 +112,27 @@ public final class OperatorFactory {
      */
     public List<Operator> operatorsFromTokens(List<Object> pdfBoxTokens,
                                               PDInheritableResources resources, PDDocument document, PDFAFlavour flavour) {
+        return operatorsFromTokens(pdfBoxTokens, null, resources, document, flavour);
+    }
+
+    /**
+     * Converts pdfbox operators and arguments from content stream
+     * to the corresponding {@link Operator} objects of veraPDF-library
+     *
+     * @param pdfBoxTokens  list of {@link COSBase} or
+     *                      {@link org.apache.pdfbox.contentstream.operator.Operator}
+     *                      objects
+     * @param contentStream source stream of tokens, used to read inline image
+     *                      data again if it is not retained in memory
+     * @param resources     resources for a given stream
+     * @return list of {@link Operator} objects of veraPDF-library
+     */
+    public List<Operator> operatorsFromTokens(List<Object> pdfBoxTokens, COSStream contentStream,
+                                              PDInheritableResources resources, PDDocument document, PDFAFlavour flavour) {
         List<Operator> result = new ArrayList<>();
         List<COSBase> arguments = new ArrayList<>();
         this.isLastParsedContainsTransparency = false;
-        OperatorParser parser = new OperatorParser(document, flavour);
+        OperatorParser parser = new OperatorParser(document, flavour, contentStream);
 
         for (Object pdfBoxToken : pdfBoxTokens) {
             if (pdfBoxToken instanceof COSBase) {
@@ -27,6 +27,7 @@ import org.apache.log4j.Logger;
 import org.apache.pdfbox.cos.COSBase;
 import org.apache.pdfbox.cos.COSInteger;
 import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.graphics.PDXObject;
 import org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace;
@@ -37,10 +38,15 @@ import org.apache.pdfbox.pdmodel.graphics.pattern.PDAbstractPattern;
 import org.apache.pdfbox.pdmodel.graphics.shading.PDShading;
 import org.apache.pdfbox.pdmodel.graphics.state.PDExtendedGraphicsState;
 import org.apache.pdfbox.pdmodel.graphics.state.RenderingMode;
+import org.verapdf.model.ModelParserConfig;
 import org.verapdf.model.factory.colors.ColorSpaceFactory;
+import org.verapdf.model.impl.pb.containers.StaticContainers;
+import org.verapdf.model.impl.pb.operator.base.PBOpSkipped;
+import org.verapdf.model.impl.pb.operator.base.PackedOperands;
 import org.verapdf.model.impl.pb.operator.color.PBOpColor;
 import org.verapdf.model.impl.pb.operator.color.PBOpSetColor;
 import org.verapdf.model.impl.pb.operator.generalgs.*;
+import org.verapdf.model.impl.pb.operator.inlineimage.InlineImageData;
 import org.verapdf.model.impl.pb.operator.inlineimage.PBOp_BI;
 import org.verapdf.model.impl.pb.operator.inlineimage.PBOp_EI;
 import org.verapdf.model.impl.pb.operator.inlineimage.PBOp_ID;
@@ -98,10 +104,21 @@ class OperatorParser {
 	private final PDDocument document;
 	private final PDFAFlavour flavour;
 
+	private final COSStream contentStream;
+	private final ModelParserConfig config;
+	private final PackedOperands packedOperands = new PackedOperands();
+	private InlineImageData.Source inlineImageSource;
+
 	OperatorParser(PDDocument document, PDFAFlavour flavour) {
+		this(document, flavour, null);
+	}
+
+	OperatorParser(PDDocument document, PDFAFlavour flavour, COSStream contentStream) {
 		// limit the scope
 		this.document = document;
 		this.flavour = flavour;
+		this.contentStream = contentStream;
+		this.config = StaticContainers.getParserConfig();
 	}
 
 	public GraphicState getGraphicState() {
@@ -125,22 +142,46 @@ class OperatorParser {
 				this.addExtGState(operators, resources, arguments);
 				break;
 			case Operators.I_SETFLAT:
-				operators.add(new PBOp_i(arguments));
+				if (isReachable(PBOp_i.class)) {
+					operators.add(new PBOp_i(arguments));
+				} else {
+					operators.add(PBOpSkipped.of(PBOp_i.OP_I_TYPE));
+				}
 				break;
 			case Operators.J_LINE_CAP:
-				operators.add(new PBOp_J_line_cap(arguments));
+				if (isReachable(PBOp_J_line_cap.class)) {
+					operators.add(new PBOp_J_line_cap(arguments));
+				} else {
+					operators.add(PBOpSkipped.of(PBOp_J_line_cap.OP_J_LINE_CAP_TYPE));
+				}
 				break;
 			case Operators.J_LINE_JOIN:
-				operators.add(new PBOp_j_line_join(arguments));
+				if (isReachable(PBOp_j_line_join.class)) {
+					operators.add(new PBOp_j_line_join(arguments));
+				} else {
+					operators.add(PBOpSkipped.of(PBOp_j_line_join.OP_J_LINE_JOIN_TYPE));
+				}
 				break;
 			case Operators.M_MITER_LIMIT:
-				operators.add(new PBOp_M_miter_limit(arguments));
+				if (isReachable(PBOp_M_miter_limit.class)) {
+					operators.add(new PBOp_M_miter_limit(arguments));
+				} else {
+					operators.add(PBOpSkipped.of(PBOp_M_miter_limit.OP_M_MITER_LIMIT_TYPE));
+				}
 				break;
 			case Operators.RI:
-				operators.add(new PBOp_ri(arguments));
+				if (isReachable(PBOp_ri.class)) {
+					operators.add(new PBOp_ri(arguments));
+				} else {
+					operators.add(PBOpSkipped.of(PBOp_ri.OP_RI_TYPE));
+				}
 				break;
 			case Operators.W_LINE_WIDTH:
-				operators.add(new PBOp_w_line_width(arguments));
+				if (isReachable(PBOp_w_line_width.class)) {
+					operators.add(new PBOp_w_line_width(arguments));
+				} else {
+					operators.add(PBOpSkipped.of(PBOp_w_line_width.OP_W_LINE_WIDTH_TYPE));
+				}
 				break;
 
 			// MARKED CONTENT
@@ -244,16 +285,32 @@ class OperatorParser {
 
 			// TEXT POSITION
 			case Operators.TD_MOVE:
-				operators.add(new PBOp_Td(arguments));
+				if (isReachable(PBOp_Td.class)) {
+					operators.add(new PBOp_Td(arguments, this.packedOperands));
+				} else {
+					operators.add(PBOpSkipped.of(PBOp_Td.OP_TD_TYPE));
+				}
 				break;
 			case Operators.TD_MOVE_SET_LEADING:
-				operators.add(new PBOp_TD_Big(arguments));
+				if (isReachable(PBOp_TD_Big.class)) {
+					operators.add(new PBOp_TD_Big(arguments, this.packedOperands));
+				} else {
+					operators.add(PBOpSkipped.of(PBOp_TD_Big.OP_TD_BIG_TYPE));
+				}
 				break;
 			case Operators.TM:
-				operators.add(new PBOp_Tm(arguments));
+				if (isReachable(PBOp_Tm.class)) {
+					operators.add(new PBOp_Tm(arguments, this.packedOperands));
+				} else {
+					operators.add(PBOpSkipped.of(PBOp_Tm.OP_TM_TYPE));
+				}
 				break;
 			case Operators.T_STAR:
-				operators.add(new PBOpTextPosition(arguments));
+				if (isReachable(PBOpTextPosition.class)) {
+					operators.add(new PBOpTextPosition(arguments));
+				} else {
+					operators.add(PBOpSkipped.of(PBOpTextPosition.OP_TEXT_POSITION_TYPE));
+				}
 				break;
 
 			// TEXT SHOW
@@ -280,7 +337,11 @@ class OperatorParser {
 
 			// TEXT STATE
 			case Operators.TZ:
-				operators.add(new PBOp_Tz(arguments));
+				if (isReachable(PBOp_Tz.class)) {
+					operators.add(new PBOp_Tz(arguments));
+				} else {
+					operators.add(PBOpSkipped.of(PBOp_Tz.OP_TZ_TYPE));
+				}
 				break;
 			case Operators.TR:
 				this.graphicState.setRenderingMode(getRenderingMode(arguments));
@@ -291,29 +352,53 @@ class OperatorParser {
 				operators.add(new PBOp_Tf(arguments));
 				break;
 			case Operators.TC:
-				operators.add(new PBOp_Tc(arguments));
+				if (isReachable(PBOp_Tc.class)) {
+					operators.add(new PBOp_Tc(arguments));
+				} else {
+					operators.add(PBOpSkipped.of(PBOp_Tc.OP_TC_TYPE));
+				}
 				break;
 			case Operators.TW:
-				operators.add(new PBOp_Tw(arguments));
+				if (isReachable(PBOp_Tw.class)) {
+					operators.add(new PBOp_Tw(arguments));
+				} else {
+					operators.add(PBOpSkipped.of(PBOp_Tw.OP_TW_TYPE));
+				}
 				break;
 			case Operators.TL:
-				operators.add(new PBOp_Tl(arguments));
+				if (isReachable(PBOp_Tl.class)) {
+					operators.add(new PBOp_Tl(arguments));
+				} else {
+					operators.add(PBOpSkipped.of(PBOp_Tl.OP_TL_TYPE));
+				}
 				break;
 			case Operators.TS:
-				operators.add(new PBOp_Ts(arguments));
+				if (isReachable(PBOp_Ts.class)) {
+					operators.add(new PBOp_Ts(arguments));
+				} else {
+					operators.add(PBOpSkipped.of(PBOp_Ts.OP_TS_TYPE));
+				}
 				break;
 
 			// TYPE 3 FONT
 			case Operators.D0:
-				operators.add(new PBOp_d0(arguments));
+				if (isReachable(PBOp_d0.class)) {
+					operators.add(new PBOp_d0(arguments));
+				} else {
+					operators.add(PBOpSkipped.of(PBOp_d0.OP_D0_TYPE));
+				}
 				break;
 			case Operators.D1:
-				operators.add(new PBOp_d1(arguments));
+				if (isReachable(PBOp_d1.class)) {
+					operators.add(new PBOp_d1(arguments));
+				} else {
+					operators.add(PBOpSkipped.of(PBOp_d1.OP_D1_TYPE));
+				}
 				break;
 
 			// INLINE IMAGE
 			case Operators.BI:
-				addInlineImage(operators, pdfBoxOperator, resources, arguments, document, flavour);
+				addInlineImage(operators, pdfBoxOperator, resources, arguments);
 				break;
 
 			// COMPABILITY
@@ -326,25 +411,53 @@ class OperatorParser {
 
 			// PATH CONSTRUCTION
 			case Operators.C_CURVE_TO:
-				operators.add(new PBOp_c(arguments));
+				if (isReachable(PBOp_c.class)) {
+					operators.add(new PBOp_c(arguments, this.packedOperands));
+				} else {
+					operators.add(PBOpSkipped.of(PBOp_c.OP_C_TYPE));
+				}
 				break;
 			case Operators.H_CLOSEPATH:
-				operators.add(new PBOp_h(arguments));
+				if (isReachable(PBOp_h.class)) {
+					operators.add(new PBOp_h(arguments));
+				} else {
+					operators.add(PBOpSkipped.of(PBOp_h.OP_H_TYPE));
+				}
 				break;
 			case Operators.L_LINE_TO:
-				operators.add(new PBOp_l(arguments));
+				if (isReachable(PBOp_l.class)) {
+					operators.add(new PBOp_l(arguments, this.packedOperands));
+				} else {
+					operators.add(PBOpSkipped.of(PBOp_l.OP_L_TYPE));
+				}
 				break;
 			case Operators.M_MOVE_TO:
-				operators.add(new PBOp_m_moveto(arguments));
+				if (isReachable(PBOp_m_moveto.class)) {
+					operators.add(new PBOp_m_moveto(arguments, this.packedOperands));
+				} else {
+					operators.add(PBOpSkipped.of(PBOp_m_moveto.OP_M_MOVETO_TYPE));
+				}
 				break;
 			case Operators.RE:
-				operators.add(new PBOp_re(arguments));
+				if (isReachable(PBOp_re.class)) {
+					operators.add(new PBOp_re(arguments, this.packedOperands));
+				} else {
+					operators.add(PBOpSkipped.of(PBOp_re.OP_RE_TYPE));
+				}
 				break;
 			case Operators.V:
-				operators.add(new PBOp_v(arguments));
+				if (isReachable(PBOp_v.class)) {
+					operators.add(new PBOp_v(arguments, this.packedOperands));
+				} else {
+					operators.add(PBOpSkipped.of(PBOp_v.OP_V_TYPE));
+				}
 				break;
 			case Operators.Y:
-				operators.add(new PBOp_y(arguments));
+				if (isReachable(PBOp_y.class)) {
+					operators.add(new PBOp_y(arguments, this.packedOperands));
+				} else {
+					operators.add(PBOpSkipped.of(PBOp_y.OP_Y_TYPE));
+				}
 				break;
 
 			// PATH PAINT
@@ -446,6 +559,15 @@ class OperatorParser {
 		}
 	}
 
+	/**
+	 * Operators are created only if the validation profile can check them
+	 * or their operands, otherwise a shared placeholder keeps their index.
+	 * Graphic state is updated regardless.
+	 */
+	private boolean isReachable(Class<? extends Operator> operatorClass) {
+		return this.config.isReachable(operatorClass);
+	}
+
 	private PBOpColor getStrokeColorOperator(List<COSBase> arguments) {
 		org.verapdf.model.pdlayer.PDColorSpace colorSpace = ColorSpaceFactory.getColorSpace(
 				graphicState.getStrokeColorSpace(), document, flavour);
@@ -490,20 +612,27 @@ class OperatorParser {
 		operators.add(new PBOp_gs(arguments, extGState, this.document, this.flavour));
 	}
 
-	private static void addInlineImage(List<Operator> operators,
-									   org.apache.pdfbox.contentstream.operator.Operator pdfBoxOperator,
-									   PDInheritableResources resources,
-									   List<COSBase> arguments,
-									   PDDocument document,
-									   PDFAFlavour flavour) {
+	private void addInlineImage(List<Operator> operators,
+								org.apache.pdfbox.contentstream.operator.Operator pdfBoxOperator,
+								PDInheritableResources resources,
+								List<COSBase> arguments) {
 		if (pdfBoxOperator.getImageParameters() != null &&
 				pdfBoxOperator.getImageData() != null) {
 			arguments.add(pdfBoxOperator.getImageParameters());
+			InlineImageData imageData = this.config.isSoftInlineImageData() ?
+					InlineImageData.soft(pdfBoxOperator.getImageData(), getInlineImageSource()) :
+					InlineImageData.retained(pdfBoxOperator.getImageData());
 			operators.add(new PBOp_BI(new ArrayList<COSBase>()));
-			operators.add(new PBOp_ID(arguments, document, flavour));
-			operators.add(new PBOp_EI(arguments,
-					pdfBoxOperator.getImageData(), resources, document, flavour));
+			operators.add(new PBOp_ID(arguments, this.document, this.flavour));
+			operators.add(new PBOp_EI(arguments, imageData, resources, this.document, this.flavour));
+		}
+	}
+
+	private InlineImageData.Source getInlineImageSource() {
+		if (this.inlineImageSource == null && this.contentStream != null) {
+			this.inlineImageSource = new InlineImageData.Source(this.contentStream);
 		}
+		return this.inlineImageSource;
 	}
 
 	private static COSName getFirstCOSName(List<COSBase> arguments) {
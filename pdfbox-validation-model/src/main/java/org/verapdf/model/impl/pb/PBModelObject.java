@@ -0,0 +1,65 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.impl.pb;
+
+import org.verapdf.model.GenericModelObject;
+import org.verapdf.model.baselayer.Object;
+import org.verapdf.model.impl.pb.containers.StaticContainers;
+import org.verapdf.model.tools.profiling.ModelProfiler;
+
+import java.util.List;
+
+/**
+ * Base class of all model objects of the PDF Box implementation. Links are
+ * resolved by {@link #getLinks(String)}, calls made by the validator are
+ * measured when profiling is enabled in parser configuration.
+ */
+public abstract class PBModelObject extends GenericModelObject {
+
+	protected PBModelObject(String type) {
+		super(type);
+	}
+
+	@Override
+	public final List<? extends Object> getLinkedObjects(String link) {
+		ModelProfiler profiler = StaticContainers.getProfiler();
+		if (profiler == null) {
+			return getLinks(link);
+		}
+		List<? extends Object> objects = null;
+		profiler.enter();
+		try {
+			objects = getLinks(link);
+			return objects;
+		} finally {
+			profiler.exit(ModelProfiler.Category.LINK, getObjectType() + '.' + link,
+					objects == null ? 0 : objects.size());
+		}
+	}
+
+	/**
+	 * @param link name of the link
+	 * @return objects of the given link
+	 */
+	protected List<? extends Object> getLinks(String link) {
+		return super.getLinkedObjects(link);
+	}
+}
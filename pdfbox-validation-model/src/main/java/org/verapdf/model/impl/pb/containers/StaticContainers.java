@@ -21,8 +21,16 @@
 package org.verapdf.model.impl.pb.containers;
 
 import org.apache.pdfbox.cos.COSObjectKey;
+import org.verapdf.model.ModelParserConfig;
+import org.verapdf.model.impl.pb.operator.textshow.PBGlyph;
+import org.verapdf.model.impl.pb.pd.PBoxPDContentStream;
+import org.verapdf.model.impl.pb.pd.PBoxPDExtGState;
 import org.verapdf.model.impl.pb.pd.colors.PBoxPDSeparation;
 import org.verapdf.model.pdlayer.PDColorSpace;
+import org.verapdf.model.tools.GlyphKey;
+import org.verapdf.model.tools.profiling.ModelProfiler;
+import org.verapdf.model.tools.resources.ResourceKey;
+import org.verapdf.model.tools.resources.ResourcesContextKey;
 
 import java.util.*;
 
@@ -31,6 +39,10 @@ import java.util.*;
  */
 public class StaticContainers {
 
+	//ModelParser
+	private static ThreadLocal<ModelParserConfig> parserConfig = new ThreadLocal<>();
+	private static ThreadLocal<ModelProfiler> profiler = new ThreadLocal<>();
+
 	//PBoxPDSeparation
 	private static ThreadLocal<Map<String, List<PBoxPDSeparation>>> separations = new ThreadLocal<>();
 	private static ThreadLocal<List<String>> inconsistentSeparations = new ThreadLocal<>();
@@ -47,6 +59,18 @@ public class StaticContainers {
 	//SEHn
 	private static ThreadLocal<Integer> lastHeadingNestingLevel = new ThreadLocal<>();
 
+	//PBOpTextShow
+	private static ThreadLocal<Map<GlyphKey, PBGlyph>> cachedGlyphs = new ThreadLocal<>();
+
+	//PBOp_gs
+	private static ThreadLocal<Map<ResourceKey, PBoxPDExtGState>> cachedExtGStates = new ThreadLocal<>();
+
+	//PBoxPDTilingPattern
+	private static ThreadLocal<Map<ResourcesContextKey, PBoxPDContentStream>> cachedPatternContentStreams = new ThreadLocal<>();
+
+	//PDInheritableResources
+	private static ThreadLocal<Map<ResourceKey, Object>> cachedResources = new ThreadLocal<>();
+
 
 	public static void clearAllContainers() {
 		getSeparations().clear();
@@ -55,6 +79,32 @@ public class StaticContainers {
 		getFileSpecificationKeys().clear();
 		noteIDSet.set(new HashSet<>());
 		lastHeadingNestingLevel.set(0);
+		getCachedGlyphs().clear();
+		getCachedExtGStates().clear();
+		getCachedPatternContentStreams().clear();
+		getCachedResources().clear();
+		parserConfig.set(ModelParserConfig.defaultConfig());
+		profiler.remove();
+	}
+
+	public static ModelParserConfig getParserConfig() {
+		checkForNull(parserConfig, ModelParserConfig.defaultConfig());
+		return parserConfig.get();
+	}
+
+	public static void setParserConfig(ModelParserConfig parserConfig) {
+		StaticContainers.parserConfig.set(parserConfig);
+	}
+
+	/**
+	 * @return profiler of the current document or null if profiling is disabled
+	 */
+	public static ModelProfiler getProfiler() {
+		return profiler.get();
+	}
+
+	public static void setProfiler(ModelProfiler profiler) {
+		StaticContainers.profiler.set(profiler);
 	}
 
 	public static Set<String> getNoteIDSet() {
@@ -112,6 +162,42 @@ public class StaticContainers {
 		StaticContainers.fileSpecificationKeys.set(fileSpecificationKeys);
 	}
 
+	public static Map<GlyphKey, PBGlyph> getCachedGlyphs() {
+		checkForNull(cachedGlyphs, new HashMap<GlyphKey, PBGlyph>());
+		return cachedGlyphs.get();
+	}
+
+	public static void setCachedGlyphs(Map<GlyphKey, PBGlyph> cachedGlyphs) {
+		StaticContainers.cachedGlyphs.set(cachedGlyphs);
+	}
+
+	public static Map<ResourceKey, PBoxPDExtGState> getCachedExtGStates() {
+		checkForNull(cachedExtGStates, new HashMap<ResourceKey, PBoxPDExtGState>());
+		return cachedExtGStates.get();
+	}
+
+	public static void setCachedExtGStates(Map<ResourceKey, PBoxPDExtGState> cachedExtGStates) {
+		StaticContainers.cachedExtGStates.set(cachedExtGStates);
+	}
+
+	public static Map<ResourcesContextKey, PBoxPDContentStream> getCachedPatternContentStreams() {
+		checkForNull(cachedPatternContentStreams, new HashMap<ResourcesContextKey, PBoxPDContentStream>());
+		return cachedPatternContentStreams.get();
+	}
+
+	public static void setCachedPatternContentStreams(Map<ResourcesContextKey, PBoxPDContentStream> cachedPatternContentStreams) {
+		StaticContainers.cachedPatternContentStreams.set(cachedPatternContentStreams);
+	}
+
+	public static Map<ResourceKey, Object> getCachedResources() {
+		checkForNull(cachedResources, new HashMap<ResourceKey, Object>());
+		return cachedResources.get();
+	}
+
+	public static void setCachedResources(Map<ResourceKey, Object> cachedResources) {
+		StaticContainers.cachedResources.set(cachedResources);
+	}
+
 	private static void checkForNull(ThreadLocal variable, Object object) {
 		if (variable.get() == null) {
 			variable.set(object);
@@ -87,7 +87,7 @@ public class PBCosDict extends PBCosObject implements CosDict {
     }
 
     @Override
-    public List<? extends Object> getLinkedObjects(
+    protected List<? extends Object> getLinks(
             String link) {
         switch (link) {
             case KEYS:
@@ -97,7 +97,7 @@ public class PBCosDict extends PBCosObject implements CosDict {
             case METADATA:
                 return this.getMetadata();
             default:
-                return super.getLinkedObjects(link);
+                return super.getLinks(link);
         }
     }
 
@@ -26,13 +26,16 @@ import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDEmbeddedFilesNameTreeNode;
 import org.apache.pdfbox.pdmodel.common.PDNameTreeNode;
 import org.apache.pdfbox.pdmodel.common.filespecification.PDComplexFileSpecification;
+import org.verapdf.features.pb.tools.PBDocumentCensus;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosDocument;
 import org.verapdf.model.coslayer.CosIndirect;
 import org.verapdf.model.coslayer.CosTrailer;
 import org.verapdf.model.coslayer.CosXRef;
+import org.verapdf.model.impl.pb.containers.StaticContainers;
 import org.verapdf.model.impl.pb.pd.PBoxPDDocument;
 import org.verapdf.model.tools.FileSpecificationKeysHelper;
+import org.verapdf.model.tools.TraversalOrder;
 import org.verapdf.model.tools.XMPChecker;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
@@ -61,6 +64,9 @@ public class PBCosDocument extends PBCosObject implements CosDocument {
 	public static final String REQUIREMENTS = "Requirements";
 	public static final COSName PIECE_INFO = COSName.getPDFName("PieceInfo");
 
+	private static final List<String> FAIL_FAST_FIRST_LINKS = Arrays.asList(TRAILER, XREF, INDIRECT_OBJECTS);
+	private static final List<String> FAIL_FAST_LAST_LINKS = Collections.singletonList(EMBEDDED_FILES);
+
 	private final PDFAFlavour flavour;
 
 	private PDDocument pdDocument;
@@ -108,7 +114,7 @@ public class PBCosDocument extends PBCosObject implements CosDocument {
 		this.catalog = this.getCatalog();
 		this.flavour = flavour;
 
-		this.indirectObjectCount = cosDocument.getObjects().size();
+		this.indirectObjectCount = PBDocumentCensus.of(cosDocument).getIndirectObjectsNumber();
 		this.headerVersion = cosDocument.getVersion();
 		this.headerOffset = cosDocument.getHeaderOffset();
 		this.header = cosDocument.getHeader();
@@ -362,7 +368,16 @@ public class PBCosDocument extends PBCosObject implements CosDocument {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	public List<String> getLinks() {
+		List<String> links = super.getLinks();
+		if (StaticContainers.getParserConfig().isFailFast()) {
+			return TraversalOrder.reorder(getObjectType(), links, FAIL_FAST_FIRST_LINKS, FAIL_FAST_LAST_LINKS);
+		}
+		return links;
+	}
+
+	@Override
+	protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 		case TRAILER:
 			return this.getTrailer();
@@ -377,7 +392,7 @@ public class PBCosDocument extends PBCosObject implements CosDocument {
 		case DOC:
 			return Collections.emptyList();
 		default:
-			return super.getLinkedObjects(link);
+			return super.getLinks(link);
 		}
 	}
 
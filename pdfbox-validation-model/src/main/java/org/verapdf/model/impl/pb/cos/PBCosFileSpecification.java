@@ -93,11 +93,11 @@ public class PBCosFileSpecification extends PBCosDict implements CosFileSpecific
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		if (EF.equals(link)) {
 			return this.getEFFile();
 		}
-		return super.getLinkedObjects(link);
+		return super.getLinks(link);
 	}
 
 	private List<EmbeddedFile> getEFFile() {
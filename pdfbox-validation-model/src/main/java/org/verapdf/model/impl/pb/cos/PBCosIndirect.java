@@ -47,7 +47,8 @@ public class PBCosIndirect extends PBCosObject implements CosIndirect {
 
     private final boolean isSpacingPDFACompliant;
 
-    private final String id;
+    private final long key;
+    private String id;
 
     private final PDDocument document;
     private final PDFAFlavour flavour;
@@ -59,23 +60,26 @@ public class PBCosIndirect extends PBCosObject implements CosIndirect {
     public PBCosIndirect(COSObject indirectObject, PDDocument document, PDFAFlavour flavour) {
         super(indirectObject, COS_INDIRECT_TYPE);
         this.isSpacingPDFACompliant = getspacingCompliesPDFA(indirectObject);
-		this.id = IDGenerator.generateID(indirectObject);
+		this.key = IDGenerator.generateKey(indirectObject);
         this.document = document;
         this.flavour = flavour;
     }
 
 	@Override
 	public String getID() {
-		return id;
+		if (this.id == null) {
+			this.id = IDGenerator.generateID(this.key);
+		}
+		return this.id;
 	}
 
     @Override
-    public List<? extends Object> getLinkedObjects(
+    protected List<? extends Object> getLinks(
 			String link) {
         if (DIRECT_OBJECT.equals(link)) {
             return parseDirectObject();
         }
-        return super.getLinkedObjects(link);
+        return super.getLinks(link);
 
     }
 
@@ -46,6 +46,12 @@ public abstract class PBCosNumber extends PBCosObject implements CosNumber {
         this.doubleVal = number.doubleValue();
     }
 
+    protected PBCosNumber(COSNumber number, long longVal, double doubleVal, final String type) {
+        super(number, type);
+        this.longVal = longVal;
+        this.doubleVal = doubleVal;
+    }
+
     public static PBCosNumber fromPDFBoxNumber(COSBase number) {
         if (number instanceof COSInteger) {
             return new PBCosInteger((COSInteger) number);
@@ -55,6 +61,16 @@ public abstract class PBCosNumber extends PBCosObject implements CosNumber {
         return null;
     }
 
+    /**
+     * Creates real number object from the value stored outside of pdfbox objects
+     *
+     * @param value value of the number
+     * @return number object of abstract model implementation
+     */
+    public static PBCosNumber fromReal(double value) {
+        return new PBCosReal(new COSFloat((float) value), value);
+    }
+
     /**
      * Get the string representing this object
      */
@@ -24,7 +24,7 @@ import org.apache.log4j.Logger;
 import org.apache.pdfbox.cos.COSBase;
 import org.apache.pdfbox.cos.COSObject;
 import org.apache.pdfbox.pdmodel.PDDocument;
-import org.verapdf.model.GenericModelObject;
+import org.verapdf.model.impl.pb.PBModelObject;
 import org.verapdf.model.coslayer.CosObject;
 import org.verapdf.model.visitor.cos.pb.PBCosVisitor;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
@@ -37,7 +37,7 @@ import java.io.IOException;
  *
  * @author Evgeniy Muravitskiy
  */
-public class PBCosObject extends GenericModelObject implements CosObject {
+public class PBCosObject extends PBModelObject implements CosObject {
 
     /** Type name for PBCosObject */
     private static final Logger LOGGER = Logger.getLogger(PBCosObject.class);
@@ -42,4 +42,8 @@ public class PBCosReal extends PBCosNumber implements CosReal {
     public PBCosReal(COSNumber value) {
         super(value, COS_REAL_TYPE);
     }
+
+    PBCosReal(COSNumber value, double realValue) {
+        super(value, (long) realValue, realValue, COS_REAL_TYPE);
+    }
 }
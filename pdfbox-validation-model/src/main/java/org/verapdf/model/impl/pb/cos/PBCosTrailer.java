@@ -71,7 +71,7 @@ public class PBCosTrailer extends PBCosDict implements CosTrailer {
     }
 
     @Override
-    public List<? extends Object> getLinkedObjects(String link) {
+    protected List<? extends Object> getLinks(String link) {
         switch (link) {
             case CATALOG:
                 return this.getCatalog();
@@ -80,7 +80,7 @@ public class PBCosTrailer extends PBCosDict implements CosTrailer {
             case INFO:
                 return this.getInfo();
             default:
-                return super.getLinkedObjects(link);
+                return super.getLinks(link);
         }
     }
 
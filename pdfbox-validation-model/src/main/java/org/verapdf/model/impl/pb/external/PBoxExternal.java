@@ -20,14 +20,14 @@
  */
 package org.verapdf.model.impl.pb.external;
 
-import org.verapdf.model.GenericModelObject;
+import org.verapdf.model.impl.pb.PBModelObject;
 
 /**
  * Parent type for all external objects embedded into the PDF document
  *
  * @author Evgeniy Muravitskiy
  */
-public class PBoxExternal extends GenericModelObject implements
+public class PBoxExternal extends PBModelObject implements
         org.verapdf.model.external.External {
 
 	protected PBoxExternal(String type) {
@@ -28,12 +28,16 @@ import org.apache.pdfbox.pdmodel.common.PDStream;
 import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceCMYK;
 import org.apache.pdfbox.pdmodel.graphics.color.PDICCBased;
 import org.apache.pdfbox.pdmodel.graphics.color.PDLab;
+import org.verapdf.features.pb.tools.PBAdapterHelper;
+import org.verapdf.model.ModelParserConfig;
 import org.verapdf.model.external.JPEG2000;
 import org.verapdf.model.factory.colors.ColorSpaceFactory;
 import org.verapdf.model.pdlayer.PDColorSpace;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -60,6 +64,9 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
 	private static final byte[] ihdr = { 0x69, 0x68, 0x64, 0x72 };
 	private static final byte[] bpcc = { 0x62, 0x70, 0x63, 0x63 };
 	private static final byte[] colr = { 0x63, 0x6F, 0x6C, 0x72 };
+	private static final byte[] jp2c = { 0x6A, 0x70, 0x32, 0x63 };
+
+	private static final int BUFFER_SIZE = 8192;
 
 	private final Long nrColorChannels;
 	private final Long nrColorSpaceSpecs;
@@ -92,12 +99,29 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
 	 * @return created PBoxJPEG2000 object
 	 */
 	public static PBoxJPEG2000 fromStream(InputStream stream, PDDocument document, PDFAFlavour flavour) {
+		return fromStream(stream, ModelParserConfig.DEFAULT_JPX_HEADER_LIMIT, document, flavour);
+	}
+
+	/**
+	 * Creates new PBoxJPEG2000 object that implements JPEG2000 object from the
+	 * model from the given jp2 image stream. Only boxes preceding the header
+	 * box and the header box itself are read, scanning stops at the first
+	 * contiguous codestream box or after the given number of bytes.
+	 *
+	 * @param imageStream
+	 *            image stream to parse
+	 * @param limit
+	 *            maximum number of bytes read from the stream
+	 * @return created PBoxJPEG2000 object
+	 */
+	public static PBoxJPEG2000 fromStream(InputStream imageStream, long limit, PDDocument document, PDFAFlavour flavour) {
 		Builder builder = new Builder();
+		InputStream stream = new LimitedInputStream(new BufferedInputStream(imageStream, BUFFER_SIZE), limit);
 
 		byte[] signArray = new byte[12];
 		try {
 			// Check if the stream starts with valid jp2 signature
-			if (stream.read(signArray) != 12 || !isValidSignature(signArray)) {
+			if (PBAdapterHelper.readFully(stream, signArray) != 12 || !isValidSignature(signArray)) {
 				LOGGER.debug("File contains wrong signature");
 				return builder.build();
 			}
@@ -131,14 +155,14 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
 		while (true) {
 			byte[] lbox = new byte[4];
 			byte[] tbox = new byte[4];
-			if (stream.read(lbox) != 4 || stream.read(tbox) != 4) {
+			if (PBAdapterHelper.readFully(stream, lbox) != 4 || PBAdapterHelper.readFully(stream, tbox) != 4) {
 				break;
 			}
 			int skipped = 8;
 			long length = convertArrayToLong(lbox);
 			if (length == 1) {
 				byte[] xlbox = new byte[8];
-				if (stream.read(xlbox) != 8) {
+				if (PBAdapterHelper.readFully(stream, xlbox) != 8) {
 					break;
 				}
 				length = convertArrayToLong(xlbox);
@@ -154,25 +178,25 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
 					LOGGER.debug("Image header content does not contain 14 bytes");
 					break;
 				}
-				skipBytes(stream, 8);
+				PBAdapterHelper.skipFully(stream, 8);
 				byte[] nc = new byte[2];
-				if (stream.read(nc) != 2) {
+				if (PBAdapterHelper.readFully(stream, nc) != 2) {
 					LOGGER.debug("Can not read number of components");
 					break;
 				}
 				long ncColorChannels = convertArrayToLong(nc);
 				builder.setNrColorChannels(Long.valueOf(ncColorChannels));
 				byte[] bpc = new byte[1];
-				if (stream.read(bpc) != 1) {
+				if (PBAdapterHelper.readFully(stream, bpc) != 1) {
 					LOGGER.debug("Can not read bitDepth");
 					break;
 				}
 				long bitDepth = bpc[0] + 1;
 				builder.setBitDepth(Long.valueOf(bitDepth));
-				skipBytes(stream, 3);
+				PBAdapterHelper.skipFully(stream, 3);
 			} else if (matches(tbox, bpcc)) {
 				builder.setBpccBoxPresent(Boolean.TRUE);
-				skipBytes(stream, leftInBox);
+				PBAdapterHelper.skipFully(stream, leftInBox);
 			} else if (matches(tbox, colr)) {
 				if (leftInBox < 3) {
 					LOGGER.debug("Founded 'colr' box with length less than 3");
@@ -184,7 +208,7 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
 					++nrColorSpaceSpecs;
 				}
 				byte[] meth = new byte[1];
-				if (stream.read(meth) != 1) {
+				if (PBAdapterHelper.readFully(stream, meth) != 1) {
 					LOGGER.debug("Can not read METH");
 					break;
 				}
@@ -192,9 +216,9 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
 				if (firstColrMethod == null) {
 					firstColrMethod = Long.valueOf(methValue);
 				}
-				skipBytes(stream, 1);
+				PBAdapterHelper.skipFully(stream, 1);
 				byte[] approx = new byte[1];
-				if (stream.read(approx) != 1) {
+				if (PBAdapterHelper.readFully(stream, approx) != 1) {
 					LOGGER.debug("Can not read APPROX");
 					break;
 				}
@@ -216,7 +240,7 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
 						break;
 					}
 					byte[] enumCS = new byte[4];
-					if (stream.read(enumCS) != 4) {
+					if (PBAdapterHelper.readFully(stream, enumCS) != 4) {
 						LOGGER.debug("Can not read EnumCS");
 						break;
 					}
@@ -234,7 +258,7 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
 				} else if (methValue == 2) {
 					int profileLength = (int) (leftInBox - read);
 					byte[] profile = new byte[profileLength];
-					if (stream.read(profile) != profileLength) {
+					if (PBAdapterHelper.readFully(stream, profile) != profileLength) {
 						LOGGER.debug("Can not read Profile");
 						break;
 					}
@@ -247,9 +271,9 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
 						colorSpace = createColorSpaceFromProfile(profile, document);
 					}
 				}
-				skipBytes(stream, leftInBox - read);
+				PBAdapterHelper.skipFully(stream, leftInBox - read);
 			} else {
-				skipBytes(stream, leftInBox);
+				PBAdapterHelper.skipFully(stream, leftInBox);
 			}
 
 			leftInHeader -= length;
@@ -404,14 +428,14 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
 		while (true) {
 			byte[] lbox = new byte[4];
 			byte[] tbox = new byte[4];
-			if (stream.read(lbox) != 4 || stream.read(tbox) != 4) {
+			if (PBAdapterHelper.readFully(stream, lbox) != 4 || PBAdapterHelper.readFully(stream, tbox) != 4) {
 				return -1L;
 			}
 			int skipped = 8;
 			long length = convertArrayToLong(lbox);
 			if (length == 1) {
 				byte[] xlbox = new byte[8];
-				if (stream.read(xlbox) != 8) {
+				if (PBAdapterHelper.readFully(stream, xlbox) != 8) {
 					return -1L;
 				}
 				length = convertArrayToLong(xlbox);
@@ -424,21 +448,17 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
 					return 0;
 				}
 				return left <= 0 ? -1L : left;
+			} else if (matches(tbox, jp2c)) {
+				// header box shall precede the codestream
+				return -1L;
 			} else if (length == 0 || left < 0) {
 				return -1L;
 			} else {
-				skipBytes(stream, left);
+				PBAdapterHelper.skipFully(stream, left);
 			}
 		}
 	}
 
-	private static void skipBytes(InputStream stream, long skipNumber) throws IOException {
-		long skippedBytes = stream.skip(skipNumber);
-		if (skippedBytes != skipNumber && stream.available() != 0) {
-			throw new IllegalStateException("Skipped less bytes that needed.");
-		}
-	}
-
 	private static long convertArrayToLong(byte[] toConvert) {
 		if (toConvert.length < 1 || toConvert.length > 8) {
 			throw new IllegalArgumentException("Length of the converting byte array can not be greater than 8");
@@ -506,6 +526,50 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
 		return this.bpccBoxPresent;
 	}
 
+	/**
+	 * Stream that reports end of data after the given number of bytes
+	 */
+	private static class LimitedInputStream extends FilterInputStream {
+		private long left;
+
+		LimitedInputStream(InputStream in, long limit) {
+			super(in);
+			this.left = limit;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (this.left <= 0) {
+				return -1;
+			}
+			int res = super.read();
+			if (res != -1) {
+				--this.left;
+			}
+			return res;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (this.left <= 0) {
+				LOGGER.debug("Limit of bytes read from JPEG 2000 stream is reached");
+				return -1;
+			}
+			int res = super.read(b, off, (int) Math.min(len, this.left));
+			if (res > 0) {
+				this.left -= res;
+			}
+			return res;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long res = super.skip(Math.min(n, this.left));
+			this.left -= res;
+			return res;
+		}
+	}
+
 	private static class Builder {
 		private Long nrColorChannels = DEFAULT_NR_COLOR_CHANNELS;
 		private Long nrColorSpaceSpecs = DEFAULT_NR_COLOR_SPACE_SPECS;
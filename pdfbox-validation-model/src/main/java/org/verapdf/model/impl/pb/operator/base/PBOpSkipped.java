@@ -0,0 +1,68 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.impl.pb.operator.base;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.verapdf.model.impl.pb.PBModelObject;
+import org.verapdf.model.operator.Operator;
+
+/**
+ * Stands in for an operator whose creation was skipped because the
+ * validation profile can not check it. Keeps the position of the skipped
+ * operator in the list of operators of a content stream, so the contexts
+ * of the following operators are the same as without skipping.
+ * <p>
+ * Instances are shared, one per operator type, and have no links.
+ */
+public final class PBOpSkipped extends PBModelObject implements Operator {
+
+	private static final Map<String, PBOpSkipped> INSTANCES = new ConcurrentHashMap<>();
+
+	private PBOpSkipped(final String opType) {
+		super(opType);
+	}
+
+	/**
+	 * @param opType type of the skipped operator
+	 * @return shared placeholder for operators of the given type
+	 */
+	public static PBOpSkipped of(final String opType) {
+		PBOpSkipped result = INSTANCES.get(opType);
+		if (result == null) {
+			PBOpSkipped created = new PBOpSkipped(opType);
+			result = INSTANCES.putIfAbsent(opType, created);
+			if (result == null) {
+				result = created;
+			}
+		}
+		return result;
+	}
+
+	@Override
+	protected List<? extends org.verapdf.model.baselayer.Object> getLinks(String link) {
+		return Collections.emptyList();
+	}
+
+}
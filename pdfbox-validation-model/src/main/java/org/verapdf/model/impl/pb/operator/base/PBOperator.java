@@ -28,7 +28,7 @@ import org.apache.pdfbox.cos.COSArray;
 import org.apache.pdfbox.cos.COSBase;
 import org.apache.pdfbox.cos.COSFloat;
 import org.apache.pdfbox.cos.COSNumber;
-import org.verapdf.model.GenericModelObject;
+import org.verapdf.model.impl.pb.PBModelObject;
 import org.verapdf.model.coslayer.CosNumber;
 import org.verapdf.model.coslayer.CosReal;
 import org.verapdf.model.impl.pb.cos.PBCosNumber;
@@ -40,19 +40,65 @@ import org.verapdf.model.operator.Operator;
  * 
  * @author Timur Kamalov
  */
-public abstract class PBOperator extends GenericModelObject implements Operator {
+public abstract class PBOperator extends PBModelObject implements Operator {
 
     public static final int MAX_NUMBER_OF_ELEMENTS = 1;
     protected final List<COSBase> arguments;
 
+	private final PackedOperands packedOperands;
+	private final int operandsOffset;
+	private final int operandsCount;
+
     protected PBOperator(List<COSBase> arguments, final String opType) {
 		super(opType);
         this.arguments = arguments;
+		this.packedOperands = null;
+		this.operandsOffset = -1;
+		this.operandsCount = 0;
     }
 
+	/**
+	 * Creates operator which keeps its numeric operands in the given storage.
+	 * If some operand is not a number, operands are kept as is.
+	 */
+	protected PBOperator(List<COSBase> arguments, PackedOperands packedOperands, final String opType) {
+		super(opType);
+		int offset = packedOperands == null ? -1 : packedOperands.add(arguments);
+		if (offset < 0) {
+			this.arguments = arguments;
+			this.packedOperands = null;
+			this.operandsCount = 0;
+		} else {
+			this.arguments = Collections.emptyList();
+			this.packedOperands = packedOperands;
+			this.operandsCount = arguments.size();
+		}
+		this.operandsOffset = offset;
+	}
+
+	private boolean isPacked() {
+		return this.packedOperands != null;
+	}
+
     protected List<CosNumber> getLastNumber() {
-		if (!this.arguments.isEmpty()) {
-			COSBase base = this.arguments.get(this.arguments.size() - 1);
+		return getNumberFromEnd(1);
+    }
+
+	/**
+	 * @param position position of the operand counting from the last one, starting with 1
+	 * @return list with the operand, or empty list if it is absent or is not a number
+	 */
+	protected List<CosNumber> getNumberFromEnd(int position) {
+		if (isPacked()) {
+			if (this.operandsCount >= position) {
+				List<CosNumber> cosNumbers = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
+				cosNumbers.add(this.packedOperands.getNumber(this.operandsOffset + this.operandsCount - position));
+				return Collections.unmodifiableList(cosNumbers);
+			}
+			return Collections.emptyList();
+		}
+		if (this.arguments.size() >= position) {
+			COSBase base = this.arguments.get(this.arguments.size() - position);
 			if (base instanceof COSNumber) {
 				List<CosNumber> cosNumbers = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
 				cosNumbers.add(PBCosNumber.fromPDFBoxNumber(base));
@@ -60,9 +106,18 @@ public abstract class PBOperator extends GenericModelObject implements Operator
 			}
 		}
         return Collections.emptyList();
-    }
+	}
 
     protected List<CosReal> getLastReal() {
+		if (isPacked()) {
+			int index = this.operandsOffset + this.operandsCount - 1;
+			if (this.operandsCount > 0 && !this.packedOperands.isInteger(index)) {
+				List<CosReal> cosReals = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
+				cosReals.add((CosReal) this.packedOperands.getNumber(index));
+				return Collections.unmodifiableList(cosReals);
+			}
+			return Collections.emptyList();
+		}
 		if (!this.arguments.isEmpty()) {
 			COSBase base = this.arguments.get(this.arguments.size() - 1);
 			if (base instanceof COSFloat) {
@@ -75,6 +130,13 @@ public abstract class PBOperator extends GenericModelObject implements Operator
     }
 
 	protected List<CosNumber> getListOfNumbers() {
+		if (isPacked()) {
+			List<CosNumber> list = new ArrayList<>(this.operandsCount);
+			for (int i = 0; i < this.operandsCount; i++) {
+				list.add(this.packedOperands.getNumber(this.operandsOffset + i));
+			}
+			return Collections.unmodifiableList(list);
+		}
 		List<CosNumber> list = new ArrayList<>();
 		for (COSBase base : this.arguments) {
 			if (base instanceof COSArray) {
@@ -87,6 +149,15 @@ public abstract class PBOperator extends GenericModelObject implements Operator
 	}
 
 	protected List<CosReal> getListOfReals() {
+		if (isPacked()) {
+			List<CosReal> list = new ArrayList<>();
+			for (int i = this.operandsOffset; i < this.operandsOffset + this.operandsCount; i++) {
+				if (!this.packedOperands.isInteger(i)) {
+					list.add((CosReal) this.packedOperands.getNumber(i));
+				}
+			}
+			return Collections.unmodifiableList(list);
+		}
 		List<CosReal> list = new ArrayList<>();
 		for (COSBase base : this.arguments) {
 			if (base instanceof COSArray) {
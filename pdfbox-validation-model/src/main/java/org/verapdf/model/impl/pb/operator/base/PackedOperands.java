@@ -0,0 +1,109 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.impl.pb.operator.base;
+
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSInteger;
+import org.apache.pdfbox.cos.COSNumber;
+import org.verapdf.model.impl.pb.cos.PBCosInteger;
+import org.verapdf.model.impl.pb.cos.PBCosNumber;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Storage of numeric operands of all operators of one content stream.
+ * Values are kept in a single growing array, operators refer to their
+ * operands by offset and count. Integers are stored as is, reals as bits
+ * of their double value. Model number objects are created only when the
+ * operands are requested.
+ */
+public final class PackedOperands {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private long[] values = new long[INITIAL_CAPACITY];
+	private long[] integerFlags = new long[1];
+	private int size = 0;
+
+	/**
+	 * Appends operands to the storage. Operands are stored only if all of
+	 * them are numbers.
+	 *
+	 * @param arguments operands of the operator
+	 * @return offset of the first stored operand or -1 if operands were not stored
+	 */
+	public int add(List<COSBase> arguments) {
+		for (COSBase argument : arguments) {
+			if (!(argument instanceof COSNumber)) {
+				return -1;
+			}
+		}
+		int offset = this.size;
+		ensureCapacity(offset + arguments.size());
+		for (COSBase argument : arguments) {
+			COSNumber number = (COSNumber) argument;
+			if (number instanceof COSInteger) {
+				this.values[this.size] = number.longValue();
+				this.integerFlags[this.size >>> 6] |= 1L << this.size;
+			} else {
+				this.values[this.size] = Double.doubleToRawLongBits(number.doubleValue());
+			}
+			this.size++;
+		}
+		return offset;
+	}
+
+	/**
+	 * @param index index of the operand in the storage
+	 * @return true if operand was written as integer
+	 */
+	public boolean isInteger(int index) {
+		return (this.integerFlags[index >>> 6] & (1L << index)) != 0;
+	}
+
+	/**
+	 * @param index index of the operand in the storage
+	 * @return value of the operand
+	 */
+	public double getValue(int index) {
+		return isInteger(index) ? this.values[index] : Double.longBitsToDouble(this.values[index]);
+	}
+
+	/**
+	 * @param index index of the operand in the storage
+	 * @return new model object for the operand
+	 */
+	public PBCosNumber getNumber(int index) {
+		if (isInteger(index)) {
+			return new PBCosInteger(COSInteger.get(this.values[index]));
+		}
+		return PBCosNumber.fromReal(Double.longBitsToDouble(this.values[index]));
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > this.values.length) {
+			int newLength = Math.max(capacity, this.values.length << 1);
+			this.values = Arrays.copyOf(this.values, newLength);
+			this.integerFlags = Arrays.copyOf(this.integerFlags, (newLength + 63) >>> 6);
+		}
+	}
+}
@@ -53,14 +53,14 @@ public class PBOpColor extends PBOpSetColor implements OpColor {
     }
 
     @Override
-    public List<? extends Object> getLinkedObjects(String link) {
+    protected List<? extends Object> getLinks(String link) {
         switch (link) {
             case COLOR_SPACE:
                 return getColorSpace();
             case PATTERN_NAME:
                 return getPatternName();
             default:
-                return super.getLinkedObjects(link);
+                return super.getLinks(link);
         }
     }
 
@@ -34,12 +34,12 @@ public class PBOpSetColor extends PBOperator implements OpSetColor {
     }
 
     @Override
-    public List<? extends Object> getLinkedObjects(String link) {
+    protected List<? extends Object> getLinks(String link) {
         switch (link) {
             case COLOR_VALUES:
                 return getColorValues();
             default:
-                return super.getLinkedObjects(link);
+                return super.getLinks(link);
         }
     }
 
@@ -46,12 +46,12 @@ public class PBOp_J_line_cap extends PBOpGeneralGS
     }
 
     @Override
-    public List<? extends Object> getLinkedObjects(
+    protected List<? extends Object> getLinks(
             String link) {
         if (LINE_CAP.equals(link)) {
             return this.getLineCap();
         }
-        return super.getLinkedObjects(link);
+        return super.getLinks(link);
     }
 
     private List<CosInteger> getLineCap() {
@@ -45,12 +45,12 @@ public class PBOp_M_miter_limit extends PBOpGeneralGS implements
     }
 
     @Override
-    public List<? extends org.verapdf.model.baselayer.Object> getLinkedObjects(
+    protected List<? extends org.verapdf.model.baselayer.Object> getLinks(
             String link) {
         if (MITER_LIMIT.equals(link)) {
             return this.getMiterLimit();
         }
-        return super.getLinkedObjects(link);
+        return super.getLinks(link);
     }
 
     private List<CosNumber> getMiterLimit() {
@@ -59,7 +59,7 @@ public class PBOp_d extends PBOpGeneralGS implements Op_d {
     }
 
     @Override
-    public List<? extends Object> getLinkedObjects(
+    protected List<? extends Object> getLinks(
             String link) {
         switch (link) {
         case DASH_ARRAY:
@@ -67,7 +67,7 @@ public class PBOp_d extends PBOpGeneralGS implements Op_d {
         case DASH_PHASE:
             return this.getDashPhase();
         default:
-            return super.getLinkedObjects(link);
+            return super.getLinks(link);
         }
     }
 
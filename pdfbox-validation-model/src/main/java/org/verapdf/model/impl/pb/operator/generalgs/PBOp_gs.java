@@ -24,14 +24,17 @@ import org.apache.pdfbox.cos.COSBase;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.graphics.state.PDExtendedGraphicsState;
 import org.verapdf.model.baselayer.Object;
+import org.verapdf.model.impl.pb.containers.StaticContainers;
 import org.verapdf.model.impl.pb.pd.PBoxPDExtGState;
 import org.verapdf.model.operator.Op_gs;
 import org.verapdf.model.pdlayer.PDExtGState;
+import org.verapdf.model.tools.resources.ResourceKey;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Operator defining the specified parameters in the graphics state.
@@ -60,19 +63,36 @@ public class PBOp_gs extends PBOpGeneralGS implements Op_gs {
     }
 
     @Override
-    public List<? extends Object> getLinkedObjects(String link) {
+    protected List<? extends Object> getLinks(String link) {
         if (EXT_G_STATE.equals(link)) {
             return this.getExtGState();
         }
-        return super.getLinkedObjects(link);
+        return super.getLinks(link);
     }
 
     private List<PDExtGState> getExtGState() {
         if (this.extGState != null) {
 			List<PDExtGState> extGStates = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-			extGStates.add(new PBoxPDExtGState(this.extGState, this.flavour));
+			extGStates.add(getCachedExtGState());
 			return Collections.unmodifiableList(extGStates);
         }
         return Collections.emptyList();
     }
+
+	/**
+	 * Graphic state dictionaries are usually referenced by many operators,
+	 * so model object is created once per dictionary and inheritance flag
+	 * for the whole document.
+	 */
+	private PBoxPDExtGState getCachedExtGState() {
+		ResourceKey key = new ResourceKey(this.extGState.getCOSObject(), ResourceKey.Category.EXT_G_STATE, null,
+				this.extGState.isInherited());
+		Map<ResourceKey, PBoxPDExtGState> cache = StaticContainers.getCachedExtGStates();
+		PBoxPDExtGState res = cache.get(key);
+		if (res == null) {
+			res = new PBoxPDExtGState(this.extGState, this.flavour);
+			cache.put(key, res);
+		}
+		return res;
+	}
 }
@@ -44,12 +44,12 @@ public class PBOp_i extends PBOpGeneralGS implements Op_i {
     }
 
     @Override
-    public List<? extends org.verapdf.model.baselayer.Object> getLinkedObjects(
+    protected List<? extends org.verapdf.model.baselayer.Object> getLinks(
             String link) {
         if (FLATNESS.equals(link)) {
             return this.getFlatness();
         }
-        return super.getLinkedObjects(link);
+        return super.getLinks(link);
     }
 
     private List<CosNumber> getFlatness() {
@@ -45,12 +45,12 @@ public class PBOp_j_line_join extends PBOpGeneralGS implements Op_j_line_join {
     }
 
     @Override
-    public List<? extends Object> getLinkedObjects(
+    protected List<? extends Object> getLinks(
             String link) {
         if (LINE_JOIN.equals(link)) {
             return this.getLineJoin();
         }
-        return super.getLinkedObjects(link);
+        return super.getLinks(link);
     }
 
 	private List<CosInteger> getLineJoin() {
@@ -49,12 +49,12 @@ public class PBOp_ri extends PBOpGeneralGS implements Op_ri {
     }
 
     @Override
-    public List<? extends Object> getLinkedObjects(
+    protected List<? extends Object> getLinks(
             String link) {
         if (RENDERING_INTENT.equals(link)) {
             return this.getRenderingIntent();
         }
-        return super.getLinkedObjects(link);
+        return super.getLinks(link);
     }
 
     private List<CosRenderingIntent> getRenderingIntent() {
@@ -46,11 +46,11 @@ public class PBOp_w_line_width extends PBOpGeneralGS
     }
 
     @Override
-    public List<? extends Object> getLinkedObjects(String link) {
+    protected List<? extends Object> getLinks(String link) {
         if (LINE_WIDTH.equals(link)) {
             return this.getLineWidth();
         }
-        return super.getLinkedObjects(link);
+        return super.getLinks(link);
     }
 
     private List<CosNumber> getLineWidth() {
@@ -0,0 +1,160 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.impl.pb.operator.inlineimage;
+
+import org.apache.log4j.Logger;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+import org.verapdf.model.tools.constants.Operators;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holder of inline image data. Data can be retained strongly or through
+ * a soft reference. In the last case data is read again from the source
+ * content stream if garbage collector has cleared the reference.
+ */
+public final class InlineImageData {
+
+	private static final Logger LOGGER = Logger.getLogger(InlineImageData.class);
+
+	private final byte[] data;
+	private SoftReference<byte[]> softData;
+
+	private final Source source;
+	private final int index;
+
+	private InlineImageData(byte[] data, SoftReference<byte[]> softData, Source source, int index) {
+		this.data = data;
+		this.softData = softData;
+		this.source = source;
+		this.index = index;
+	}
+
+	/**
+	 * @param data inline image data
+	 * @return holder that keeps strong reference to image data
+	 */
+	public static InlineImageData retained(byte[] data) {
+		return new InlineImageData(data, null, null, -1);
+	}
+
+	/**
+	 * Inline images have to be registered in the order of the content
+	 * stream.
+	 *
+	 * @param data   inline image data
+	 * @param source content stream that contains inline image
+	 * @return holder that keeps soft reference to image data
+	 */
+	public static InlineImageData soft(byte[] data, Source source) {
+		if (source == null) {
+			return retained(data);
+		}
+		InlineImageData result = new InlineImageData(null, new SoftReference<>(data), source, source.images.size());
+		source.images.add(result);
+		return result;
+	}
+
+	/**
+	 * @return inline image data or null if data can not be obtained
+	 */
+	public byte[] getData() {
+		if (this.data != null) {
+			return this.data;
+		}
+		synchronized (this.source) {
+			byte[] result = this.softData.get();
+			if (result == null) {
+				result = this.source.read(this.index);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Content stream shared by all inline images read from it. One read
+	 * restores data of all cleared images that follow the requested one, so
+	 * images requested in the order of the content stream are read again in
+	 * one pass over the stream. Stream parser is closed after every read.
+	 */
+	public static final class Source {
+		private final COSStream contentStream;
+		private final List<InlineImageData> images = new ArrayList<>();
+
+		/**
+		 * @param contentStream content stream that contains inline images
+		 */
+		public Source(COSStream contentStream) {
+			this.contentStream = contentStream;
+		}
+
+		private byte[] read(int index) {
+			byte[] result = null;
+			PDFStreamParser parser = null;
+			try {
+				parser = new PDFStreamParser(this.contentStream, true);
+				int nextIndex = 0;
+				for (Object token = parser.parseNextToken(); token != null && nextIndex < this.images.size();
+					 token = parser.parseNextToken()) {
+					if (token instanceof org.apache.pdfbox.contentstream.operator.Operator) {
+						org.apache.pdfbox.contentstream.operator.Operator operator =
+								(org.apache.pdfbox.contentstream.operator.Operator) token;
+						if (Operators.BI.equals(operator.getName()) && operator.getImageParameters() != null
+								&& operator.getImageData() != null) {
+							int current = nextIndex++;
+							if (current == index) {
+								result = operator.getImageData();
+							}
+							if (current >= index) {
+								restore(this.images.get(current), operator.getImageData());
+							}
+						}
+					}
+				}
+			} catch (IOException e) {
+				LOGGER.debug("Error while reading inline image data from content stream", e);
+			} finally {
+				close(parser);
+			}
+			return result;
+		}
+
+		private static void close(PDFStreamParser parser) {
+			if (parser != null) {
+				try {
+					parser.close();
+				} catch (IOException e) {
+					LOGGER.debug("Error while closing content stream parser", e);
+				}
+			}
+		}
+
+		private static void restore(InlineImageData image, byte[] data) {
+			if (image.softData.get() == null) {
+				image.softData = new SoftReference<>(data);
+			}
+		}
+	}
+}
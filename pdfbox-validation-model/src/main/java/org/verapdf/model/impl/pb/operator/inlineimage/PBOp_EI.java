@@ -49,7 +49,7 @@ public class PBOp_EI extends PBOpInlineImage implements Op_EI {
 
 	public static final String INLINE_IMAGE = "inlineImage";
 
-	private final byte[] imageData;
+	private final InlineImageData imageData;
 	private final PDResources resources;
 
 	private final PDDocument document;
@@ -57,6 +57,11 @@ public class PBOp_EI extends PBOpInlineImage implements Op_EI {
 
 	public PBOp_EI(List<COSBase> arguments, byte[] imageData,
 				   PDInheritableResources resources, PDDocument document, PDFAFlavour flavour) {
+		this(arguments, InlineImageData.retained(imageData), resources, document, flavour);
+	}
+
+	public PBOp_EI(List<COSBase> arguments, InlineImageData imageData,
+				   PDInheritableResources resources, PDDocument document, PDFAFlavour flavour) {
 		super(arguments, OP_EI_TYPE);
 		this.imageData = imageData;
 		this.resources = PBOp_EI.getResources(resources);
@@ -65,21 +70,25 @@ public class PBOp_EI extends PBOpInlineImage implements Op_EI {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		if (INLINE_IMAGE.equals(link)) {
 			return this.getInlineImage();
 		}
 
-		return super.getLinkedObjects(link);
+		return super.getLinks(link);
 	}
 
 	private List<PDInlineImage> getInlineImage() {
+		byte[] data = this.imageData.getData();
+		if (data == null) {
+			return Collections.emptyList();
+		}
 		try {
 			COSBase parameters = this.arguments.get(0);
 			org.apache.pdfbox.pdmodel.graphics.image.PDInlineImage inlineImage =
 					new org.apache.pdfbox.pdmodel.graphics.image.PDInlineImage(
 							(COSDictionary) parameters,
-							this.imageData,
+							data,
 							this.resources);
 
 			List<PDInlineImage> inlineImages = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
@@ -84,12 +84,12 @@ public abstract class PBOpMarkedContent extends PBOperator implements
 
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 			case ACTUAL_TEXT:
 				return this.getactualText();
 			default:
-				return super.getLinkedObjects(link);
+				return super.getLinks(link);
 		}
 	}
 
@@ -44,7 +44,7 @@ public class PBOp_BDC extends PBOpMarkedContent implements Op_BDC {
     }
 
 	@Override
-	public List<? extends Object> getLinkedObjects(
+	protected List<? extends Object> getLinks(
 			String link) {
 		switch (link) {
 			case TAG:
@@ -54,7 +54,7 @@ public class PBOp_BDC extends PBOpMarkedContent implements Op_BDC {
 			case LANG:
 				return this.getLang();
 			default:
-				return super.getLinkedObjects(link);
+				return super.getLinks(link);
 		}
 	}
 }
@@ -22,6 +22,7 @@ package org.verapdf.model.impl.pb.operator.pathconstruction;
 
 import org.apache.pdfbox.cos.COSBase;
 import org.verapdf.model.impl.pb.operator.base.PBOperator;
+import org.verapdf.model.impl.pb.operator.base.PackedOperands;
 import org.verapdf.model.operator.OpPathConstruction;
 
 import java.util.List;
@@ -41,4 +42,8 @@ public abstract class PBOpPathConstruction extends PBOperator implements
         super(arguments, opType);
     }
 
+    public PBOpPathConstruction(List<COSBase> arguments, PackedOperands operands, final String opType) {
+        super(arguments, operands, opType);
+    }
+
 }
@@ -25,6 +25,7 @@ import java.util.List;
 import org.apache.pdfbox.cos.COSBase;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosNumber;
+import org.verapdf.model.impl.pb.operator.base.PackedOperands;
 import org.verapdf.model.operator.Op_c;
 
 /**
@@ -41,13 +42,17 @@ public class PBOp_c extends PBOpPathConstruction implements Op_c {
         super(arguments, OP_C_TYPE);
     }
 
+    public PBOp_c(List<COSBase> arguments, PackedOperands operands) {
+        super(arguments, operands, OP_C_TYPE);
+    }
+
     @Override
-    public List<? extends Object> getLinkedObjects(
+    protected List<? extends Object> getLinks(
             String link) {
         if (CONTROL_POINTS.equals(link)) {
             return this.getControlPoints();
         }
-        return super.getLinkedObjects(link);
+        return super.getLinks(link);
     }
 
     private List<CosNumber> getControlPoints() {
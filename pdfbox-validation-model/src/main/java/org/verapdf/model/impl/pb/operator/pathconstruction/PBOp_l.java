@@ -25,6 +25,7 @@ import java.util.List;
 import org.apache.pdfbox.cos.COSBase;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosNumber;
+import org.verapdf.model.impl.pb.operator.base.PackedOperands;
 import org.verapdf.model.operator.Op_l;
 
 /**
@@ -45,12 +46,16 @@ public class PBOp_l extends PBOpPathConstruction implements Op_l {
         super(arguments, OP_L_TYPE);
     }
 
+    public PBOp_l(List<COSBase> arguments, PackedOperands operands) {
+        super(arguments, operands, OP_L_TYPE);
+    }
+
     @Override
-    public List<? extends Object> getLinkedObjects(String link) {
+    protected List<? extends Object> getLinks(String link) {
         if (POINT.equals(link)) {
             return this.getPoint();
         }
-        return super.getLinkedObjects(link);
+        return super.getLinks(link);
     }
 
     private List<CosNumber> getPoint() {
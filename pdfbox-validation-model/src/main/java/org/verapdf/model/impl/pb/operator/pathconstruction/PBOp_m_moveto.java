@@ -25,6 +25,7 @@ import java.util.List;
 import org.apache.pdfbox.cos.COSBase;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosNumber;
+import org.verapdf.model.impl.pb.operator.base.PackedOperands;
 import org.verapdf.model.operator.Op_m_moveto;
 
 /**
@@ -45,12 +46,16 @@ public class PBOp_m_moveto extends PBOpPathConstruction implements Op_m_moveto {
         super(arguments, OP_M_MOVETO_TYPE);
     }
 
+    public PBOp_m_moveto(List<COSBase> arguments, PackedOperands operands) {
+        super(arguments, operands, OP_M_MOVETO_TYPE);
+    }
+
     @Override
-    public List<? extends Object> getLinkedObjects(String link) {
+    protected List<? extends Object> getLinks(String link) {
         if (POINT.equals(link)) {
             return this.getPoint();
         }
-        return super.getLinkedObjects(link);
+        return super.getLinks(link);
     }
 
     private List<CosNumber> getPoint() {
@@ -25,6 +25,7 @@ import java.util.List;
 import org.apache.pdfbox.cos.COSBase;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosNumber;
+import org.verapdf.model.impl.pb.operator.base.PackedOperands;
 import org.verapdf.model.operator.Op_re;
 
 /**
@@ -46,12 +47,16 @@ public class PBOp_re extends PBOpPathConstruction implements Op_re {
         super(arguments, OP_RE_TYPE);
     }
 
+    public PBOp_re(List<COSBase> arguments, PackedOperands operands) {
+        super(arguments, operands, OP_RE_TYPE);
+    }
+
     @Override
-    public List<? extends Object> getLinkedObjects(String link) {
+    protected List<? extends Object> getLinks(String link) {
        if (RECT_BOX.equals(link)) {
            return this.getRectBox();
        }
-       return super.getLinkedObjects(link);
+       return super.getLinks(link);
     }
 
     private List<CosNumber> getRectBox() {
@@ -42,7 +42,7 @@ public abstract class PBOpFillAndStroke extends PBOpPathPaint {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(
+	protected List<? extends Object> getLinks(
 			String link) {
 		switch (link) {
 			case STROKE_CS:
@@ -50,7 +50,7 @@ public abstract class PBOpFillAndStroke extends PBOpPathPaint {
 			case FILL_CS:
 				return this.getFillCS();
 			default:
-				return super.getLinkedObjects(link);
+				return super.getLinks(link);
 		}
 	}
 
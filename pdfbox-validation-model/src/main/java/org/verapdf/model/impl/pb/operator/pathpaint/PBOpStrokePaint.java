@@ -42,12 +42,12 @@ public abstract class PBOpStrokePaint extends PBOpPathPaint {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(
+	protected List<? extends Object> getLinks(
 			String link) {
 		if (STROKE_CS.equals(link)) {
 			return this.getStrokeCS();
 		}
-		return super.getLinkedObjects(link);
+		return super.getLinks(link);
 	}
 
 }
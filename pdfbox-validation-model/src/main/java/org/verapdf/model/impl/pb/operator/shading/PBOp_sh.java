@@ -61,12 +61,12 @@ public class PBOp_sh extends PBOperator implements Op_sh {
     }
 
     @Override
-    public List<? extends Object> getLinkedObjects(
+    protected List<? extends Object> getLinks(
             String link) {
         if (SHADING.equals(link)) {
             return this.getShading();
         }
-        return super.getLinkedObjects(link);
+        return super.getLinks(link);
     }
 
     private List<PDShading> getShading() {
@@ -46,11 +46,11 @@ public class PBOp_cm extends PBOpSpecialGS implements Op_cm {
     }
 
     @Override
-    public List<? extends Object> getLinkedObjects(String link) {
+    protected List<? extends Object> getLinks(String link) {
         if (MATRIX.equals(link)) {
             return this.getMatrix();
         }
-        return super.getLinkedObjects(link);
+        return super.getLinks(link);
     }
 
     private List<CosNumber> getMatrix() {
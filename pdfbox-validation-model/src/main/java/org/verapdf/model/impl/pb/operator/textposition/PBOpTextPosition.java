@@ -22,6 +22,7 @@ package org.verapdf.model.impl.pb.operator.textposition;
 
 import org.apache.pdfbox.cos.COSBase;
 import org.verapdf.model.impl.pb.operator.base.PBOperator;
+import org.verapdf.model.impl.pb.operator.base.PackedOperands;
 import org.verapdf.model.operator.OpTextPosition;
 
 import java.util.List;
@@ -47,4 +48,8 @@ public class PBOpTextPosition extends PBOperator implements OpTextPosition {
         super(arguments, opType);
     }
 
+    public PBOpTextPosition(List<COSBase> arguments, PackedOperands operands, final String opType) {
+        super(arguments, operands, opType);
+    }
+
 }
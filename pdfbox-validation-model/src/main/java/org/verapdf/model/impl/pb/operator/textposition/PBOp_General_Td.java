@@ -20,15 +20,12 @@
  */
 package org.verapdf.model.impl.pb.operator.textposition;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import org.apache.pdfbox.cos.COSBase;
-import org.apache.pdfbox.cos.COSNumber;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosNumber;
-import org.verapdf.model.impl.pb.cos.PBCosNumber;
+import org.verapdf.model.impl.pb.operator.base.PackedOperands;
 
 /**
  * Base class for text position operators (Td and TD)
@@ -47,29 +44,24 @@ public abstract class PBOp_General_Td extends PBOpTextPosition {
         super(arguments, opType);
     }
 
+    protected PBOp_General_Td(List<COSBase> arguments, PackedOperands operands, final String opType) {
+        super(arguments, operands, opType);
+    }
+
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 			case VERTICAL_OFFSET:
 				return this.getVerticalOffset();
 			case HORIZONTAL_OFFSET:
 				return this.getHorizontalOffset();
 			default:
-				return super.getLinkedObjects(link);
+				return super.getLinks(link);
 		}
 	}
 
     private List<CosNumber> getHorizontalOffset() {
-		if (this.arguments.size() > 1) {
-			COSBase number = this.arguments
-					.get(this.arguments.size() - 2);
-			if (number instanceof COSNumber) {
-				List<CosNumber> offset = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-				offset.add(PBCosNumber.fromPDFBoxNumber(number));
-				return Collections.unmodifiableList(offset);
-			}
-		}
-        return Collections.emptyList();
+		return this.getNumberFromEnd(2);
     }
 
     private List<CosNumber> getVerticalOffset() {
@@ -21,6 +21,7 @@
 package org.verapdf.model.impl.pb.operator.textposition;
 
 import org.apache.pdfbox.cos.COSBase;
+import org.verapdf.model.impl.pb.operator.base.PackedOperands;
 import org.verapdf.model.operator.Op_TD_Big;
 
 import java.util.List;
@@ -41,4 +42,8 @@ public class PBOp_TD_Big extends PBOp_General_Td implements Op_TD_Big {
     public PBOp_TD_Big(List<COSBase> arguments) {
         super(arguments, OP_TD_BIG_TYPE);
     }
+
+    public PBOp_TD_Big(List<COSBase> arguments, PackedOperands operands) {
+        super(arguments, operands, OP_TD_BIG_TYPE);
+    }
 }
@@ -21,6 +21,7 @@
 package org.verapdf.model.impl.pb.operator.textposition;
 
 import org.apache.pdfbox.cos.COSBase;
+import org.verapdf.model.impl.pb.operator.base.PackedOperands;
 import org.verapdf.model.operator.Op_Td;
 
 import java.util.List;
@@ -40,4 +41,8 @@ public class PBOp_Td extends PBOp_General_Td implements Op_Td {
     public PBOp_Td(List<COSBase> arguments) {
         super(arguments, OP_TD_TYPE);
     }
+
+    public PBOp_Td(List<COSBase> arguments, PackedOperands operands) {
+        super(arguments, operands, OP_TD_TYPE);
+    }
 }
@@ -25,6 +25,7 @@ import java.util.List;
 import org.apache.pdfbox.cos.COSBase;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosNumber;
+import org.verapdf.model.impl.pb.operator.base.PackedOperands;
 import org.verapdf.model.operator.Op_Tm;
 
 /**
@@ -40,12 +41,16 @@ public class PBOp_Tm extends PBOpTextPosition implements Op_Tm {
 		super(arguments, OP_TM_TYPE);
 	}
 
+	public PBOp_Tm(List<COSBase> arguments, PackedOperands operands) {
+		super(arguments, operands, OP_TM_TYPE);
+	}
+
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		if (CONTROL_POINTS.equals(link)) {
 			return this.getControlPoints();
 		}
-		return super.getLinkedObjects(link);
+		return super.getLinks(link);
 	}
 
 	private List<CosNumber> getControlPoints() {
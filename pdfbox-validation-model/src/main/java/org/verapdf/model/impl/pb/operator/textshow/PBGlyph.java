@@ -25,8 +25,9 @@ import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.apache.pdfbox.pdmodel.font.PDSimpleFont;
 import org.apache.pdfbox.pdmodel.font.PDType0Font;
 import org.apache.pdfbox.pdmodel.font.encoding.Encoding;
-import org.verapdf.model.GenericModelObject;
+import org.verapdf.model.impl.pb.PBModelObject;
 import org.verapdf.model.operator.Glyph;
+import org.verapdf.model.tools.GlyphKey;
 import org.verapdf.model.tools.IDGenerator;
 
 import java.io.IOException;
@@ -34,7 +35,7 @@ import java.io.IOException;
 /**
  * @author Timur Kamalov
  */
-public class PBGlyph extends GenericModelObject implements Glyph {
+public class PBGlyph extends PBModelObject implements Glyph {
 
 	private static final Logger LOGGER = Logger.getLogger(PBGlyph.class);
 
@@ -42,7 +43,9 @@ public class PBGlyph extends GenericModelObject implements Glyph {
 
 	private static final int[] UNICODE_PRIVATE_USE_AREA_ARRAY = {0xE000, 0xF8FF, 0xF0000, 0xFFFFD, 0x100000, 0x10FFFD};
 
-	private final String id;
+	private final GlyphKey key;
+
+	private int occurrences;
 
 	private Boolean glyphPresent;
 	private Boolean widthsConsistent;
@@ -82,7 +85,7 @@ public class PBGlyph extends GenericModelObject implements Glyph {
 			LOGGER.debug(e);
 			this.toUnicode = null;
 		}
-		this.id = IDGenerator.generateID(font.getCOSObject().hashCode(), font.getName(), glyphCode, renderingMode);
+		this.key = IDGenerator.generateGlyphKey(font.getCOSObject().hashCode(), font.getName(), glyphCode, renderingMode);
 	}
 
 	@Override
@@ -112,7 +115,23 @@ public class PBGlyph extends GenericModelObject implements Glyph {
 
 	@Override
 	public String getID() {
-		return id;
+		return this.key.toString();
+	}
+
+	public GlyphKey getKey() {
+		return this.key;
+	}
+
+	/**
+	 * @return number of occurrences of the glyph in text show operators of
+	 * the document, that share current glyph model object
+	 */
+	public int getOccurrenceCount() {
+		return this.occurrences;
+	}
+
+	void addOccurrence() {
+		this.occurrences++;
 	}
 
 	@Override
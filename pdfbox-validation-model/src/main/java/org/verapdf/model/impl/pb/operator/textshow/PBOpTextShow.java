@@ -27,6 +27,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.log4j.Logger;
@@ -46,11 +47,14 @@ import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.factory.colors.ColorSpaceFactory;
 import org.verapdf.model.factory.font.FontFactory;
 import org.verapdf.model.factory.operator.GraphicState;
+import org.verapdf.model.impl.pb.containers.StaticContainers;
 import org.verapdf.model.impl.pb.operator.base.PBOperator;
 import org.verapdf.model.operator.OpTextShow;
 import org.verapdf.model.pdlayer.PDColorSpace;
 import org.verapdf.model.pdlayer.PDFont;
 import org.verapdf.model.tools.FontHelper;
+import org.verapdf.model.tools.GlyphKey;
+import org.verapdf.model.tools.IDGenerator;
 import org.verapdf.model.tools.resources.PDInheritableResources;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
@@ -83,6 +87,7 @@ public abstract class PBOpTextShow extends PBOperator implements OpTextShow {
 	private List<PDFont> fonts = null;
 	private List<PDColorSpace> fillCS = null;
 	private List<PDColorSpace> strokeCS = null;
+	private List<PBGlyph> usedGlyphs = null;
 
 	protected PBOpTextShow(List<COSBase> arguments, GraphicState state, PDInheritableResources resources,
 			final String opType, PDDocument document, PDFAFlavour flavour) {
@@ -94,7 +99,7 @@ public abstract class PBOpTextShow extends PBOperator implements OpTextShow {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 		case FONT:
 			return this.getFont();
@@ -105,7 +110,7 @@ public abstract class PBOpTextShow extends PBOperator implements OpTextShow {
 		case STROKE_COLOR_SPACE:
 			return this.getStrokeColorSpace();
 		default:
-			return super.getLinkedObjects(link);
+			return super.getLinks(link);
 		}
 	}
 
@@ -135,13 +140,26 @@ public abstract class PBOpTextShow extends PBOperator implements OpTextShow {
 	}
 
 	private List<PBGlyph> getUsedGlyphs() {
+		if (this.usedGlyphs == null) {
+			this.usedGlyphs = parseUsedGlyphs();
+		}
+		return this.usedGlyphs;
+	}
+
+	private List<PBGlyph> parseUsedGlyphs() {
 		org.apache.pdfbox.pdmodel.font.PDFont font = getFontFromResources();
 		FontContainer<? extends PDFontLike> fontContainer = FontHelper.getFontContainer(font);
 
 		if (fontContainer == null) {
 			return Collections.emptyList();
 		}
-        boolean fontProgramIsInvalid = font.isDamaged() || fontProgramIsNull(font);
+		Boolean fontProgramIsInvalid = null;
+		int fontHashCode = font.getCOSObject().hashCode();
+		String fontName = font.getName();
+		int renderingMode = this.state.getRenderingMode().intValue();
+		// glyph models are shared between all occurrences of the same
+		// (font, code, rendering mode) in the document
+		Map<GlyphKey, PBGlyph> cachedGlyphs = StaticContainers.getCachedGlyphs();
 
 		List<PBGlyph> res = new ArrayList<>();
 		List<byte[]> strings = getStrings(this.arguments);
@@ -149,25 +167,17 @@ public abstract class PBOpTextShow extends PBOperator implements OpTextShow {
 			try (InputStream inputStream = new ByteArrayInputStream(string)) {
 				while (inputStream.available() > 0) {
 					int code = font.readCode(inputStream);
-					Boolean glyphPresent = null;
-					Boolean widthsConsistent = null ;
-					if (!fontProgramIsInvalid) {
-						// every font contains notdef glyph. But if we call method
-						// of font container we can't distinguish case of code 0
-						// and glyph that is not present indeed.
-						glyphPresent = code == 0 ? true :
-								Boolean.valueOf(fontContainer.hasGlyph(code));
-						widthsConsistent = Boolean.valueOf(this.checkWidths(code));
-					}
-					PBGlyph glyph;
-					if (font.getSubType().equals(FontFactory.TYPE_0)) {
-						int CID = ((PDType0Font) font).codeToCID(code);
-						glyph = new PBCIDGlyph(glyphPresent, widthsConsistent, font, code, CID,
-								this.state.getRenderingMode().intValue());
-					} else {
-						glyph = new PBGlyph(glyphPresent, widthsConsistent, font, code,
-								this.state.getRenderingMode().intValue());
+					GlyphKey key = IDGenerator.generateGlyphKey(fontHashCode, fontName, code, renderingMode);
+					PBGlyph glyph = cachedGlyphs.get(key);
+					if (glyph == null) {
+						if (fontProgramIsInvalid == null) {
+							fontProgramIsInvalid = Boolean.valueOf(font.isDamaged() || fontProgramIsNull(font));
+						}
+						glyph = createGlyph(font, fontContainer, code, renderingMode,
+								fontProgramIsInvalid.booleanValue());
+						cachedGlyphs.put(key, glyph);
 					}
+					glyph.addOccurrence();
 					res.add(glyph);
 				}
 			} catch (IOException e) {
@@ -178,6 +188,26 @@ public abstract class PBOpTextShow extends PBOperator implements OpTextShow {
 		return res;
 	}
 
+	private PBGlyph createGlyph(org.apache.pdfbox.pdmodel.font.PDFont font,
+			FontContainer<? extends PDFontLike> fontContainer, int code, int renderingMode,
+			boolean fontProgramIsInvalid) throws IOException {
+		Boolean glyphPresent = null;
+		Boolean widthsConsistent = null;
+		if (!fontProgramIsInvalid) {
+			// every font contains notdef glyph. But if we call method
+			// of font container we can't distinguish case of code 0
+			// and glyph that is not present indeed.
+			glyphPresent = code == 0 ? true :
+					Boolean.valueOf(fontContainer.hasGlyph(code));
+			widthsConsistent = Boolean.valueOf(this.checkWidths(code));
+		}
+		if (font.getSubType().equals(FontFactory.TYPE_0)) {
+			int CID = ((PDType0Font) font).codeToCID(code);
+			return new PBCIDGlyph(glyphPresent, widthsConsistent, font, code, CID, renderingMode);
+		}
+		return new PBGlyph(glyphPresent, widthsConsistent, font, code, renderingMode);
+	}
+
 	private List<PDColorSpace> getFillColorSpace() {
 		if (this.fillCS == null) {
 			this.fillCS = parseFillColorSpace();
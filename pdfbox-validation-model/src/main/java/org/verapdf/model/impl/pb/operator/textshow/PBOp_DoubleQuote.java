@@ -65,14 +65,14 @@ public class PBOp_DoubleQuote extends PBOpStringTextShow implements
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 			case WORD_SPACING:
 				return this.getWordSpacing();
 			case CHARACTER_SPACING:
 				return this.getCharacterSpacing();
 			default:
-				return super.getLinkedObjects(link);
+				return super.getLinks(link);
 		}
 	}
 
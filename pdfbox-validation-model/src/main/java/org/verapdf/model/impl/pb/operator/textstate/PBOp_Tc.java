@@ -41,11 +41,11 @@ public class PBOp_Tc extends PBOpTextState implements Op_Tc {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		if (CHAR_SPACING.equals(link)) {
 			return this.getCharSpacing();
 		}
-		return super.getLinkedObjects(link);
+		return super.getLinks(link);
 	}
 
 	private List<CosNumber> getCharSpacing() {
@@ -46,14 +46,14 @@ public class PBOp_d0 extends PBOpType3Font implements Op_d0 {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 			case HORIZONTAL_DISPLACEMENT:
 				return this.getHorizontalDisplacement();
 			case VERTICAL_DISPLACEMENT:
 				return this.getVerticalDisplacement();
 			default:
-				return super.getLinkedObjects(link);
+				return super.getLinks(link);
 		}
 	}
 
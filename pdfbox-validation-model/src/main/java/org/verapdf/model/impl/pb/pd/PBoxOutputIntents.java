@@ -21,7 +21,7 @@
 package org.verapdf.model.impl.pb.pd;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
-import org.verapdf.model.GenericModelObject;
+import org.verapdf.model.impl.pb.PBModelObject;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.pdlayer.OutputIntents;
 import org.verapdf.model.pdlayer.PDOutputIntent;
@@ -33,7 +33,7 @@ import java.util.List;
 /**
  * @author Maxim Plushchov
  */
-public class PBoxOutputIntents extends GenericModelObject implements OutputIntents {
+public class PBoxOutputIntents extends PBModelObject implements OutputIntents {
 
     public static final String OUTPUT_INTENTS_TYPE = "OutputIntents";
 
@@ -70,12 +70,12 @@ public class PBoxOutputIntents extends GenericModelObject implements OutputInten
     }
 
     @Override
-    public List<? extends Object> getLinkedObjects(String link) {
+    protected List<? extends Object> getLinks(String link) {
         switch (link) {
             case OUTPUT_INTENTS:
                 return this.getOutputIntents();
             default:
-                return super.getLinkedObjects(link);
+                return super.getLinks(link);
         }
     }
 
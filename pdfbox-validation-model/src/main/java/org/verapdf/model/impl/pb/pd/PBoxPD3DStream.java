@@ -42,12 +42,12 @@ public class PBoxPD3DStream extends PBoxPDObject implements PD3DStream {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 			case COLOR_SPACE:
 				return Collections.emptyList();
 			default:
-				return super.getLinkedObjects(link);
+				return super.getLinks(link);
 		}
 	}
 
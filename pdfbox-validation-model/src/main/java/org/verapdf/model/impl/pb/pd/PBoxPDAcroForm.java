@@ -76,12 +76,12 @@ public class PBoxPDAcroForm extends PBoxPDObject implements PDAcroForm {
 	}
 
 	@Override
-    public List<? extends Object> getLinkedObjects(String link) {
+    protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 			case FORM_FIELDS:
 				return this.getFormFields();
 			default:
-				return super.getLinkedObjects(link);
+				return super.getLinks(link);
 		}
     }
 
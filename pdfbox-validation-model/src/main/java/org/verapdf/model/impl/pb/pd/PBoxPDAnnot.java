@@ -271,7 +271,7 @@ public class PBoxPDAnnot extends PBoxPDObject implements PDAnnot {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 		case ADDITIONAL_ACTION:
 			return this.getAdditionalActions();
@@ -288,7 +288,7 @@ public class PBoxPDAnnot extends PBoxPDObject implements PDAnnot {
 		case BM:
 			return this.getBM();
 		default:
-			return super.getLinkedObjects(link);
+			return super.getLinks(link);
 		}
 	}
 
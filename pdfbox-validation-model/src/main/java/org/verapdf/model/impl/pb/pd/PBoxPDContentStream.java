@@ -26,8 +26,10 @@ import org.apache.pdfbox.pdfparser.PDFStreamParser;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.factory.operator.OperatorFactory;
+import org.verapdf.model.impl.pb.containers.StaticContainers;
 import org.verapdf.model.operator.Operator;
 import org.verapdf.model.pdlayer.PDContentStream;
+import org.verapdf.model.tools.profiling.ModelProfiler;
 import org.verapdf.model.tools.resources.PDInheritableResources;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
@@ -66,14 +68,14 @@ public class PBoxPDContentStream extends PBoxPDObject implements
 	}
 
     @Override
-    public List<? extends Object> getLinkedObjects(String link) {
+    protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 			case OPERATORS:
 				return this.getOperators();
 			case RESOURCES:
 				return Collections.emptyList();
 			default:
-				return super.getLinkedObjects(link);
+				return super.getLinks(link);
 		}
     }
 
@@ -95,6 +97,21 @@ public class PBoxPDContentStream extends PBoxPDObject implements
 	}
 
 	private void parseOperators() {
+		ModelProfiler profiler = StaticContainers.getProfiler();
+		if (profiler == null) {
+			parseContentStream();
+			return;
+		}
+		profiler.enter();
+		try {
+			parseContentStream();
+		} finally {
+			profiler.exit(ModelProfiler.Category.CONTENT_STREAM_PARSING, getObjectType(),
+					this.operators == null ? 0 : this.operators.size());
+		}
+	}
+
+	private void parseContentStream() {
 		try {
 			COSStream cStream = this.contentStream.getContentStream();
 			if (cStream != null) {
@@ -103,7 +120,7 @@ public class PBoxPDContentStream extends PBoxPDObject implements
 				streamParser.parse();
 				OperatorFactory operatorFactory = new OperatorFactory();
 				List<Operator> result = operatorFactory.operatorsFromTokens(
-						streamParser.getTokens(),
+						streamParser.getTokens(), cStream,
 						this.resources, this.document, this.flavour);
 
 				this.containsTransparency = operatorFactory.isLastParsedContainsTransparency();
@@ -33,16 +33,19 @@ import org.apache.pdfbox.pdmodel.graphics.optionalcontent.PDOptionalContentPrope
 import org.apache.pdfbox.pdmodel.interactive.action.PDDocumentCatalogAdditionalActions;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosLang;
+import org.verapdf.model.impl.pb.containers.StaticContainers;
 import org.verapdf.model.impl.pb.cos.PBCosLang;
 import org.verapdf.model.impl.pb.pd.actions.PBoxPDAction;
 import org.verapdf.model.impl.pb.pd.actions.PBoxPDCatalogAdditionalActions;
 import org.verapdf.model.impl.pb.pd.signatures.PBoxPDPerms;
 import org.verapdf.model.pdlayer.*;
 import org.verapdf.model.tools.OutlinesHelper;
+import org.verapdf.model.tools.TraversalOrder;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -110,6 +113,10 @@ public class PBoxPDDocument extends PBoxPDObject implements PDDocument {
 	 */
 	public static final String PERMS = "Perms";
 
+	private static final List<String> FAIL_FAST_FIRST_LINKS = Arrays.asList(METADATA, OUTPUT_INTENTS, LANG, PERMS,
+			OC_PROPERTIES);
+	private static final List<String> FAIL_FAST_LAST_LINKS = Collections.singletonList(PAGES);
+
 	private final PDDocumentCatalog catalog;
 	private final PDFAFlavour flavour;
 	private OutputIntents outputIntents = null;
@@ -136,7 +143,16 @@ public class PBoxPDDocument extends PBoxPDObject implements PDDocument {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	public List<String> getLinks() {
+		List<String> links = super.getLinks();
+		if (StaticContainers.getParserConfig().isFailFast()) {
+			return TraversalOrder.reorder(getObjectType(), links, FAIL_FAST_FIRST_LINKS, FAIL_FAST_LAST_LINKS);
+		}
+		return links;
+	}
+
+	@Override
+	protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 			case OUTLINES:
 				return this.getOutlines();
@@ -161,7 +177,7 @@ public class PBoxPDDocument extends PBoxPDObject implements PDDocument {
 			case PERMS:
 				return this.getPerms();
 			default:
-				return super.getLinkedObjects(link);
+				return super.getLinks(link);
 		}
 	}
 
@@ -197,7 +213,7 @@ public class PBoxPDDocument extends PBoxPDObject implements PDDocument {
 	}
 
 	private List<PDOutline> getOutlines() {
-		return OutlinesHelper.getOutlines(this.catalog);
+		return OutlinesHelper.getOutlines(this.document);
 	}
 
 	private List<PDAction> getOpenAction() {
@@ -64,6 +64,8 @@ public class PBoxPDExtGState extends PBoxPDResources implements PDExtGState {
 	
 	private final PDFAFlavour flavour;
 
+	private List<PDHalftone> halftones = null;
+
     public PBoxPDExtGState(PDExtendedGraphicsState state, PDFAFlavour flavour) {
         super(state, EXT_G_STATE_TYPE);
 		this.tr = PBoxPDExtGState.getStringProperty(state, COSName.TR);
@@ -132,20 +134,23 @@ public class PBoxPDExtGState extends PBoxPDResources implements PDExtGState {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 			case RI:
 				return this.getRI();
 			case FONT_SIZE:
 				return this.getFontSize();
 			case HALFTONE:
-				return this.getHalftone();
+				if (this.halftones == null) {
+					this.halftones = this.getHalftone();
+				}
+				return this.halftones;
 			case CUSTOM_FUNCTIONS:
 				return this.getCustomFunctions();
 			case LINK_BM:
 				return this.getLinkBM();
 			default:
-				return super.getLinkedObjects(link);
+				return super.getLinks(link);
 		}
 	}
 
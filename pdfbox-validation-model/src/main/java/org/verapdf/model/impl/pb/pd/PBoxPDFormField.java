@@ -71,14 +71,14 @@ public class PBoxPDFormField extends PBoxPDObject implements PDFormField {
     }
 
     @Override
-    public List<? extends Object> getLinkedObjects(String link) {
+    protected List<? extends Object> getLinks(String link) {
         switch (link) {
             case ADDITIONAL_ACTION:
                 return this.getAdditionalAction();
             case LANG:
                 return Collections.emptyList();
             default:
-                return super.getLinkedObjects(link);
+                return super.getLinks(link);
         }
     }
 
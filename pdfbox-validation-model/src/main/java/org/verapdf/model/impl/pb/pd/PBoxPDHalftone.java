@@ -107,14 +107,14 @@ public class PBoxPDHalftone extends PBoxPDObject implements PDHalftone {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 			case HALFTONES:
 				return this.getHalftones();
 			case CUSTOM_FUNCTION:
 				return this.getCustomFunction();
 			default:
-				return super.getLinkedObjects(link);
+				return super.getLinks(link);
 		}
 	}
 
@@ -85,14 +85,14 @@ public class PBoxPDMetadata extends PBoxPDObject implements PDMetadata {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 		case XMP_PACKAGE:
 			return this.getXMPPackage();
 		case STREAM:
 			return this.getStream();
 		default:
-			return super.getLinkedObjects(link);
+			return super.getLinks(link);
 		}
 	}
 
@@ -24,8 +24,10 @@ import org.apache.log4j.Logger;
 import org.apache.pdfbox.cos.*;
 import org.apache.pdfbox.pdmodel.common.COSObjectable;
 import org.verapdf.model.pdlayer.PDOCConfig;
+import org.verapdf.model.tools.OptionalContentIndex;
 
-import java.util.*;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * @author Timur Kamalov
@@ -38,40 +40,30 @@ public class PBoxPDOCConfig extends PBoxPDObject implements PDOCConfig {
 
 	public static final String EVENT_KEY = "Event";
 
-	private final List<String> groupNames;
+	private final OptionalContentIndex index;
 	private final boolean duplicateName;
 
 	public PBoxPDOCConfig(COSObjectable simplePDObject) {
-		super(simplePDObject, OC_CONFIG_TYPE);
-		this.groupNames = Collections.emptyList();
-		this.duplicateName = false;
+		this(simplePDObject, new OptionalContentIndex(Collections.<String>emptyList()), false);
 	}
 
 	public PBoxPDOCConfig(COSObjectable simplePDObject, List<String> groupNames, boolean duplicateName) {
+		this(simplePDObject, new OptionalContentIndex(groupNames == null ?
+				Collections.<String>emptyList() : groupNames), duplicateName);
+	}
+
+	public PBoxPDOCConfig(COSObjectable simplePDObject, OptionalContentIndex index, boolean duplicateName) {
 		super(simplePDObject, OC_CONFIG_TYPE);
-		this.groupNames = groupNames == null ? Collections.<String>emptyList() : groupNames;
+		this.index = index;
 		this.duplicateName = duplicateName;
 	}
 
 	@Override
 	public Boolean getdoesOrderContainAllOCGs() {
-		Set<String> groupNamesSet = new TreeSet<>(groupNames);
 		COSBase order = ((COSDictionary) this.simplePDObject).getDictionaryObject(COSName.ORDER);
 		if (order != null) {
 			if (order instanceof COSArray) {
-				for (int i = 0; i < ((COSArray) order).size(); i++) {
-					COSBase element = ((COSArray) order).getObject(i);
-					if (element instanceof COSArray) {
-						processCOSArrayInOrder((COSArray) element, groupNamesSet);
-					} else if (element instanceof COSDictionary) {
-						processCOSDictionaryInOrder((COSDictionary) element, groupNamesSet);
-					} else {
-						LOGGER.debug("Invalid object type in order array. Ignoring the object.");
-					}
-				}
-				if (!groupNamesSet.isEmpty()) {
-					return Boolean.FALSE;
-				}
+				return Boolean.valueOf(this.index.doesOrderContainAllGroups((COSArray) order));
 			} else {
 				LOGGER.debug("Invalid object type of Order entry. Ignoring the Order entry.");
 			}
@@ -113,32 +105,4 @@ public class PBoxPDOCConfig extends PBoxPDObject implements PDOCConfig {
 	public String getName() {
 		return ((COSDictionary) this.simplePDObject).getString(COSName.NAME);
 	}
-
-	private void processCOSArrayInOrder(COSArray array, Set<String> groupNames) {
-		for (int i = 0; i < array.size(); i++) {
-			COSBase element = array.getObject(i);
-			if (element instanceof COSArray) {
-				processCOSArrayInOrder((COSArray) element, groupNames);
-			} else if (element instanceof COSDictionary) {
-				processCOSDictionaryInOrder((COSDictionary) element, groupNames);
-			}
-		}
-	}
-
-	private void processCOSDictionaryInOrder(COSDictionary element, Set<String> groupNames) {
-		groupNames.remove(element.getString(COSName.NAME));
-	}
-
-	private static int getLenghtOfFlattenArray(COSArray array) {
-		int res = 0;
-		for (int i = 0; i < array.size(); i++) {
-			COSBase element = array.getObject(i);
-			if (element instanceof COSArray) {
-				res += getLenghtOfFlattenArray((COSArray) element);
-			} else {
-				res++;
-			}
-		}
-		return res;
-	}
-}
\ No newline at end of file
+}
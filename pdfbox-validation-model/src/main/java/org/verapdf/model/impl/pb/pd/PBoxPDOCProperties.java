@@ -30,9 +30,9 @@ import org.apache.pdfbox.pdmodel.graphics.optionalcontent.PDOptionalContentPrope
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.pdlayer.PDOCConfig;
 import org.verapdf.model.pdlayer.PDOCProperties;
+import org.verapdf.model.tools.OptionalContentIndex;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -48,19 +48,28 @@ public class PBoxPDOCProperties extends PBoxPDObject implements PDOCProperties {
 	public static final String D = "D";
 	public static final String CONFIGS = "Configs";
 
+	private OptionalContentIndex index = null;
+
 	public PBoxPDOCProperties(COSObjectable simplePDObject) {
 		super(simplePDObject, OC_PROPERTIES_TYPE);
 	}
 
+	private OptionalContentIndex getIndex() {
+		if (this.index == null) {
+			this.index = new OptionalContentIndex((PDOptionalContentProperties) this.simplePDObject);
+		}
+		return this.index;
+	}
+
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 		case D:
 			return this.getD();
 		case CONFIGS:
 			return this.getConfigs();
 		default:
-			return super.getLinkedObjects(link);
+			return super.getLinks(link);
 		}
 	}
 
@@ -72,10 +81,7 @@ public class PBoxPDOCProperties extends PBoxPDObject implements PDOCProperties {
 			COSDictionary defaultConfig = (COSDictionary) ((COSDictionary) contentProperties)
 					.getDictionaryObject(COSName.D);
 
-			String[] groupNames = ((PDOptionalContentProperties) this.simplePDObject).getGroupNames();
-			List<String> groupNamesList = Arrays.asList(groupNames);
-
-			PDOCConfig pdConfig = new PBoxPDOCConfig(defaultConfig, groupNamesList, false);
+			PDOCConfig pdConfig = new PBoxPDOCConfig(defaultConfig, getIndex(), false);
 
 			result.add(pdConfig);
 			return result;
@@ -91,9 +97,7 @@ public class PBoxPDOCProperties extends PBoxPDObject implements PDOCProperties {
 
 		COSDictionary contentProperties = (COSDictionary) this.simplePDObject.getCOSObject();
 
-		List<String> names = getAllNames(contentProperties);
-		String[] groupNames = ((PDOptionalContentProperties) this.simplePDObject).getGroupNames();
-		List<String> groupNamesList = Arrays.asList(groupNames);
+		OptionalContentIndex index = getIndex();
 
 		COSArray configs = (COSArray) contentProperties.getDictionaryObject(CONFIGS);
 
@@ -102,8 +106,8 @@ public class PBoxPDOCProperties extends PBoxPDObject implements PDOCProperties {
 			for (int i = 0; i < configs.size(); i++) {
 				COSBase config = configs.get(i);
 				if (config instanceof COSDictionary) {
-					PDOCConfig pdConfig = new PBoxPDOCConfig(config, groupNamesList,
-							names.contains(((COSDictionary) config).getString(COSName.NAME)));
+					PDOCConfig pdConfig = new PBoxPDOCConfig(config, index,
+							index.containsConfigName(((COSDictionary) config).getString(COSName.NAME)));
 					result.add(pdConfig);
 				} else {
 					LOGGER.debug("Invalid object type of the configuration dictionary. Ignoring config.");
@@ -114,31 +118,4 @@ public class PBoxPDOCProperties extends PBoxPDObject implements PDOCProperties {
 		return Collections.emptyList();
 	}
 
-	private static List<String> getAllNames(final COSDictionary contentProperties) {
-		List<String> result = new ArrayList<>();
-
-		COSBase defaultConfig = contentProperties.getDictionaryObject(COSName.D);
-		if (defaultConfig instanceof COSDictionary) {
-			String name = ((COSDictionary) defaultConfig).getString(COSName.NAME);
-			if (name != null) {
-				result.add(name);
-			}
-		}
-
-		COSArray configs = (COSArray) contentProperties.getDictionaryObject(CONFIGS);
-		if (configs != null) {
-			for (int i = 0; i < configs.size(); i++) {
-				COSBase config = configs.get(i);
-				if (config instanceof COSDictionary) {
-					String name = ((COSDictionary) config).getString(COSName.NAME);
-					if (name != null) {
-						result.add(name);
-					}
-				}
-			}
-		}
-
-		return result;
-	}
-
-}
\ No newline at end of file
+}
@@ -29,13 +29,13 @@ import org.apache.pdfbox.cos.COSStream;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.common.COSObjectable;
 import org.apache.pdfbox.pdmodel.font.PDFontLike;
-import org.verapdf.model.GenericModelObject;
+import org.verapdf.model.impl.pb.PBModelObject;
 import org.verapdf.model.pdlayer.PDObject;
 
 /**
  * @author Evgeniy Muravitskiy
  */
-public class PBoxPDObject extends GenericModelObject implements PDObject {
+public class PBoxPDObject extends PBModelObject implements PDObject {
 
 	public static final int MAX_NUMBER_OF_ELEMENTS = 1;
 
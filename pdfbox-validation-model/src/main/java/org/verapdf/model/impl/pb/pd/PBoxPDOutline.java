@@ -54,11 +54,11 @@ public class PBoxPDOutline extends PBoxPDObject implements PDOutline {
     }
 
     @Override
-    public List<? extends Object> getLinkedObjects(String link) {
+    protected List<? extends Object> getLinks(String link) {
         if (ACTION.equals(link)) {
             return this.getAction();
         }
-        return super.getLinkedObjects(link);
+        return super.getLinks(link);
     }
 
     private List<PDAction> getAction() {
@@ -31,14 +31,17 @@ import org.apache.pdfbox.pdmodel.interactive.action.PDPageAdditionalActions;
 import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosBBox;
+import org.verapdf.model.impl.pb.containers.StaticContainers;
 import org.verapdf.model.impl.pb.cos.PBCosBBox;
 import org.verapdf.model.impl.pb.pd.actions.PBoxPDPageAdditionalActions;
 import org.verapdf.model.pdlayer.*;
+import org.verapdf.model.tools.TraversalOrder;
 import org.verapdf.model.tools.resources.PDInheritableResources;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -86,6 +89,9 @@ public class PBoxPDPage extends PBoxPDObject implements PDPage {
 	public static final String TRANSPARENCY_COLOR_SPACE = "transparencyColorSpace";
 	public static final String PARENT_TRANSPARENCY_COLOR_SPACE = "parentTransparencyColorSpace";
 
+	private static final List<String> FAIL_FAST_FIRST_LINKS = Collections.emptyList();
+	private static final List<String> FAIL_FAST_LAST_LINKS = Arrays.asList(ANNOTS, CONTENT_STREAM);
+
 	private boolean containsTransparency = false;
 	private List<PDContentStream> contentStreams = null;
 	private OutputIntents outputIntents = null;
@@ -216,7 +222,16 @@ public class PBoxPDPage extends PBoxPDObject implements PDPage {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	public List<String> getLinks() {
+		List<String> links = super.getLinks();
+		if (StaticContainers.getParserConfig().isFailFast()) {
+			return TraversalOrder.reorder(getObjectType(), links, FAIL_FAST_FIRST_LINKS, FAIL_FAST_LAST_LINKS);
+		}
+		return links;
+	}
+
+	@Override
+	protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 			case GROUP:
 				return this.getGroup();
@@ -245,7 +260,7 @@ public class PBoxPDPage extends PBoxPDObject implements PDPage {
 			case PARENT_TRANSPARENCY_COLOR_SPACE:
 				return Collections.emptyList();
 			default:
-				return super.getLinkedObjects(link);
+				return super.getLinks(link);
 		}
 	}
 
@@ -253,7 +253,7 @@ public class PBoxPDStructElem extends PBoxPDObject implements PDStructElem {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 		case CHILDREN:
 			return this.getChildren();
@@ -264,7 +264,7 @@ public class PBoxPDStructElem extends PBoxPDObject implements PDStructElem {
 		case ACTUAL_TEXT:
 			return this.getactualText();
 		default:
-			return super.getLinkedObjects(link);
+			return super.getLinks(link);
 		}
 	}
 
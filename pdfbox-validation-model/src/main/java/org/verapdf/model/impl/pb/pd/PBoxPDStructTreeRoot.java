@@ -97,14 +97,14 @@ public class PBoxPDStructTreeRoot extends PBoxPDObject implements PDStructTreeRo
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 			case CHILDREN:
 				return this.getChildren();
 			case ROLE_MAP_NAMES:
 				return getRoleMapNames();
 			default:
-				return super.getLinkedObjects(link);
+				return super.getLinks(link);
 		}
 	}
 
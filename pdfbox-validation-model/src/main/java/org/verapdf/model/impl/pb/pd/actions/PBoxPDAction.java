@@ -61,11 +61,11 @@ public class PBoxPDAction extends PBoxPDObject implements PDAction {
     }
 
     @Override
-    public List<? extends Object> getLinkedObjects(String link) {
+    protected List<? extends Object> getLinks(String link) {
         if (NEXT.equals(link)) {
             return this.getNext();
         }
-        return super.getLinkedObjects(link);
+        return super.getLinks(link);
     }
 
     private List<PDAction> getNext() {
@@ -46,12 +46,12 @@ public class PBoxPDAdditionalActions extends PBoxPDObject implements PDAdditiona
     }
 
     @Override
-    public List<? extends Object> getLinkedObjects(String link) {
+    protected List<? extends Object> getLinks(String link) {
         switch (link) {
             case ACTIONS:
                 return getActions();
             default:
-                return super.getLinkedObjects(link);
+                return super.getLinks(link);
         }
     }
 
@@ -50,11 +50,11 @@ public class PBoxPDGoToAction extends PBoxPDAction implements PDGoToAction {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		if (D.equals(link)) {
 			return this.getD();
 		}
-		return super.getLinkedObjects(link);
+		return super.getLinks(link);
 	}
 
 	public List<CosNumber> getD() {
@@ -47,12 +47,12 @@ public class PBoxPDRenditionAction extends PBoxPDAction implements PDRenditionAc
     }
 
     @Override
-    public List<? extends Object> getLinkedObjects(String link) {
+    protected List<? extends Object> getLinks(String link) {
         switch (link) {
             case C:
                 return this.getC();
             default:
-                return super.getLinkedObjects(link);
+                return super.getLinks(link);
         }
     }
 
@@ -79,12 +79,12 @@ public class PBoxPD3DAnnot extends PBoxPDAnnot implements PD3DAnnot {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 			case stream3D:
 				return this.get3DStream();
 			default:
-				return super.getLinkedObjects(link);
+				return super.getLinks(link);
 		}
 	}
 
@@ -123,7 +123,7 @@ public class PBoxPDDeviceN extends PBoxPDColorSpace implements PDDeviceN {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 			case ALTERNATE:
 				return this.getAlternate();
@@ -136,7 +136,7 @@ public class PBoxPDDeviceN extends PBoxPDColorSpace implements PDDeviceN {
 			case TINT_TRANSFORM:
 				return this.getTintTransform();
 			default:
-				return super.getLinkedObjects(link);
+				return super.getLinks(link);
 		}
 	}
 	private List<PDColorSpace> getProcessColor() {
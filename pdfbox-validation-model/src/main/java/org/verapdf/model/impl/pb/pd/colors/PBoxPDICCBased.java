@@ -50,11 +50,11 @@ public class PBoxPDICCBased extends PBoxPDColorSpace implements PDICCBased {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		if (ICC_PROFILE.equals(link)) {
 			return this.getICCProfile();
 		}
-		return super.getLinkedObjects(link);
+		return super.getLinks(link);
 	}
 
 	private List<ICCInputProfile> getICCProfile() {
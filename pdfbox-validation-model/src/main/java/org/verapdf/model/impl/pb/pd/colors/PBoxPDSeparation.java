@@ -115,7 +115,7 @@ public class PBoxPDSeparation extends PBoxPDColorSpace implements org.verapdf.mo
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 			case ALTERNATE:
 				return this.getAlternate();
@@ -124,7 +124,7 @@ public class PBoxPDSeparation extends PBoxPDColorSpace implements org.verapdf.mo
 			case TINT_TRANSFORM:
 				return this.getTintTransform();
 			default:
-				return super.getLinkedObjects(link);
+				return super.getLinks(link);
 		}
 	}
 
@@ -117,11 +117,11 @@ public class PBoxPDCIDFont extends PBoxPDFont implements PDCIDFont {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		if (CID_SET.equals(link)) {
 			return this.getCIDSet();
 		}
-		return super.getLinkedObjects(link);
+		return super.getLinks(link);
 	}
 
 	private List<CosStream> getCIDSet() {
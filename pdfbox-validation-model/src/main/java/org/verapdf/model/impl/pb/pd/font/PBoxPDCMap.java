@@ -64,14 +64,14 @@ public class PBoxPDCMap extends PBoxPDObject implements PDCMap {
 	}
 
     @Override
-    public List<? extends Object> getLinkedObjects(String link) {
+    protected List<? extends Object> getLinks(String link) {
         switch (link) {
             case EMBEDDED_FILE:
                 return this.getEmbeddedFile();
             case USE_C_MAP:
                 return this.getUseCMap();
             default:
-                return super.getLinkedObjects(link);
+                return super.getLinks(link);
         }
     }
 
@@ -121,14 +121,14 @@ public abstract class PBoxPDFont extends PBoxPDResources implements PDFont {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 		case FONT_FILE:
 			return this.getFontFile();
 		case BASE_FONT:
 			return this.getBaseFont();
 		default:
-			return super.getLinkedObjects(link);
+			return super.getLinks(link);
 		}
 	}
 
@@ -67,11 +67,11 @@ public class PBoxPDType3Font extends PBoxPDSimpleFont implements PDType3Font {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		if (CHAR_STRINGS.equals(link)) {
 			return this.getCharStrings();
 		}
-		return super.getLinkedObjects(link);
+		return super.getLinks(link);
 	}
 
 	private List<PDContentStream> getCharStrings() {
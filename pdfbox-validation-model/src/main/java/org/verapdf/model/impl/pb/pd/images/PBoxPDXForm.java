@@ -96,7 +96,7 @@ public class PBoxPDXForm extends PBoxPDXObject implements PDXForm {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 		case GROUP:
 			return this.getGroup();
@@ -107,7 +107,7 @@ public class PBoxPDXForm extends PBoxPDXObject implements PDXForm {
 		case PARENT_TRANSPARENCY_COLOR_SPACE:
 			return Collections.emptyList();
 		default:
-			return super.getLinkedObjects(link);
+			return super.getLinks(link);
 		}
 	}
 
@@ -32,6 +32,7 @@ import org.verapdf.model.coslayer.CosRenderingIntent;
 import org.verapdf.model.external.JPEG2000;
 import org.verapdf.model.factory.colors.ColorSpaceFactory;
 import org.verapdf.model.impl.pb.cos.PBCosRenderingIntent;
+import org.verapdf.model.impl.pb.containers.StaticContainers;
 import org.verapdf.model.impl.pb.external.PBoxJPEG2000;
 import org.verapdf.model.pdlayer.PDColorSpace;
 import org.verapdf.model.pdlayer.PDSMaskImage;
@@ -88,7 +89,7 @@ public class PBoxPDXImage extends PBoxPDXObject implements PDXImage {
 	}
 
 	@Override
-	public List<? extends Object> getLinkedObjects(String link) {
+	protected List<? extends Object> getLinks(String link) {
 		switch (link) {
 		case INTENT:
 			return this.getIntent();
@@ -101,7 +102,7 @@ public class PBoxPDXImage extends PBoxPDXObject implements PDXImage {
 		case S_MASK:
 			return this.getSMask();
 		default:
-			return super.getLinkedObjects(link);
+			return super.getLinks(link);
 		}
 	}
 
@@ -225,7 +226,8 @@ public class PBoxPDXImage extends PBoxPDXObject implements PDXImage {
 				// encoded
 				try (InputStream image = stream.getStream().getFilteredStream()) {
 					ArrayList<JPEG2000> list = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-					PBoxJPEG2000 jpeg2000 = PBoxJPEG2000.fromStream(image, this.document, this.flavour);
+					PBoxJPEG2000 jpeg2000 = PBoxJPEG2000.fromStream(image,
+							StaticContainers.getParserConfig().getJpxHeaderLimit(), this.document, this.flavour);
 					this.colorSpaceFromImage = jpeg2000.getImageColorSpace();
 					list.add(jpeg2000);
 					return Collections.unmodifiableList(list);
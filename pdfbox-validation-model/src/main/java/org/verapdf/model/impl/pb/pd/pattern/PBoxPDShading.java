@@ -56,11 +56,11 @@ public class PBoxPDShading extends PBoxPDResources implements PDShading {
     }
 
     @Override
-    public List<? extends Object> getLinkedObjects(String link) {
+    protected List<? extends Object> getLinks(String link) {
         if (COLOR_SPACE.equals(link)) {
             return this.getColorSpace();
         }
-        return super.getLinkedObjects(link);
+        return super.getLinks(link);
     }
 
     private List<PDColorSpace> getColorSpace() {
@@ -56,11 +56,11 @@ public class PBoxPDShadingPattern extends PBoxPDPattern implements
     }
 
     @Override
-    public List<? extends Object> getLinkedObjects(String link) {
+    protected List<? extends Object> getLinks(String link) {
 		if (SHADING.equals(link)) {
 			return this.getShading();
 		}
-		return super.getLinkedObjects(link);
+		return super.getLinks(link);
     }
 
     private List<PDShading> getShading() {
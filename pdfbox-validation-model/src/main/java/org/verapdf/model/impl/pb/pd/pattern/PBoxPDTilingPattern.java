@@ -22,14 +22,17 @@ package org.verapdf.model.impl.pb.pd.pattern;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.baselayer.Object;
+import org.verapdf.model.impl.pb.containers.StaticContainers;
 import org.verapdf.model.impl.pb.pd.PBoxPDContentStream;
 import org.verapdf.model.pdlayer.PDContentStream;
 import org.verapdf.model.pdlayer.PDTilingPattern;
 import org.verapdf.model.tools.resources.PDInheritableResources;
+import org.verapdf.model.tools.resources.ResourcesContextKey;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Evgeniy Muravitskiy
@@ -58,12 +61,12 @@ public class PBoxPDTilingPattern extends PBoxPDPattern implements
 	}
 
 	@Override
-    public List<? extends Object> getLinkedObjects(String link) {
+    protected List<? extends Object> getLinks(String link) {
 
         if (CONTENT_STREAM.equals(link)) {
             return this.getContentStream();
         }
-        return super.getLinkedObjects(link);
+        return super.getLinks(link);
     }
 
     private List<PDContentStream> getContentStream() {
@@ -83,10 +86,21 @@ public class PBoxPDTilingPattern extends PBoxPDPattern implements
 		return this.containsTransparency;
 	}
 
+	/**
+	 * Content stream of the pattern is parsed once per document for each
+	 * resources context the pattern is used in
+	 */
 	private void parseContentStream() {
 		List<PDContentStream> contentStreams = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-		PBoxPDContentStream contentStream = new PBoxPDContentStream(
-				(org.apache.pdfbox.contentstream.PDContentStream) this.simplePDObject, this.resources, this.document, this.flavour);
+		ResourcesContextKey key = new ResourcesContextKey(
+				this.simplePDObject.getCOSObject(), this.resources);
+		Map<ResourcesContextKey, PBoxPDContentStream> cache = StaticContainers.getCachedPatternContentStreams();
+		PBoxPDContentStream contentStream = cache.get(key);
+		if (contentStream == null) {
+			contentStream = new PBoxPDContentStream(
+					(org.apache.pdfbox.contentstream.PDContentStream) this.simplePDObject, this.resources, this.document, this.flavour);
+			cache.put(key, contentStream);
+		}
 		this.containsTransparency |= contentStream.isContainsTransparency();
 		contentStreams.add(contentStream);
 		this.contentStreams = contentStreams;
@@ -70,14 +70,14 @@ public class PBoxPDSignature extends PBoxPDObject implements PDSignature {
     }
 
     @Override
-    public List<? extends Object> getLinkedObjects(String link) {
+    protected List<? extends Object> getLinks(String link) {
         switch (link) {
             case CONTENTS:
                 return getContents();
             case REFERENCE:
                 return getSigRefs();
             default:
-                return super.getLinkedObjects(link);
+                return super.getLinks(link);
         }
     }
 
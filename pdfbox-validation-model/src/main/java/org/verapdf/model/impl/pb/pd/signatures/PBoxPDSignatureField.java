@@ -56,12 +56,12 @@ public class PBoxPDSignatureField extends PBoxPDFormField implements PDSignature
     }
 
     @Override
-    public List<? extends Object> getLinkedObjects(String link) {
+    protected List<? extends Object> getLinks(String link) {
         switch (link) {
             case SIGNATURE_DICTIONARY:
                 return getSignatureDictionary();
             default:
-                return super.getLinkedObjects(link);
+                return super.getLinks(link);
         }
     }
 
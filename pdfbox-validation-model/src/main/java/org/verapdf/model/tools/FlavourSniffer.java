@@ -0,0 +1,1028 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools;
+
+import org.apache.log4j.Logger;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Detects the flavour claimed by a document without loading it. Only the
+ * tail of the file, the cross reference sections on the way to the catalog,
+ * the catalog itself and its metadata stream are read, and the metadata is
+ * scanned as a stream for PDF/A and PDF/UA identification properties.
+ * <p>
+ * The sniffer reads only well formed documents. Damaged cross references,
+ * objects whose headers do not match their references, catalogs without
+ * the Catalog type, encrypted documents, filters other than FlateDecode and
+ * streams decoding to more than a bounded size are not handled, in these
+ * cases no flavour is reported and the caller is expected to fall back to
+ * the full load of the document.
+ */
+public final class FlavourSniffer {
+
+	private static final Logger LOGGER = Logger.getLogger(FlavourSniffer.class);
+
+	private static final String PDFAID_NS = "http://www.aiim.org/pdfa/ns/id/";
+	private static final String PDFUAID_NS = "http://www.aiim.org/pdfua/ns/id/";
+	private static final String PDFUA_PREFIX = "ua";
+	private static final String PART = "part";
+	private static final String CONFORMANCE = "conformance";
+
+	private static final byte[] STARTXREF = "startxref".getBytes(StandardCharsets.US_ASCII);
+	private static final int TAIL_SIZE = 1024;
+	private static final int XREF_ENTRY_SIZE = 20;
+	private static final int MAX_XREF_SECTIONS = 256;
+	private static final int MAX_REFERENCE_DEPTH = 16;
+	private static final int BUFFER_SIZE = 4096;
+	private static final int MAX_STREAM_SIZE = 64 * 1024 * 1024;
+
+	private static final XMLInputFactory XML_INPUT_FACTORY = createXMLInputFactory();
+
+	private final Source source;
+	private final Lexer lexer;
+	private final List<XrefSection> sections = new ArrayList<>();
+	private final Map<Long, ObjectStream> objectStreams = new HashMap<>();
+	private Map<String, Object> trailer;
+
+	private FlavourSniffer(Source source) {
+		this.source = source;
+		this.lexer = new Lexer(source);
+	}
+
+	/**
+	 * @param file document to inspect
+	 * @return flavour claimed in the metadata of the document,
+	 * {@link PDFAFlavour#NO_FLAVOUR} if document claims no known flavour,
+	 * or null if the claimed flavour can not be determined without loading
+	 * the whole document
+	 */
+	public static PDFAFlavour sniff(File file) {
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+			return new FlavourSniffer(new FileSource(raf)).sniff();
+		} catch (IOException | XMLStreamException | RuntimeException | StackOverflowError | OutOfMemoryError e) {
+			LOGGER.debug("Can not detect flavour of " + file + " without loading it", e);
+			return null;
+		}
+	}
+
+	private PDFAFlavour sniff() throws IOException, XMLStreamException {
+		readXrefSections(findStartXref());
+		if (this.trailer.containsKey("Encrypt")) {
+			return null;
+		}
+		Object catalog = resolve(this.trailer.get("Root"));
+		if (!(catalog instanceof Map) || !isName(resolve(((Map<?, ?>) catalog).get("Type")), "Catalog")) {
+			return null;
+		}
+		Object metadata = resolve(((Map<?, ?>) catalog).get("Metadata"));
+		if (metadata == null) {
+			return PDFAFlavour.NO_FLAVOUR;
+		}
+		if (!(metadata instanceof StreamObject)) {
+			return null;
+		}
+		try (InputStream is = openStream((StreamObject) metadata)) {
+			return is == null ? null : scanMetadata(is);
+		}
+	}
+
+	private static PDFAFlavour scanMetadata(InputStream is) throws XMLStreamException {
+		String part = null;
+		String conformance = null;
+		String uaPart = null;
+		XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(is);
+		try {
+			while (reader.hasNext() && (part == null || conformance == null)) {
+				if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+					continue;
+				}
+				for (int i = 0; i < reader.getAttributeCount(); ++i) {
+					String ns = reader.getAttributeNamespace(i);
+					String name = reader.getAttributeLocalName(i);
+					String value = reader.getAttributeValue(i).trim();
+					if (PDFAID_NS.equals(ns)) {
+						if (PART.equals(name)) {
+							part = value;
+						} else if (CONFORMANCE.equals(name)) {
+							conformance = value;
+						}
+					} else if (PDFUAID_NS.equals(ns) && PART.equals(name)) {
+						uaPart = value;
+					}
+				}
+				String ns = reader.getNamespaceURI();
+				String name = reader.getLocalName();
+				if (PDFAID_NS.equals(ns)) {
+					if (PART.equals(name)) {
+						part = reader.getElementText().trim();
+					} else if (CONFORMANCE.equals(name)) {
+						conformance = reader.getElementText().trim();
+					}
+				} else if (PDFUAID_NS.equals(ns) && PART.equals(name)) {
+					uaPart = reader.getElementText().trim();
+				}
+			}
+		} finally {
+			reader.close();
+		}
+		String prefix = "";
+		if (part == null && conformance == null) {
+			part = uaPart;
+			prefix = PDFUA_PREFIX;
+		}
+		if (part == null) {
+			return PDFAFlavour.NO_FLAVOUR;
+		}
+		try {
+			Integer.parseInt(part);
+		} catch (NumberFormatException e) {
+			return PDFAFlavour.NO_FLAVOUR;
+		}
+		return PDFAFlavour.byFlavourId(prefix + part + (conformance == null ? "" : conformance));
+	}
+
+	private long findStartXref() throws IOException {
+		long length = this.source.length();
+		int tailSize = (int) Math.min(length, TAIL_SIZE);
+		byte[] tail = new byte[tailSize];
+		this.source.readFully(length - tailSize, tail);
+		for (int i = tailSize - STARTXREF.length; i >= 0; --i) {
+			if (startsWith(tail, i, STARTXREF)) {
+				this.lexer.seek(length - tailSize + i + STARTXREF.length);
+				return toLong(this.lexer.nextToken());
+			}
+		}
+		throw new IOException("startxref keyword is not found");
+	}
+
+	private void readXrefSections(long offset) throws IOException {
+		Set<Long> visited = new HashSet<>();
+		List<Long> pending = new ArrayList<>();
+		pending.add(offset);
+		while (!pending.isEmpty()) {
+			long current = pending.remove(0);
+			if (!visited.add(current) || visited.size() > MAX_XREF_SECTIONS) {
+				throw new IOException("Cross reference sections are looped or too many");
+			}
+			Map<String, Object> sectionTrailer = readXrefSection(current);
+			if (this.trailer == null) {
+				this.trailer = sectionTrailer;
+			}
+			Object xrefStream = sectionTrailer.get("XRefStm");
+			XrefSection section = this.sections.get(this.sections.size() - 1);
+			if (xrefStream instanceof Long && section instanceof TableSection) {
+				// objects of hybrid files that are free or missing in the table
+				// are looked up in the stream of the same section
+				((TableSection) section).hybridStream = readXrefStream((Long) xrefStream);
+			}
+			Object prev = sectionTrailer.get("Prev");
+			if (prev instanceof Long) {
+				pending.add((Long) prev);
+			}
+		}
+	}
+
+	private Map<String, Object> readXrefSection(long offset) throws IOException {
+		this.lexer.seek(offset);
+		Object token = this.lexer.nextToken();
+		if (isKeyword(token, "xref")) {
+			TableSection section = new TableSection();
+			token = this.lexer.nextToken();
+			while (token instanceof Long) {
+				long start = (Long) token;
+				long count = toLong(this.lexer.nextToken());
+				this.lexer.skipWhitespaces();
+				long entries = this.lexer.getPosition();
+				section.subsections.add(new long[]{start, count, entries});
+				this.lexer.seek(entries + count * XREF_ENTRY_SIZE);
+				token = this.lexer.nextToken();
+			}
+			if (!isKeyword(token, "trailer")) {
+				throw new IOException("trailer keyword is expected after cross reference table");
+			}
+			this.sections.add(section);
+			return toDictionary(this.lexer.parseObject());
+		}
+		StreamSection section = readXrefStream(offset);
+		this.sections.add(section);
+		return section.dictionary;
+	}
+
+	private StreamSection readXrefStream(long offset) throws IOException {
+		Object object = readIndirectObject(offset, -1, -1);
+		if (!(object instanceof StreamObject)) {
+			throw new IOException("Cross reference stream is expected at offset " + offset);
+		}
+		StreamObject stream = (StreamObject) object;
+		return new StreamSection(stream.dictionary, readStream(stream));
+	}
+
+	private Object resolve(Object object) throws IOException {
+		for (int depth = 0; object instanceof Ref; ++depth) {
+			if (depth > MAX_REFERENCE_DEPTH) {
+				throw new IOException("Too deep chain of references");
+			}
+			Ref ref = (Ref) object;
+			object = getObject(ref.number, ref.generation);
+		}
+		return object;
+	}
+
+	private Object getObject(long number, long generation) throws IOException {
+		for (XrefSection section : this.sections) {
+			long[] entry = section.lookup(number);
+			if (entry == null) {
+				continue;
+			}
+			if (entry[0] == 1 && entry[2] == generation) {
+				return readIndirectObject(entry[1], number, generation);
+			} else if (entry[0] == 2 && generation == 0) {
+				return readCompressedObject(entry[1], (int) entry[2], number);
+			} else if (entry[0] != 0) {
+				throw new IOException("Object " + number + " " + generation + " is not found");
+			}
+			return null;
+		}
+		return null;
+	}
+
+	/**
+	 * @param number     expected object number, or -1 if it is not known
+	 * @param generation expected generation number, or -1 if it is not known
+	 */
+	private Object readIndirectObject(long offset, long number, long generation) throws IOException {
+		this.lexer.seek(offset);
+		long actualNumber = toLong(this.lexer.nextToken());
+		long actualGeneration = toLong(this.lexer.nextToken());
+		if (!isKeyword(this.lexer.nextToken(), "obj")) {
+			throw new IOException("Indirect object is expected at offset " + offset);
+		}
+		if (number >= 0 && (actualNumber != number || actualGeneration != generation)) {
+			throw new IOException("Object " + number + " " + generation + " is expected at offset " + offset);
+		}
+		Object object = this.lexer.parseObject();
+		if (object instanceof Map) {
+			long position = this.lexer.getPosition();
+			if (isKeyword(this.lexer.nextToken(), "stream")) {
+				int next = this.lexer.read();
+				if (next == '\r' && this.lexer.peek() == '\n') {
+					this.lexer.read();
+				}
+				return new StreamObject(toDictionary(object), this.lexer.getPosition());
+			}
+			this.lexer.seek(position);
+		}
+		return object;
+	}
+
+	private Object readCompressedObject(long streamNumber, int index, long number) throws IOException {
+		ObjectStream objectStream = this.objectStreams.get(streamNumber);
+		if (objectStream == null) {
+			Object stream = getObject(streamNumber, 0);
+			if (!(stream instanceof StreamObject)) {
+				throw new IOException("Object stream " + streamNumber + " is not found");
+			}
+			objectStream = new ObjectStream(readStream((StreamObject) stream),
+					toLong(((StreamObject) stream).dictionary.get("First")));
+			this.objectStreams.put(streamNumber, objectStream);
+		}
+		Lexer objects = new Lexer(new ArraySource(objectStream.data));
+		long offset = -1;
+		for (int i = 0; i <= index; ++i) {
+			long objectNumber = toLong(objects.nextToken());
+			offset = toLong(objects.nextToken());
+			if (i == index && objectNumber != number) {
+				throw new IOException("Object " + number + " is not found in object stream " + streamNumber);
+			}
+		}
+		objects.seek(objectStream.first + offset);
+		return objects.parseObject();
+	}
+
+	private InputStream openStream(StreamObject stream) throws IOException {
+		InputStream raw = new RegionInputStream(this.source, stream.dataOffset, getLength(stream));
+		String filter = getSingleFilter(stream.dictionary);
+		if (filter == null) {
+			return raw;
+		} else if ("FlateDecode".equals(filter) && getPredictor(stream.dictionary) <= 1) {
+			return new BoundedInputStream(new InflaterInputStream(raw), MAX_STREAM_SIZE);
+		}
+		raw.close();
+		return null;
+	}
+
+	private long getLength(StreamObject stream) throws IOException {
+		long length = toLong(resolve(stream.dictionary.get("Length")));
+		if (length < 0 || length > this.source.length() - stream.dataOffset) {
+			throw new IOException("Invalid stream length " + length);
+		}
+		return length;
+	}
+
+	private byte[] readStream(StreamObject stream) throws IOException {
+		long length = getLength(stream);
+		if (length > MAX_STREAM_SIZE) {
+			throw new IOException("Stream of " + length + " bytes is too long");
+		}
+		byte[] raw = new byte[(int) length];
+		this.source.readFully(stream.dataOffset, raw);
+		String filter = getSingleFilter(stream.dictionary);
+		if (filter == null) {
+			return raw;
+		} else if (!"FlateDecode".equals(filter)) {
+			throw new IOException("Unsupported filter " + filter);
+		}
+		byte[] decoded = inflate(raw);
+		int predictor = getPredictor(stream.dictionary);
+		if (predictor >= 10) {
+			Object parms = getDecodeParms(stream.dictionary);
+			Object columns = parms == null ? null : ((Map<?, ?>) parms).get("Columns");
+			return undoPngPredictor(decoded, columns instanceof Long ? ((Long) columns).intValue() : 1);
+		} else if (predictor > 1) {
+			throw new IOException("Unsupported predictor " + predictor);
+		}
+		return decoded;
+	}
+
+	private String getSingleFilter(Map<String, Object> dictionary) throws IOException {
+		Object filter = resolve(dictionary.get("Filter"));
+		if (filter instanceof List) {
+			List<?> filters = (List<?>) filter;
+			if (filters.isEmpty()) {
+				return null;
+			} else if (filters.size() > 1) {
+				throw new IOException("Chains of filters are not supported");
+			}
+			filter = filters.get(0);
+		}
+		if (filter == null) {
+			return null;
+		} else if (filter instanceof Name) {
+			return ((Name) filter).value;
+		}
+		throw new IOException("Invalid filter");
+	}
+
+	private Object getDecodeParms(Map<String, Object> dictionary) throws IOException {
+		Object parms = resolve(dictionary.get("DecodeParms"));
+		if (parms instanceof List) {
+			parms = ((List<?>) parms).isEmpty() ? null : resolve(((List<?>) parms).get(0));
+		}
+		return parms instanceof Map ? parms : null;
+	}
+
+	private int getPredictor(Map<String, Object> dictionary) throws IOException {
+		Object parms = getDecodeParms(dictionary);
+		Object predictor = parms == null ? null : ((Map<?, ?>) parms).get("Predictor");
+		return predictor instanceof Long ? ((Long) predictor).intValue() : 1;
+	}
+
+	private static byte[] inflate(byte[] data) throws IOException {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(data);
+			ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.min(data.length * 2L, MAX_STREAM_SIZE));
+			byte[] buffer = new byte[BUFFER_SIZE];
+			while (!inflater.finished()) {
+				int read = inflater.inflate(buffer);
+				if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				if (out.size() + read > MAX_STREAM_SIZE) {
+					throw new IOException("Decoded stream is longer than " + MAX_STREAM_SIZE + " bytes");
+				}
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		} catch (DataFormatException e) {
+			throw new IOException("Invalid FlateDecode data", e);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	private static byte[] undoPngPredictor(byte[] data, int columns) throws IOException {
+		int rowLength = columns + 1;
+		int rows = data.length / rowLength;
+		byte[] result = new byte[rows * columns];
+		for (int row = 0; row < rows; ++row) {
+			int type = data[row * rowLength];
+			int out = row * columns;
+			for (int i = 0; i < columns; ++i) {
+				int raw = data[row * rowLength + 1 + i] & 0xFF;
+				int left = i > 0 ? result[out + i - 1] & 0xFF : 0;
+				int up = row > 0 ? result[out - columns + i] & 0xFF : 0;
+				int upLeft = row > 0 && i > 0 ? result[out - columns + i - 1] & 0xFF : 0;
+				int value;
+				switch (type) {
+					case 0:
+						value = raw;
+						break;
+					case 1:
+						value = raw + left;
+						break;
+					case 2:
+						value = raw + up;
+						break;
+					case 3:
+						value = raw + ((left + up) >> 1);
+						break;
+					case 4:
+						value = raw + paeth(left, up, upLeft);
+						break;
+					default:
+						throw new IOException("Invalid PNG predictor type " + type);
+				}
+				result[out + i] = (byte) value;
+			}
+		}
+		return result;
+	}
+
+	private static int paeth(int left, int up, int upLeft) {
+		int p = left + up - upLeft;
+		int pa = Math.abs(p - left);
+		int pb = Math.abs(p - up);
+		int pc = Math.abs(p - upLeft);
+		if (pa <= pb && pa <= pc) {
+			return left;
+		}
+		return pb <= pc ? up : upLeft;
+	}
+
+	private static XMLInputFactory createXMLInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+		return factory;
+	}
+
+	private static boolean startsWith(byte[] data, int offset, byte[] prefix) {
+		for (int i = 0; i < prefix.length; ++i) {
+			if (data[offset + i] != prefix[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isName(Object object, String name) {
+		return object instanceof Name && name.equals(((Name) object).value);
+	}
+
+	private static boolean isKeyword(Object token, String keyword) {
+		return token instanceof Keyword && keyword.equals(((Keyword) token).value);
+	}
+
+	private static long toLong(Object token) throws IOException {
+		if (token instanceof Long) {
+			return (Long) token;
+		}
+		throw new IOException("Integer is expected instead of " + token);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> toDictionary(Object object) throws IOException {
+		if (object instanceof Map) {
+			return (Map<String, Object>) object;
+		}
+		throw new IOException("Dictionary is expected instead of " + object);
+	}
+
+	private interface Source {
+		long length() throws IOException;
+
+		int read(long position, byte[] buffer, int offset, int length) throws IOException;
+
+		void readFully(long position, byte[] buffer) throws IOException;
+	}
+
+	private static final class FileSource implements Source {
+		private final RandomAccessFile file;
+
+		FileSource(RandomAccessFile file) {
+			this.file = file;
+		}
+
+		@Override
+		public long length() throws IOException {
+			return this.file.length();
+		}
+
+		@Override
+		public int read(long position, byte[] buffer, int offset, int length) throws IOException {
+			this.file.seek(position);
+			return this.file.read(buffer, offset, length);
+		}
+
+		@Override
+		public void readFully(long position, byte[] buffer) throws IOException {
+			this.file.seek(position);
+			this.file.readFully(buffer);
+		}
+	}
+
+	private static final class ArraySource implements Source {
+		private final byte[] data;
+
+		ArraySource(byte[] data) {
+			this.data = data;
+		}
+
+		@Override
+		public long length() {
+			return this.data.length;
+		}
+
+		@Override
+		public int read(long position, byte[] buffer, int offset, int length) {
+			if (position >= this.data.length) {
+				return -1;
+			}
+			int count = (int) Math.min(length, this.data.length - position);
+			System.arraycopy(this.data, (int) position, buffer, offset, count);
+			return count;
+		}
+
+		@Override
+		public void readFully(long position, byte[] buffer) throws IOException {
+			if (read(position, buffer, 0, buffer.length) != buffer.length) {
+				throw new IOException("Unexpected end of data");
+			}
+		}
+	}
+
+	private static final class RegionInputStream extends InputStream {
+		private final Source source;
+		private long position;
+		private final long end;
+
+		RegionInputStream(Source source, long position, long length) {
+			this.source = source;
+			this.position = position;
+			this.end = position + length;
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] one = new byte[1];
+			return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			if (length == 0) {
+				return 0;
+			}
+			if (this.position >= this.end) {
+				return -1;
+			}
+			int read = this.source.read(this.position, buffer, offset,
+					(int) Math.min(length, this.end - this.position));
+			if (read > 0) {
+				this.position += read;
+			}
+			return read;
+		}
+	}
+
+	/**
+	 * Stream failing once more than the given number of bytes has been read
+	 */
+	private static final class BoundedInputStream extends FilterInputStream {
+		private final long limit;
+		private long count;
+
+		BoundedInputStream(InputStream in, long limit) {
+			super(in);
+			this.limit = limit;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int read = super.read();
+			if (read != -1) {
+				count(1);
+			}
+			return read;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			int read = super.read(buffer, offset, length);
+			if (read > 0) {
+				count(read);
+			}
+			return read;
+		}
+
+		private void count(int read) throws IOException {
+			this.count += read;
+			if (this.count > this.limit) {
+				throw new IOException("Decoded stream is longer than " + this.limit + " bytes");
+			}
+		}
+	}
+
+	private abstract static class XrefSection {
+		/**
+		 * @return entry as array of its type and two fields, or null if the
+		 * object is not described in this section
+		 */
+		abstract long[] lookup(long number) throws IOException;
+	}
+
+	private final class TableSection extends XrefSection {
+		private final List<long[]> subsections = new ArrayList<>();
+		private StreamSection hybridStream;
+
+		@Override
+		long[] lookup(long number) throws IOException {
+			long[] entry = lookupTable(number);
+			if (this.hybridStream != null && (entry == null || entry[0] == 0)) {
+				long[] streamEntry = this.hybridStream.lookup(number);
+				if (streamEntry != null && streamEntry[0] != 0) {
+					return streamEntry;
+				}
+			}
+			return entry;
+		}
+
+		private long[] lookupTable(long number) throws IOException {
+			for (long[] subsection : this.subsections) {
+				if (number < subsection[0] || number >= subsection[0] + subsection[1]) {
+					continue;
+				}
+				byte[] entry = new byte[XREF_ENTRY_SIZE];
+				FlavourSniffer.this.source.readFully(subsection[2] + (number - subsection[0]) * XREF_ENTRY_SIZE, entry);
+				if (entry[10] != ' ' || entry[16] != ' ') {
+					throw new IOException("Invalid cross reference table entry");
+				}
+				if (entry[17] == 'f') {
+					return new long[]{0, 0, 0};
+				} else if (entry[17] != 'n') {
+					throw new IOException("Invalid cross reference table entry");
+				}
+				return new long[]{1, Long.parseLong(new String(entry, 0, 10, StandardCharsets.US_ASCII)),
+						Long.parseLong(new String(entry, 11, 5, StandardCharsets.US_ASCII))};
+			}
+			return null;
+		}
+	}
+
+	private static final class StreamSection extends XrefSection {
+		private final Map<String, Object> dictionary;
+		private final byte[] data;
+		private final int[] widths = new int[3];
+		private final long[] index;
+
+		StreamSection(Map<String, Object> dictionary, byte[] data) throws IOException {
+			this.dictionary = dictionary;
+			this.data = data;
+			Object w = dictionary.get("W");
+			if (!(w instanceof List) || ((List<?>) w).size() != 3) {
+				throw new IOException("Invalid W entry of cross reference stream");
+			}
+			for (int i = 0; i < 3; ++i) {
+				this.widths[i] = (int) toLong(((List<?>) w).get(i));
+			}
+			Object index = dictionary.get("Index");
+			if (index instanceof List) {
+				List<?> list = (List<?>) index;
+				this.index = new long[list.size()];
+				for (int i = 0; i < list.size(); ++i) {
+					this.index[i] = toLong(list.get(i));
+				}
+			} else {
+				this.index = new long[]{0, toLong(dictionary.get("Size"))};
+			}
+		}
+
+		@Override
+		long[] lookup(long number) throws IOException {
+			int rowLength = this.widths[0] + this.widths[1] + this.widths[2];
+			long row = 0;
+			for (int i = 0; i + 1 < this.index.length; i += 2) {
+				long start = this.index[i];
+				long count = this.index[i + 1];
+				if (number >= start && number < start + count) {
+					long position = (row + number - start) * rowLength;
+					if (position + rowLength > this.data.length) {
+						throw new IOException("Cross reference stream is too short");
+					}
+					int offset = (int) position;
+					long type = this.widths[0] == 0 ? 1 : readField(offset, this.widths[0]);
+					long first = readField(offset + this.widths[0], this.widths[1]);
+					long second = readField(offset + this.widths[0] + this.widths[1], this.widths[2]);
+					return new long[]{type, first, second};
+				}
+				row += count;
+			}
+			return null;
+		}
+
+		private long readField(int offset, int width) {
+			long value = 0;
+			for (int i = 0; i < width; ++i) {
+				value = (value << 8) | (this.data[offset + i] & 0xFF);
+			}
+			return value;
+		}
+	}
+
+	private static final class StreamObject {
+		private final Map<String, Object> dictionary;
+		private final long dataOffset;
+
+		StreamObject(Map<String, Object> dictionary, long dataOffset) {
+			this.dictionary = dictionary;
+			this.dataOffset = dataOffset;
+		}
+	}
+
+	private static final class ObjectStream {
+		private final byte[] data;
+		private final long first;
+
+		ObjectStream(byte[] data, long first) {
+			this.data = data;
+			this.first = first;
+		}
+	}
+
+	private static final class Name {
+		private final String value;
+
+		Name(String value) {
+			this.value = value;
+		}
+	}
+
+	private static final class Keyword {
+		private final String value;
+
+		Keyword(String value) {
+			this.value = value;
+		}
+
+		@Override
+		public String toString() {
+			return this.value;
+		}
+	}
+
+	private static final class Ref {
+		private final long number;
+		private final long generation;
+
+		Ref(long number, long generation) {
+			this.number = number;
+			this.generation = generation;
+		}
+	}
+
+	/**
+	 * Tokenizer and parser of direct objects over buffered random access data
+	 */
+	private static final class Lexer {
+		private static final Object STRING = new Object();
+
+		private final Source source;
+		private final byte[] buffer = new byte[BUFFER_SIZE];
+		private long bufferStart;
+		private int bufferLength;
+		private long position;
+
+		Lexer(Source source) {
+			this.source = source;
+		}
+
+		void seek(long position) {
+			this.position = position;
+		}
+
+		long getPosition() {
+			return this.position;
+		}
+
+		int peek() throws IOException {
+			if (this.position < this.bufferStart || this.position >= this.bufferStart + this.bufferLength) {
+				this.bufferStart = this.position;
+				this.bufferLength = Math.max(this.source.read(this.position, this.buffer, 0, BUFFER_SIZE), 0);
+				if (this.bufferLength == 0) {
+					return -1;
+				}
+			}
+			return this.buffer[(int) (this.position - this.bufferStart)] & 0xFF;
+		}
+
+		int read() throws IOException {
+			int res = peek();
+			if (res != -1) {
+				++this.position;
+			}
+			return res;
+		}
+
+		void skipWhitespaces() throws IOException {
+			int c = peek();
+			while (c != -1) {
+				if (c == '%') {
+					while (c != -1 && c != '\r' && c != '\n') {
+						read();
+						c = peek();
+					}
+				} else if (isWhitespace(c)) {
+					read();
+					c = peek();
+				} else {
+					return;
+				}
+			}
+		}
+
+		Object nextToken() throws IOException {
+			skipWhitespaces();
+			int c = read();
+			switch (c) {
+				case -1:
+					return null;
+				case '/':
+					return new Name(readName());
+				case '<':
+					if (peek() == '<') {
+						read();
+						return new Keyword("<<");
+					}
+					skipUntil('>');
+					return STRING;
+				case '>':
+					if (read() != '>') {
+						throw new IOException("Unexpected >");
+					}
+					return new Keyword(">>");
+				case '[':
+					return new Keyword("[");
+				case ']':
+					return new Keyword("]");
+				case '(':
+					skipLiteralString();
+					return STRING;
+				default:
+					StringBuilder builder = new StringBuilder();
+					builder.append((char) c);
+					while ((c = peek()) != -1 && !isWhitespace(c) && !isDelimiter(c)) {
+						builder.append((char) read());
+					}
+					return toNumberOrKeyword(builder.toString());
+			}
+		}
+
+		Object parseObject() throws IOException {
+			return parseObject(nextToken());
+		}
+
+		private Object parseObject(Object token) throws IOException {
+			if (token == null) {
+				throw new IOException("Unexpected end of data");
+			} else if (isKeyword(token, "<<")) {
+				Map<String, Object> dictionary = new HashMap<>();
+				Object key = nextToken();
+				while (!isKeyword(key, ">>")) {
+					if (!(key instanceof Name)) {
+						throw new IOException("Name is expected as dictionary key");
+					}
+					dictionary.put(((Name) key).value, parseObject());
+					key = nextToken();
+				}
+				return dictionary;
+			} else if (isKeyword(token, "[")) {
+				List<Object> array = new ArrayList<>();
+				Object element = nextToken();
+				while (!isKeyword(element, "]")) {
+					array.add(parseObject(element));
+					element = nextToken();
+				}
+				return array;
+			} else if (token instanceof Long) {
+				long start = this.position;
+				Object generation = nextToken();
+				if (generation instanceof Long && isKeyword(nextToken(), "R")) {
+					return new Ref((Long) token, (Long) generation);
+				}
+				seek(start);
+			} else if (isKeyword(token, "null")) {
+				return null;
+			}
+			return token;
+		}
+
+		private String readName() throws IOException {
+			StringBuilder builder = new StringBuilder();
+			int c;
+			while ((c = peek()) != -1 && !isWhitespace(c) && !isDelimiter(c)) {
+				read();
+				if (c == '#') {
+					int hi = Character.digit(read(), 16);
+					int lo = Character.digit(read(), 16);
+					if (hi < 0 || lo < 0) {
+						throw new IOException("Invalid escape in name");
+					}
+					c = (hi << 4) | lo;
+				}
+				builder.append((char) c);
+			}
+			return builder.toString();
+		}
+
+		private void skipUntil(int end) throws IOException {
+			int c;
+			while ((c = read()) != end) {
+				if (c == -1) {
+					throw new IOException("Unexpected end of data");
+				}
+			}
+		}
+
+		private void skipLiteralString() throws IOException {
+			int depth = 1;
+			while (depth > 0) {
+				int c = read();
+				if (c == -1) {
+					throw new IOException("Unexpected end of data");
+				} else if (c == '\\') {
+					read();
+				} else if (c == '(') {
+					++depth;
+				} else if (c == ')') {
+					--depth;
+				}
+			}
+		}
+
+		private static Object toNumberOrKeyword(String token) {
+			char first = token.charAt(0);
+			if ((first >= '0' && first <= '9') || first == '-' || first == '+' || first == '.') {
+				try {
+					return Long.valueOf(token);
+				} catch (NumberFormatException e) {
+					try {
+						return Double.valueOf(token);
+					} catch (NumberFormatException ex) {
+						return new Keyword(token);
+					}
+				}
+			}
+			return new Keyword(token);
+		}
+
+		private static boolean isWhitespace(int c) {
+			return c == 0 || c == '\t' || c == '\n' || c == '\f' || c == '\r' || c == ' ';
+		}
+
+		private static boolean isDelimiter(int c) {
+			return c == '(' || c == ')' || c == '<' || c == '>' || c == '[' || c == ']'
+					|| c == '{' || c == '}' || c == '/' || c == '%';
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools;
+
+/**
+ * Compact identifier of a glyph model object. It keeps the (font, code,
+ * rendering mode) tuple together with a precomputed hash, so glyph
+ * occurrences can be compared and deduplicated without building strings.
+ * String representation is materialized only on request and is cached
+ * inside the key.
+ *
+ * @see IDGenerator#generateGlyphKey(int, String, int, int)
+ */
+public final class GlyphKey {
+
+	private final int fontHashCode;
+	private final String fontName;
+	private final int glyphCode;
+	private final int renderingMode;
+	private final int hash;
+
+	private String id;
+
+	GlyphKey(int fontHashCode, String fontName, int glyphCode, int renderingMode) {
+		this.fontHashCode = fontHashCode;
+		this.fontName = fontName;
+		this.glyphCode = glyphCode;
+		this.renderingMode = renderingMode;
+		int result = fontHashCode;
+		result = 31 * result + (fontName != null ? fontName.hashCode() : 0);
+		result = 31 * result + glyphCode;
+		result = 31 * result + renderingMode;
+		this.hash = result;
+	}
+
+	public int getFontHashCode() {
+		return this.fontHashCode;
+	}
+
+	public String getFontName() {
+		return this.fontName;
+	}
+
+	public int getGlyphCode() {
+		return this.glyphCode;
+	}
+
+	public int getRenderingMode() {
+		return this.renderingMode;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		GlyphKey that = (GlyphKey) o;
+		return this.hash == that.hash
+				&& this.fontHashCode == that.fontHashCode
+				&& this.glyphCode == that.glyphCode
+				&& this.renderingMode == that.renderingMode
+				&& (this.fontName != null ? this.fontName.equals(that.fontName) : that.fontName == null);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.hash;
+	}
+
+	/**
+	 * @return string of the form 'hashcode fontName glyphCode renderingMode'
+	 */
+	@Override
+	public String toString() {
+		if (this.id == null) {
+			this.id = String.valueOf(this.fontHashCode) + ' ' + this.fontName + ' '
+					+ this.glyphCode + ' ' + this.renderingMode;
+		}
+		return this.id;
+	}
+}
@@ -35,6 +35,14 @@ import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDOutlin
  */
 public final class IDGenerator {
 
+	private static final int GENERATION_BITS = 16;
+	private static final long GENERATION_MASK = (1L << GENERATION_BITS) - 1;
+
+	/**
+	 * Value of packed key for objects that have no ID
+	 */
+	public static final long NO_KEY = -1L;
+
     private IDGenerator() {
         // Disable default constructor
     }
@@ -49,12 +57,39 @@ public final class IDGenerator {
      * @return string representation of ID
      */
     public static String generateID(COSBase pdfBoxObject) {
+        return generateID(generateKey(pdfBoxObject));
+    }
+
+    /**
+     * Generate compact key for pdf box object. Current method packs object
+     * number and generation number of {@link org.apache.pdfbox.cos.COSObject}
+     * into one long value, and returns {@link #NO_KEY} for other pdf box objects
+     *
+     * @param pdfBoxObject
+     *            object of pdf box library
+     * @return packed object key
+     */
+    public static long generateKey(COSBase pdfBoxObject) {
         if (pdfBoxObject instanceof COSObject) {
-            return String.valueOf(((COSObject) pdfBoxObject)
-					.getObjectNumber() + " " + ((COSObject) pdfBoxObject)
-					.getGenerationNumber());
+            COSObject object = (COSObject) pdfBoxObject;
+            return (object.getObjectNumber() << GENERATION_BITS)
+                    | (object.getGenerationNumber() & GENERATION_MASK);
         }
-        return null;
+        return NO_KEY;
+    }
+
+    /**
+     * Materialize ID of the form 'N M' from the key generated by
+     * {@link #generateKey(COSBase)}
+     *
+     * @param key packed object key
+     * @return string representation of ID or <code>null</code> for {@link #NO_KEY}
+     */
+    public static String generateID(long key) {
+        if (key == NO_KEY) {
+            return null;
+        }
+        return String.valueOf(key >>> GENERATION_BITS) + ' ' + (key & GENERATION_MASK);
     }
 
     /**
@@ -68,7 +103,22 @@ public final class IDGenerator {
      * @return string representation of ID
      */
     public static String generateID(int hashcode, String fontName, int glyphCode, int renderingMode) {
-        return String.valueOf(hashcode) + ' ' + fontName + ' ' + glyphCode + ' ' + renderingMode;
+        return generateGlyphKey(hashcode, fontName, glyphCode, renderingMode).toString();
+    }
+
+    /**
+     * Generate compact key for font glyph. Glyph model objects are shared
+     * per key, so string representation of the key is built at most once
+     * for each glyph model object.
+     *
+     * @param hashcode  hashcode of font dictionary
+     * @param fontName  name of font
+     * @param glyphCode code of glyph
+     * @param renderingMode text rendering mode of glyph
+     * @return glyph key
+     */
+    public static GlyphKey generateGlyphKey(int hashcode, String fontName, int glyphCode, int renderingMode) {
+        return new GlyphKey(hashcode, fontName, glyphCode, renderingMode);
     }
 
     /**
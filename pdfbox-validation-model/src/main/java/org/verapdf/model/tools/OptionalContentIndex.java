@@ -0,0 +1,152 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools;
+
+import org.apache.log4j.Logger;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.graphics.optionalcontent.PDOptionalContentProperties;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of optional content properties of the document. Holds names of all
+ * optional content groups, names of all configurations and flattened Order
+ * arrays of configurations, so checks of configuration dictionaries do not
+ * repeat traversal of the properties.
+ */
+public class OptionalContentIndex {
+
+	private static final Logger LOGGER = Logger.getLogger(OptionalContentIndex.class);
+
+	private static final COSName CONFIGS = COSName.getPDFName("Configs");
+
+	private final Set<String> groupNames;
+	private final Set<String> configNames = new HashSet<>();
+	private final Map<COSBase, Set<String>> orderNames = new IdentityHashMap<>();
+
+	/**
+	 * @param properties optional content properties of the document
+	 */
+	public OptionalContentIndex(PDOptionalContentProperties properties) {
+		Set<String> names = new HashSet<>();
+		Collections.addAll(names, properties.getGroupNames());
+		this.groupNames = Collections.unmodifiableSet(names);
+
+		COSDictionary contentProperties = properties.getCOSObject();
+		COSBase defaultConfig = contentProperties.getDictionaryObject(COSName.D);
+		if (defaultConfig instanceof COSDictionary) {
+			addConfigName((COSDictionary) defaultConfig);
+		}
+		COSBase configs = contentProperties.getDictionaryObject(CONFIGS);
+		if (configs instanceof COSArray) {
+			COSArray configsArray = (COSArray) configs;
+			for (int i = 0; i < configsArray.size(); i++) {
+				COSBase config = configsArray.getObject(i);
+				if (config instanceof COSDictionary) {
+					addConfigName((COSDictionary) config);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates index that contains only the given group names
+	 *
+	 * @param groupNames names of optional content groups
+	 */
+	public OptionalContentIndex(Collection<String> groupNames) {
+		this.groupNames = Collections.unmodifiableSet(new HashSet<>(groupNames));
+	}
+
+	private void addConfigName(COSDictionary config) {
+		String name = config.getString(COSName.NAME);
+		if (name != null) {
+			this.configNames.add(name);
+		}
+	}
+
+	/**
+	 * @return distinct names of all optional content groups
+	 */
+	public Set<String> getGroupNames() {
+		return this.groupNames;
+	}
+
+	/**
+	 * @param name name of the configuration dictionary
+	 * @return true if some configuration dictionary has the given name
+	 */
+	public boolean containsConfigName(String name) {
+		return this.configNames.contains(name);
+	}
+
+	/**
+	 * @param order value of the Order entry of configuration dictionary
+	 * @return true if every optional content group is present in the order
+	 */
+	public boolean doesOrderContainAllGroups(COSArray order) {
+		Set<String> names = this.orderNames.get(order);
+		if (names == null) {
+			names = getOrderNames(order);
+			this.orderNames.put(order, names);
+		}
+		return names.containsAll(this.groupNames);
+	}
+
+	private static Set<String> getOrderNames(COSArray order) {
+		Set<String> res = new HashSet<>();
+		Set<COSArray> visited = Collections.newSetFromMap(new IdentityHashMap<COSArray, Boolean>());
+		Deque<COSArray> arrays = new ArrayDeque<>();
+		arrays.push(order);
+		visited.add(order);
+		boolean isTopLevel = true;
+		while (!arrays.isEmpty()) {
+			COSArray array = arrays.pop();
+			for (int i = 0; i < array.size(); i++) {
+				COSBase element = array.getObject(i);
+				if (element instanceof COSArray) {
+					if (visited.add((COSArray) element)) {
+						arrays.push((COSArray) element);
+					}
+				} else if (element instanceof COSDictionary) {
+					String name = ((COSDictionary) element).getString(COSName.NAME);
+					if (name != null) {
+						res.add(name);
+					}
+				} else if (isTopLevel) {
+					LOGGER.debug("Invalid object type in order array. Ignoring the object.");
+				}
+			}
+			isTopLevel = false;
+		}
+		return res;
+	}
+}
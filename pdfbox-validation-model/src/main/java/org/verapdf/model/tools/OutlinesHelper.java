@@ -20,68 +20,49 @@
  */
 package org.verapdf.model.tools;
 
-import org.apache.pdfbox.pdmodel.PDDocumentCatalog;
-import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDDocumentOutline;
-import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDOutlineItem;
+import org.apache.log4j.Logger;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.verapdf.features.pb.tools.PBOutlineIndex;
+import org.verapdf.model.impl.pb.containers.StaticContainers;
 import org.verapdf.model.impl.pb.pd.PBoxPDOutline;
 import org.verapdf.model.pdlayer.PDOutline;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * @author Evgeniy Muravitskiy
  */
 public class OutlinesHelper {
 
+	private static final Logger LOGGER = Logger.getLogger(OutlinesHelper.class);
+
 	private OutlinesHelper() {
 		// disable default constructor
 	}
 
-	public static List<PDOutline> getOutlines(PDDocumentCatalog catalog) {
-		Map<PDOutlineItem, String> outlines = getOutlinesMap(catalog);
-		if (outlines.size() > 0) {
-			List<PDOutline> result = new ArrayList<>(outlines.size());
-			for (Map.Entry<PDOutlineItem, String> entry : outlines.entrySet()) {
-				result.add(new PBoxPDOutline(entry.getKey(), entry.getValue()));
-			}
-			outlines.clear();
-			return Collections.unmodifiableList(result);
+	/**
+	 * @param document pdfbox document
+	 * @return model objects for all outline items of the document in
+	 * document order, limited by the parser config
+	 */
+	public static List<PDOutline> getOutlines(PDDocument document) {
+		int limit = StaticContainers.getParserConfig().getOutlineItemsLimit();
+		PBOutlineIndex index = PBOutlineIndex.of(document, limit);
+		if (index.isTruncated()) {
+			LOGGER.warn("Number of outline items exceeds " + limit + ", only first " + limit
+					+ " items are validated");
 		}
-			return Collections.emptyList();
-	}
-
-	private static Map<PDOutlineItem, String> getOutlinesMap(PDDocumentCatalog catalog) {
-		if (catalog != null) {
-			PDDocumentOutline documentOutline = catalog.getDocumentOutline();
-			if (documentOutline != null) {
-				PDOutlineItem firstChild = documentOutline.getFirstChild();
-				if (firstChild != null) {
-					Deque<PDOutlineItem> stack = new ArrayDeque<>();
-					stack.push(firstChild);
-					return getOutlinesMap(stack);
-				}
+		List<PBOutlineIndex.Entry> entries = index.getEntries();
+		if (entries.size() > 0) {
+			List<PDOutline> result = new ArrayList<>(entries.size());
+			for (PBOutlineIndex.Entry entry : entries) {
+				result.add(new PBoxPDOutline(entry.getItem(), IDGenerator.generateID(entry.getItem())));
 			}
+			return Collections.unmodifiableList(result);
 		}
-
-		return Collections.emptyMap();
-	}
-
-	private static Map<PDOutlineItem, String> getOutlinesMap(Deque<PDOutlineItem> stack) {
-		Map<PDOutlineItem, String> result = new HashMap<>();
-		do {
-			PDOutlineItem item = stack.pop();
-			PDOutlineItem nextSibling = item.getNextSibling();
-			PDOutlineItem firstChild = item.getFirstChild();
-			if (nextSibling != null && !result.containsKey(nextSibling)) {
-				stack.add(nextSibling);
-			}
-			if (firstChild != null && !result.containsKey(firstChild)) {
-				stack.add(firstChild);
-			}
-			result.put(item, IDGenerator.generateID(item));
-		} while (!stack.isEmpty());
-
-		return result;
+		return Collections.emptyList();
 	}
 
 }
@@ -0,0 +1,225 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools;
+
+import org.verapdf.model.impl.pb.cos.PBCosInteger;
+import org.verapdf.model.impl.pb.cos.PBCosReal;
+import org.verapdf.model.impl.pb.cos.PBCosRenderingIntent;
+import org.verapdf.model.impl.pb.operator.generalgs.PBOp_J_line_cap;
+import org.verapdf.model.impl.pb.operator.generalgs.PBOp_M_miter_limit;
+import org.verapdf.model.impl.pb.operator.generalgs.PBOp_i;
+import org.verapdf.model.impl.pb.operator.generalgs.PBOp_j_line_join;
+import org.verapdf.model.impl.pb.operator.generalgs.PBOp_ri;
+import org.verapdf.model.impl.pb.operator.generalgs.PBOp_w_line_width;
+import org.verapdf.model.impl.pb.operator.pathconstruction.PBOp_c;
+import org.verapdf.model.impl.pb.operator.pathconstruction.PBOp_h;
+import org.verapdf.model.impl.pb.operator.pathconstruction.PBOp_l;
+import org.verapdf.model.impl.pb.operator.pathconstruction.PBOp_m_moveto;
+import org.verapdf.model.impl.pb.operator.pathconstruction.PBOp_re;
+import org.verapdf.model.impl.pb.operator.pathconstruction.PBOp_v;
+import org.verapdf.model.impl.pb.operator.pathconstruction.PBOp_y;
+import org.verapdf.model.impl.pb.operator.textposition.PBOpTextPosition;
+import org.verapdf.model.impl.pb.operator.textposition.PBOp_TD_Big;
+import org.verapdf.model.impl.pb.operator.textposition.PBOp_Td;
+import org.verapdf.model.impl.pb.operator.textposition.PBOp_Tm;
+import org.verapdf.model.impl.pb.operator.textstate.PBOp_Tc;
+import org.verapdf.model.impl.pb.operator.textstate.PBOp_Tl;
+import org.verapdf.model.impl.pb.operator.textstate.PBOp_Ts;
+import org.verapdf.model.impl.pb.operator.textstate.PBOp_Tw;
+import org.verapdf.model.impl.pb.operator.textstate.PBOp_Tz;
+import org.verapdf.model.impl.pb.operator.type3font.PBOp_d0;
+import org.verapdf.model.impl.pb.operator.type3font.PBOp_d1;
+import org.verapdf.pdfa.validation.profiles.Rule;
+import org.verapdf.pdfa.validation.profiles.ValidationProfile;
+import org.verapdf.pdfa.validation.profiles.Variable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Set of model types that can be checked by some validation profile.
+ * Model objects of other types are never tested by the validator and
+ * their creation can be skipped if no reachable object can be found
+ * through their links.
+ * <p>
+ * Model implementation class is considered reachable if the type of any
+ * model interface it implements, directly or through its super types,
+ * is used as an object of some rule or variable of the profile, or if any
+ * class of objects it links to is reachable. The model has no static
+ * description of links, so link targets are listed here for the classes
+ * that can be pruned. Classes with unknown link targets are always
+ * reachable.
+ */
+public final class ReachableTypes {
+
+	private static final String MODEL_PACKAGE = "org.verapdf.model.";
+	private static final Map<Class<?>, Class<?>[]> LINK_TARGETS = createLinkTargets();
+	private static final Map<ValidationProfile, ReachableTypes> PROFILES = new WeakHashMap<>();
+
+	private final Set<String> types;
+	private final Map<Class<?>, Boolean> reachableClasses = new ConcurrentHashMap<>();
+
+	private ReachableTypes(Set<String> types) {
+		this.types = Collections.unmodifiableSet(types);
+	}
+
+	/**
+	 * Collects types of all objects used in rules and variables of the profile.
+	 * The result is computed once per profile and reused for all documents
+	 * validated against it. Model parser created with
+	 * {@code ModelParser.createModelWithFlavour(file, flavour,
+	 * ModelParserConfig.defaultConfig().withReachableTypes(ReachableTypes.fromProfile(profile)))}
+	 * skips creation of model objects the profile can not check.
+	 *
+	 * @param profile validation profile
+	 * @return reachable types of the given profile
+	 */
+	public static ReachableTypes fromProfile(ValidationProfile profile) {
+		if (profile == null) {
+			throw new IllegalArgumentException("Validation profile can not be null");
+		}
+		synchronized (PROFILES) {
+			ReachableTypes res = PROFILES.get(profile);
+			if (res == null) {
+				res = collect(profile);
+				PROFILES.put(profile, res);
+			}
+			return res;
+		}
+	}
+
+	private static ReachableTypes collect(ValidationProfile profile) {
+		Set<String> types = new HashSet<>();
+		for (Rule rule : profile.getRules()) {
+			types.add(rule.getObject());
+		}
+		for (Variable variable : profile.getVariables()) {
+			types.add(variable.getObject());
+		}
+		return new ReachableTypes(types);
+	}
+
+	/**
+	 * @return names of model types checked by the profile
+	 */
+	public Set<String> getTypes() {
+		return this.types;
+	}
+
+	/**
+	 * @param type model type name
+	 * @return true if the profile has rules or variables on the given type
+	 */
+	public boolean isReachable(String type) {
+		return this.types.contains(type);
+	}
+
+	/**
+	 * @param implementationClass class of the model object implementation
+	 * @return true if objects of the given class, or objects reachable from
+	 *         them through links, can be checked by the profile
+	 */
+	public boolean isReachable(Class<?> implementationClass) {
+		Boolean res = this.reachableClasses.get(implementationClass);
+		if (res == null) {
+			res = Boolean.valueOf(computeReachable(implementationClass));
+			this.reachableClasses.put(implementationClass, res);
+		}
+		return res.booleanValue();
+	}
+
+	private boolean computeReachable(Class<?> implementationClass) {
+		if (implementsReachableType(implementationClass)) {
+			return true;
+		}
+		Class<?>[] targets = LINK_TARGETS.get(implementationClass);
+		if (targets == null) {
+			return true;
+		}
+		for (Class<?> target : targets) {
+			if (isReachable(target)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean implementsReachableType(Class<?> clazz) {
+		if (clazz == null) {
+			return false;
+		}
+		if (clazz.isInterface() && clazz.getName().startsWith(MODEL_PACKAGE)
+				&& this.types.contains(clazz.getSimpleName())) {
+			return true;
+		}
+		for (Class<?> superInterface : clazz.getInterfaces()) {
+			if (implementsReachableType(superInterface)) {
+				return true;
+			}
+		}
+		return implementsReachableType(clazz.getSuperclass());
+	}
+
+	private static Map<Class<?>, Class<?>[]> createLinkTargets() {
+		Class<?>[] none = new Class<?>[0];
+		Class<?>[] integers = new Class<?>[] { PBCosInteger.class };
+		Class<?>[] numbers = new Class<?>[] { PBCosInteger.class, PBCosReal.class };
+		Map<Class<?>, Class<?>[]> res = new HashMap<>();
+		res.put(PBCosInteger.class, none);
+		res.put(PBCosReal.class, none);
+		res.put(PBCosRenderingIntent.class, none);
+
+		res.put(PBOp_i.class, numbers);
+		res.put(PBOp_J_line_cap.class, integers);
+		res.put(PBOp_j_line_join.class, integers);
+		res.put(PBOp_M_miter_limit.class, numbers);
+		res.put(PBOp_ri.class, new Class<?>[] { PBCosRenderingIntent.class });
+		res.put(PBOp_w_line_width.class, numbers);
+
+		res.put(PBOp_Td.class, numbers);
+		res.put(PBOp_TD_Big.class, numbers);
+		res.put(PBOp_Tm.class, numbers);
+		res.put(PBOpTextPosition.class, none);
+
+		res.put(PBOp_Tz.class, numbers);
+		res.put(PBOp_Tc.class, numbers);
+		res.put(PBOp_Tw.class, numbers);
+		res.put(PBOp_Tl.class, numbers);
+		res.put(PBOp_Ts.class, numbers);
+
+		res.put(PBOp_d0.class, numbers);
+		res.put(PBOp_d1.class, numbers);
+
+		res.put(PBOp_c.class, numbers);
+		res.put(PBOp_h.class, none);
+		res.put(PBOp_l.class, numbers);
+		res.put(PBOp_m_moveto.class, numbers);
+		res.put(PBOp_re.class, numbers);
+		res.put(PBOp_v.class, numbers);
+		res.put(PBOp_y.class, numbers);
+		return Collections.unmodifiableMap(res);
+	}
+}
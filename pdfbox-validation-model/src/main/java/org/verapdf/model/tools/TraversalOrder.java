@@ -0,0 +1,81 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Order of links used when the model is parsed in fail-fast mode. Validator
+ * traverses linked objects in the order of links, so moving links to cheap
+ * document level objects before links to page content lets the validator
+ * reach the configured number of failed checks before expensive parts of
+ * the model are created.
+ */
+public final class TraversalOrder {
+
+	private static final Map<String, List<String>> ORDERED_LINKS = new ConcurrentHashMap<>();
+
+	private TraversalOrder() {
+	}
+
+	/**
+	 * Reorders links of the model object. Result depends only on the type of
+	 * the object and is computed once per type.
+	 *
+	 * @param objectType type of the model object
+	 * @param links      links of the model object in the default order
+	 * @param first      links that should be traversed before all other ones
+	 * @param last       links that should be traversed after all other ones
+	 * @return unmodifiable list of the same links in fail-fast order
+	 */
+	public static List<String> reorder(String objectType, List<String> links, List<String> first, List<String> last) {
+		List<String> ordered = ORDERED_LINKS.get(objectType);
+		if (ordered == null) {
+			ordered = Collections.unmodifiableList(reorder(links, first, last));
+			ORDERED_LINKS.put(objectType, ordered);
+		}
+		return ordered;
+	}
+
+	private static List<String> reorder(List<String> links, List<String> first, List<String> last) {
+		List<String> result = new ArrayList<>(links.size());
+		for (String link : first) {
+			if (links.contains(link)) {
+				result.add(link);
+			}
+		}
+		for (String link : links) {
+			if (!first.contains(link) && !last.contains(link)) {
+				result.add(link);
+			}
+		}
+		for (String link : last) {
+			if (links.contains(link)) {
+				result.add(link);
+			}
+		}
+		return result;
+	}
+}
@@ -25,13 +25,14 @@ import com.adobe.xmp.impl.VeraPDFMeta;
 import org.apache.log4j.Logger;
 import org.apache.pdfbox.cos.*;
 import org.apache.pdfbox.util.DateConverter;
+import org.verapdf.metadata.fixer.utils.PDFDateCodec;
 
 import java.io.IOException;
+import java.time.OffsetDateTime;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -65,6 +66,7 @@ public final class XMPChecker {
 	private static final String CREATION_DATE = "CreationDate";
 	private static final String MODIFICATION_DATE = "ModDate";
 	private static final int MAX_REQUIRED_RECORDS = 8;
+	private static final Pattern TIME_ZONE = Pattern.compile("((([+-](\\d\\d[']))(\\d\\d['])?)|[Z])");
 
 	private XMPChecker() {
 		// disable default constructor
@@ -218,11 +220,13 @@ public final class XMPChecker {
 				List<?> list = (List<?>) value;
 				return Boolean.valueOf(list.size() == 1 && list.get(0).equals(string.getString()));
 			} else if (value instanceof Calendar) {
-				// DateConverter can parse as pdf date format as simple date
-				// format
-				final String regex = "(D:)?(\\d\\d){2,7}((([+-](\\d\\d[']))(\\d\\d['])?)?|[Z])";
 				String ascii = string.getASCII();
-				if (ascii.matches(regex)) {
+				if (PDFDateCodec.isPDFDate(ascii)) {
+					OffsetDateTime date = PDFDateCodec.parsePDFDate(ascii);
+					if (date != null) {
+						return Boolean.valueOf(date.toInstant().toEpochMilli() == ((Calendar) value).getTimeInMillis());
+					}
+					// dates without time zone are resolved by PDF Box
 					final Calendar valueDate = getCalendar(ascii);
 					return Boolean.valueOf(valueDate != null && valueDate.compareTo((Calendar) value) == 0);
 				}
@@ -233,7 +237,6 @@ public final class XMPChecker {
 	}
 
 	private static Calendar getCalendar(String date) {
-		Matcher matcher = Pattern.compile("((([+-](\\d\\d[']))(\\d\\d['])?)|[Z])").matcher(date);
-		return DateConverter.toCalendar(date, matcher.find());
+		return DateConverter.toCalendar(date, TIME_ZONE.matcher(date).find());
 	}
 }
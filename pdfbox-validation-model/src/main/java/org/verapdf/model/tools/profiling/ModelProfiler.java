@@ -0,0 +1,118 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools.profiling;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Collects invocation counts, wall time and allocated bytes of model object
+ * creation and link traversal for one document. Profiler is created only
+ * when profiling is enabled in parser configuration, instrumented code
+ * checks for its presence and does no additional work otherwise.
+ * <p>
+ * Measured sections may be nested, time and allocations of a section
+ * include time and allocations of all sections inside it.
+ */
+public final class ModelProfiler {
+
+	/**
+	 * Kinds of measured operations
+	 */
+	public enum Category {
+		LINK,
+		CONTENT_STREAM_PARSING,
+		FONT_PARSING,
+		COLOR_SPACE_CREATION
+	}
+
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+	private static final boolean ALLOCATIONS_SUPPORTED = isAllocationsSupported();
+
+	private final Map<Category, Map<String, ProfilingSummary.Entry>> entries = new HashMap<>();
+
+	private long[] starts = new long[32];
+	private int depth = 0;
+
+	/**
+	 * Starts measuring of a section. Each call has to be followed by the call
+	 * of {@link #exit(Category, String, int)} in the same thread.
+	 */
+	public void enter() {
+		if (this.depth + 2 > this.starts.length) {
+			long[] newStarts = new long[this.starts.length << 1];
+			System.arraycopy(this.starts, 0, newStarts, 0, this.depth);
+			this.starts = newStarts;
+		}
+		this.starts[this.depth++] = getAllocatedBytes();
+		this.starts[this.depth++] = System.nanoTime();
+	}
+
+	/**
+	 * Finishes measuring of the last entered section
+	 *
+	 * @param category category of the section
+	 * @param key name of the measured operation inside the category
+	 * @param createdObjects number of model objects created by the section
+	 */
+	public void exit(Category category, String key, int createdObjects) {
+		long time = System.nanoTime() - this.starts[--this.depth];
+		long allocated = getAllocatedBytes() - this.starts[--this.depth];
+		Map<String, ProfilingSummary.Entry> categoryEntries = this.entries.get(category);
+		if (categoryEntries == null) {
+			categoryEntries = new HashMap<>();
+			this.entries.put(category, categoryEntries);
+		}
+		String entryKey = key == null ? "" : key;
+		ProfilingSummary.Entry entry = categoryEntries.get(entryKey);
+		if (entry == null) {
+			entry = new ProfilingSummary.Entry(category, entryKey);
+			categoryEntries.put(entryKey, entry);
+		}
+		entry.add(time, ALLOCATIONS_SUPPORTED ? allocated : -1, createdObjects);
+	}
+
+	/**
+	 * @return snapshot of collected measurements
+	 */
+	public ProfilingSummary getSummary() {
+		return new ProfilingSummary(this.entries);
+	}
+
+	private static long getAllocatedBytes() {
+		if (!ALLOCATIONS_SUPPORTED) {
+			return 0;
+		}
+		return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	private static boolean isAllocationsSupported() {
+		try {
+			return THREADS instanceof com.sun.management.ThreadMXBean
+					&& ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemorySupported()
+					&& ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemoryEnabled();
+		} catch (LinkageError | UnsupportedOperationException e) {
+			return false;
+		}
+	}
+}
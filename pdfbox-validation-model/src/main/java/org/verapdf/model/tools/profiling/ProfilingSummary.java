@@ -0,0 +1,154 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools.profiling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measurements of model operations collected for one document
+ */
+public final class ProfilingSummary {
+
+	private final List<Entry> entries;
+
+	ProfilingSummary(Map<ModelProfiler.Category, Map<String, Entry>> entries) {
+		List<Entry> result = new ArrayList<>();
+		for (Map<String, Entry> categoryEntries : entries.values()) {
+			for (Entry entry : categoryEntries.values()) {
+				result.add(entry.copy());
+			}
+		}
+		Collections.sort(result, new Comparator<Entry>() {
+			@Override
+			public int compare(Entry o1, Entry o2) {
+				return Long.compare(o2.getTotalNanos(), o1.getTotalNanos());
+			}
+		});
+		this.entries = Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * @return all measurements sorted by total time in descending order
+	 */
+	public List<Entry> getEntries() {
+		return this.entries;
+	}
+
+	/**
+	 * @param category category of the operation
+	 * @return measurements of the given category sorted by total time in descending order
+	 */
+	public List<Entry> getEntries(ModelProfiler.Category category) {
+		List<Entry> result = new ArrayList<>();
+		for (Entry entry : this.entries) {
+			if (entry.getCategory() == category) {
+				result.add(entry);
+			}
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		for (Entry entry : this.entries) {
+			builder.append(entry).append('\n');
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Measurements of one operation. For links key has the form
+	 * {@code ObjectType.linkName}, for other categories it is the type of
+	 * created object.
+	 */
+	public static final class Entry {
+		private final ModelProfiler.Category category;
+		private final String key;
+		private long invocations;
+		private long totalNanos;
+		private long allocatedBytes;
+		private long createdObjects;
+
+		Entry(ModelProfiler.Category category, String key) {
+			this.category = category;
+			this.key = key;
+		}
+
+		void add(long nanos, long allocated, int created) {
+			this.invocations++;
+			this.totalNanos += nanos;
+			this.allocatedBytes = allocated < 0 || this.allocatedBytes < 0 ? -1 : this.allocatedBytes + allocated;
+			this.createdObjects += created;
+		}
+
+		Entry copy() {
+			Entry res = new Entry(this.category, this.key);
+			res.invocations = this.invocations;
+			res.totalNanos = this.totalNanos;
+			res.allocatedBytes = this.allocatedBytes;
+			res.createdObjects = this.createdObjects;
+			return res;
+		}
+
+		public ModelProfiler.Category getCategory() {
+			return this.category;
+		}
+
+		public String getKey() {
+			return this.key;
+		}
+
+		public long getInvocations() {
+			return this.invocations;
+		}
+
+		public long getTotalNanos() {
+			return this.totalNanos;
+		}
+
+		/**
+		 * @return bytes allocated by the current thread during the operation,
+		 * or -1 if allocation measurement is not supported by the JVM
+		 */
+		public long getAllocatedBytes() {
+			return this.allocatedBytes;
+		}
+
+		/**
+		 * @return number of model objects created by the operation
+		 */
+		public long getCreatedObjects() {
+			return this.createdObjects;
+		}
+
+		@Override
+		public String toString() {
+			return this.category + " " + this.key + ": invocations=" + this.invocations
+					+ ", timeMs=" + this.totalNanos / 1_000_000 + ", allocatedBytes=" + this.allocatedBytes
+					+ ", createdObjects=" + this.createdObjects;
+		}
+	}
+}
@@ -23,6 +23,7 @@ package org.verapdf.model.tools.resources;
 import org.apache.log4j.Logger;
 import org.apache.pdfbox.cos.COSName;
 import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.documentinterchange.markedcontent.PDPropertyList;
 import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.apache.pdfbox.pdmodel.graphics.PDXObject;
 import org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace;
@@ -33,8 +34,11 @@ import org.apache.pdfbox.pdmodel.graphics.pattern.PDAbstractPattern;
 import org.apache.pdfbox.pdmodel.graphics.shading.PDShading;
 import org.apache.pdfbox.pdmodel.graphics.state.PDExtendedGraphicsState;
 
+import org.verapdf.model.impl.pb.containers.StaticContainers;
+import org.verapdf.model.tools.resources.ResourceKey.Category;
+
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.Map;
 
 /**
  * @author Evgeniy Muravitskiy
@@ -49,9 +53,9 @@ public class PDInheritableResources {
 	private final PDResources currentResources;
 	private final PDResources inheritedResources;
 
-	private boolean containsUndefinedResource = false;
+	private static final Object UNDEFINED_RESOURCE = new Object();
 
-	private final HashMap<COSName, PDFont> fontCache = new HashMap<>();
+	private boolean containsUndefinedResource = false;
 
 	protected PDInheritableResources(PDResources inheritedResources, PDResources currentResources) {
 		this.inheritedResources = inheritedResources;
@@ -77,22 +81,14 @@ public class PDInheritableResources {
 	}
 
 	public PDFont getFont(COSName name) throws IOException {
-		PDFont ret = fontCache.get(name);
-		if (ret == null) {
-			PDFont font = this.currentResources.getFont(name);
-			if (font == null) {
-				font = this.inheritedResources.getFont(name);
-				if (font != null) {
-					font.setInherited(true);
-				}
-			}
-			fontCache.put(name, font);
-			ret = font;
+		PDFont font = (PDFont) getCachedResource(this.currentResources, Category.FONT, name, false);
+		if (font == null) {
+			font = (PDFont) getCachedResource(this.inheritedResources, Category.FONT, name, true);
 		}
-		if (ret == null) {
+		if (font == null) {
 			containsUndefinedResource = true;
 		}
-		return ret;
+		return font;
 	}
 
 	public PDColorSpace getColorSpace(COSName name) throws IOException {
@@ -103,13 +99,15 @@ public class PDInheritableResources {
 			 * get it from page resource dictionary
 			 */
 			if (this.isDefaultColorSpaceUsed(name)) {
-				PDColorSpace colorSpace = this.inheritedResources.getColorSpace(name);
+				PDColorSpace colorSpace = (PDColorSpace) getCachedResource(this.inheritedResources,
+						Category.DEFAULT_COLOR_SPACE, name, false);
 				if (colorSpace == null) {
 					containsUndefinedResource = true;
 				}
 				return colorSpace;
 			}
-			PDColorSpace colorSpace = this.currentResources.getColorSpace(name);
+			PDColorSpace colorSpace = (PDColorSpace) getCachedResource(this.currentResources,
+					Category.COLOR_SPACE, name, false);
 			if (colorSpace != null) {
 				return colorSpace;
 			}
@@ -117,8 +115,8 @@ public class PDInheritableResources {
 			LOGGER.debug("Problems during color space obtain from current resource dictionary. "
 					+ "Trying to find it in inherited dictionary", e);
 		}
-		PDColorSpace colorSpace = this.inheritedResources.getColorSpace(name);
-		colorSpace = setInheritedColorSpace(colorSpace);
+		PDColorSpace colorSpace = (PDColorSpace) getCachedResource(this.inheritedResources,
+				Category.COLOR_SPACE, name, true);
 		if (colorSpace == null) {
 			containsUndefinedResource = true;
 		}
@@ -126,59 +124,111 @@ public class PDInheritableResources {
 	}
 
 	public PDExtendedGraphicsState getExtGState(COSName name) {
-		PDExtendedGraphicsState state = this.currentResources.getExtGState(name);
-		if (state != null) {
-			return state;
-		}
-		state = this.inheritedResources.getExtGState(name);
-		if (state != null) {
-			state.setInherited(true);
-			return state;
+		try {
+			return (PDExtendedGraphicsState) getResource(Category.EXT_G_STATE, name);
+		} catch (IOException e) {
+			// never thrown for graphics states
+			LOGGER.debug("Problems during graphics state obtain", e);
+			return null;
 		}
-		containsUndefinedResource = true;
-		return null;
 	}
 
 	public PDShading getShading(COSName name) throws IOException {
-		PDShading shading = this.currentResources.getShading(name);
-		if (shading != null) {
-			return shading;
-		}
-		shading = this.inheritedResources.getShading(name);
-		if (shading != null) {
-			shading.setInherited(true);
-			return shading;
-		}
-		containsUndefinedResource = true;
-		return null;
+		return (PDShading) getResource(Category.SHADING, name);
 	}
 
 	public PDAbstractPattern getPattern(COSName name) throws IOException {
-		PDAbstractPattern pattern = this.currentResources.getPattern(name);
-		if (pattern != null) {
-			return pattern;
+		return (PDAbstractPattern) getResource(Category.PATTERN, name);
+	}
+
+	public PDXObject getXObject(COSName name) throws IOException {
+		return (PDXObject) getResource(Category.X_OBJECT, name);
+	}
+
+	public PDPropertyList getProperties(COSName name) throws IOException {
+		return (PDPropertyList) getResource(Category.PROPERTIES, name);
+	}
+
+	private Object getResource(Category category, COSName name) throws IOException {
+		Object resource = getCachedResource(this.currentResources, category, name, false);
+		if (resource == null) {
+			resource = getCachedResource(this.inheritedResources, category, name, true);
 		}
-		pattern = this.inheritedResources.getPattern(name);
-		if (pattern != null) {
-			pattern.setInherited(true);
-			return pattern;
+		if (resource == null) {
+			containsUndefinedResource = true;
 		}
-		containsUndefinedResource = true;
-		return null;
+		return resource;
 	}
 
-	public PDXObject getXObject(COSName name) throws IOException {
-		PDXObject object = this.currentResources.getXObject(name);
-		if (object != null) {
-			return object;
+	/**
+	 * Resolves named resource through the document scoped cache. Resources
+	 * obtained from the inherited dictionary are marked as inherited before
+	 * they are cached, so the key includes the role of the dictionary.
+	 */
+	private static Object getCachedResource(PDResources resources, Category category,
+											COSName name, boolean inherited) throws IOException {
+		if (resources == null || resources == EMPTY_RESOURCES) {
+			return null;
 		}
-		object = this.inheritedResources.getXObject(name);
-		if (object != null) {
-			object.setInherited(true);
-			return object;
+		Map<ResourceKey, Object> cache = StaticContainers.getCachedResources();
+		ResourceKey key = new ResourceKey(resources.getCOSObject(), category, name, inherited);
+		Object resource = cache.get(key);
+		if (resource == null) {
+			resource = loadResource(resources, category, name, inherited);
+			cache.put(key, resource == null ? UNDEFINED_RESOURCE : resource);
+		}
+		return resource == UNDEFINED_RESOURCE ? null : resource;
+	}
+
+	private static Object loadResource(PDResources resources, Category category,
+									   COSName name, boolean inherited) throws IOException {
+		switch (category) {
+			case FONT: {
+				PDFont font = resources.getFont(name);
+				if (font != null && inherited) {
+					font.setInherited(true);
+				}
+				return font;
+			}
+			case COLOR_SPACE: {
+				PDColorSpace colorSpace = resources.getColorSpace(name);
+				return colorSpace != null && inherited ? setInheritedColorSpace(colorSpace) : colorSpace;
+			}
+			case DEFAULT_COLOR_SPACE:
+				return resources.getColorSpace(name);
+			case EXT_G_STATE: {
+				PDExtendedGraphicsState state = resources.getExtGState(name);
+				if (state != null && inherited) {
+					state.setInherited(true);
+				}
+				return state;
+			}
+			case SHADING: {
+				PDShading shading = resources.getShading(name);
+				if (shading != null && inherited) {
+					shading.setInherited(true);
+				}
+				return shading;
+			}
+			case PATTERN: {
+				PDAbstractPattern pattern = resources.getPattern(name);
+				if (pattern != null && inherited) {
+					pattern.setInherited(true);
+				}
+				return pattern;
+			}
+			case X_OBJECT: {
+				PDXObject object = resources.getXObject(name);
+				if (object != null && inherited) {
+					object.setInherited(true);
+				}
+				return object;
+			}
+			case PROPERTIES:
+				return resources.getProperties(name);
+			default:
+				return null;
 		}
-		containsUndefinedResource = true;
-		return null;
 	}
 
 	private boolean isDefaultColorSpaceUsed(COSName name) {
@@ -0,0 +1,85 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools.resources;
+
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+
+/**
+ * Key of the document scoped cache of resolved resources. Resource
+ * dictionaries are compared by reference, so all pages and forms that
+ * share the same Resources dictionary share cached resources. Key without
+ * a name identifies the resource object itself.
+ */
+public final class ResourceKey {
+
+	/**
+	 * Categories of named resources
+	 */
+	public enum Category {
+		FONT,
+		COLOR_SPACE,
+		DEFAULT_COLOR_SPACE,
+		EXT_G_STATE,
+		SHADING,
+		PATTERN,
+		X_OBJECT,
+		PROPERTIES
+	}
+
+	private final COSBase resources;
+	private final Category category;
+	private final COSName name;
+	private final boolean inherited;
+	private final int hashCode;
+
+	public ResourceKey(COSBase resources, Category category, COSName name, boolean inherited) {
+		this.resources = resources;
+		this.category = category;
+		this.name = name;
+		this.inherited = inherited;
+		int result = System.identityHashCode(resources);
+		result = 31 * result + category.hashCode();
+		result = 31 * result + (name != null ? name.hashCode() : 0);
+		result = 31 * result + (inherited ? 1 : 0);
+		this.hashCode = result;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof ResourceKey)) {
+			return false;
+		}
+		ResourceKey that = (ResourceKey) o;
+		return this.resources == that.resources
+				&& this.category == that.category
+				&& this.inherited == that.inherited
+				&& (this.name != null ? this.name.equals(that.name) : that.name == null);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.hashCode;
+	}
+}
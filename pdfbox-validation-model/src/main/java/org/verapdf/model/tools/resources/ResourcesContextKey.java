@@ -0,0 +1,70 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools.resources;
+
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.pdmodel.PDResources;
+
+/**
+ * Key that identifies pdf object together with resources it is used with.
+ * Objects and resource dictionaries are compared by reference, as pdfbox
+ * shares the same instances for the same indirect objects of the document.
+ */
+public final class ResourcesContextKey {
+
+	private final COSBase object;
+	private final COSBase currentResources;
+	private final COSBase inheritedResources;
+	private final int hashCode;
+
+	public ResourcesContextKey(COSBase object, PDInheritableResources resources) {
+		this.object = object;
+		this.currentResources = resources == null ? null : getCOSObject(resources.getCurrentResources());
+		this.inheritedResources = resources == null ? null : getCOSObject(resources.getInheritedResources());
+		int result = System.identityHashCode(this.object);
+		result = 31 * result + System.identityHashCode(this.currentResources);
+		result = 31 * result + System.identityHashCode(this.inheritedResources);
+		this.hashCode = result;
+	}
+
+	private static COSBase getCOSObject(PDResources resources) {
+		return resources == null ? null : resources.getCOSObject();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof ResourcesContextKey)) {
+			return false;
+		}
+		ResourcesContextKey that = (ResourcesContextKey) o;
+		return this.object == that.object
+				&& this.currentResources == that.currentResources
+				&& this.inheritedResources == that.inheritedResources;
+	}
+
+	@Override
+	public int hashCode() {
+		return this.hashCode;
+	}
+}
@@ -0,0 +1,104 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pdfa;
+
+import org.verapdf.pdfa.results.ValidationResult;
+
+import java.io.File;
+
+/**
+ * Outcome of validation of one document by {@link BatchValidationService}
+ */
+public final class BatchValidationResult {
+
+	/**
+	 * Final states of the validation task
+	 */
+	public enum Status {
+		VALIDATED,
+		FAILED,
+		TIMED_OUT,
+		CANCELLED
+	}
+
+	private final File source;
+	private final Status status;
+	private final ValidationResult result;
+	private final Throwable exception;
+	private final long elapsedMillis;
+
+	private BatchValidationResult(File source, Status status, ValidationResult result,
+								  Throwable exception, long elapsedMillis) {
+		this.source = source;
+		this.status = status;
+		this.result = result;
+		this.exception = exception;
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	static BatchValidationResult validated(File source, ValidationResult result, long elapsedMillis) {
+		return new BatchValidationResult(source, Status.VALIDATED, result, null, elapsedMillis);
+	}
+
+	static BatchValidationResult failed(File source, Throwable exception, long elapsedMillis) {
+		return new BatchValidationResult(source, Status.FAILED, null, exception, elapsedMillis);
+	}
+
+	static BatchValidationResult timedOut(File source, long elapsedMillis) {
+		return new BatchValidationResult(source, Status.TIMED_OUT, null, null, elapsedMillis);
+	}
+
+	static BatchValidationResult cancelled(File source, long elapsedMillis) {
+		return new BatchValidationResult(source, Status.CANCELLED, null, null, elapsedMillis);
+	}
+
+	/**
+	 * @return validated file
+	 */
+	public File getSource() {
+		return this.source;
+	}
+
+	public Status getStatus() {
+		return this.status;
+	}
+
+	/**
+	 * @return validation result or null if validation has not been completed
+	 */
+	public ValidationResult getResult() {
+		return this.result;
+	}
+
+	/**
+	 * @return exception thrown during parsing or validation, or null
+	 */
+	public Throwable getException() {
+		return this.exception;
+	}
+
+	/**
+	 * @return time from the start of processing of the document till its result
+	 */
+	public long getElapsedMillis() {
+		return this.elapsedMillis;
+	}
+}
@@ -0,0 +1,186 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pdfa;
+
+import org.apache.log4j.Logger;
+import org.verapdf.batch.BoundedBatchExecutor;
+import org.verapdf.model.impl.pb.containers.StaticContainers;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+import org.verapdf.pdfa.results.ValidationResult;
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validates many documents concurrently with the PDF Box foundry.
+ * <p>
+ * Documents are processed by a fixed number of workers, submission blocks
+ * when the given number of documents is waiting, in progress or has a result
+ * that has not been taken yet. Results are available in order of completion
+ * through {@link #take()} and {@link #poll(long, TimeUnit)}. Each document
+ * is processed entirely in one worker thread and per document state of the
+ * model is released after processing, so workers may be pooled or virtual
+ * threads.
+ * <p>
+ * Timeout of a document is counted from the start of its processing.
+ * Parsing and validation can not be interrupted in the middle, so when
+ * document exceeds its timeout its result is reported as timed out
+ * immediately, while its slot is released only after the worker finishes.
+ * Document cancelled during validation is reported as cancelled when its
+ * worker finishes.
+ */
+public final class BatchValidationService implements Closeable {
+
+	private static final Logger LOGGER = Logger.getLogger(BatchValidationService.class);
+
+	private final BoundedBatchExecutor<BatchValidationResult> executor;
+	private final boolean logPassedChecks;
+	private final ValidationResultCache cache;
+
+	/**
+	 * @param threads number of concurrently validated documents
+	 * @param maxPending maximum number of submitted documents whose results
+	 *                   have not been taken, including documents in progress
+	 * @param timeoutMillis timeout of one document in milliseconds, 0 means no timeout
+	 * @param logPassedChecks whether validation results contain passed checks
+	 */
+	public BatchValidationService(int threads, int maxPending, long timeoutMillis, boolean logPassedChecks) {
+		this(threads, maxPending, timeoutMillis, logPassedChecks, Executors.defaultThreadFactory());
+	}
+
+	/**
+	 * @param threads number of concurrently validated documents
+	 * @param maxPending maximum number of submitted documents whose results
+	 *                   have not been taken, including documents in progress
+	 * @param timeoutMillis timeout of one document in milliseconds, 0 means no timeout
+	 * @param logPassedChecks whether validation results contain passed checks
+	 * @param threadFactory factory of worker threads
+	 */
+	public BatchValidationService(int threads, int maxPending, long timeoutMillis, boolean logPassedChecks,
+								  ThreadFactory threadFactory) {
+		this(threads, maxPending, timeoutMillis, logPassedChecks, threadFactory, null);
+	}
+
+	/**
+	 * @param threads number of concurrently validated documents
+	 * @param maxPending maximum number of submitted documents whose results
+	 *                   have not been taken, including documents in progress
+	 * @param timeoutMillis timeout of one document in milliseconds, 0 means no timeout
+	 * @param logPassedChecks whether validation results contain passed checks
+	 * @param threadFactory factory of worker threads
+	 * @param cache cache of validation results consulted before parsing
+	 *              of each document, may be null
+	 */
+	public BatchValidationService(int threads, int maxPending, long timeoutMillis, boolean logPassedChecks,
+								  ThreadFactory threadFactory, ValidationResultCache cache) {
+		this.executor = new BoundedBatchExecutor<>(threads, maxPending, timeoutMillis, threadFactory);
+		this.logPassedChecks = logPassedChecks;
+		this.cache = cache;
+	}
+
+	/**
+	 * Submits document for validation, blocks while the maximum number
+	 * of documents are pending
+	 *
+	 * @param file document to validate
+	 * @param flavour flavour to validate against, {@link PDFAFlavour#NO_FLAVOUR}
+	 *                to detect it from the document
+	 * @return future of the task, cancelling it cancels validation of the document
+	 * @throws InterruptedException if interrupted while waiting for a free slot
+	 */
+	public Future<?> submit(File file, PDFAFlavour flavour) throws InterruptedException {
+		return this.executor.submit(new Task(file, flavour));
+	}
+
+	/**
+	 * @return next completed result, waits if no result is available yet
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public BatchValidationResult take() throws InterruptedException {
+		return this.executor.take();
+	}
+
+	/**
+	 * @return next completed result or null if no result became available in the given time
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public BatchValidationResult poll(long timeout, TimeUnit unit) throws InterruptedException {
+		return this.executor.poll(timeout, unit);
+	}
+
+	/**
+	 * @return number of submitted documents whose results have not been reported yet
+	 */
+	public int getPendingCount() {
+		return this.executor.getPendingCount();
+	}
+
+	/**
+	 * Stops accepting documents, cancels all pending validations and waits
+	 * until validations in progress finish
+	 */
+	@Override
+	public void close() {
+		this.executor.close();
+	}
+
+	private final class Task extends BoundedBatchExecutor.Task<BatchValidationResult> {
+		private final File file;
+		private final PDFAFlavour flavour;
+
+		Task(File file, PDFAFlavour flavour) {
+			this.file = file;
+			this.flavour = flavour;
+		}
+
+		@Override
+		protected BatchValidationResult process() throws Exception {
+			try {
+				PdfBoxFoundry foundry = (PdfBoxFoundry) PdfBoxFoundry.getInstance();
+				ValidationResult result = foundry.validate(this.file, this.flavour,
+						BatchValidationService.this.logPassedChecks, BatchValidationService.this.cache);
+				return BatchValidationResult.validated(this.file, result, getElapsedMillis());
+			} finally {
+				StaticContainers.clearAllContainers();
+			}
+		}
+
+		@Override
+		protected BatchValidationResult failed(Throwable e) {
+			LOGGER.debug("Problems during validation of " + this.file, e);
+			return BatchValidationResult.failed(this.file, e, getElapsedMillis());
+		}
+
+		@Override
+		protected BatchValidationResult cancelled() {
+			return BatchValidationResult.cancelled(this.file, getElapsedMillis());
+		}
+
+		@Override
+		protected BatchValidationResult timedOut() {
+			return BatchValidationResult.timedOut(this.file, getElapsedMillis());
+		}
+	}
+}
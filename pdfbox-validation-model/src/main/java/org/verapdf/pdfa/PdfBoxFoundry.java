@@ -28,11 +28,18 @@ import org.verapdf.component.ComponentDetails;
 import org.verapdf.component.Components;
 import org.verapdf.core.EncryptedPdfException;
 import org.verapdf.core.ModelParsingException;
+import org.verapdf.core.ValidationException;
 import org.verapdf.metadata.fixer.PBoxMetadataFixerImpl;
 import org.verapdf.model.ModelParser;
+import org.verapdf.model.ModelParserConfig;
+import org.verapdf.model.tools.ReachableTypes;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
+import org.verapdf.pdfa.results.ValidationResult;
+import org.verapdf.pdfa.validation.profiles.ValidationProfile;
+import org.verapdf.pdfa.validation.validators.ValidatorFactory;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 
@@ -42,7 +49,7 @@ import java.net.URI;
  * @version 0.1 Created 22 Sep 2016:09:20:18
  */
 
-class PdfBoxFoundry extends AbstractFoundry {
+public class PdfBoxFoundry extends AbstractFoundry {
 	private static final URI id = URI.create("http://pdfa.verapdf.org/Foundry#pdfbox");
 	private static final ReleaseDetails pdfBoxReleaseDetails = ReleaseDetails.addDetailsFromResource(
 			ReleaseDetails.APPLICATION_PROPERTIES_ROOT + "pdfbox-validation." + ReleaseDetails.PROPERTIES_EXT);
@@ -99,6 +106,123 @@ class PdfBoxFoundry extends AbstractFoundry {
 		return ModelParser.createModelWithFlavour(file, pdfaFlavour, defaultFlavour);
 	}
 
+	/**
+	 * Creates parser that skips creation of model objects which can not be
+	 * checked by the given validation profile.
+	 *
+	 * @param pdfStream stream of the document to parse
+	 * @param flavour flavour of the document
+	 * @param profile profile that will be used to validate parsed model
+	 * @return parser instance
+	 */
+	public PDFAParser createParser(InputStream pdfStream, PDFAFlavour flavour, ValidationProfile profile)
+			throws ModelParsingException, EncryptedPdfException {
+		return ModelParser.createModelWithFlavour(pdfStream, flavour, getConfig(profile));
+	}
+
+	/**
+	 * Creates parser that skips creation of model objects which can not be
+	 * checked by the given validation profile.
+	 *
+	 * @param file file of the document to parse
+	 * @param flavour flavour of the document
+	 * @param profile profile that will be used to validate parsed model
+	 * @return parser instance
+	 */
+	public PDFAParser createParser(File file, PDFAFlavour flavour, ValidationProfile profile)
+			throws ModelParsingException, EncryptedPdfException {
+		return ModelParser.createModelWithFlavour(file, flavour, getConfig(profile));
+	}
+
+	/**
+	 * Creates parser for fail-fast validation. Model objects of such parser
+	 * are traversed so that document level objects are checked before the
+	 * content of pages, and model is created lazily only as far as the
+	 * validator actually goes.
+	 *
+	 * @param pdfStream stream of the document to parse
+	 * @param flavour flavour of the document
+	 * @param profile profile that will be used to validate parsed model,
+	 *                may be null
+	 * @return parser instance
+	 * @see #createFailFastValidator(PDFAFlavour, int)
+	 */
+	public PDFAParser createFailFastParser(InputStream pdfStream, PDFAFlavour flavour, ValidationProfile profile)
+			throws ModelParsingException, EncryptedPdfException {
+		return ModelParser.createModelWithFlavour(pdfStream, flavour, getConfig(profile).withFailFast(true));
+	}
+
+	/**
+	 * Creates parser for fail-fast validation.
+	 *
+	 * @param file file of the document to parse
+	 * @param flavour flavour of the document
+	 * @param profile profile that will be used to validate parsed model,
+	 *                may be null
+	 * @return parser instance
+	 * @see #createFailFastParser(InputStream, PDFAFlavour, ValidationProfile)
+	 */
+	public PDFAParser createFailFastParser(File file, PDFAFlavour flavour, ValidationProfile profile)
+			throws ModelParsingException, EncryptedPdfException {
+		return ModelParser.createModelWithFlavour(file, flavour, getConfig(profile).withFailFast(true));
+	}
+
+	/**
+	 * Creates validator that stops model traversal once the given number of
+	 * checks failed. Intended to be used with the parser created by
+	 * {@link #createFailFastParser(File, PDFAFlavour, ValidationProfile)}.
+	 *
+	 * @param flavour flavour of the validation profile
+	 * @param maxFailures number of failed checks after which validation stops
+	 * @return validator instance
+	 */
+	public PDFAValidator createFailFastValidator(PDFAFlavour flavour, int maxFailures) {
+		if (maxFailures <= 0) {
+			throw new IllegalArgumentException("Number of failures should be positive");
+		}
+		return ValidatorFactory.createValidator(flavour, false, maxFailures);
+	}
+
+	private static ModelParserConfig getConfig(ValidationProfile profile) {
+		if (profile == null) {
+			return ModelParserConfig.defaultConfig();
+		}
+		return ModelParserConfig.defaultConfig().withReachableTypes(ReachableTypes.fromProfile(profile));
+	}
+
+	/**
+	 * Validates the document consulting the result cache first. The document
+	 * is parsed only when the cache has no result for it, and the new result
+	 * is stored in the cache.
+	 *
+	 * @param file document to validate
+	 * @param flavour flavour to validate against, {@link PDFAFlavour#NO_FLAVOUR}
+	 *                to detect it from the document
+	 * @param logPassedChecks whether validation result contains passed checks
+	 * @param cache cache of validation results, may be null
+	 * @return validation result
+	 * @see ValidationResultCache#validate(File, PDFAFlavour, boolean)
+	 */
+	ValidationResult validate(File file, PDFAFlavour flavour, boolean logPassedChecks, ValidationResultCache cache)
+			throws ModelParsingException, EncryptedPdfException, ValidationException, IOException {
+		String key = null;
+		if (cache != null) {
+			key = cache.getKey(file, flavour, logPassedChecks);
+			ValidationResult cached = cache.get(key);
+			if (cached != null) {
+				return cached;
+			}
+		}
+		ValidationResult result;
+		try (PDFAParser parser = createParser(file, flavour)) {
+			result = createValidator(parser.getFlavour(), logPassedChecks).validate(parser);
+		}
+		if (cache != null) {
+			cache.put(key, result);
+		}
+		return result;
+	}
+
 	/**
 	 * @see org.verapdf.pdfa.VeraPDFFoundry#newMetadataFixer(org.verapdf.metadata.fixer.utils.FixerConfig)
 	 */
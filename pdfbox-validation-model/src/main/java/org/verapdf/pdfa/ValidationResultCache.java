@@ -0,0 +1,373 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pdfa;
+
+import org.apache.log4j.Logger;
+import org.verapdf.core.EncryptedPdfException;
+import org.verapdf.core.ModelParsingException;
+import org.verapdf.core.ValidationException;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+import org.verapdf.pdfa.results.ValidationResult;
+import org.verapdf.pdfa.results.ValidationResults;
+import org.verapdf.pdfa.validation.profiles.ProfileDirectory;
+import org.verapdf.pdfa.validation.profiles.Profiles;
+import org.verapdf.pdfa.validation.profiles.ValidationProfile;
+
+import javax.xml.bind.JAXBException;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local on-disk cache of validation results.
+ * <p>
+ * Results are keyed by SHA-256 digest of the document bytes together with
+ * the validation flavour, the digest of the validation profile, the level of
+ * details and the version of the validation library, so results of previous
+ * versions or of changed profiles are never served. Every result is stored
+ * in its own file which is written to a temporary file and then atomically
+ * moved in place, so several processes on one host may share the cache
+ * directory.
+ * <p>
+ * Each instance tracks the total size of stored results, counted once when
+ * it is created and updated with results it stores. When that size exceeds
+ * the limit, least recently used results are removed by the process that
+ * holds the lock file of the directory and the size is counted again, so
+ * results stored by other processes are accounted for at the next eviction.
+ * Temporary files count towards the size as well. Temporary files older than
+ * an hour are left by interrupted writers and are removed whenever the
+ * directory is listed, younger ones may still be written by other processes
+ * and are kept.
+ */
+public final class ValidationResultCache {
+
+	private static final Logger LOGGER = Logger.getLogger(ValidationResultCache.class);
+
+	private static final String RESULT_EXT = ".xml";
+	private static final String TEMP_EXT = ".part";
+	private static final String LOCK_FILE_NAME = "cache.lock";
+	private static final long STALE_TEMP_AGE_MILLIS = 60 * 60 * 1000L;
+	private static final int BUFFER_SIZE = 8192;
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	private final File directory;
+	private final long maxSize;
+	private final String version;
+	private final AtomicLong size;
+
+	/**
+	 * @param directory directory of the cache, created if it does not exist
+	 * @param maxSize maximum total size of stored results in bytes
+	 * @throws IOException if the directory can not be created
+	 */
+	public ValidationResultCache(File directory, long maxSize) throws IOException {
+		this(directory, maxSize, PdfBoxFoundry.getReleaseDetails().getVersion());
+	}
+
+	/**
+	 * @param directory directory of the cache, created if it does not exist
+	 * @param maxSize maximum total size of stored results in bytes
+	 * @param version version of the validation profiles, results stored
+	 *                with another version are not used
+	 * @throws IOException if the directory can not be created
+	 */
+	public ValidationResultCache(File directory, long maxSize, String version) throws IOException {
+		if (directory == null || maxSize <= 0 || version == null) {
+			throw new IllegalArgumentException("Invalid validation result cache parameters");
+		}
+		Files.createDirectories(directory.toPath());
+		this.directory = directory;
+		this.maxSize = maxSize;
+		this.version = version;
+		this.size = new AtomicLong(getStoredSize(listFiles()));
+	}
+
+	/**
+	 * Validates the document with the PDF Box foundry consulting this cache
+	 * first. The document is parsed only when the cache has no result for
+	 * it, and the new result is stored in the cache.
+	 *
+	 * @param file document to validate
+	 * @param flavour flavour to validate against, {@link PDFAFlavour#NO_FLAVOUR}
+	 *                to detect it from the document
+	 * @param logPassedChecks whether validation result contains passed checks
+	 * @return validation result
+	 */
+	public ValidationResult validate(File file, PDFAFlavour flavour, boolean logPassedChecks)
+			throws ModelParsingException, EncryptedPdfException, ValidationException, IOException {
+		PdfBoxFoundry foundry = (PdfBoxFoundry) PdfBoxFoundry.getInstance();
+		return foundry.validate(file, flavour, logPassedChecks, this);
+	}
+
+	/**
+	 * Computes the key of the document reading it once.
+	 *
+	 * @param file document to validate
+	 * @param flavour flavour used for validation
+	 * @param logPassedChecks whether validation result contains passed checks
+	 * @return key of validation result of the given document
+	 * @throws IOException if the document can not be read
+	 */
+	public String getKey(File file, PDFAFlavour flavour, boolean logPassedChecks) throws IOException {
+		MessageDigest digest = getSha256();
+		try (InputStream is = new FileInputStream(file)) {
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int read;
+			while ((read = is.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+		}
+		byte[] content = digest.digest();
+		digest.update(content);
+		digest.update((byte) 0);
+		digest.update(flavour.getId().getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+		digest.update((byte) (logPassedChecks ? 1 : 0));
+		digest.update(this.version.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+		digest.update(getProfilesDigest(flavour).getBytes(StandardCharsets.UTF_8));
+		return toHex(digest.digest());
+	}
+
+	/**
+	 * @return digest of the profile of the given flavour, or digests of all
+	 * profiles if the flavour is detected from the document
+	 */
+	private static String getProfilesDigest(PDFAFlavour flavour) {
+		ProfileDirectory profiles = Profiles.getVeraProfileDirectory();
+		if (flavour != PDFAFlavour.NO_FLAVOUR) {
+			return profiles.getValidationProfileByFlavour(flavour).getHexSha1Digest();
+		}
+		List<ValidationProfile> ordered = new ArrayList<>(profiles.getValidationProfiles());
+		Collections.sort(ordered, new Comparator<ValidationProfile>() {
+			@Override
+			public int compare(ValidationProfile o1, ValidationProfile o2) {
+				return o1.getPDFAFlavour().getId().compareTo(o2.getPDFAFlavour().getId());
+			}
+		});
+		StringBuilder builder = new StringBuilder();
+		for (ValidationProfile profile : ordered) {
+			builder.append(profile.getHexSha1Digest()).append(' ');
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * @param key key of the result
+	 * @return stored validation result or null if there is no usable result
+	 */
+	public ValidationResult get(String key) {
+		File file = getResultFile(key);
+		if (!file.isFile()) {
+			return null;
+		}
+		try (InputStream is = new BufferedInputStream(new FileInputStream(file))) {
+			ValidationResult result = ValidationResults.resultFromXml(is);
+			if (!file.setLastModified(System.currentTimeMillis())) {
+				LOGGER.debug("Can not update access time of cached result " + file);
+			}
+			return result;
+		} catch (IOException e) {
+			// result has been evicted by another process in the meantime
+			LOGGER.debug("Can not read cached result " + file, e);
+			return null;
+		} catch (JAXBException e) {
+			LOGGER.debug("Removing corrupted cached result " + file, e);
+			delete(file);
+			return null;
+		}
+	}
+
+	/**
+	 * Stores the result and evicts least recently used results if the cache
+	 * exceeds its maximum size. Problems of storing are logged and ignored.
+	 *
+	 * @param key key of the result
+	 * @param result validation result
+	 */
+	public void put(String key, ValidationResult result) {
+		Path temp = null;
+		try {
+			temp = Files.createTempFile(this.directory.toPath(), key, TEMP_EXT);
+			try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(temp))) {
+				ValidationResults.resultToXml(result, os, Boolean.FALSE);
+			}
+			File target = getResultFile(key);
+			long added = Files.size(temp) - target.length();
+			Files.move(temp, target.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			temp = null;
+			if (this.size.addAndGet(added) > this.maxSize) {
+				evict();
+			}
+		} catch (IOException | JAXBException e) {
+			LOGGER.debug("Can not store validation result " + key, e);
+		} finally {
+			if (temp != null) {
+				delete(temp.toFile());
+			}
+		}
+	}
+
+	private void evict() {
+		File lockFile = new File(this.directory, LOCK_FILE_NAME);
+		try (RandomAccessFile raf = new RandomAccessFile(lockFile, "rw");
+			 FileChannel channel = raf.getChannel()) {
+			FileLock lock;
+			try {
+				lock = channel.tryLock();
+			} catch (OverlappingFileLockException e) {
+				// another thread of this process is evicting
+				return;
+			}
+			if (lock == null) {
+				// another process is evicting
+				return;
+			}
+			try {
+				evictLocked();
+			} finally {
+				lock.release();
+			}
+		} catch (IOException e) {
+			LOGGER.debug("Can not evict validation results from " + this.directory, e);
+		}
+	}
+
+	private void evictLocked() {
+		List<CachedFile> results = listFiles();
+		long size = getStoredSize(results);
+		if (size <= this.maxSize) {
+			this.size.set(size);
+			return;
+		}
+		CachedFile[] ordered = results.toArray(new CachedFile[results.size()]);
+		Arrays.sort(ordered, new Comparator<CachedFile>() {
+			@Override
+			public int compare(CachedFile o1, CachedFile o2) {
+				return Long.compare(o1.lastModified, o2.lastModified);
+			}
+		});
+		for (int i = 0; i < ordered.length && size > this.maxSize; ++i) {
+			if (!ordered[i].isTemp() && delete(ordered[i].file)) {
+				size -= ordered[i].length;
+			}
+		}
+		this.size.set(size);
+	}
+
+	/**
+	 * Lists stored results and temporary files, removing stale temporary
+	 * files
+	 */
+	private List<CachedFile> listFiles() {
+		File[] files = this.directory.listFiles();
+		if (files == null) {
+			return Collections.emptyList();
+		}
+		long staleBefore = System.currentTimeMillis() - STALE_TEMP_AGE_MILLIS;
+		List<CachedFile> results = new ArrayList<>(files.length);
+		for (File file : files) {
+			String name = file.getName();
+			if (name.endsWith(RESULT_EXT)) {
+				results.add(new CachedFile(file));
+			} else if (name.endsWith(TEMP_EXT)) {
+				CachedFile temp = new CachedFile(file);
+				if (temp.lastModified >= staleBefore || !delete(file)) {
+					results.add(temp);
+				}
+			}
+		}
+		return results;
+	}
+
+	private static long getStoredSize(List<CachedFile> results) {
+		long size = 0;
+		for (CachedFile cached : results) {
+			size += cached.length;
+		}
+		return size;
+	}
+
+	private File getResultFile(String key) {
+		return new File(this.directory, key + RESULT_EXT);
+	}
+
+	private static boolean delete(File file) {
+		if (!file.delete() && file.exists()) {
+			LOGGER.debug("Can not delete " + file);
+			return false;
+		}
+		return true;
+	}
+
+	private static MessageDigest getSha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 digest is not supported", e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		char[] res = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; ++i) {
+			res[2 * i] = HEX[(bytes[i] >> 4) & 0xF];
+			res[2 * i + 1] = HEX[bytes[i] & 0xF];
+		}
+		return new String(res);
+	}
+
+	private static final class CachedFile {
+		private final File file;
+		private final long length;
+		private final long lastModified;
+
+		CachedFile(File file) {
+			this.file = file;
+			this.length = file.length();
+			this.lastModified = file.lastModified();
+		}
+
+		boolean isTemp() {
+			return this.file.getName().endsWith(TEMP_EXT);
+		}
+	}
+}
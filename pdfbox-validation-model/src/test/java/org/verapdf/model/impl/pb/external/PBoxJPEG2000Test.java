@@ -0,0 +1,163 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.impl.pb.external;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.verapdf.model.ModelParserConfig;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class PBoxJPEG2000Test {
+
+	private static final byte[] SIGNATURE = { 0x00, 0x00, 0x00, 0x0C, 0x6A, 0x50, 0x20, 0x20, 0x0D, 0x0A, -0x79, 0x0A };
+	private static final long LIMIT = ModelParserConfig.DEFAULT_JPX_HEADER_LIMIT;
+
+	@Test
+	public void testHeaderIsParsed() throws IOException {
+		PBoxJPEG2000 jpx = parse(image(box("ftyp", new byte[12]), header()), LIMIT);
+		assertHeaderParsed(jpx);
+	}
+
+	@Test
+	public void testTruncatedHeaderBox() throws IOException {
+		byte[] data = image(header());
+		byte[] truncated = new byte[data.length - 17];
+		System.arraycopy(data, 0, truncated, 0, truncated.length);
+
+		PBoxJPEG2000 jpx = parse(truncated, LIMIT);
+		Assert.assertEquals(PBoxJPEG2000.DEFAULT_NR_COLOR_CHANNELS, jpx.getnrColorChannels());
+		Assert.assertEquals(PBoxJPEG2000.DEFAULT_BIT_DEPTH, jpx.getbitDepth());
+	}
+
+	@Test
+	public void testOversizedBoxLength() throws IOException {
+		ByteArrayOutputStream box = new ByteArrayOutputStream();
+		writeInt(box, 0xFFFFFFFF);
+		box.write(type("free"));
+		box.write(new byte[16]);
+
+		PBoxJPEG2000 jpx = parse(image(box.toByteArray(), header()), LIMIT);
+		Assert.assertEquals(PBoxJPEG2000.DEFAULT_NR_COLOR_CHANNELS, jpx.getnrColorChannels());
+	}
+
+	@Test
+	public void testOversizedExtendedBoxLength() throws IOException {
+		ByteArrayOutputStream box = new ByteArrayOutputStream();
+		writeInt(box, 1);
+		box.write(type("free"));
+		writeInt(box, 0x7FFFFFFF);
+		writeInt(box, 0xFFFFFFFF);
+
+		PBoxJPEG2000 jpx = parse(image(box.toByteArray(), header()), LIMIT);
+		Assert.assertEquals(PBoxJPEG2000.DEFAULT_NR_COLOR_CHANNELS, jpx.getnrColorChannels());
+	}
+
+	@Test
+	public void testExtendedBoxLength() throws IOException {
+		ByteArrayOutputStream box = new ByteArrayOutputStream();
+		writeInt(box, 1);
+		box.write(type("free"));
+		writeInt(box, 0);
+		writeInt(box, 20);
+		box.write(new byte[4]);
+
+		PBoxJPEG2000 jpx = parse(image(box.toByteArray(), header()), LIMIT);
+		assertHeaderParsed(jpx);
+	}
+
+	@Test
+	public void testScanningStopsAtCodestream() throws IOException {
+		PBoxJPEG2000 jpx = parse(image(box("jp2c", new byte[32]), header()), LIMIT);
+		Assert.assertEquals(PBoxJPEG2000.DEFAULT_NR_COLOR_CHANNELS, jpx.getnrColorChannels());
+		Assert.assertEquals(PBoxJPEG2000.DEFAULT_BPCC_BOX_PRESENT, jpx.getbpccBoxPresent());
+	}
+
+	@Test
+	public void testHeaderLimit() throws IOException {
+		byte[] data = image(box("free", new byte[1024]), header());
+		Assert.assertEquals(PBoxJPEG2000.DEFAULT_NR_COLOR_CHANNELS, parse(data, 512).getnrColorChannels());
+
+		long limit = ModelParserConfig.defaultConfig().withJpxHeaderLimit(data.length).getJpxHeaderLimit();
+		assertHeaderParsed(parse(data, limit));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testHeaderLimitShouldBePositive() {
+		ModelParserConfig.defaultConfig().withJpxHeaderLimit(0);
+	}
+
+	private static void assertHeaderParsed(PBoxJPEG2000 jpx) {
+		Assert.assertEquals(Long.valueOf(3), jpx.getnrColorChannels());
+		Assert.assertEquals(Long.valueOf(8), jpx.getbitDepth());
+		Assert.assertEquals(Boolean.TRUE, jpx.getbpccBoxPresent());
+	}
+
+	private static PBoxJPEG2000 parse(byte[] data, long limit) {
+		return PBoxJPEG2000.fromStream(new ByteArrayInputStream(data), limit, null, PDFAFlavour.PDFA_2_B);
+	}
+
+	private static byte[] header() throws IOException {
+		ByteArrayOutputStream ihdr = new ByteArrayOutputStream();
+		writeInt(ihdr, 16);
+		writeInt(ihdr, 16);
+		ihdr.write(0);
+		ihdr.write(3);
+		ihdr.write(7);
+		ihdr.write(new byte[3]);
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		content.write(box("ihdr", ihdr.toByteArray()));
+		content.write(box("bpcc", new byte[3]));
+		return box("jp2h", content.toByteArray());
+	}
+
+	private static byte[] image(byte[]... boxes) throws IOException {
+		ByteArrayOutputStream res = new ByteArrayOutputStream();
+		res.write(SIGNATURE);
+		for (byte[] box : boxes) {
+			res.write(box);
+		}
+		return res.toByteArray();
+	}
+
+	private static byte[] box(String type, byte[] content) throws IOException {
+		ByteArrayOutputStream res = new ByteArrayOutputStream();
+		writeInt(res, content.length + 8);
+		res.write(type(type));
+		res.write(content);
+		return res.toByteArray();
+	}
+
+	private static byte[] type(String type) {
+		return type.getBytes(StandardCharsets.US_ASCII);
+	}
+
+	private static void writeInt(ByteArrayOutputStream out, int value) {
+		out.write(value >>> 24);
+		out.write(value >>> 16);
+		out.write(value >>> 8);
+		out.write(value);
+	}
+}
@@ -0,0 +1,89 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.impl.pb.operator.base;
+
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSFloat;
+import org.apache.pdfbox.cos.COSInteger;
+import org.apache.pdfbox.cos.COSName;
+import org.junit.Assert;
+import org.junit.Test;
+import org.verapdf.model.impl.pb.cos.PBCosInteger;
+import org.verapdf.model.impl.pb.cos.PBCosNumber;
+import org.verapdf.model.impl.pb.cos.PBCosReal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class PackedOperandsTest {
+
+	@Test
+	public void testIntegersAndRealsKeepTheirTypes() {
+		PackedOperands operands = new PackedOperands();
+		int offset = operands.add(Arrays.<COSBase>asList(COSInteger.get(12), new COSFloat(1.5f)));
+		Assert.assertEquals(0, offset);
+		Assert.assertTrue(operands.isInteger(0));
+		Assert.assertFalse(operands.isInteger(1));
+		Assert.assertEquals(12.0, operands.getValue(0), 0);
+		Assert.assertEquals(1.5, operands.getValue(1), 0);
+
+		PBCosNumber integer = operands.getNumber(0);
+		Assert.assertTrue(integer instanceof PBCosInteger);
+		Assert.assertEquals(Long.valueOf(12), integer.getintValue());
+		PBCosNumber real = operands.getNumber(1);
+		Assert.assertTrue(real instanceof PBCosReal);
+		Assert.assertEquals(1.5, real.getrealValue().doubleValue(), 0);
+	}
+
+	@Test
+	public void testLargeIntegersArePreciseAndNegativeOnesKeepSign() {
+		long large = (1L << 53) + 1;
+		PackedOperands operands = new PackedOperands();
+		operands.add(Arrays.<COSBase>asList(COSInteger.get(large), COSInteger.get(-7)));
+		Assert.assertEquals(Long.valueOf(large), operands.getNumber(0).getintValue());
+		Assert.assertEquals(Long.valueOf(-7), operands.getNumber(1).getintValue());
+	}
+
+	@Test
+	public void testNonNumericOperandsAreNotStored() {
+		PackedOperands operands = new PackedOperands();
+		Assert.assertEquals(-1, operands.add(Arrays.<COSBase>asList(COSInteger.get(1), COSName.A)));
+		Assert.assertEquals(0, operands.add(Arrays.<COSBase>asList(COSInteger.get(2))));
+		Assert.assertEquals(2.0, operands.getValue(0), 0);
+	}
+
+	@Test
+	public void testOffsetsAndFlagsSurviveGrowth() {
+		PackedOperands operands = new PackedOperands();
+		List<COSBase> arguments = new ArrayList<>();
+		for (int i = 0; i < 200; ++i) {
+			arguments.add(i % 3 == 0 ? COSInteger.get(i) : new COSFloat(i + 0.5f));
+		}
+		Assert.assertEquals(0, operands.add(arguments));
+		Assert.assertEquals(200, operands.add(arguments));
+		for (int i = 0; i < 400; ++i) {
+			int source = i % 200;
+			Assert.assertEquals(source % 3 == 0, operands.isInteger(i));
+			Assert.assertEquals(source % 3 == 0 ? source : source + 0.5, operands.getValue(i), 0);
+		}
+	}
+}
@@ -20,6 +20,9 @@
  */
 package org.verapdf.model.impl.pb.operator.generalgs;
 
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.pdmodel.graphics.state.PDExtendedGraphicsState;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -28,6 +31,7 @@ import org.verapdf.model.impl.pb.pd.PBoxPDExtGState;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -47,4 +51,34 @@ public class PBOp_gsTest extends PBOpGeneralGSTest {
 		Assert.assertEquals(1, extGState.size());
 		Assert.assertEquals(PBoxPDExtGState.EXT_G_STATE_TYPE, extGState.get(0).getObjectType());
 	}
+
+	@Test
+	public void testExtGStateIsSharedBetweenOperators() {
+		PDExtendedGraphicsState state = new PDExtendedGraphicsState(new COSDictionary());
+		Object first = getExtGState(state);
+		Object second = getExtGState(new PDExtendedGraphicsState(state.getCOSObject()));
+
+		Assert.assertSame(first, second);
+	}
+
+	@Test
+	public void testInheritedExtGStateIsCachedSeparately() {
+		COSDictionary dictionary = new COSDictionary();
+		PDExtendedGraphicsState inherited = new PDExtendedGraphicsState(dictionary);
+		inherited.setInherited(true);
+
+		PBoxPDExtGState inheritedState = (PBoxPDExtGState) getExtGState(inherited);
+		PBoxPDExtGState ownState = (PBoxPDExtGState) getExtGState(new PDExtendedGraphicsState(dictionary));
+
+		Assert.assertNotSame(inheritedState, ownState);
+		Assert.assertEquals(Boolean.TRUE, inheritedState.getisInherited());
+		Assert.assertEquals(Boolean.FALSE, ownState.getisInherited());
+	}
+
+	private static Object getExtGState(PDExtendedGraphicsState state) {
+		PBOp_gs operator = new PBOp_gs(Collections.<COSBase>emptyList(), state, null, null);
+		List<? extends Object> extGState = operator.getLinkedObjects(PBOp_gs.EXT_G_STATE);
+		Assert.assertEquals(1, extGState.size());
+		return extGState.get(0);
+	}
 }
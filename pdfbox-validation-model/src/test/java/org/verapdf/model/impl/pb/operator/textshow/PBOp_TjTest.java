@@ -20,10 +20,14 @@
  */
 package org.verapdf.model.impl.pb.operator.textshow;
 
+import org.junit.Assert;
 import org.junit.BeforeClass;
+import org.junit.Test;
+import org.verapdf.model.baselayer.Object;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.List;
 
 /**
  * @author Evgeniy Muravitskiy
@@ -41,4 +45,33 @@ public class PBOp_TjTest extends PBOpStringTextShowTest {
 		return 11;
 	}
 
+	@Test
+	public void testSameGlyphsShareModelObject() {
+		List<? extends Object> glyphs = actual.getLinkedObjects(PBOpTextShow.USED_GLYPHS);
+		// 'l' occurs at positions 2, 3 and 9 of "Hello World"
+		Assert.assertSame(glyphs.get(2), glyphs.get(3));
+		Assert.assertSame(glyphs.get(2), glyphs.get(9));
+		Assert.assertNotSame(glyphs.get(0), glyphs.get(1));
+		Assert.assertEquals(glyphs.get(2).getID(), glyphs.get(9).getID());
+	}
+
+	@Test
+	public void testRepeatedLinkTraversalReusesGlyphs() {
+		List<? extends Object> first = actual.getLinkedObjects(PBOpTextShow.USED_GLYPHS);
+		List<? extends Object> second = actual.getLinkedObjects(PBOpTextShow.USED_GLYPHS);
+		Assert.assertEquals(first.size(), second.size());
+		for (int i = 0; i < first.size(); ++i) {
+			Assert.assertSame(first.get(i), second.get(i));
+		}
+	}
+
+	@Test
+	public void testOccurrencesAreCountedOncePerOperator() {
+		List<? extends Object> glyphs = actual.getLinkedObjects(PBOpTextShow.USED_GLYPHS);
+		actual.getLinkedObjects(PBOpTextShow.USED_GLYPHS);
+		Assert.assertEquals(1, ((PBGlyph) glyphs.get(0)).getOccurrenceCount());
+		Assert.assertEquals(2, ((PBGlyph) glyphs.get(4)).getOccurrenceCount());
+		Assert.assertEquals(3, ((PBGlyph) glyphs.get(2)).getOccurrenceCount());
+	}
+
 }
@@ -0,0 +1,59 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.impl.pb.pd;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.graphics.optionalcontent.PDOptionalContentProperties;
+import org.junit.Assert;
+import org.junit.Test;
+import org.verapdf.model.baselayer.Object;
+
+import java.util.List;
+
+public class PBoxPDOCPropertiesTest {
+
+	@Test
+	public void testNamedConfigsAreReportedAsDuplicates() {
+		COSArray configs = new COSArray();
+		configs.add(config("Print"));
+		configs.add(new COSDictionary());
+		configs.add(config("Default"));
+		PDOptionalContentProperties properties = new PDOptionalContentProperties();
+		properties.getCOSObject().setItem(COSName.D, config("Default"));
+		properties.getCOSObject().setItem(COSName.getPDFName(PBoxPDOCProperties.CONFIGS), configs);
+
+		List<? extends Object> configObjects = new PBoxPDOCProperties(properties)
+				.getLinkedObjects(PBoxPDOCProperties.CONFIGS);
+
+		Assert.assertEquals(3, configObjects.size());
+		Assert.assertEquals(Boolean.TRUE, ((PBoxPDOCConfig) configObjects.get(0)).gethasDuplicateName());
+		Assert.assertEquals(Boolean.FALSE, ((PBoxPDOCConfig) configObjects.get(1)).gethasDuplicateName());
+		Assert.assertEquals(Boolean.TRUE, ((PBoxPDOCConfig) configObjects.get(2)).gethasDuplicateName());
+	}
+
+	private static COSDictionary config(String name) {
+		COSDictionary res = new COSDictionary();
+		res.setString(COSName.NAME, name);
+		return res;
+	}
+}
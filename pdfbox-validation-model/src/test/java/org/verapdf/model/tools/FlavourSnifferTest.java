@@ -0,0 +1,86 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.io.File;
+
+public class FlavourSnifferTest {
+
+	private static final String FIXTURES = "/model/tools/sniffer/";
+
+	@Test
+	public void testClassicXrefTable() throws Exception {
+		Assert.assertEquals(PDFAFlavour.PDFA_1_B, sniff("classic.pdf"));
+	}
+
+	@Test
+	public void testXrefStreamWithPredictor() throws Exception {
+		Assert.assertEquals(PDFAFlavour.PDFA_2_U, sniff("xref-stream.pdf"));
+	}
+
+	@Test
+	public void testHybridFile() throws Exception {
+		Assert.assertEquals(PDFAFlavour.PDFA_2_B, sniff("hybrid.pdf"));
+	}
+
+	@Test
+	public void testCatalogInObjectStream() throws Exception {
+		Assert.assertEquals(PDFAFlavour.PDFA_3_A, sniff("object-stream.pdf"));
+	}
+
+	@Test
+	public void testPDFUAIdentification() throws Exception {
+		Assert.assertEquals(PDFAFlavour.byFlavourId("ua1"), sniff("pdfua.pdf"));
+	}
+
+	@Test
+	public void testNoMetadata() throws Exception {
+		Assert.assertEquals(PDFAFlavour.NO_FLAVOUR, sniff("no-metadata.pdf"));
+	}
+
+	@Test
+	public void testEncryptedFileIsNotSniffed() throws Exception {
+		Assert.assertNull(sniff("encrypted.pdf"));
+	}
+
+	@Test
+	public void testMismatchedObjectHeaderIsNotSniffed() throws Exception {
+		Assert.assertNull(sniff("wrong-object.pdf"));
+	}
+
+	@Test
+	public void testRootWithoutCatalogTypeIsNotSniffed() throws Exception {
+		Assert.assertNull(sniff("no-catalog-type.pdf"));
+	}
+
+	@Test
+	public void testStreamLengthBeyondFileIsNotSniffed() throws Exception {
+		Assert.assertNull(sniff("long-metadata.pdf"));
+	}
+
+	private PDFAFlavour sniff(String name) throws Exception {
+		return FlavourSniffer.sniff(new File(getClass().getResource(FIXTURES + name).toURI()));
+	}
+}
@@ -0,0 +1,92 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.graphics.optionalcontent.PDOptionalContentProperties;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class OptionalContentIndexTest {
+
+	@Test
+	public void testNestedOrderContainsAllGroups() {
+		OptionalContentIndex index = new OptionalContentIndex(Arrays.asList("A", "B", "C"));
+		COSArray nested = new COSArray();
+		nested.add(group("B"));
+		nested.add(group("C"));
+		COSArray order = new COSArray();
+		order.add(group("A"));
+		order.add(nested);
+
+		Assert.assertTrue(index.doesOrderContainAllGroups(order));
+		nested.remove(1);
+		Assert.assertTrue("Flattened order is cached by array", index.doesOrderContainAllGroups(order));
+		Assert.assertFalse(new OptionalContentIndex(Arrays.asList("A", "B", "C")).doesOrderContainAllGroups(order));
+	}
+
+	@Test
+	public void testCyclicOrderIsTraversedOnce() {
+		OptionalContentIndex index = new OptionalContentIndex(Arrays.asList("A", "B"));
+		COSArray order = new COSArray();
+		COSArray nested = new COSArray();
+		order.add(group("A"));
+		order.add(nested);
+		nested.add(order);
+
+		Assert.assertFalse(index.doesOrderContainAllGroups(order));
+	}
+
+	@Test
+	public void testConfigNamesAreCounted() {
+		COSDictionary defaultConfig = config("Default");
+		COSArray configs = new COSArray();
+		configs.add(config("Print"));
+		configs.add(config("Default"));
+		configs.add(new COSDictionary());
+		PDOptionalContentProperties properties = new PDOptionalContentProperties();
+		properties.getCOSObject().setItem(COSName.D, defaultConfig);
+		properties.getCOSObject().setItem(COSName.getPDFName("Configs"), configs);
+
+		OptionalContentIndex index = new OptionalContentIndex(properties);
+		Assert.assertTrue(index.containsConfigName("Print"));
+		Assert.assertTrue(index.containsConfigName("Default"));
+		Assert.assertFalse(index.containsConfigName("View"));
+		Assert.assertFalse(index.containsConfigName(null));
+	}
+
+	private static COSDictionary group(String name) {
+		COSDictionary res = new COSDictionary();
+		res.setItem(COSName.TYPE, COSName.OCG);
+		res.setString(COSName.NAME, name);
+		return res;
+	}
+
+	private static COSDictionary config(String name) {
+		COSDictionary res = new COSDictionary();
+		res.setString(COSName.NAME, name);
+		return res;
+	}
+}
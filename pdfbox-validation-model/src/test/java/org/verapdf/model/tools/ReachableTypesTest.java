@@ -0,0 +1,138 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.verapdf.model.ModelParser;
+import org.verapdf.model.ModelParserConfig;
+import org.verapdf.model.impl.pb.operator.generalgs.PBOp_J_line_cap;
+import org.verapdf.model.impl.pb.operator.pathconstruction.PBOp_c;
+import org.verapdf.model.impl.pb.operator.pathconstruction.PBOp_h;
+import org.verapdf.model.impl.pb.operator.textstate.PBOp_Tf;
+import org.verapdf.pdfa.PDFAValidator;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+import org.verapdf.pdfa.results.TestAssertion;
+import org.verapdf.pdfa.results.ValidationResult;
+import org.verapdf.pdfa.validation.profiles.Profiles;
+import org.verapdf.pdfa.validation.profiles.ValidationProfile;
+import org.verapdf.pdfa.validation.validators.ValidatorFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ReachableTypesTest {
+
+	private static final String PROFILE_PATH = "/model/tools/cos-real-limit.xml";
+
+	private static ValidationProfile profile;
+
+	@BeforeClass
+	public static void setUp() throws Exception {
+		try (InputStream stream = ReachableTypesTest.class.getResourceAsStream(PROFILE_PATH)) {
+			profile = Profiles.profileFromXml(stream);
+		}
+	}
+
+	@Test
+	public void testOperandTypesMakeOperatorReachable() {
+		ReachableTypes types = ReachableTypes.fromProfile(profile);
+		Assert.assertTrue(types.isReachable(PBOp_c.class));
+		Assert.assertFalse(types.isReachable(PBOp_h.class));
+		Assert.assertFalse(types.isReachable(PBOp_J_line_cap.class));
+		Assert.assertTrue(types.isReachable(PBOp_Tf.class));
+	}
+
+	@Test
+	public void testResultIsSharedForProfile() {
+		Assert.assertSame(ReachableTypes.fromProfile(profile), ReachableTypes.fromProfile(profile));
+	}
+
+	@Test
+	public void testRealLimitInPathOperatorWithPruning() throws Exception {
+		byte[] pdf = createDocumentWithCurve(40000.5f);
+		ModelParserConfig config = ModelParserConfig.defaultConfig()
+				.withReachableTypes(ReachableTypes.fromProfile(profile));
+		Assert.assertFalse(validate(pdf, config).isCompliant());
+		Assert.assertFalse(validate(pdf, ModelParserConfig.defaultConfig()).isCompliant());
+	}
+
+	@Test
+	public void testRealWithinLimitInPathOperatorWithPruning() throws Exception {
+		byte[] pdf = createDocumentWithCurve(300.5f);
+		ModelParserConfig config = ModelParserConfig.defaultConfig()
+				.withReachableTypes(ReachableTypes.fromProfile(profile));
+		Assert.assertTrue(validate(pdf, config).isCompliant());
+	}
+
+	@Test
+	public void testOperatorContextsAreKeptWithPruning() throws Exception {
+		byte[] pdf = createDocumentWithCurve(40000.5f);
+		ModelParserConfig config = ModelParserConfig.defaultConfig()
+				.withReachableTypes(ReachableTypes.fromProfile(profile));
+		Assert.assertEquals(getFailedContexts(validate(pdf, ModelParserConfig.defaultConfig())),
+				getFailedContexts(validate(pdf, config)));
+	}
+
+	private static List<String> getFailedContexts(ValidationResult result) {
+		List<String> contexts = new ArrayList<>();
+		for (TestAssertion assertion : result.getTestAssertions()) {
+			if (assertion.getStatus() == TestAssertion.Status.FAILED) {
+				contexts.add(assertion.getLocation().getContext());
+			}
+		}
+		Assert.assertFalse(contexts.isEmpty());
+		return contexts;
+	}
+
+	private static ValidationResult validate(byte[] pdf, ModelParserConfig config) throws Exception {
+		PDFAValidator validator = ValidatorFactory.createValidator(profile);
+		try (ModelParser parser = ModelParser.createModelWithFlavour(new ByteArrayInputStream(pdf),
+				PDFAFlavour.PDFA_1_B, config)) {
+			return validator.validate(parser);
+		}
+	}
+
+	private static byte[] createDocumentWithCurve(float x) throws Exception {
+		try (PDDocument document = new PDDocument()) {
+			PDPage page = new PDPage();
+			document.addPage(page);
+			try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+				content.setLineCapStyle(1);
+				content.moveTo(0, 0);
+				content.lineTo(10, 0);
+				content.closePath();
+				content.curveTo(10, 10, 20, 20, x, 30);
+				content.stroke();
+			}
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			document.save(out);
+			return out.toByteArray();
+		}
+	}
+}
@@ -0,0 +1,114 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.verapdf.model.GenericModelObject;
+import org.verapdf.model.ModelParserConfig;
+import org.verapdf.model.impl.pb.containers.StaticContainers;
+import org.verapdf.model.impl.pb.cos.PBCosDocument;
+import org.verapdf.model.impl.pb.pd.PBoxPDDocument;
+import org.verapdf.model.impl.pb.pd.PBoxPDPage;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class TraversalOrderTest {
+
+	@After
+	public void tearDown() {
+		StaticContainers.clearAllContainers();
+	}
+
+	@Test
+	public void testLinksAreReordered() {
+		List<String> links = Arrays.asList("a", "b", "c", "d", "e");
+		List<String> ordered = TraversalOrder.reorder("TraversalOrderTest.reorder", links, Arrays.asList("d", "x", "b"),
+				Collections.singletonList("a"));
+		Assert.assertEquals(Arrays.asList("d", "b", "c", "e", "a"), ordered);
+	}
+
+	@Test
+	public void testCosDocumentLinks() throws Exception {
+		try (PDDocument document = createDocument()) {
+			List<String> links = getLinks(new PBCosDocument(document, PDFAFlavour.PDFA_1_B), false);
+			List<String> failFastLinks = getLinks(new PBCosDocument(document, PDFAFlavour.PDFA_1_B), true);
+			assertOrder(links, failFastLinks,
+					Arrays.asList(PBCosDocument.TRAILER, PBCosDocument.XREF, PBCosDocument.INDIRECT_OBJECTS),
+					Collections.singletonList(PBCosDocument.EMBEDDED_FILES));
+		}
+	}
+
+	@Test
+	public void testPDDocumentLinks() throws Exception {
+		try (PDDocument document = createDocument()) {
+			List<String> links = getLinks(new PBoxPDDocument(document, PDFAFlavour.PDFA_1_B), false);
+			List<String> failFastLinks = getLinks(new PBoxPDDocument(document, PDFAFlavour.PDFA_1_B), true);
+			assertOrder(links, failFastLinks,
+					Arrays.asList(PBoxPDDocument.METADATA, PBoxPDDocument.OUTPUT_INTENTS, PBoxPDDocument.LANG,
+							PBoxPDDocument.PERMS, PBoxPDDocument.OC_PROPERTIES),
+					Collections.singletonList(PBoxPDDocument.PAGES));
+		}
+	}
+
+	@Test
+	public void testPageLinks() throws Exception {
+		try (PDDocument document = createDocument()) {
+			PDPage page = document.getPage(0);
+			List<String> links = getLinks(new PBoxPDPage(page, document, PDFAFlavour.PDFA_1_B), false);
+			List<String> failFastLinks = getLinks(new PBoxPDPage(page, document, PDFAFlavour.PDFA_1_B), true);
+			assertOrder(links, failFastLinks, Collections.<String>emptyList(),
+					Arrays.asList(PBoxPDPage.ANNOTS, PBoxPDPage.CONTENT_STREAM));
+		}
+	}
+
+	private static List<String> getLinks(GenericModelObject object, boolean failFast) {
+		StaticContainers.setParserConfig(ModelParserConfig.defaultConfig().withFailFast(failFast));
+		return object.getLinks();
+	}
+
+	private static void assertOrder(List<String> links, List<String> failFastLinks, List<String> first,
+			List<String> last) {
+		Assert.assertTrue(links.containsAll(first));
+		Assert.assertTrue(links.containsAll(last));
+		List<String> expected = new ArrayList<>(first);
+		for (String link : links) {
+			if (!first.contains(link) && !last.contains(link)) {
+				expected.add(link);
+			}
+		}
+		expected.addAll(last);
+		Assert.assertEquals(expected, failFastLinks);
+	}
+
+	private static PDDocument createDocument() {
+		PDDocument document = new PDDocument();
+		document.addPage(new PDPage());
+		return document;
+	}
+}
@@ -0,0 +1,128 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools.profiling;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.verapdf.model.ModelParser;
+import org.verapdf.model.ModelParserConfig;
+import org.verapdf.model.baselayer.Object;
+import org.verapdf.model.impl.pb.containers.StaticContainers;
+import org.verapdf.model.impl.pb.cos.PBCosDocument;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+public class ModelProfilerTest {
+
+	@After
+	public void tearDown() {
+		StaticContainers.clearAllContainers();
+	}
+
+	@Test
+	public void testSectionsAreAggregatedByKey() {
+		ModelProfiler profiler = new ModelProfiler();
+		profiler.enter();
+		profiler.enter();
+		profiler.exit(ModelProfiler.Category.FONT_PARSING, "PDType1Font", 1);
+		profiler.exit(ModelProfiler.Category.LINK, "CosDocument.doc", 2);
+		profiler.enter();
+		profiler.exit(ModelProfiler.Category.LINK, "CosDocument.doc", 3);
+
+		ProfilingSummary summary = profiler.getSummary();
+		Assert.assertEquals(2, summary.getEntries().size());
+		ProfilingSummary.Entry link = summary.getEntries(ModelProfiler.Category.LINK).get(0);
+		Assert.assertEquals("CosDocument.doc", link.getKey());
+		Assert.assertEquals(2, link.getInvocations());
+		Assert.assertEquals(5, link.getCreatedObjects());
+		ProfilingSummary.Entry font = summary.getEntries(ModelProfiler.Category.FONT_PARSING).get(0);
+		Assert.assertEquals(1, font.getInvocations());
+		Assert.assertTrue(link.getTotalNanos() >= font.getTotalNanos());
+	}
+
+	@Test
+	public void testNullKey() {
+		ModelProfiler profiler = new ModelProfiler();
+		profiler.enter();
+		profiler.exit(ModelProfiler.Category.COLOR_SPACE_CREATION, null, 0);
+		Assert.assertEquals("", profiler.getSummary().getEntries().get(0).getKey());
+	}
+
+	@Test
+	public void testDeepNesting() {
+		ModelProfiler profiler = new ModelProfiler();
+		for (int i = 0; i < 100; i++) {
+			profiler.enter();
+		}
+		for (int i = 0; i < 100; i++) {
+			profiler.exit(ModelProfiler.Category.LINK, "Object.link", 1);
+		}
+		ProfilingSummary.Entry entry = profiler.getSummary().getEntries().get(0);
+		Assert.assertEquals(100, entry.getInvocations());
+		Assert.assertEquals(100, entry.getCreatedObjects());
+	}
+
+	@Test
+	public void testLinksAreMeasuredWithoutWrapping() throws Exception {
+		ModelParserConfig config = ModelParserConfig.defaultConfig().withProfiling(true);
+		try (ModelParser parser = ModelParser.createModelWithFlavour(new ByteArrayInputStream(createDocument()),
+				PDFAFlavour.PDFA_1_B, config)) {
+			Object root = parser.getRoot();
+			Assert.assertSame(PBCosDocument.class, root.getClass());
+			List<? extends Object> documents = root.getLinkedObjects(PBCosDocument.DOCUMENT);
+
+			ProfilingSummary.Entry link = null;
+			for (ProfilingSummary.Entry entry : parser.getProfilingSummary().getEntries(ModelProfiler.Category.LINK)) {
+				if (entry.getKey().equals(PBCosDocument.COS_DOCUMENT_TYPE + '.' + PBCosDocument.DOCUMENT)) {
+					link = entry;
+				}
+			}
+			Assert.assertNotNull(link);
+			Assert.assertEquals(1, link.getInvocations());
+			Assert.assertEquals(documents.size(), link.getCreatedObjects());
+		}
+	}
+
+	@Test
+	public void testProfilingIsDisabledByDefault() throws Exception {
+		try (ModelParser parser = ModelParser.createModelWithFlavour(new ByteArrayInputStream(createDocument()),
+				PDFAFlavour.PDFA_1_B, ModelParserConfig.defaultConfig())) {
+			parser.getRoot().getLinkedObjects(PBCosDocument.DOCUMENT);
+			Assert.assertNull(parser.getProfilingSummary());
+			Assert.assertNull(StaticContainers.getProfiler());
+		}
+	}
+
+	private static byte[] createDocument() throws Exception {
+		try (PDDocument document = new PDDocument()) {
+			document.addPage(new PDPage());
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			document.save(out);
+			return out.toByteArray();
+		}
+	}
+}
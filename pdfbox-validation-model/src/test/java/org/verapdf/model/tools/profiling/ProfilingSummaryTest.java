@@ -0,0 +1,100 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools.profiling;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ProfilingSummaryTest {
+
+	@Test
+	public void testEntriesAreSortedByTime() {
+		Map<ModelProfiler.Category, Map<String, ProfilingSummary.Entry>> entries = new EnumMap<>(
+				ModelProfiler.Category.class);
+		add(entries, ModelProfiler.Category.LINK, "PDPage.contentStream", 10, 0);
+		add(entries, ModelProfiler.Category.FONT_PARSING, "PDType0Font", 30, 0);
+		add(entries, ModelProfiler.Category.LINK, "CosDocument.doc", 20, 0);
+
+		ProfilingSummary summary = new ProfilingSummary(entries);
+		List<ProfilingSummary.Entry> all = summary.getEntries();
+		Assert.assertEquals(3, all.size());
+		Assert.assertEquals("PDType0Font", all.get(0).getKey());
+		Assert.assertEquals("CosDocument.doc", all.get(1).getKey());
+		Assert.assertEquals("PDPage.contentStream", all.get(2).getKey());
+
+		List<ProfilingSummary.Entry> links = summary.getEntries(ModelProfiler.Category.LINK);
+		Assert.assertEquals(2, links.size());
+		Assert.assertEquals("CosDocument.doc", links.get(0).getKey());
+		Assert.assertTrue(summary.getEntries(ModelProfiler.Category.CONTENT_STREAM_PARSING).isEmpty());
+	}
+
+	@Test
+	public void testSummaryIsSnapshot() {
+		Map<ModelProfiler.Category, Map<String, ProfilingSummary.Entry>> entries = new EnumMap<>(
+				ModelProfiler.Category.class);
+		ProfilingSummary.Entry entry = add(entries, ModelProfiler.Category.LINK, "CosDocument.doc", 10, 100);
+		ProfilingSummary summary = new ProfilingSummary(entries);
+		entry.add(10, 100, 1);
+
+		ProfilingSummary.Entry copy = summary.getEntries().get(0);
+		Assert.assertEquals(1, copy.getInvocations());
+		Assert.assertEquals(10, copy.getTotalNanos());
+		Assert.assertEquals(100, copy.getAllocatedBytes());
+		Assert.assertEquals(1, copy.getCreatedObjects());
+	}
+
+	@Test
+	public void testUnsupportedAllocations() {
+		ProfilingSummary.Entry entry = new ProfilingSummary.Entry(ModelProfiler.Category.LINK, "CosDocument.doc");
+		entry.add(10, -1, 1);
+		entry.add(10, 100, 1);
+		Assert.assertEquals(-1, entry.getAllocatedBytes());
+		Assert.assertEquals(2, entry.getInvocations());
+		Assert.assertEquals(20, entry.getTotalNanos());
+	}
+
+	@Test
+	public void testToString() {
+		Map<ModelProfiler.Category, Map<String, ProfilingSummary.Entry>> entries = new EnumMap<>(
+				ModelProfiler.Category.class);
+		add(entries, ModelProfiler.Category.LINK, "CosDocument.doc", 2_000_000, 0);
+		Assert.assertEquals("LINK CosDocument.doc: invocations=1, timeMs=2, allocatedBytes=0, createdObjects=1\n",
+				new ProfilingSummary(entries).toString());
+	}
+
+	private static ProfilingSummary.Entry add(Map<ModelProfiler.Category, Map<String, ProfilingSummary.Entry>> entries,
+											  ModelProfiler.Category category, String key, long nanos, long allocated) {
+		Map<String, ProfilingSummary.Entry> categoryEntries = entries.get(category);
+		if (categoryEntries == null) {
+			categoryEntries = new HashMap<>();
+			entries.put(category, categoryEntries);
+		}
+		ProfilingSummary.Entry entry = new ProfilingSummary.Entry(category, key);
+		entry.add(nanos, allocated, 1);
+		categoryEntries.put(key, entry);
+		return entry;
+	}
+}
@@ -0,0 +1,102 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.model.tools.resources;
+
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.documentinterchange.markedcontent.PDPropertyList;
+import org.apache.pdfbox.pdmodel.graphics.state.PDExtendedGraphicsState;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.verapdf.model.impl.pb.containers.StaticContainers;
+
+public class PDInheritableResourcesTest {
+
+	private static final COSName NAME = COSName.getPDFName("GS1");
+
+	private PDResources resources;
+
+	@Before
+	public void setUp() {
+		StaticContainers.clearAllContainers();
+		this.resources = new PDResources();
+		this.resources.put(NAME, new PDExtendedGraphicsState(new COSDictionary()));
+	}
+
+	@Test
+	public void testResourceIsSharedByDictionary() {
+		PDExtendedGraphicsState first = PDInheritableResources.getInstance(this.resources).getExtGState(NAME);
+		PDExtendedGraphicsState second = PDInheritableResources.getInstance(this.resources).getExtGState(NAME);
+
+		Assert.assertNotNull(first);
+		Assert.assertSame(first, second);
+		Assert.assertFalse(first.isInherited());
+	}
+
+	@Test
+	public void testInheritedResourceIsCachedSeparately() {
+		PDExtendedGraphicsState inherited = PDInheritableResources.getInstance(this.resources, null)
+				.getExtGState(NAME);
+		PDExtendedGraphicsState own = PDInheritableResources.getInstance(this.resources).getExtGState(NAME);
+
+		Assert.assertNotSame(inherited, own);
+		Assert.assertTrue(inherited.isInherited());
+		Assert.assertFalse(own.isInherited());
+	}
+
+	@Test
+	public void testUndefinedResourceIsReportedForEveryLookup() {
+		COSName missing = COSName.getPDFName("Missing");
+		PDInheritableResources first = PDInheritableResources.getInstance(this.resources);
+		Assert.assertNull(first.getExtGState(missing));
+		Assert.assertTrue(first.getContainsUndefinedResource());
+
+		PDInheritableResources second = PDInheritableResources.getInstance(this.resources);
+		Assert.assertNull(second.getExtGState(missing));
+		Assert.assertTrue(second.getContainsUndefinedResource());
+	}
+
+	@Test
+	public void testPropertiesAreSharedByDictionary() throws Exception {
+		COSName name = COSName.getPDFName("MC0");
+		COSDictionary properties = new COSDictionary();
+		properties.setItem(name, new COSDictionary());
+		this.resources.getCOSObject().setItem(COSName.PROPERTIES, properties);
+
+		PDPropertyList first = PDInheritableResources.getInstance(this.resources).getProperties(name);
+		PDPropertyList second = PDInheritableResources.getInstance(this.resources).getProperties(name);
+
+		Assert.assertNotNull(first);
+		Assert.assertSame(first, second);
+		Assert.assertNull(PDInheritableResources.getInstance(this.resources).getProperties(NAME));
+	}
+
+	@Test
+	public void testCacheIsClearedWithContainers() {
+		PDExtendedGraphicsState first = PDInheritableResources.getInstance(this.resources).getExtGState(NAME);
+		StaticContainers.clearAllContainers();
+		PDExtendedGraphicsState second = PDInheritableResources.getInstance(this.resources).getExtGState(NAME);
+
+		Assert.assertNotSame(first, second);
+	}
+}
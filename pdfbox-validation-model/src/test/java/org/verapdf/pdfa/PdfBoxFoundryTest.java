@@ -0,0 +1,113 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pdfa;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.verapdf.model.ModelParser;
+import org.verapdf.model.ModelParserConfig;
+import org.verapdf.model.impl.pb.containers.StaticContainers;
+import org.verapdf.model.impl.pb.pd.PBoxPDPage;
+import org.verapdf.model.tools.profiling.ModelProfiler;
+import org.verapdf.model.tools.profiling.ProfilingSummary;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+import org.verapdf.pdfa.results.ValidationResult;
+import org.verapdf.pdfa.validation.validators.ValidatorFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+public class PdfBoxFoundryTest {
+
+	private static final String CONTENT_STREAM_LINK = PBoxPDPage.PAGE_TYPE + '.' + PBoxPDPage.CONTENT_STREAM;
+
+	@After
+	public void tearDown() {
+		StaticContainers.clearAllContainers();
+	}
+
+	@Test
+	public void testFailFastParser() throws Exception {
+		PdfBoxFoundry foundry = (PdfBoxFoundry) PdfBoxFoundry.getInstance();
+		try (PDFAParser parser = foundry.createFailFastParser(new ByteArrayInputStream(createDocument()),
+				PDFAFlavour.PDFA_1_B, null)) {
+			Assert.assertTrue(StaticContainers.getParserConfig().isFailFast());
+		}
+		try (PDFAParser parser = foundry.createParser(new ByteArrayInputStream(createDocument()),
+				PDFAFlavour.PDFA_1_B, null)) {
+			Assert.assertFalse(StaticContainers.getParserConfig().isFailFast());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFailFastValidatorNeedsPositiveLimit() {
+		((PdfBoxFoundry) PdfBoxFoundry.getInstance()).createFailFastValidator(PDFAFlavour.PDFA_1_B, 0);
+	}
+
+	@Test
+	public void testValidationStopsBeforePageContent() throws Exception {
+		byte[] pdf = createDocument();
+		PdfBoxFoundry foundry = (PdfBoxFoundry) PdfBoxFoundry.getInstance();
+		ModelParserConfig config = ModelParserConfig.defaultConfig().withProfiling(true);
+
+		try (ModelParser parser = ModelParser.createModelWithFlavour(new ByteArrayInputStream(pdf),
+				PDFAFlavour.PDFA_1_B, config)) {
+			ValidationResult result = ValidatorFactory.createValidator(PDFAFlavour.PDFA_1_B, false).validate(parser);
+			Assert.assertFalse(result.isCompliant());
+			Assert.assertTrue(isLinkRequested(parser.getProfilingSummary(), CONTENT_STREAM_LINK));
+		}
+
+		try (ModelParser parser = ModelParser.createModelWithFlavour(new ByteArrayInputStream(pdf),
+				PDFAFlavour.PDFA_1_B, config.withFailFast(true))) {
+			ValidationResult result = foundry.createFailFastValidator(PDFAFlavour.PDFA_1_B, 1).validate(parser);
+			Assert.assertFalse(result.isCompliant());
+			Assert.assertFalse(isLinkRequested(parser.getProfilingSummary(), CONTENT_STREAM_LINK));
+		}
+	}
+
+	private static boolean isLinkRequested(ProfilingSummary summary, String key) {
+		for (ProfilingSummary.Entry entry : summary.getEntries(ModelProfiler.Category.LINK)) {
+			if (entry.getKey().equals(key)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static byte[] createDocument() throws Exception {
+		try (PDDocument document = new PDDocument()) {
+			PDPage page = new PDPage();
+			document.addPage(page);
+			try (PDPageContentStream stream = new PDPageContentStream(document, page)) {
+				stream.moveTo(10, 10);
+				stream.lineTo(100, 100);
+				stream.stroke();
+			}
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			document.save(out);
+			return out.toByteArray();
+		}
+	}
+}
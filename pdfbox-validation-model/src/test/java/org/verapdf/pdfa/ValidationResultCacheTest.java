@@ -0,0 +1,132 @@
+/**
+ * This file is part of veraPDF PDF Box PDF/A Validation Model Implementation, a module of the veraPDF project.
+ * Copyright (c) 2015, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF PDF Box PDF/A Validation Model Implementation is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF PDF Box PDF/A Validation Model Implementation as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pdfa;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+import org.verapdf.pdfa.results.ValidationResult;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.nio.file.Files;
+
+public class ValidationResultCacheTest {
+
+	private static final long MAX_SIZE = 10 * 1024 * 1024;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File document;
+
+	@Before
+	public void setUp() throws Exception {
+		this.document = this.folder.newFile("document.pdf");
+		try (PDDocument pdf = new PDDocument()) {
+			pdf.addPage(new PDPage());
+			pdf.save(this.document);
+		}
+	}
+
+	@Test
+	public void testKeyDependsOnValidationParameters() throws Exception {
+		ValidationResultCache cache = new ValidationResultCache(this.folder.newFolder(), MAX_SIZE, "1.0");
+		String key = cache.getKey(this.document, PDFAFlavour.PDFA_1_B, false);
+		Assert.assertEquals(key, cache.getKey(this.document, PDFAFlavour.PDFA_1_B, false));
+		Assert.assertNotEquals(key, cache.getKey(this.document, PDFAFlavour.PDFA_2_B, false));
+		Assert.assertNotEquals(key, cache.getKey(this.document, PDFAFlavour.PDFA_1_B, true));
+		Assert.assertNotEquals(key, cache.getKey(this.document, PDFAFlavour.NO_FLAVOUR, false));
+		ValidationResultCache otherVersion = new ValidationResultCache(this.folder.newFolder(), MAX_SIZE, "2.0");
+		Assert.assertNotEquals(key, otherVersion.getKey(this.document, PDFAFlavour.PDFA_1_B, false));
+	}
+
+	@Test
+	public void testResultIsStoredAndServed() throws Exception {
+		File directory = this.folder.newFolder();
+		ValidationResultCache cache = new ValidationResultCache(directory, MAX_SIZE);
+		ValidationResult result = cache.validate(this.document, PDFAFlavour.PDFA_1_B, false);
+		Assert.assertEquals(1, countResults(directory));
+		ValidationResult cached = cache.get(cache.getKey(this.document, PDFAFlavour.PDFA_1_B, false));
+		Assert.assertNotNull(cached);
+		Assert.assertEquals(result.isCompliant(), cached.isCompliant());
+		Assert.assertEquals(result.getPDFAFlavour(), cached.getPDFAFlavour());
+
+		ValidationResultCache reopened = new ValidationResultCache(directory, MAX_SIZE);
+		Assert.assertEquals(result.isCompliant(),
+				reopened.validate(this.document, PDFAFlavour.PDFA_1_B, false).isCompliant());
+		Assert.assertEquals(1, countResults(directory));
+	}
+
+	@Test
+	public void testResultsOverLimitAreEvicted() throws Exception {
+		File directory = this.folder.newFolder();
+		ValidationResultCache cache = new ValidationResultCache(directory, 1);
+		cache.validate(this.document, PDFAFlavour.PDFA_1_B, false);
+		Assert.assertEquals(0, countResults(directory));
+		Assert.assertNull(cache.get(cache.getKey(this.document, PDFAFlavour.PDFA_1_B, false)));
+	}
+
+	@Test
+	public void testStaleTemporaryFilesAreRemoved() throws Exception {
+		File directory = this.folder.newFolder();
+		File stale = new File(directory, "stale.part");
+		Files.write(stale.toPath(), new byte[16]);
+		Assert.assertTrue(stale.setLastModified(System.currentTimeMillis() - 2 * 60 * 60 * 1000L));
+		File fresh = new File(directory, "fresh.part");
+		Files.write(fresh.toPath(), new byte[16]);
+
+		new ValidationResultCache(directory, MAX_SIZE, "1.0");
+		Assert.assertFalse(stale.exists());
+		Assert.assertTrue(fresh.exists());
+	}
+
+	@Test
+	public void testTemporaryFilesCountTowardsSize() throws Exception {
+		File directory = this.folder.newFolder();
+		File fresh = new File(directory, "fresh.part");
+		Files.write(fresh.toPath(), new byte[200 * 1024]);
+
+		ValidationResultCache cache = new ValidationResultCache(directory, 100 * 1024);
+		cache.validate(this.document, PDFAFlavour.PDFA_1_B, false);
+		Assert.assertEquals(0, countResults(directory));
+		Assert.assertTrue(fresh.exists());
+
+		File emptyDirectory = this.folder.newFolder();
+		new ValidationResultCache(emptyDirectory, 100 * 1024).validate(this.document, PDFAFlavour.PDFA_1_B, false);
+		Assert.assertEquals(1, countResults(emptyDirectory));
+	}
+
+	private static int countResults(File directory) {
+		String[] names = directory.list(new FilenameFilter() {
+			@Override
+			public boolean accept(File dir, String name) {
+				return name.endsWith(".xml");
+			}
+		});
+		return names == null ? 0 : names.length;
+	}
+}